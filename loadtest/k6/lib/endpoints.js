@@ -0,0 +1,82 @@
+// Per-endpoint latency/throughput bookkeeping. k6 only reports percentiles for
+// metrics declared in the init context, so every endpoint the scenarios hit is listed here.
+import { Trend, Counter, Rate } from 'k6/metrics';
+
+export const ENDPOINTS = [
+  'login',
+  'product_detail',
+  'products_by_category',
+  'products_popular',
+  'product_search',
+  'cart_add',
+  'cart_get',
+  'order_place',
+  'khqr_generate',
+  'payment_status',
+  'payway_webhook',
+  'ws_connect',
+  'ws_publish',
+];
+
+const latency = {};
+const calls = {};
+const failures = {};
+for (const e of ENDPOINTS) {
+  latency[e] = new Trend(`ep_${e}_ms`, true);
+  calls[e] = new Counter(`ep_${e}_calls`);
+  failures[e] = new Rate(`ep_${e}_failed`);
+}
+
+/** Records one call; {@code ok} decides whether it counts towards the error rate. */
+export function record(endpoint, res, ok) {
+  latency[endpoint].add(res.timings.duration);
+  calls[endpoint].add(1);
+  failures[endpoint].add(!ok);
+}
+
+export function recordDuration(endpoint, ms, ok) {
+  latency[endpoint].add(ms);
+  calls[endpoint].add(1);
+  failures[endpoint].add(!ok);
+}
+
+/**
+ * Builds the per-endpoint report (throughput + p50/p95/p99) from the end-of-test summary.
+ * Returns { json, markdown }.
+ */
+export function buildReport(data) {
+  const seconds = data.state.testRunDurationMs / 1000;
+  const rows = [];
+  for (const e of ENDPOINTS) {
+    const t = data.metrics[`ep_${e}_ms`];
+    const c = data.metrics[`ep_${e}_calls`];
+    if (!t || !c || !c.values.count) continue;
+    const f = data.metrics[`ep_${e}_failed`];
+    rows.push({
+      endpoint: e,
+      requests: c.values.count,
+      rps: +(c.values.count / seconds).toFixed(2),
+      p50: +t.values['p(50)'].toFixed(1),
+      p95: +t.values['p(95)'].toFixed(1),
+      p99: +t.values['p(99)'].toFixed(1),
+      max: +t.values.max.toFixed(1),
+      errorRate: f ? +(f.values.rate * 100).toFixed(2) : 0,
+    });
+  }
+  const ws = data.metrics.ws_messages_received;
+  const fanout = data.metrics.ws_fanout_ms;
+  let md = `# Load test report\n\nDuration: ${seconds.toFixed(0)} s\n\n`;
+  md += '| Endpoint | Requests | Req/s | p50 ms | p95 ms | p99 ms | max ms | Errors % |\n';
+  md += '|---|---:|---:|---:|---:|---:|---:|---:|\n';
+  for (const r of rows) {
+    md += `| ${r.endpoint} | ${r.requests} | ${r.rps} | ${r.p50} | ${r.p95} | ${r.p99} | ${r.max} | ${r.errorRate} |\n`;
+  }
+  if (ws) {
+    md += `\nWebSocket messages received: ${ws.values.count} (${(ws.values.count / seconds).toFixed(1)}/s)\n`;
+  }
+  if (fanout && fanout.values.count) {
+    md += `Broadcast fan-out latency: p50 ${fanout.values['p(50)'].toFixed(1)} ms, `
+      + `p95 ${fanout.values['p(95)'].toFixed(1)} ms, p99 ${fanout.values['p(99)'].toFixed(1)} ms\n`;
+  }
+  return { json: JSON.stringify({ durationSeconds: seconds, endpoints: rows }, null, 2), markdown: md };
+}
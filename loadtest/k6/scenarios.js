@@ -0,0 +1,214 @@
+// Skin.me load-test scenarios. Start the app with the loadtest profile first (see ../README.md).
+//
+//   k6 run loadtest/k6/scenarios.js
+//   k6 run -e BASE_URL=http://localhost:8800 -e SCALE=0.2 loadtest/k6/scenarios.js
+//
+// Writes loadtest/results/report.md and report.json (throughput + p50/p95/p99 per endpoint).
+import http from 'k6/http';
+import ws from 'k6/ws';
+import { check, sleep } from 'k6';
+import { Counter, Trend } from 'k6/metrics';
+import { record, recordDuration, buildReport } from './lib/endpoints.js';
+
+const BASE = __ENV.BASE_URL || 'http://localhost:8800';
+const API = `${BASE}/api/v1`;
+const WS_URL = BASE.replace(/^http/, 'ws') + '/ws-endpoint/websocket';
+const SCALE = parseFloat(__ENV.SCALE || '1');
+const DURATION = __ENV.DURATION || '5m';
+const LOGIN_POOL = parseInt(__ENV.LOGIN_POOL || '200', 10);
+const ADMIN_EMAIL = __ENV.ADMIN_EMAIL || 'admin@skinme.com';
+const ADMIN_PASSWORD = __ENV.ADMIN_PASSWORD || 'password';
+
+const wsMessages = new Counter('ws_messages_received');
+const wsFanout = new Trend('ws_fanout_ms', true);
+
+const vus = (n) => Math.max(1, Math.round(n * SCALE));
+
+export const options = {
+  setupTimeout: '5m',
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max', 'count'],
+  scenarios: {
+    browse: { executor: 'constant-vus', exec: 'browse', vus: vus(60), duration: DURATION },
+    search: { executor: 'constant-vus', exec: 'search', vus: vus(20), duration: DURATION },
+    add_to_cart: { executor: 'constant-vus', exec: 'addToCart', vus: vus(20), duration: DURATION },
+    // checkout -> KHQR generate -> status poll -> PayWay webhook confirm
+    checkout: {
+      executor: 'ramping-arrival-rate', exec: 'checkoutFlow', startRate: 1, timeUnit: '1s',
+      preAllocatedVUs: vus(30), maxVUs: vus(120),
+      stages: [{ target: vus(5), duration: '1m' }, { target: vus(5), duration: DURATION }, { target: 0, duration: '30s' }],
+    },
+    notification_storm: {
+      executor: 'constant-vus', exec: 'notificationStorm', vus: vus(500), duration: DURATION, startTime: '30s',
+    },
+  },
+  thresholds: {
+    ep_product_detail_ms: ['p(95)<300'],
+    ep_product_search_ms: ['p(95)<500'],
+    ep_cart_add_ms: ['p(95)<400'],
+    ep_order_place_ms: ['p(95)<1500'],
+    ep_payment_status_ms: ['p(95)<150'],
+    ep_payway_webhook_ms: ['p(95)<800'],
+    ws_fanout_ms: ['p(95)<1000'],
+  },
+};
+
+const JSON_HEADERS = { 'Content-Type': 'application/json' };
+
+export function setup() {
+  const seed = http.get(`${BASE}/loadtest-stubs/seed`).json();
+  const tokens = [];
+  const pool = Math.min(LOGIN_POOL, seed.users);
+  for (let i = 0; i < pool; i++) {
+    const res = http.post(`${API}/auth/login`,
+      JSON.stringify({ email: `load${i}@skinme.test`, password: 'password' }), { headers: JSON_HEADERS });
+    const ok = res.status === 200;
+    record('login', res, ok);
+    if (ok) tokens.push(res.json('data.jwtToken'));
+  }
+  if (tokens.length === 0) throw new Error('No loadtest user could log in; is the loadtest profile running?');
+  // Order updates go to the owner's queue and the admin feed only, so publishers connect as admin
+  const admin = http.post(`${API}/auth/login`,
+    JSON.stringify({ email: ADMIN_EMAIL, password: ADMIN_PASSWORD }), { headers: JSON_HEADERS });
+  record('login', admin, admin.status === 200);
+  const adminToken = admin.status === 200 ? admin.json('data.jwtToken') : null;
+  return {
+    tokens,
+    adminToken,
+    productFirst: seed.products.first_id,
+    productLast: seed.products.last_id,
+    categoryFirst: seed.categories.first_id,
+    categoryLast: seed.categories.last_id,
+  };
+}
+
+const between = (lo, hi) => lo + Math.floor(Math.random() * (hi - lo + 1));
+const auth = (data) => {
+  const token = data.tokens[(__VU - 1) % data.tokens.length];
+  return { token, headers: { ...JSON_HEADERS, Authorization: `Bearer ${token}` } };
+};
+
+export function browse(data) {
+  let res = http.get(`${API}/products/product/${between(data.productFirst, data.productLast)}/product`,
+    { tags: { name: 'product_detail' } });
+  record('product_detail', res, res.status === 200);
+  if (Math.random() < 0.2) {
+    res = http.get(`${API}/products/by-category-id/${between(data.categoryFirst, data.categoryLast)}`,
+      { tags: { name: 'products_by_category' }, timeout: '60s' });
+    record('products_by_category', res, res.status === 200);
+  }
+  if (Math.random() < 0.3) {
+    res = http.get(`${API}/products/popular`, { tags: { name: 'products_popular' } });
+    record('products_popular', res, res.status === 200 || res.status === 404);
+  }
+  sleep(1 + Math.random());
+}
+
+const TERMS = ['Hydrating Serum', 'Gentle Cleanser', 'Vitamin C', 'Sunscreen', 'Snail', 'Ceramide Moisturizer'];
+
+export function search() {
+  const term = TERMS[Math.floor(Math.random() * TERMS.length)];
+  const res = http.get(`${API}/products/product/by-name?name=${encodeURIComponent(term)}`,
+    { tags: { name: 'product_search' } });
+  record('product_search', res, res.status === 200 || res.status === 404);
+  sleep(1 + Math.random() * 2);
+}
+
+export function addToCart(data) {
+  const { headers } = auth(data);
+  let res = http.post(`${API}/cartItems/item/add?productId=${between(data.productFirst, data.productLast)}&quantity=1`,
+    null, { headers, tags: { name: 'cart_add' } });
+  record('cart_add', res, res.status === 200);
+  res = http.get(`${API}/carts/my-cart`, { headers, tags: { name: 'cart_get' } });
+  record('cart_get', res, res.status === 200);
+  sleep(1 + Math.random());
+}
+
+export function checkoutFlow(data) {
+  const { headers } = auth(data);
+  for (let i = 0; i < 2; i++) {
+    const res = http.post(`${API}/cartItems/item/add?productId=${between(data.productFirst, data.productLast)}&quantity=1`,
+      null, { headers, tags: { name: 'cart_add' } });
+    record('cart_add', res, res.status === 200);
+  }
+  let res = http.post(`${API}/orders/order`, '{}', { headers, tags: { name: 'order_place' } });
+  const placed = check(res, { 'order placed': (r) => r.status === 200 });
+  record('order_place', res, placed);
+  if (!placed) return;
+  const orderId = res.json('data.orderId');
+  const total = res.json('data.totalAmount');
+
+  res = http.get(`${API}/payment/generate-khqr?orderId=${orderId}&amount=${total}&currency=USD`,
+    { headers, tags: { name: 'khqr_generate' } });
+  record('khqr_generate', res, res.status === 200);
+
+  // Customers' browsers poll every 2 s while the QR is on screen
+  for (let i = 0; i < 5; i++) {
+    res = http.get(`${API}/payment/status/${orderId}`, { headers, tags: { name: 'payment_status' } });
+    record('payment_status', res, res.status === 200);
+    sleep(2);
+  }
+
+  const body = JSON.stringify({
+    merchant_ref: String(orderId), tran_id: `LT-${orderId}`, status: 0,
+    amount: total, currency: 'USD', payer_account: '000111222',
+  });
+  res = http.post(`${API}/payment/webhook/payway`, body, { headers, tags: { name: 'payway_webhook' } });
+  record('payway_webhook', res, res.status === 200);
+
+  // The webhook is acknowledged before processing; wait for the order lane to confirm it
+  let paid = false;
+  for (let i = 0; i < 10 && !paid; i++) {
+    sleep(0.2);
+    res = http.get(`${API}/payment/status/${orderId}`, { headers, tags: { name: 'payment_status' } });
+    record('payment_status', res, res.status === 200);
+    paid = res.status === 200 && res.json('data.paid') === true;
+  }
+  check(paid, { 'paid after webhook': (p) => p });
+}
+
+// ---- STOMP over raw WebSocket (SockJS exposes /ws-endpoint/websocket) ----
+
+const frame = (command, headers, body = '') =>
+  `${command}\n${Object.entries(headers).map(([k, v]) => `${k}:${v}`).join('\n')}\n\n${body}\0`;
+
+export function notificationStorm(data) {
+  const publisher = __VU % 50 === 0 && !!data.adminToken;
+  const token = publisher ? data.adminToken : auth(data).token;
+  const started = Date.now();
+  const res = ws.connect(WS_URL, { headers: { Cookie: `token=${token}` } }, (socket) => {
+    socket.on('open', () => socket.send(frame('CONNECT', { 'accept-version': '1.2', 'heart-beat': '0,0' })));
+    socket.on('message', (msg) => {
+      if (msg.startsWith('CONNECTED')) {
+        recordDuration('ws_connect', Date.now() - started, true);
+        socket.send(frame('SUBSCRIBE', { id: 'orders', destination: publisher ? '/topic/admin/orders' : '/user/queue/orders' }));
+        socket.send(frame('SUBSCRIBE', { id: 'notif', destination: '/topic/notifications' }));
+        socket.send(frame('SUBSCRIBE', { id: 'mine', destination: '/user/topic/notifications' }));
+        if (publisher) {
+          socket.setInterval(() => {
+            const t0 = Date.now();
+            socket.send(frame('SEND', { destination: '/app/orders/update', 'content-type': 'application/json' },
+              JSON.stringify({ entityId: `storm-${__VU}`, action: 'UPDATE', data: { sentAt: t0 } })));
+            recordDuration('ws_publish', Date.now() - t0, true);
+          }, 1000);
+        }
+        return;
+      }
+      if (msg.startsWith('MESSAGE')) {
+        wsMessages.add(1);
+        for (const m of msg.matchAll(/"sentAt":(\d+)/g)) wsFanout.add(Date.now() - parseInt(m[1], 10));
+      }
+    });
+    socket.on('error', () => recordDuration('ws_connect', Date.now() - started, false));
+    socket.setTimeout(() => socket.close(), 60000);
+  });
+  check(res, { 'ws upgraded': (r) => r && r.status === 101 });
+}
+
+export function handleSummary(data) {
+  const report = buildReport(data);
+  return {
+    'loadtest/results/report.json': report.json,
+    'loadtest/results/report.md': report.markdown,
+    stdout: report.markdown,
+  };
+}
@@ -0,0 +1,154 @@
+// STOMP soak: 5 000 clients hold a session with heartbeats for the whole run while a few publish.
+// A probe scrapes /actuator/prometheus every PROBE_SECONDS for the server's view (sessions dropped
+// as slow consumers, frames rejected by a full channel queue, frames waiting); the run fails on its
+// own when any threshold below is crossed (k6 exits non-zero).
+//
+//   k6 run loadtest/k6/ws-soak.js
+//   k6 run -e CLIENTS=1000 -e MINUTES=5 loadtest/k6/ws-soak.js
+import http from 'k6/http';
+import ws from 'k6/ws';
+import { check, sleep } from 'k6';
+import { Counter, Trend } from 'k6/metrics';
+import { record, recordDuration, buildReport } from './lib/endpoints.js';
+
+const BASE = __ENV.BASE_URL || 'http://localhost:8800';
+const API = `${BASE}/api/v1`;
+const WS_URL = BASE.replace(/^http/, 'ws') + '/ws-endpoint/websocket';
+const CLIENTS = parseInt(__ENV.CLIENTS || '5000', 10);
+const MINUTES = parseInt(__ENV.MINUTES || '30', 10);
+const LOGIN_POOL = parseInt(__ENV.LOGIN_POOL || '200', 10);
+const ADMIN_EMAIL = __ENV.ADMIN_EMAIL || 'admin@skinme.com';
+const ADMIN_PASSWORD = __ENV.ADMIN_PASSWORD || 'password';
+const HEARTBEAT_MS = 10000;
+const PROBE_SECONDS = parseInt(__ENV.PROBE_SECONDS || '10', 10);
+
+const wsMessages = new Counter('ws_messages_received');
+const wsFanout = new Trend('ws_fanout_ms', true);
+const wsClosed = new Counter('ws_sessions_closed_early');
+const serverDropped = new Counter('server_sessions_dropped');
+const serverRejected = new Counter('server_frames_rejected');
+const serverQueued = new Trend('server_frames_queued');
+
+export const options = {
+  setupTimeout: '5m',
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max', 'count'],
+  scenarios: {
+    soak: {
+      executor: 'ramping-vus', exec: 'soak', startVUs: 0,
+      stages: [{ target: CLIENTS, duration: '5m' }, { target: CLIENTS, duration: `${MINUTES}m` }],
+      gracefulRampDown: '30s',
+    },
+    probe: {
+      executor: 'constant-vus', exec: 'probe', vus: 1, duration: `${5 + MINUTES}m`,
+    },
+  },
+  thresholds: {
+    // Latency: CONNECT answered and publishes fanned out to every subscriber in time
+    ep_ws_connect_failed: ['rate<0.01'],
+    ep_ws_connect_ms: ['p(95)<1000', 'p(99)<3000'],
+    ws_fanout_ms: ['p(95)<2000', 'p(99)<5000'],
+    // Dropped sessions: as seen by the clients, and as closed by the server for its send limits
+    ws_sessions_closed_early: ['count<50'],
+    server_sessions_dropped: ['count<1'],
+    // Channel saturation: nothing rejected, and the outbound/inbound backlog stays short
+    server_frames_rejected: ['count<1'],
+    server_frames_queued: ['p(95)<1000', 'max<10000'],
+  },
+};
+
+const JSON_HEADERS = { 'Content-Type': 'application/json' };
+
+export function setup() {
+  const seed = http.get(`${BASE}/loadtest-stubs/seed`).json();
+  const tokens = [];
+  for (let i = 0; i < Math.min(LOGIN_POOL, seed.users); i++) {
+    const res = http.post(`${API}/auth/login`,
+      JSON.stringify({ email: `load${i}@skinme.test`, password: 'password' }), { headers: JSON_HEADERS });
+    const ok = res.status === 200;
+    record('login', res, ok);
+    if (ok) tokens.push(res.json('data.jwtToken'));
+  }
+  if (tokens.length === 0) throw new Error('No loadtest user could log in; is the loadtest profile running?');
+  // Order updates go to the owner's queue and the admin feed only, so publishers connect as admin
+  const admin = http.post(`${API}/auth/login`,
+    JSON.stringify({ email: ADMIN_EMAIL, password: ADMIN_PASSWORD }), { headers: JSON_HEADERS });
+  record('login', admin, admin.status === 200);
+  const adminToken = admin.status === 200 ? admin.json('data.jwtToken') : null;
+  return { tokens, adminToken };
+}
+
+const frame = (command, headers, body = '') =>
+  `${command}\n${Object.entries(headers).map(([k, v]) => `${k}:${v}`).join('\n')}\n\n${body}\0`;
+
+export function soak(data) {
+  const publisher = __VU % 500 === 0 && !!data.adminToken;
+  const token = publisher ? data.adminToken : data.tokens[(__VU - 1) % data.tokens.length];
+  const started = Date.now();
+  let closing = false;
+  const res = ws.connect(WS_URL, { headers: { Cookie: `token=${token}` } }, (socket) => {
+    socket.on('open', () => socket.send(frame('CONNECT',
+      { 'accept-version': '1.2', 'heart-beat': `${HEARTBEAT_MS},${HEARTBEAT_MS}` })));
+    socket.on('message', (msg) => {
+      if (msg.startsWith('CONNECTED')) {
+        recordDuration('ws_connect', Date.now() - started, true);
+        socket.send(frame('SUBSCRIBE', { id: 'orders', destination: publisher ? '/topic/admin/orders' : '/user/queue/orders' }));
+        socket.send(frame('SUBSCRIBE', { id: 'mine', destination: '/user/topic/notifications' }));
+        socket.setInterval(() => socket.send('\n'), HEARTBEAT_MS);
+        if (publisher) {
+          socket.setInterval(() => {
+            socket.send(frame('SEND', { destination: '/app/orders/update', 'content-type': 'application/json' },
+              JSON.stringify({ entityId: `soak-${__VU}`, action: 'UPDATE', data: { sentAt: Date.now() } })));
+          }, 1000);
+        }
+        return;
+      }
+      if (msg.startsWith('MESSAGE')) {
+        wsMessages.add(1);
+        for (const m of msg.matchAll(/"sentAt":(\d+)/g)) wsFanout.add(Date.now() - parseInt(m[1], 10));
+      }
+    });
+    socket.on('error', () => recordDuration('ws_connect', Date.now() - started, false));
+    socket.on('close', () => { if (!closing) wsClosed.add(1); });
+    // Each session lives as long as the steady state; anything closed sooner was dropped by the server
+    socket.setTimeout(() => { closing = true; socket.close(); }, MINUTES * 60 * 1000);
+  });
+  check(res, { 'ws upgraded': (r) => r && r.status === 101 });
+}
+
+let lastDropped = null;
+let lastRejected = null;
+
+/** Adds the server-side counters' growth since the previous scrape, so only this run counts. */
+export function probe() {
+  const res = http.get(`${BASE}/actuator/prometheus`, { tags: { name: 'prometheus' } });
+  if (res.status === 200) {
+    const dropped = sample(res.body, 'skinme_websocket_sessions_dropped_total');
+    const rejected = sample(res.body, 'skinme_websocket_frames_rejected_total');
+    serverDropped.add(lastDropped === null ? 0 : Math.max(0, dropped - lastDropped));
+    serverRejected.add(lastRejected === null ? 0 : Math.max(0, rejected - lastRejected));
+    serverQueued.add(sample(res.body, 'skinme_websocket_frames_queued'));
+    lastDropped = dropped;
+    lastRejected = rejected;
+  }
+  sleep(PROBE_SECONDS);
+}
+
+/** Sum of every series of {@code name} in a Prometheus text exposition. */
+function sample(text, name) {
+  let sum = 0;
+  for (const line of text.split('\n')) {
+    if (line.startsWith(name) && (line[name.length] === '{' || line[name.length] === ' ')) {
+      sum += parseFloat(line.substring(line.lastIndexOf(' ') + 1)) || 0;
+    }
+  }
+  return sum;
+}
+
+export function handleSummary(data) {
+  const report = buildReport(data);
+  return {
+    'loadtest/results/ws-soak.json': report.json,
+    'loadtest/results/ws-soak.md': report.markdown,
+    stdout: report.markdown,
+  };
+}
@@ -0,0 +1,106 @@
+package com.project.skin_me.bench;
+
+import com.project.skin_me.enums.OrderStatus;
+import com.project.skin_me.model.Brand;
+import com.project.skin_me.model.Category;
+import com.project.skin_me.model.Image;
+import com.project.skin_me.model.Order;
+import com.project.skin_me.model.OrderItem;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.model.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/** Deterministic synthetic catalog and orders shared by the benchmarks. */
+public final class BenchFixtures {
+
+    private static final String[] TYPES = { "Cleanser", "Serum", "Moisturizer", "Sunscreen", "Toner" };
+
+    private BenchFixtures() {
+    }
+
+    public static List<Product> products(int count) {
+        Random random = new Random(42);
+        List<Category> categories = new ArrayList<>();
+        for (int c = 0; c < 8; c++) {
+            Category category = new Category("Category " + c);
+            category.setId((long) c + 1);
+            categories.add(category);
+        }
+        List<Brand> brands = new ArrayList<>();
+        for (int b = 0; b < 40; b++) {
+            Brand brand = new Brand("Brand, \"" + b + "\"", null, categories.get(b % categories.size()));
+            brand.setId((long) b + 1);
+            brands.add(brand);
+        }
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product p = new Product();
+            p.setId((long) i + 1);
+            p.setName("Product " + i + (i % 7 == 0 ? " | limited" : ""));
+            p.setPrice(BigDecimal.valueOf(500 + random.nextInt(5000), 2));
+            p.setProductType(TYPES[i % TYPES.length]);
+            p.setInventory(random.nextInt(200));
+            p.setTotalOrders(random.nextInt(1000));
+            p.setDescription("Gentle formula for daily use.\nSuitable for all skin types.");
+            Brand brand = brands.get(i % brands.size());
+            p.setBrand(brand);
+            p.setCategory(brand.getCategory());
+            p.setImages(images(p, 1 + i % 3));
+            products.add(p);
+        }
+        return products;
+    }
+
+    public static List<Image> images(Product product, int count) {
+        List<Image> images = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Image image = new Image();
+            image.setId(product.getId() * 10 + i);
+            image.setFileName("p" + product.getId() + "-" + i + ".jpg");
+            image.setDownloadUrl("/api/v1/images/image/download/" + image.getId());
+            image.setProduct(product);
+            images.add(image);
+        }
+        return images;
+    }
+
+    public static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setFirstName("Dara");
+        user.setLastName("Sok");
+        user.setEmail("user" + id + "@example.com");
+        return user;
+    }
+
+    public static Order order(long id, List<Product> catalog, int lines) {
+        Order order = new Order();
+        order.setOrderId(id);
+        order.setUser(user(id % 1000));
+        order.setOrderDate(LocalDate.of(2026, 1, 1).plusDays(id % 300));
+        order.setOrderStatus(OrderStatus.PAID);
+        order.setDeliveryAddressFull("PICKUP - In-store");
+        Set<OrderItem> items = new HashSet<>();
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            Product product = catalog.get((int) ((id * 31 + i * 7) % catalog.size()));
+            int qty = 1 + i % 3;
+            OrderItem item = new OrderItem(order, product, qty, product.getPrice());
+            item.setId(id * 100 + i);
+            items.add(item);
+            subtotal = subtotal.add(product.getPrice().multiply(BigDecimal.valueOf(qty)));
+        }
+        order.setOrderItems(items);
+        order.setItemsSubtotalAmount(subtotal);
+        order.setDeliveryFeeAmount(BigDecimal.ZERO);
+        order.setOrderTotalAmount(subtotal);
+        return order;
+    }
+}
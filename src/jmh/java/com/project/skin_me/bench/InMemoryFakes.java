@@ -0,0 +1,97 @@
+package com.project.skin_me.bench;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-ins for Spring Data repositories and other collaborators, so services can be
+ * benchmarked without a database. Each fake answers the methods given in {@code handlers}
+ * (keyed by method name); everything else returns an empty value for its return type, and
+ * {@code save} echoes its argument.
+ */
+public final class InMemoryFakes {
+
+    private InMemoryFakes() {
+    }
+
+    public static <T> T fake(Class<T> type) {
+        return fake(type, Map.of());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T fake(Class<T> type, Map<String, Function<Object[], Object>> handlers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    Function<Object[], Object> handler = handlers.get(method.getName());
+                    if (handler != null) {
+                        return handler.apply(args);
+                    }
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            case "equals" -> proxy == args[0];
+                            default -> type.getSimpleName() + "(fake)";
+                        };
+                    }
+                    if (method.getName().equals("save") && args != null && args.length == 1) {
+                        return args[0];
+                    }
+                    return emptyValue(method);
+                });
+    }
+
+    /**
+     * Builds a service through its single (Lombok) constructor: parameters are filled from
+     * {@code provided} by type, interfaces without a match get a {@link #fake(Class)}, and
+     * anything else is null. Keeps benchmarks compiling when services gain collaborators.
+     */
+    public static <T> T construct(Class<T> type, Object... provided) {
+        try {
+            Constructor<?> ctor = type.getDeclaredConstructors()[0];
+            Class<?>[] params = ctor.getParameterTypes();
+            Object[] args = new Object[params.length];
+            for (int i = 0; i < params.length; i++) {
+                args[i] = match(params[i], provided);
+                if (args[i] == null && params[i].isInterface()) {
+                    args[i] = fake(params[i]);
+                }
+                if (args[i] == null && params[i].isPrimitive()) {
+                    args[i] = params[i] == boolean.class ? Boolean.FALSE : 0;
+                }
+            }
+            ctor.setAccessible(true);
+            return type.cast(ctor.newInstance(args));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot construct " + type.getName(), e);
+        }
+    }
+
+    private static Object match(Class<?> param, Object[] provided) {
+        for (Object candidate : provided) {
+            if (param.isInstance(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static Object emptyValue(Method method) {
+        Class<?> r = method.getReturnType();
+        if (r == Optional.class) return Optional.empty();
+        if (r == List.class || r == Collection.class || r == Iterable.class) return List.of();
+        if (r == Set.class) return Set.of();
+        if (r == Map.class) return Map.of();
+        if (r == boolean.class) return false;
+        if (r == long.class) return 0L;
+        if (r == int.class) return 0;
+        if (r == double.class) return 0d;
+        return null;
+    }
+}
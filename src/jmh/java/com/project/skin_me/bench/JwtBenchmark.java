@@ -0,0 +1,49 @@
+package com.project.skin_me.bench;
+
+import com.project.skin_me.security.jwt.JwtUtils;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** JWT signature check done on every authenticated request by AuthTokenFilter. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET =
+            "9AH3XncLQ4BxZSypjG5XNpCk+pBsPwSCJVavCQojc4aVD8I79n8pTkc/pD6KlCWSyFPs77q/Czh8ZenHHDkjxA==";
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "JwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "JwtExpirationTime", 86_400_000);
+        token = Jwts.builder()
+                .setSubject("user1@example.com")
+                .claim("id", 1L)
+                .claim("roles", List.of("ROLE_USER"))
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 86_400_000L))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtils.validateToken(token);
+    }
+}
@@ -0,0 +1,33 @@
+package com.project.skin_me.bench;
+
+import com.project.skin_me.service.notification.NotificationService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/** Action-URL rewriting applied to every notification DTO. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotificationUrlBenchmark {
+
+    private final String[] urls = {
+            "/views/orders/1024",
+            "/api/v1/orders/1024",
+            "https://skinme.store/api/v1/products/product/77/product",
+            "/products/77",
+            "/chat",
+            null
+    };
+
+    @Benchmark
+    public void normalizeActionUrlForWebApp(Blackhole bh) {
+        for (String url : urls) {
+            bh.consume(NotificationService.normalizeActionUrlForWebApp(url));
+        }
+    }
+}
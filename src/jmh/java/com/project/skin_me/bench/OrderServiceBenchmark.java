@@ -0,0 +1,41 @@
+package com.project.skin_me.bench;
+
+import com.project.skin_me.model.Order;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.service.order.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** OrderService.convertToDto over orders with 1–8 lines each. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    private OrderService orderService;
+    private List<Order> orders;
+
+    @Setup
+    public void setUp() {
+        List<Product> catalog = BenchFixtures.products(500);
+        orders = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            orders.add(BenchFixtures.order(id, catalog, 1 + (int) (id % 8)));
+        }
+        orderService = InMemoryFakes.construct(OrderService.class);
+    }
+
+    @Benchmark
+    public void convertToDto(Blackhole bh) {
+        for (Order order : orders) {
+            bh.consume(orderService.convertToDto(order));
+        }
+    }
+}
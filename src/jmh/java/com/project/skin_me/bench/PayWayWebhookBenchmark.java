@@ -0,0 +1,44 @@
+package com.project.skin_me.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.skin_me.util.PayWayWebhookNormalizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/** PayWay callback normalization, from a parsed tree and from raw bytes (as the webhook sees it). */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayWayWebhookBenchmark {
+
+    private static final String PAYLOAD = "{\"tran_id\":\"17300001\",\"merchant_ref_no\":\"1024\",\"status\":\"00\","
+            + "\"payer_account\":\"000 123 456\",\"original_amount\":\"25.50\",\"original_currency\":\"usd\"}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] raw;
+    private JsonNode tree;
+
+    @Setup
+    public void setUp() throws IOException {
+        raw = PAYLOAD.getBytes(StandardCharsets.UTF_8);
+        tree = objectMapper.readTree(raw);
+    }
+
+    @Benchmark
+    public Optional<PayWayWebhookNormalizer.NormalizedPayWayWebhook> parseTree() {
+        return PayWayWebhookNormalizer.parse(tree);
+    }
+
+    @Benchmark
+    public Optional<PayWayWebhookNormalizer.NormalizedPayWayWebhook> parseRaw() throws IOException {
+        return PayWayWebhookNormalizer.parse(objectMapper.readTree(raw));
+    }
+}
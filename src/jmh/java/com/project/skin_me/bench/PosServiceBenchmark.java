@@ -0,0 +1,62 @@
+package com.project.skin_me.bench;
+
+import com.project.skin_me.dto.PosCalculateResultDto;
+import com.project.skin_me.dto.PosLineItemDto;
+import com.project.skin_me.model.Order;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.repository.ProductRepository;
+import com.project.skin_me.service.pos.PosService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/** POS cart pricing and the markdown invoice rendered for every sale. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PosServiceBenchmark {
+
+    @Param({ "5", "30" })
+    int lines;
+
+    private PosService posService;
+    private List<PosLineItemDto> cart;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        List<Product> catalog = BenchFixtures.products(500);
+        Map<String, Function<Object[], Object>> productHandlers = Map.of(
+                "findById", args -> Optional.of(catalog.get((int) (((Long) args[0]) - 1))));
+        posService = InMemoryFakes.construct(PosService.class,
+                InMemoryFakes.fake(ProductRepository.class, productHandlers));
+        ReflectionTestUtils.setField(posService, "shopName", "SkinMe Store");
+        ReflectionTestUtils.setField(posService, "shopAddress", "Phnom Penh, Cambodia");
+        ReflectionTestUtils.setField(posService, "shopPhone", "012 345 678");
+
+        cart = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            cart.add(new PosLineItemDto((long) (i * 13 % catalog.size()) + 1, 1 + i % 4));
+        }
+        order = BenchFixtures.order(42, catalog, lines);
+    }
+
+    @Benchmark
+    public PosCalculateResultDto calculate() {
+        return posService.calculate(cart);
+    }
+
+    @Benchmark
+    public String buildInvoiceMarkdown() {
+        return posService.buildOrderSummaryMarkdown(order, "Cashier One");
+    }
+}
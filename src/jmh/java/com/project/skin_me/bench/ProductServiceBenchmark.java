@@ -0,0 +1,59 @@
+package com.project.skin_me.bench;
+
+import com.project.skin_me.model.Image;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.repository.ImageRepository;
+import com.project.skin_me.service.product.ProductService;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/** Product DTO mapping and catalog exports (CSV / markdown) over an in-memory catalog. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductServiceBenchmark {
+
+    @Param({ "100", "1000" })
+    int catalogSize;
+
+    private ProductService productService;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        products = BenchFixtures.products(catalogSize);
+        Map<Long, List<Image>> imagesByProduct = products.stream()
+                .collect(Collectors.toMap(Product::getId, Product::getImages));
+        Map<String, Function<Object[], Object>> imageHandlers = Map.of(
+                "findByProductId", args -> imagesByProduct.getOrDefault((Long) args[0], List.of()));
+        productService = InMemoryFakes.construct(ProductService.class,
+                InMemoryFakes.fake(ImageRepository.class, imageHandlers), new ModelMapper());
+    }
+
+    @Benchmark
+    public void convertToDto(Blackhole bh) {
+        for (Product p : products) {
+            bh.consume(productService.convertToDto(p));
+        }
+    }
+
+    @Benchmark
+    public String toCsv() {
+        return productService.toCsv(products);
+    }
+
+    @Benchmark
+    public String toMarkdownTable() {
+        return productService.toMarkdownTable(products);
+    }
+}
@@ -0,0 +1,61 @@
+package com.project.skin_me.service.payment;
+
+import com.project.skin_me.bench.InMemoryFakes;
+import com.project.skin_me.model.KhqrBankAccount;
+import com.project.skin_me.repository.KhqrBankAccountRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * KHQR payload, CRC and QR PNG generation. Lives in the service package to reach the
+ * package-private {@code calculateCRC}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KhqrBenchmark {
+
+    private BakongKhqrService khqrService;
+    private String payload;
+
+    @Setup
+    public void setUp() {
+        KhqrBankAccount account = KhqrBankAccount.builder()
+                .id(1L)
+                .gateway(IBakongKhqrService.GATEWAY_ABA)
+                .account("000 123 456")
+                .merchantName("SkinMe Store")
+                .city("Phnom Penh")
+                .categoryCode("5999")
+                .active(true)
+                .build();
+        Map<String, Function<Object[], Object>> handlers = Map.of(
+                "findByGatewayAndActiveTrueOrderByDisplayOrderAsc", args -> List.of(account),
+                "findAllByActiveTrueOrderByDisplayOrderAsc", args -> List.of(account));
+        khqrService = new BakongKhqrService(InMemoryFakes.fake(KhqrBankAccountRepository.class, handlers));
+        payload = khqrService.generateKhqrData(new BigDecimal("25.50"), "USD", IBakongKhqrService.GATEWAY_ABA, 1024L);
+    }
+
+    @Benchmark
+    public String generateKhqrData() {
+        return khqrService.generateKhqrData(new BigDecimal("25.50"), "USD", IBakongKhqrService.GATEWAY_ABA, 1024L);
+    }
+
+    @Benchmark
+    public String calculateCRC() {
+        return BakongKhqrService.calculateCRC(payload);
+    }
+
+    @Benchmark
+    public String generateQrCodeImage() {
+        return khqrService.generateQrCodeImage(payload, 300, 300);
+    }
+}
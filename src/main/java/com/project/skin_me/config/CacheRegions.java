@@ -0,0 +1,24 @@
+package com.project.skin_me.config;
+
+import java.util.List;
+
+/**
+ * Hibernate second-level cache regions for reference data. Sizes and TTLs per region are in
+ * {@code application.conf} (Caffeine JCache); hit/miss metrics are published by
+ * {@code ReferenceDataCache}.
+ */
+public final class CacheRegions {
+
+    public static final String CATEGORY = "reference-category";
+    public static final String BRAND = "reference-brand";
+    public static final String ROLE = "reference-role";
+    public static final String KHQR_ACCOUNT = "reference-khqr-account";
+    public static final String API_CONFIG = "reference-api-config";
+    /** Cached query results (ids only) for the repositories' reference-data finders. */
+    public static final String QUERIES = "reference-queries";
+
+    public static final List<String> ENTITY_REGIONS = List.of(CATEGORY, BRAND, ROLE, KHQR_ACCOUNT, API_CONFIG);
+
+    private CacheRegions() {
+    }
+}
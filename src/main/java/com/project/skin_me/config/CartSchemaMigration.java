@@ -0,0 +1,32 @@
+package com.project.skin_me.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives carts created before optimistic versioning a starting {@code version}; Hibernate cannot
+ * update a versioned row whose version is null.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CartSchemaMigration implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            int updated = jdbcTemplate.update("UPDATE cart SET version = 0 WHERE version IS NULL");
+            if (updated > 0) {
+                log.info("Initialised version on {} cart row(s)", updated);
+            }
+        } catch (Exception e) {
+            log.warn("Could not initialise cart.version (run manually if cart updates fail): {}", e.getMessage());
+        }
+    }
+}
@@ -1,21 +1,16 @@
 package com.project.skin_me.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.project.skin_me.service.http.OutboundHttp;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class ChatbotConfig {
 
+    /** Pooled, guarded client for the chatbot backend; timeouts are {@code app.http.chatbot.*}. */
     @Bean
-    public RestTemplate chatbotRestTemplate(
-            @Value("${app.chat.connect-timeout-ms:8000}") int connectTimeoutMs,
-            @Value("${app.chat.read-timeout-ms:20000}") int readTimeoutMs) {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(connectTimeoutMs);
-        factory.setReadTimeout(readTimeoutMs);
-        return new RestTemplate(factory);
+    public RestTemplate chatbotRestTemplate(OutboundHttp outboundHttp) {
+        return outboundHttp.restTemplate("chatbot");
     }
 }
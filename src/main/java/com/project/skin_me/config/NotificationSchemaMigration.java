@@ -0,0 +1,50 @@
+package com.project.skin_me.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Converts {@code notifications.status} from the old {@code 'UNREAD'/'READ'} strings to the
+ * {@code NotificationStatus} ordinal in a TINYINT ({@code 0} unread, {@code 1} read), which
+ * {@code idx_notifications_user_status_created} indexes compactly. Hibernate's schema update does
+ * not change the type of an existing column. Runs only while the column is still a character type.
+ * <p>
+ * Runs at bean initialisation, before the web server and the schedulers start, so nothing writes
+ * notifications ahead of it. The mapping is idempotent all the same: rows already written as
+ * {@code '1'}/{@code '0'} by the new code keep their value.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationSchemaMigration {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void migrate() {
+        try {
+            String type = jdbcTemplate.queryForObject(
+                    "SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = DATABASE() "
+                            + "AND TABLE_NAME = 'notifications' AND COLUMN_NAME = 'status'",
+                    String.class);
+            if (type == null || !type.toLowerCase(Locale.ROOT).contains("char")) {
+                return;
+            }
+            int rows = jdbcTemplate.update(
+                    "UPDATE notifications SET status = CASE WHEN status IN ('READ', '1') THEN '1' ELSE '0' END");
+            jdbcTemplate.execute("ALTER TABLE notifications MODIFY COLUMN status TINYINT NOT NULL DEFAULT 0");
+            log.info("notifications.status converted to TINYINT ({} rows)", rows);
+        } catch (EmptyResultDataAccessException e) {
+            // no such column (new schema, or not MySQL): nothing to convert
+        } catch (Exception e) {
+            log.warn("Could not convert notifications.status to TINYINT (run manually if notifications fail to load): {}",
+                    e.getMessage());
+        }
+    }
+}
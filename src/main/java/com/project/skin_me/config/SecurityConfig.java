@@ -10,18 +10,24 @@ import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
@@ -35,6 +41,7 @@ import org.springframework.security.web.savedrequest.RequestCache;
 import org.springframework.security.web.savedrequest.SavedRequest;
 import com.project.skin_me.filter.UserActivityFilter;
 import com.project.skin_me.repository.UserRepository;
+import org.springframework.util.StringUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -101,6 +108,46 @@ private static final String[] SECURED_API = {
                 return requestCache;
         }
 
+        /**
+         * Actuator endpoints. Health stays open; the Prometheus scrape and the other endpoints need
+         * the scrape account (HTTP Basic, {@code app.metrics.scrape-username/-password}) or an admin,
+         * because the scrape lists endpoint patterns, SQL timings and integration names. Only
+         * profiles that set {@code app.metrics.public-scrape} (local, loadtest) open the scrape.
+         * Without a scrape password only admins get in.
+         */
+        @Bean
+        @Order(1)
+        public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http,
+                        @Value("${app.metrics.public-scrape:false}") boolean publicScrape,
+                        @Value("${app.metrics.scrape-username:prometheus}") String scrapeUsername,
+                        @Value("${app.metrics.scrape-password:}") String scrapePassword) throws Exception {
+                http
+                                .securityMatcher("/actuator/**")
+                                .authorizeHttpRequests(auth -> {
+                                        auth.requestMatchers("/actuator/health", "/actuator/health/**").permitAll();
+                                        if (publicScrape) {
+                                                auth.requestMatchers("/actuator/prometheus").permitAll();
+                                        }
+                                        auth.anyRequest().hasAnyRole("METRICS", "ADMIN");
+                                })
+                                .exceptionHandling(e -> e.accessDeniedHandler((request, response, denied) -> response
+                                                .sendError(HttpServletResponse.SC_FORBIDDEN)));
+                if (StringUtils.hasText(scrapePassword)) {
+                        DaoAuthenticationProvider scrapeProvider = new DaoAuthenticationProvider();
+                        scrapeProvider.setUserDetailsService(new InMemoryUserDetailsManager(User
+                                        .withUsername(scrapeUsername)
+                                        .password(passwordEncoder().encode(scrapePassword))
+                                        .roles("METRICS")
+                                        .build()));
+                        scrapeProvider.setPasswordEncoder(passwordEncoder());
+                        http
+                                        .httpBasic(Customizer.withDefaults())
+                                        .authenticationManager(new ProviderManager(scrapeProvider));
+                }
+                http.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+                return http.build();
+        }
+
         @Bean
         public SecurityFilterChain securityFilterChain(HttpSecurity http, RequestCache requestCache) throws Exception {
                 http
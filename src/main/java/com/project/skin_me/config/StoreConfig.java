@@ -0,0 +1,92 @@
+package com.project.skin_me.config;
+
+import com.project.skin_me.service.store.InMemoryKeyValueStore;
+import com.project.skin_me.service.store.InMemoryMessageBus;
+import com.project.skin_me.service.store.KeyValueStore;
+import com.project.skin_me.service.store.MessageBus;
+import com.project.skin_me.service.store.RedisKeyValueStore;
+import com.project.skin_me.service.store.RedisMessageBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.session.data.redis.config.annotation.web.http.EnableRedisHttpSession;
+
+/**
+ * Where shared per-user state lives ({@code app.store.type}).
+ * <ul>
+ *   <li>{@code memory} (default): carts are cached in this JVM, HTTP sessions stay in the
+ *       servlet container and the message bus only reaches this JVM. One node only, or sticky
+ *       sessions.</li>
+ *   <li>{@code redis}: carts, Spring Session HTTP sessions and the message bus live on a
+ *       Redis-protocol server ({@code spring.data.redis.*}), so any node can serve any request.</li>
+ * </ul>
+ * Boot's Redis and session auto-configuration is excluded in application.properties so that
+ * memory mode opens no Redis connection and reports no Redis health.
+ */
+@Configuration
+public class StoreConfig {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "app.store.type", havingValue = "memory", matchIfMissing = true)
+    static class InMemoryStore {
+
+        @Bean
+        public KeyValueStore keyValueStore() {
+            return new InMemoryKeyValueStore();
+        }
+
+        @Bean
+        public MessageBus messageBus() {
+            return new InMemoryMessageBus();
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "app.store.type", havingValue = "redis")
+    @EnableRedisHttpSession(redisNamespace = "skinme:session", maxInactiveIntervalInSeconds = 1800)
+    static class RedisStore {
+
+        @Bean
+        public LettuceConnectionFactory redisConnectionFactory(
+                @Value("${spring.data.redis.host:localhost}") String host,
+                @Value("${spring.data.redis.port:6379}") int port,
+                @Value("${spring.data.redis.password:}") String password,
+                @Value("${spring.data.redis.database:0}") int database) {
+            RedisStandaloneConfiguration config = new RedisStandaloneConfiguration(host, port);
+            config.setDatabase(database);
+            if (!password.isBlank()) {
+                config.setPassword(password);
+            }
+            return new LettuceConnectionFactory(config);
+        }
+
+        @Bean
+        public StringRedisTemplate stringRedisTemplate(LettuceConnectionFactory redisConnectionFactory) {
+            return new StringRedisTemplate(redisConnectionFactory);
+        }
+
+        @Bean
+        public KeyValueStore keyValueStore(StringRedisTemplate stringRedisTemplate) {
+            return new RedisKeyValueStore(stringRedisTemplate);
+        }
+
+        @Bean
+        public RedisMessageListenerContainer redisMessageListenerContainer(
+                LettuceConnectionFactory redisConnectionFactory) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(redisConnectionFactory);
+            return container;
+        }
+
+        @Bean
+        public MessageBus messageBus(StringRedisTemplate stringRedisTemplate,
+                RedisMessageListenerContainer redisMessageListenerContainer) {
+            return new RedisMessageBus(stringRedisTemplate, redisMessageListenerContainer);
+        }
+    }
+}
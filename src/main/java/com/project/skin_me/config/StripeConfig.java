@@ -1,5 +1,7 @@
 package com.project.skin_me.config;
 
+import com.project.skin_me.service.http.IntegrationProfile;
+import com.project.skin_me.service.http.OutboundHttp;
 import com.stripe.Stripe;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
@@ -10,12 +12,32 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class StripeConfig {
 
+    private final OutboundHttp outboundHttp;
+
+    public StripeConfig(OutboundHttp outboundHttp) {
+        this.outboundHttp = outboundHttp;
+    }
+
     @Value("${stripe.secret.key}")
     private String stripeKey;
 
+    /** Optional API host override (loadtest profile points this at the local Stripe stub). */
+    @Value("${stripe.api-base:}")
+    private String apiBase;
+
     @PostConstruct
     public void init(){
         Stripe.apiKey = stripeKey;
+        if (apiBase != null && !apiBase.isBlank()) {
+            Stripe.overrideApiBase(apiBase);
+            log.warn("Stripe API base overridden to {}", apiBase);
+        }
+        // The SDK keeps its own pooled transport and retries with idempotency keys, so calls are
+        // wrapped with Retry.NONE and only the timeouts and retry budget come from app.http.stripe.*
+        IntegrationProfile profile = outboundHttp.profile("stripe");
+        Stripe.setConnectTimeout((int) profile.connectTimeout().toMillis());
+        Stripe.setReadTimeout((int) profile.readTimeout().toMillis());
+        Stripe.setMaxNetworkRetries(profile.maxRetries());
         log.info("Stripe initialized with secret key");
     }
 }
@@ -1,27 +1,150 @@
 package com.project.skin_me.config;
 
+import com.project.skin_me.monitoring.WebSocketSessionMetrics;
+import com.project.skin_me.service.websocket.ClusterBrokerBridge;
+import com.project.skin_me.service.websocket.StompDestinations;
+import com.project.skin_me.service.websocket.StompSubscriptionGuard;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
 
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * STOMP over SockJS. {@code app.websocket.broker.mode} selects the broker:
+ * <ul>
+ *   <li>{@code simple} (default): in-memory broker; messages reach clients on this node only.</li>
+ *   <li>{@code relay}: external STOMP broker (RabbitMQ, ActiveMQ) via {@code app.websocket.relay.*};
+ *       user destinations and the user registry are shared between nodes through the broker.</li>
+ *   <li>{@code cluster}: simple broker on every node, with {@link ClusterBrokerBridge} copying
+ *       messages to the other nodes over the shared message bus ({@code app.store.type=redis}).</li>
+ * </ul>
+ * Transport limits ({@code app.websocket.*}): the client channels run on bounded pools (optionally
+ * virtual threads), the broker and clients exchange heartbeats so dead connections are noticed,
+ * frames above the size limit close the session, and a session whose send buffer or send time
+ * limit is exceeded is closed as a slow consumer instead of holding messages for everyone else.
+ */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final ObjectProvider<ClusterBrokerBridge> clusterBrokerBridge;
+
+    @Value("${app.websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${app.websocket.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${app.websocket.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${app.websocket.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${app.websocket.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${app.websocket.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    @Value("${app.websocket.heartbeat-ms:10000}")
+    private long heartbeatMs;
+
+    @Value("${app.websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${app.websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${app.websocket.send-time-limit-ms:15000}")
+    private int sendTimeLimitMs;
+
+    @Value("${app.websocket.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.websocket.inbound.pool-size:32}")
+    private int inboundPoolSize;
+
+    @Value("${app.websocket.inbound.queue-capacity:10000}")
+    private int inboundQueueCapacity;
+
+    @Value("${app.websocket.outbound.pool-size:64}")
+    private int outboundPoolSize;
+
+    @Value("${app.websocket.outbound.queue-capacity:50000}")
+    private int outboundQueueCapacity;
+
+    private final WebSocketSessionMetrics sessionMetrics;
+
+    private final StompSubscriptionGuard subscriptionGuard;
+
+    private TaskScheduler heartbeatScheduler;
+
+    public WebSocketConfig(ObjectProvider<ClusterBrokerBridge> clusterBrokerBridge,
+            WebSocketSessionMetrics sessionMetrics, StompSubscriptionGuard subscriptionGuard) {
+        this.clusterBrokerBridge = clusterBrokerBridge;
+        this.sessionMetrics = sessionMetrics;
+        this.subscriptionGuard = subscriptionGuard;
+    }
+
+    /** The broker's own scheduler; lazy because it is created by the configuration this class feeds. */
+    @Autowired
+    public void setHeartbeatScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler scheduler) {
+        this.heartbeatScheduler = scheduler;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Enable simple message broker for real-time communication
-        config.enableSimpleBroker(
-                "/topic/notifications", // For broadcast notifications
-                "/topic/chat", // For chat messages
-                "/topic/orders", // For order updates
-                "/topic/products", // For product updates
-                "/topic/inventory", // For inventory updates
-                "/topic/feedback", // New product feedback (admin toast)
-                "/user" // For user-specific messages
-        );
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            var relay = config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    .setSystemHeartbeatSendInterval(heartbeatMs)
+                    .setSystemHeartbeatReceiveInterval(heartbeatMs)
+                    // Messages for users connected to another node, and each node's user list
+                    .setUserDestinationBroadcast(StompDestinations.USER_DESTINATION_BROADCAST)
+                    .setUserRegistryBroadcast(StompDestinations.USER_REGISTRY_BROADCAST);
+            if (!relayVirtualHost.isBlank()) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+        } else {
+            // Enable simple message broker for real-time communication
+            var broker = config.enableSimpleBroker(
+                    "/topic/notifications", // For broadcast notifications
+                    "/topic/admin", // Admin-only feeds: coalesced orders, admin events, chat inbox
+                    "/topic/products", // For product updates
+                    "/topic/inventory", // For inventory updates
+                    "/topic/payment", // Per-order payment status (user destination /user/topic/payment/{orderId})
+                    "/queue" // Per-session queues behind /user/queue/orders and /user/queue/chat
+            );
+            // Clients negotiate down from this in their CONNECT heart-beat header
+            broker.setHeartbeatValue(new long[] { heartbeatMs, heartbeatMs })
+                    .setTaskScheduler(heartbeatScheduler);
+            if ("cluster".equalsIgnoreCase(brokerMode)) {
+                config.configureBrokerChannel().interceptors(clusterBrokerBridge.getObject());
+            }
+        }
 
         // Set application destination prefix for client-to-server messages
         config.setApplicationDestinationPrefixes("/app");
@@ -38,4 +161,69 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .withSockJS();
     }
 
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setMessageSizeLimit(messageSizeLimit)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setSendTimeLimit(sendTimeLimitMs)
+                .addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+                    @Override
+                    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
+                        // SubProtocolWebSocketHandler closes with SESSION_NOT_RELIABLE when a limit is hit
+                        if (CloseStatus.SESSION_NOT_RELIABLE.equals(status)) {
+                            sessionMetrics.sessionDropped();
+                        }
+                        super.afterConnectionClosed(session, status);
+                    }
+                });
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(channelExecutor("ws-inbound-", "inbound", inboundPoolSize, inboundQueueCapacity));
+        registration.interceptors(subscriptionGuard);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(channelExecutor("ws-outbound-", "outbound", outboundPoolSize, outboundQueueCapacity));
+    }
+
+    /** Raw WebSocket frame buffers sized to the STOMP message limit (SockJS falls back to HTTP). */
+    @Bean
+    public ServletServerContainerFactoryBean webSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(messageSizeLimit);
+        container.setMaxBinaryMessageBufferSize(messageSizeLimit);
+        return container;
+    }
+
+    /**
+     * Initialised by the broker configuration, which registers it as its channel executor bean.
+     * <p>
+     * A thread pool only grows past its core size once its queue is full, so core and max are
+     * both {@code poolSize}: all threads serve the queue, and idle ones still time out. When
+     * {@code queueCapacity} frames are waiting the frame is rejected rather than queued without
+     * bound: the rejection is counted in {@code skinme.websocket.frames.rejected}, and Spring logs
+     * and drops that frame (an inbound frame from the client, or one outbound delivery to a session).
+     */
+    private ThreadPoolTaskExecutor channelExecutor(String threadPrefix, String channel, int poolSize,
+            int queueCapacity) {
+        int threads = Math.max(poolSize, 1);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadPrefix);
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setVirtualThreads(virtualThreads);
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            sessionMetrics.frameRejected(channel);
+            throw new RejectedExecutionException("STOMP " + channel + " channel is full ("
+                    + queueCapacity + " frames queued)");
+        });
+        sessionMetrics.bindChannelExecutor(channel, executor);
+        return executor;
+    }
+
 }
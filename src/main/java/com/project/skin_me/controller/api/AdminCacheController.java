@@ -0,0 +1,30 @@
+package com.project.skin_me.controller.api;
+
+import com.project.skin_me.response.ApiResponse;
+import com.project.skin_me.service.cache.ReferenceDataCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/** Hit/miss counters for the reference-data second-level cache, and manual eviction. */
+@RestController
+@RequestMapping("${api.prefix}/admin/cache")
+@RequiredArgsConstructor
+public class AdminCacheController {
+
+    private final ReferenceDataCache referenceDataCache;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse> stats() {
+        return ResponseEntity.ok(new ApiResponse("OK", referenceDataCache.snapshot()));
+    }
+
+    @DeleteMapping
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse> evict() {
+        referenceDataCache.evictAll();
+        return ResponseEntity.ok(new ApiResponse("Evicted", null));
+    }
+}
@@ -0,0 +1,77 @@
+package com.project.skin_me.controller.api;
+
+import com.project.skin_me.enums.WebhookEventStatus;
+import com.project.skin_me.exception.ResourceNotFoundException;
+import com.project.skin_me.model.PaymentWebhookEvent;
+import com.project.skin_me.response.ApiResponse;
+import com.project.skin_me.service.payment.IPaymentWebhookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/** Stored payment webhook events: inspect failures and replay dead letters. */
+@RestController
+@RequestMapping("${api.prefix}/admin/payment-webhooks")
+@RequiredArgsConstructor
+public class AdminPaymentWebhookController {
+
+    private final IPaymentWebhookService paymentWebhookService;
+
+    /** Paginated list, newest first (max 100 per page); {@code status} filters, e.g. DEAD_LETTER. */
+    @GetMapping
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse> list(
+            @RequestParam(required = false) WebhookEventStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "25") int size) {
+        Page<PaymentWebhookEvent> result = paymentWebhookService.list(status,
+                PageRequest.of(page, Math.min(size, 100), Sort.by(Sort.Direction.DESC, "id")));
+        return ResponseEntity.ok(new ApiResponse("OK", result));
+    }
+
+    @GetMapping("/counts")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse> counts() {
+        return ResponseEntity.ok(new ApiResponse("OK", paymentWebhookService.countsByStatus()));
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse> get(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(new ApiResponse("OK", paymentWebhookService.get(id)));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(NOT_FOUND).body(new ApiResponse(e.getMessage(), null));
+        }
+    }
+
+    @PostMapping("/{id}/replay")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse> replay(@PathVariable Long id) {
+        try {
+            PaymentWebhookEvent event = paymentWebhookService.replay(id);
+            return ResponseEntity.ok(new ApiResponse("Replay queued", Map.of("id", event.getId(),
+                    "eventId", event.getEventId(), "status", event.getStatus())));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(NOT_FOUND).body(new ApiResponse(e.getMessage(), null));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(CONFLICT).body(new ApiResponse(e.getMessage(), null));
+        }
+    }
+
+    @PostMapping("/dead-letters/replay")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse> replayDeadLetters() {
+        int queued = paymentWebhookService.replayDeadLetters();
+        return ResponseEntity.ok(new ApiResponse("Replay queued", Map.of("queued", queued)));
+    }
+}
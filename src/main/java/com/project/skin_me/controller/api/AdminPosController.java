@@ -5,6 +5,7 @@ import com.project.skin_me.dto.PosLineItemDto;
 import com.project.skin_me.exception.ResourceNotFoundException;
 import com.project.skin_me.enums.OrderStatus;
 import com.project.skin_me.enums.PaymentMethod;
+import com.project.skin_me.event.OrderUpdatedEvent;
 import com.project.skin_me.model.Order;
 import com.project.skin_me.model.Product;
 import com.project.skin_me.model.User;
@@ -14,6 +15,7 @@ import com.project.skin_me.response.ApiResponse;
 import com.project.skin_me.service.pos.IPosService;
 import com.project.skin_me.service.product.IProductService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -32,6 +34,7 @@ public class AdminPosController {
     private final IProductService productService;
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @GetMapping("/products")
     public ResponseEntity<ApiResponse> listProducts() {
@@ -129,6 +132,7 @@ public class AdminPosController {
             order.setDeliveredAt(java.time.LocalDateTime.now());
             order.setTrackingNumber("PICKUP");
             orderRepository.save(order);
+            eventPublisher.publishEvent(new OrderUpdatedEvent(this, orderId));
         }
         return ResponseEntity.ok(new ApiResponse("Pickup completed", Map.of("orderId", orderId)));
     }
@@ -0,0 +1,82 @@
+package com.project.skin_me.controller.api;
+
+import com.project.skin_me.dto.PaymentReportRowDto;
+import com.project.skin_me.dto.SalesReportRowDto;
+import com.project.skin_me.response.ApiResponse;
+import com.project.skin_me.service.report.ISalesReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sales and payment reports served from the daily rollup tables. Dates are inclusive
+ * ISO dates; when omitted the last 30 days (including today) are used.
+ */
+@RestController
+@RequestMapping("${api.prefix}/admin/reports")
+@RequiredArgsConstructor
+public class AdminReportController {
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+
+    private final ISalesReportService salesReportService;
+
+    /** groupBy: product (default), brand, category, day. top applies to non-day groupings. */
+    @GetMapping("/sales")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse> sales(
+            @RequestParam(defaultValue = "product") String groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int top) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        try {
+            List<SalesReportRowDto> rows = salesReportService.getSales(groupBy, start, end, top);
+            return ResponseEntity.ok(new ApiResponse("OK", rows));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+        }
+    }
+
+    /** groupBy: method (default) or day. */
+    @GetMapping("/payments")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse> payments(
+            @RequestParam(defaultValue = "method") String groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        try {
+            List<PaymentReportRowDto> rows = salesReportService.getPayments(groupBy, start, end);
+            return ResponseEntity.ok(new ApiResponse("OK", rows));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+        }
+    }
+
+    /** Backfill / repair: recompute rollup rows for the range from orders and payments. */
+    @PostMapping("/rollup/rebuild")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse> rebuild(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            int rows = salesReportService.rebuild(from, to);
+            return ResponseEntity.ok(new ApiResponse("Rollup rebuilt", Map.of("from", from, "to", to, "rows", rows)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.project.skin_me.controller.api;
+
+import com.project.skin_me.monitoring.SqlBudgetRegistry;
+import com.project.skin_me.response.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/** Per-endpoint SQL statement/JDBC-time totals collected by {@code SqlBudgetFilter}. */
+@RestController
+@RequestMapping("${api.prefix}/admin/sql-stats")
+@RequiredArgsConstructor
+public class AdminSqlStatsController {
+
+    private final SqlBudgetRegistry sqlBudgetRegistry;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse> stats() {
+        return ResponseEntity.ok(new ApiResponse("OK", sqlBudgetRegistry.snapshot()));
+    }
+
+    @DeleteMapping
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse> reset() {
+        sqlBudgetRegistry.reset();
+        return ResponseEntity.ok(new ApiResponse("Reset", null));
+    }
+}
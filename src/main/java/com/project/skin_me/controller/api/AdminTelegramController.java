@@ -0,0 +1,25 @@
+package com.project.skin_me.controller.api;
+
+import com.project.skin_me.response.ApiResponse;
+import com.project.skin_me.service.telegram.TelegramAlertDispatcher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Telegram alert queue: depth per status and per chat, and each chat's rate-limit state. */
+@RestController
+@RequestMapping("${api.prefix}/admin/telegram")
+@RequiredArgsConstructor
+public class AdminTelegramController {
+
+    private final TelegramAlertDispatcher dispatcher;
+
+    @GetMapping("/queue")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse> queue() {
+        return ResponseEntity.ok(new ApiResponse("OK", dispatcher.status()));
+    }
+}
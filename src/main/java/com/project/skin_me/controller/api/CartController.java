@@ -5,6 +5,7 @@ import com.project.skin_me.exception.ResourceNotFoundException;
 import com.project.skin_me.model.Cart;
 import com.project.skin_me.model.User;
 import com.project.skin_me.response.ApiResponse;
+import com.project.skin_me.service.cart.CartStateStore;
 import com.project.skin_me.service.cart.ICartService;
 import com.project.skin_me.service.user.IUserService;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +26,7 @@ import static org.springframework.http.HttpStatus.NOT_FOUND;
 public class CartController {
     private final ICartService cartService;
     private final IUserService userService;
+    private final CartStateStore cartStateStore;
 
     @GetMapping("/my-cart")
     public ResponseEntity<ApiResponse> getCart() {
@@ -33,6 +35,7 @@ public class CartController {
             var cart = cartService.getCartByUserId(user.getId());
 
             CartDto cartDto = new CartDto(cart);
+            cartDto.setVersion(cartStateStore.load(user.getId()).getVersion());
             return ResponseEntity.ok(new ApiResponse("success", cartDto));
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
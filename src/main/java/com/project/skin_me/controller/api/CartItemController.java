@@ -1,18 +1,23 @@
 package com.project.skin_me.controller.api;
 
+import com.project.skin_me.dto.CartStateDto;
+import com.project.skin_me.exception.CartVersionConflictException;
 import com.project.skin_me.exception.ResourceNotFoundException;
-import com.project.skin_me.model.Cart;
 import com.project.skin_me.model.User;
+import com.project.skin_me.request.CartBulkUpdateRequest;
 import com.project.skin_me.response.ApiResponse;
+import com.project.skin_me.service.cart.CartState;
+import com.project.skin_me.service.cart.CartStateStore;
 import com.project.skin_me.service.cart.ICartItemService;
-import com.project.skin_me.service.cart.ICartService;
 import com.project.skin_me.service.user.IUserService;
 import io.jsonwebtoken.JwtException;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.UNAUTHORIZED;
 
@@ -21,7 +26,7 @@ import static org.springframework.http.HttpStatus.UNAUTHORIZED;
 @RequestMapping("${api.prefix}/cartItems")
 public class CartItemController {
     private final ICartItemService cartItemService;
-    private final ICartService cartService;
+    private final CartStateStore cartStateStore;
     private final IUserService userService;
 
     @PostMapping("/item/add")
@@ -33,9 +38,7 @@ public class CartItemController {
                         .body(new ApiResponse("Quantity must be at least 1", null));
             }
             User user = userService.getAuthenticatedUser();
-            Cart cart = cartService.getUserActiveCart(user)
-                    .orElseGet(() -> cartService.initializeNewCart(user));
-            cartItemService.addItemToCart(cart, productId, quantity);
+            cartItemService.addItemToCart(user.getId(), productId, quantity);
             return ResponseEntity.ok(new ApiResponse("Item added to cart successfully", null));
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(NOT_FOUND)
@@ -51,9 +54,7 @@ public class CartItemController {
     public ResponseEntity<ApiResponse> removeItemFromCart(@PathVariable Long productId) {
         try {
             User user = userService.getAuthenticatedUser();
-            Cart cart = cartService.getUserActiveCart(user)
-                    .orElseThrow(() -> new ResourceNotFoundException("Cart not found"));
-            cartItemService.removeItemFromCart(cart.getId(), productId);
+            cartItemService.removeItemFromCart(user.getId(), productId);
             return ResponseEntity.ok(new ApiResponse("Item removed successfully", null));
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(NOT_FOUND).body(new ApiResponse(e.getMessage(), null));
@@ -72,9 +73,7 @@ public class CartItemController {
                         .body(new ApiResponse("Quantity must be at least 1", null));
             }
             User user = userService.getAuthenticatedUser();
-            Cart cart = cartService.getUserActiveCart(user)
-                    .orElseThrow(() -> new ResourceNotFoundException("Cart not found"));
-            cartItemService.updateItemQuantity(cart.getId(), productId, quantity);
+            cartItemService.updateItemQuantity(user.getId(), productId, quantity);
             return ResponseEntity.ok(new ApiResponse("Item updated successfully", null));
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(NOT_FOUND).body(new ApiResponse(e.getMessage(), null));
@@ -84,4 +83,28 @@ public class CartItemController {
             return ResponseEntity.status(UNAUTHORIZED).body(new ApiResponse(e.getMessage(), null));
         }
     }
+
+    /**
+     * Applies several add/set/remove changes to the current user's cart as one edit.
+     * Returns the updated cart; 409 with the current cart when {@code version} is stale.
+     */
+    @PostMapping("/items/bulk")
+    public ResponseEntity<ApiResponse> applyChanges(@Valid @RequestBody CartBulkUpdateRequest request) {
+        User user = null;
+        try {
+            user = userService.getAuthenticatedUser();
+            CartState updated = cartItemService.applyChanges(user.getId(), request.getVersion(), request.getChanges());
+            return ResponseEntity.ok(new ApiResponse("Cart updated successfully", new CartStateDto(updated)));
+        } catch (CartVersionConflictException e) {
+            CartStateDto current = user != null ? new CartStateDto(cartStateStore.load(user.getId())) : null;
+            return ResponseEntity.status(CONFLICT)
+                    .body(new ApiResponse("Cart was changed in another window; review and try again", current));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(NOT_FOUND).body(new ApiResponse(e.getMessage(), null));
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return ResponseEntity.status(BAD_REQUEST).body(new ApiResponse(e.getMessage(), null));
+        } catch (JwtException e) {
+            return ResponseEntity.status(UNAUTHORIZED).body(new ApiResponse(e.getMessage(), null));
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.project.skin_me.controller.api;
 
 import com.project.skin_me.dto.chatbot.*;
+import com.project.skin_me.event.ChatThreadEvent;
 import com.project.skin_me.model.ChatAi;
 import com.project.skin_me.model.ChatMessage;
 import com.project.skin_me.model.User;
@@ -8,9 +9,13 @@ import com.project.skin_me.repository.ChatAiRepository;
 import com.project.skin_me.repository.ChatMessageRepository;
 import com.project.skin_me.response.ApiResponse;
 import com.project.skin_me.service.chatbot.ChatSessionService;
+import com.project.skin_me.service.chatbot.ChatThreadIndex;
 import com.project.skin_me.service.chatbot.ChatbotService;
 import com.project.skin_me.service.user.IUserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.util.StringUtils;
@@ -33,6 +38,8 @@ public class ChatController {
     private final IUserService userService;
     private final ChatMessageRepository chatMessageRepository;
     private final ChatAiRepository chatAiRepository;
+    private final ChatThreadIndex chatThreadIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     /** Live chat config for dashboard (session id, WebSocket URL, role). */
     @GetMapping("/config")
@@ -80,6 +87,9 @@ public class ChatController {
             if (response != null && StringUtils.hasText(response.getSessionId())) {
                 chatSessionService.saveSessionId(currentUser, response.getSessionId());
             }
+            publishTurn(currentUser, response != null && StringUtils.hasText(response.getSessionId())
+                    ? response.getSessionId() : request.getSessionId(),
+                    request.getMessage(), response != null ? response.getReply() : null);
             return ResponseEntity.ok(ApiResponse.ofKey("api.chat.send.success", response));
         } catch (Exception e) {
             return ResponseEntity.status(502)
@@ -107,6 +117,9 @@ public class ChatController {
             } else if (StringUtils.hasText(sessionId)) {
                 chatSessionService.saveSessionId(currentUser, sessionId);
             }
+            publishTurn(currentUser, response != null && StringUtils.hasText(response.getSessionId())
+                    ? response.getSessionId() : sessionId,
+                    "[image] " + nullToEmpty(message), response != null ? response.getReply() : null);
             return ResponseEntity.ok(ApiResponse.ofKey("api.chat.send.success", response));
         } catch (Exception e) {
             return ResponseEntity.status(502)
@@ -114,30 +127,28 @@ public class ChatController {
         }
     }
 
-    /** Admin: list all user accounts as chat sessions (merged with chatbot.skinme.store). */
+    /**
+     * Admin: chat threads from the local index, newest first. {@code filter} is one of
+     * {@code all}, {@code admin-replied}, {@code awaiting-admin}, {@code unread}; {@code q}
+     * matches name or e-mail. The chatbot's own session list is merged in the background.
+     */
     @GetMapping("/sessions")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<ApiResponse> listSessions(
-            @RequestParam(defaultValue = "50") int limit) {
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String filter,
+            @RequestParam(required = false) String q) {
         try {
-            ChatbotSessionsResponse fromBot = chatbotService.listSessions(Math.min(Math.max(limit, 200), 500));
-            List<ChatbotSessionSummary> merged = chatSessionService.buildAdminUserSessions(
-                    fromBot.getSessions() != null ? fromBot.getSessions() : List.of());
+            Page<ChatbotSessionSummary> threads = chatThreadIndex.page(filter, q,
+                    PageRequest.of(Math.max(page, 0), Math.min(Math.max(limit, 1), 200)));
             ChatbotSessionsResponse response = new ChatbotSessionsResponse();
-            response.setSessions(merged);
-            response.setCount(merged.size());
+            response.setSessions(threads.getContent());
+            response.setCount((int) threads.getTotalElements());
             return ResponseEntity.ok(ApiResponse.ofKey("api.chat.sessions.success", response));
         } catch (Exception e) {
-            try {
-                List<ChatbotSessionSummary> localOnly = chatSessionService.buildAdminUserSessions(List.of());
-                ChatbotSessionsResponse response = new ChatbotSessionsResponse();
-                response.setSessions(localOnly);
-                response.setCount(localOnly.size());
-                return ResponseEntity.ok(ApiResponse.ofKey("api.chat.sessions.success", response));
-            } catch (Exception localEx) {
-                return ResponseEntity.status(502)
-                        .body(ApiResponse.ofKey("api.error.generic", new Object[] { e.getMessage() }, null));
-            }
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.ofKey("api.error.generic", new Object[] { e.getMessage() }, null));
         }
     }
 
@@ -177,6 +188,8 @@ public class ChatController {
             }
             ChatbotAdminReplyResponse response = chatbotService.postAdminReply(request);
             persistAdminReply(request, admin);
+            eventPublisher.publishEvent(ChatThreadEvent.message(this, request.getSessionId(),
+                    parseUserId(request.getUserId()), "admin", request.getContent(), false));
             return ResponseEntity.ok(ApiResponse.ofKey("api.chat.adminReply.success", response));
         } catch (Exception e) {
             return ResponseEntity.status(502)
@@ -270,6 +283,17 @@ public class ChatController {
         if (StringUtils.hasText(request.getReply())) {
             saveMessage(user, request.getSessionId(), "assistant", request.getReply(), true, ts);
         }
+        publishTurn(user, request.getSessionId(), request.getMessage(), request.getReply());
+    }
+
+    /** One user turn for the thread index: the reply when there is one, otherwise the question awaiting an answer. */
+    private void publishTurn(User user, String sessionId, String message, String reply) {
+        if (!StringUtils.hasText(sessionId) || !StringUtils.hasText(message) && !StringUtils.hasText(reply)) {
+            return;
+        }
+        boolean answered = StringUtils.hasText(reply);
+        eventPublisher.publishEvent(ChatThreadEvent.message(this, sessionId, user != null ? user.getId() : null,
+                answered ? "assistant" : "user", answered ? reply : message, StringUtils.hasText(message)));
     }
 
     private void persistAdminReply(ChatbotAdminReplyRequest request, User admin) {
@@ -306,6 +330,17 @@ public class ChatController {
         }
     }
 
+    private static Long parseUserId(String userId) {
+        if (!StringUtils.hasText(userId)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(userId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     private static String nullToEmpty(String s) {
         return s != null ? s : "";
     }
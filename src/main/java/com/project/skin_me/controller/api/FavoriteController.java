@@ -6,6 +6,8 @@ import com.project.skin_me.exception.ResourceNotFoundException;
 import com.project.skin_me.response.ApiResponse;
 import com.project.skin_me.service.favorite.FavoriteService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -55,9 +57,12 @@ public class FavoriteController {
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @GetMapping("/all")
-    public ResponseEntity<ApiResponse> getAllFavorites() {
+    public ResponseEntity<ApiResponse> getAllFavorites(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
         try {
-            List<FavoriteProductDto> list = favoriteService.getAllFavorites();
+            Page<FavoriteProductDto> list = favoriteService.getAllFavorites(
+                    PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 100)));
             return ResponseEntity.ok(new ApiResponse("All favorites retrieved", list));
         } catch (Exception e) {
             return ResponseEntity.status(INTERNAL_SERVER_ERROR)
@@ -2,21 +2,18 @@ package com.project.skin_me.controller.api;
 
 import com.project.skin_me.dto.NotificationDto;
 import com.project.skin_me.exception.ResourceNotFoundException;
-import com.project.skin_me.model.Notification;
 import com.project.skin_me.model.User;
 import com.project.skin_me.response.ApiResponse;
 import com.project.skin_me.service.notification.NotificationService;
 import com.project.skin_me.service.user.IUserService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("${api.prefix}/notifications")
@@ -32,20 +29,14 @@ public class NotificationController {
             @RequestParam(defaultValue = "20") int size) {
         try {
             User user = userService.getAuthenticatedUser();
-            notificationService.ensureOrderNotificationsForUser(user);
-            Page<Notification> notifications = notificationService.findByUserOrderByCreatedAtDesc(
+            Slice<NotificationDto> notifications = notificationService.findInbox(
                     user, PageRequest.of(page, Math.min(size, 50)));
             long unreadCount = notificationService.countUnreadByUser(user);
-            List<NotificationDto> dtos = notifications.getContent().stream()
-                    .map(NotificationService::toDto)
-                    .collect(Collectors.toList());
             Map<String, Object> data = new HashMap<>();
-            data.put("notifications", dtos);
+            data.put("notifications", notifications.getContent());
             data.put("unreadCount", unreadCount);
             data.put("page", notifications.getNumber());
             data.put("size", notifications.getSize());
-            data.put("totalPages", notifications.getTotalPages());
-            data.put("totalElements", notifications.getTotalElements());
             data.put("hasMore", notifications.hasNext());
             return ResponseEntity.ok(new ApiResponse("Success", data));
         } catch (ResourceNotFoundException e) {
@@ -64,14 +55,17 @@ public class NotificationController {
         }
     }
 
+    /** {@code id} is a notification id, or {@code <audience>-<n>} for a shared entry (e.g. {@code admin-42}). */
     @PatchMapping("/{id}/read")
-    public ResponseEntity<ApiResponse> markAsRead(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse> markAsRead(@PathVariable String id) {
         try {
             User user = userService.getAuthenticatedUser();
             notificationService.markAsRead(id, user);
             return ResponseEntity.ok(new ApiResponse("Marked as read", null));
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(404).body(new ApiResponse(e.getMessage(), null));
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse("Invalid notification id: " + id, null));
         }
     }
 
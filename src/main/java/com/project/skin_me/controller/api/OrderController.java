@@ -14,10 +14,15 @@ import com.project.skin_me.service.order.IOrderService;
 import com.project.skin_me.service.pos.IPosService;
 import com.project.skin_me.service.user.IUserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -56,11 +61,17 @@ public class OrderController {
         }
     }
 
+    /** Without {@code page} returns the full list (legacy clients); with it, one DB page of orders. */
     @GetMapping("/my-orders")
     @PreAuthorize("hasRole('ROLE_USER')")
-    public ResponseEntity<ApiResponse> getMyOrders() {
+    public ResponseEntity<ApiResponse> getMyOrders(@RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "20") int size) {
         try {
             User user = userService.getAuthenticatedUser();
+            if (page != null) {
+                return ResponseEntity.ok(new ApiResponse("User orders fetched!",
+                        pageData(orderService.getUserOrders(user.getId(), pageRequest(page, size)))));
+            }
             List<OrderDto> orders = orderService.getUserOrders(user.getId());
             return ResponseEntity.ok(new ApiResponse("User orders fetched!", orders));
         } catch (ResourceNotFoundException e) {
@@ -81,8 +92,14 @@ public class OrderController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<ApiResponse> getUserOrders(@PathVariable Long userId) {
+    public ResponseEntity<ApiResponse> getUserOrders(@PathVariable Long userId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "20") int size) {
         try {
+            if (page != null) {
+                return ResponseEntity.ok(new ApiResponse("User orders fetched!",
+                        pageData(orderService.getUserOrders(userId, pageRequest(page, size)))));
+            }
             List<OrderDto> orders = orderService.getUserOrders(userId);
             return ResponseEntity.ok(new ApiResponse("User orders fetched!", orders));
         } catch (ResourceNotFoundException e) {
@@ -93,8 +110,13 @@ public class OrderController {
 
     @GetMapping("/all")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public ResponseEntity<ApiResponse> getAllOrders() {
+    public ResponseEntity<ApiResponse> getAllOrders(@RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "20") int size) {
         try {
+            if (page != null) {
+                return ResponseEntity.ok(new ApiResponse("All orders fetched!",
+                        pageData(orderService.getAllUserOrders(pageRequest(page, size)))));
+            }
             List<OrderDto> orders = orderService.getAllUserOrders();
             return ResponseEntity.ok(new ApiResponse("All orders fetched!", orders));
         } catch (Exception e) {
@@ -202,4 +224,18 @@ public class OrderController {
                     .body(new ApiResponse("Error updating delivery address: " + e.getMessage(), null));
         }
     }
+
+    private static Pageable pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, 100)), Sort.by("orderId").descending());
+    }
+
+    private static Map<String, Object> pageData(Page<OrderDto> orders) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("orders", orders.getContent());
+        data.put("page", orders.getNumber());
+        data.put("size", orders.getSize());
+        data.put("totalElements", orders.getTotalElements());
+        data.put("totalPages", orders.getTotalPages());
+        return data;
+    }
 }
@@ -6,14 +6,16 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -22,22 +24,33 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.project.skin_me.dto.OrderDto;
+import com.project.skin_me.dto.PaymentStatusDto;
 import com.project.skin_me.dto.RealTimeUpdateDto;
 import com.project.skin_me.enums.LogisticCompany;
 import com.project.skin_me.enums.OrderStatus;
 import com.project.skin_me.enums.PaymentMethod;
+import com.project.skin_me.exception.IntegrationUnavailableException;
 import com.project.skin_me.exception.ResourceNotFoundException;
 import com.project.skin_me.model.Order;
 import com.project.skin_me.model.Payment;
+import com.project.skin_me.model.PaymentWebhookEvent;
 import com.project.skin_me.repository.OrderRepository;
 import com.project.skin_me.repository.PaymentRepository;
 import com.project.skin_me.response.ApiResponse;
 import com.project.skin_me.service.checkout.ICheckoutService;
+import com.project.skin_me.service.http.IntegrationGuard.Retry;
+import com.project.skin_me.service.http.OutboundHttp;
 import com.project.skin_me.service.notification.NotificationService;
 import com.project.skin_me.service.order.IOrderService;
 import com.project.skin_me.service.payment.IBakongKhqrService;
+import com.project.skin_me.service.payment.IPaymentStatusService;
+import com.project.skin_me.service.payment.IPaymentWebhookService;
+import com.project.skin_me.service.user.IUserService;
+import com.project.skin_me.service.payment.PaymentWebhookProcessor;
+import com.project.skin_me.service.websocket.OrderFeedPublisher;
 import com.project.skin_me.util.PayWayWebhookNormalizer;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Event;
@@ -46,6 +59,7 @@ import com.stripe.model.checkout.Session;
 import com.stripe.net.Webhook;
 import com.stripe.param.PaymentIntentCreateParams;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -59,7 +73,11 @@ public class PaymentController {
     private final PaymentRepository paymentRepository;
     private final IBakongKhqrService bakongKhqrService;
     private final NotificationService notificationService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final OrderFeedPublisher orderFeedPublisher;
+    private final IPaymentWebhookService paymentWebhookService;
+    private final IPaymentStatusService paymentStatusService;
+    private final IUserService userService;
+    private final OutboundHttp outboundHttp;
 
     @Value("${stripe.webhook.secret}")
     private String webhookSecret;
@@ -72,6 +90,8 @@ public class PaymentController {
 
     private static final Logger log = LoggerFactory.getLogger(PaymentController.class);
     private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Set<String> STRIPE_HANDLED_EVENTS = Set.of(
+            "checkout.session.completed", "payment_intent.succeeded");
 
     /**
      * Creates an order from the cart and either a Stripe Checkout session (card) or
@@ -130,7 +150,7 @@ public class PaymentController {
                                     "currency", currency,
                                     "gateway", gateway))
                             .build();
-                    messagingTemplate.convertAndSend("/topic/orders", update);
+                    orderFeedPublisher.publish(update, order.getUser());
                 } catch (Exception e) {
                     log.debug("KHQR checkout notification: {}", e.getMessage());
                 }
@@ -219,9 +239,9 @@ public class PaymentController {
                                 "status", "PENDING",
                                 "checkoutUrl", session.getUrl()))
                         .build();
-                messagingTemplate.convertAndSend("/topic/orders", update);
+                orderFeedPublisher.publish(update, order.getUser());
             } catch (Exception e) {
-                System.err.println("Failed to send payment pending notification: " + e.getMessage());
+                log.warn("Failed to send payment pending notification: {}", e.getMessage());
             }
 
             Map<String, Object> data = new HashMap<>();
@@ -234,6 +254,9 @@ public class PaymentController {
         } catch (StripeException e) {
             return ResponseEntity.status(500)
                     .body(new ApiResponse("Stripe error: " + e.getMessage(), null));
+        } catch (IntegrationUnavailableException e) {
+            return ResponseEntity.status(503)
+                    .body(new ApiResponse("Stripe temporarily unavailable: " + e.getMessage(), null));
         } catch (IllegalStateException e) {
             int status = "Order already paid".equals(e.getMessage()) ? 409 : 400;
             return ResponseEntity.status(status).body(new ApiResponse(e.getMessage(), null));
@@ -273,18 +296,6 @@ public class PaymentController {
                 .compareTo(requested.setScale(2, RoundingMode.HALF_UP)) == 0;
     }
 
-    private static boolean payWayAmountMatchesPayment(BigDecimal expected, BigDecimal received, String currency) {
-        if (expected == null || received == null) {
-            return true; // Some channels may omit amount; keep backward compatibility.
-        }
-        if ("KHR".equalsIgnoreCase(currency)) {
-            return expected.setScale(0, RoundingMode.HALF_UP)
-                    .compareTo(received.setScale(0, RoundingMode.HALF_UP)) == 0;
-        }
-        return expected.setScale(2, RoundingMode.HALF_UP)
-                .compareTo(received.setScale(2, RoundingMode.HALF_UP)) == 0;
-    }
-
     private void applyDeliveryToOrder(Order order, Map<String, Object> body) {
         if (body.get("deliveryStreet") != null) order.setDeliveryStreet(String.valueOf(body.get("deliveryStreet")));
         if (body.get("deliveryCity") != null) order.setDeliveryCity(String.valueOf(body.get("deliveryCity")));
@@ -343,7 +354,7 @@ public class PaymentController {
                 return ResponseEntity.ok(new ApiResponse("No Stripe session for this order", data));
             }
 
-            Session session = Session.retrieve(sessionId);
+            Session session = outboundHttp.call("stripe", () -> Session.retrieve(sessionId), Retry.NONE);
             String paymentStatus = session.getPaymentStatus();
             if (!"paid".equalsIgnoreCase(paymentStatus)) {
                 Map<String, Object> data = new HashMap<>();
@@ -364,6 +375,9 @@ public class PaymentController {
         } catch (StripeException e) {
             return ResponseEntity.status(502)
                     .body(new ApiResponse("Stripe error: " + e.getMessage(), null));
+        } catch (IntegrationUnavailableException e) {
+            return ResponseEntity.status(503)
+                    .body(new ApiResponse("Stripe temporarily unavailable: " + e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(500)
                     .body(new ApiResponse("Error verifying payment: " + e.getMessage(), null));
@@ -391,7 +405,8 @@ public class PaymentController {
 
             if (existingPay.isPresent() && existingPay.get().getTransactionRef() != null
                     && existingPay.get().getTransactionRef().startsWith("pi_")) {
-                PaymentIntent existingPi = PaymentIntent.retrieve(existingPay.get().getTransactionRef());
+                String existingRef = existingPay.get().getTransactionRef();
+                PaymentIntent existingPi = outboundHttp.call("stripe", () -> PaymentIntent.retrieve(existingRef), Retry.NONE);
                 String st = existingPi.getStatus();
                 if ("requires_payment_method".equals(st) || "requires_confirmation".equals(st)
                         || "requires_action".equals(st) || "processing".equals(st)) {
@@ -413,7 +428,7 @@ public class PaymentController {
                     .putMetadata("orderNumber", order.getOrderId().toString())
                     .build();
 
-            PaymentIntent paymentIntent = PaymentIntent.create(params);
+            PaymentIntent paymentIntent = outboundHttp.call("stripe", () -> PaymentIntent.create(params), Retry.NONE);
 
             Payment payment;
             if (existingPay.isPresent() && existingPay.get().getStatus() != OrderStatus.SUCCESS) {
@@ -435,6 +450,7 @@ public class PaymentController {
                         .build();
                 payment = paymentRepository.save(payment);
             }
+            paymentStatusService.evict(orderId);
 
             Map<String, Object> data = new HashMap<>();
             data.put("clientSecret", paymentIntent.getClientSecret());
@@ -446,6 +462,9 @@ public class PaymentController {
         } catch (StripeException e) {
             return ResponseEntity.status(500)
                     .body(new ApiResponse("Stripe error: " + e.getMessage(), null));
+        } catch (IntegrationUnavailableException e) {
+            return ResponseEntity.status(503)
+                    .body(new ApiResponse("Stripe temporarily unavailable: " + e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(500)
                     .body(new ApiResponse("Error: " + e.getMessage(), null));
@@ -455,7 +474,7 @@ public class PaymentController {
     @PostMapping("/confirm-payment/{paymentIntentId}")
     public ResponseEntity<ApiResponse> confirmPayment(@PathVariable String paymentIntentId) {
         try {
-            PaymentIntent paymentIntent = PaymentIntent.retrieve(paymentIntentId);
+            PaymentIntent paymentIntent = outboundHttp.call("stripe", () -> PaymentIntent.retrieve(paymentIntentId), Retry.NONE);
 
             if ("succeeded".equals(paymentIntent.getStatus())) {
                 Payment payment = paymentRepository.findByTransactionRef(paymentIntentId)
@@ -498,9 +517,9 @@ public class PaymentController {
                                     "status", "SUCCESS",
                                     "message", "Payment confirmed successfully"))
                             .build();
-                    messagingTemplate.convertAndSend("/topic/orders", update);
+                    orderFeedPublisher.publish(update, order.getUser());
                 } catch (Exception e) {
-                    System.err.println("Failed to send payment success notification: " + e.getMessage());
+                    log.warn("Failed to send payment success notification: {}", e.getMessage());
                 }
 
                 Map<String, Object> data = new HashMap<>();
@@ -516,6 +535,9 @@ public class PaymentController {
         } catch (StripeException e) {
             return ResponseEntity.status(500)
                     .body(new ApiResponse("Stripe error: " + e.getMessage(), null));
+        } catch (IntegrationUnavailableException e) {
+            return ResponseEntity.status(503)
+                    .body(new ApiResponse("Stripe temporarily unavailable: " + e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(500)
                     .body(new ApiResponse("Error: " + e.getMessage(), null));
@@ -590,6 +612,9 @@ public class PaymentController {
                 payment.setTransactionTime(LocalDateTime.now());
 
             paymentRepository.save(payment);
+            if (payment.getOrder() != null) {
+                paymentStatusService.evict(payment.getOrder().getId());
+            }
 
             if (status == OrderStatus.SUCCESS && payment.getOrder() != null) {
                 orderService.confirmOrderPayment(payment.getOrder());
@@ -607,7 +632,12 @@ public class PaymentController {
         }
     }
 
+    /**
+     * Stripe webhook. Verifies the signature, stores the event (deduplicated by Stripe event id)
+     * and acknowledges; {@link IPaymentWebhookService} confirms the payment asynchronously.
+     */
     @PostMapping("/webhook")
+    @Timed(value = "skinme.payment.webhook", extraTags = {"provider", "stripe"}, histogram = true)
     public ResponseEntity<ApiResponse> handleWebhook(@RequestBody String payload,
             @RequestHeader(value = "Stripe-Signature", required = false) String sigHeader) {
         Event event;
@@ -622,145 +652,38 @@ public class PaymentController {
             return ResponseEntity.status(400).body(new ApiResponse("Webhook signature verification failed", null));
         }
 
-        Map<String, Object> processedEvents = new HashMap<>();
-        processedEvents.put("event_type", event.getType());
-        processedEvents.put("event_id", event.getId());
-
+        Map<String, Object> data = new HashMap<>();
+        data.put("event_type", event.getType());
+        data.put("event_id", event.getId());
+        if (!STRIPE_HANDLED_EVENTS.contains(event.getType())) {
+            return ResponseEntity.ok(new ApiResponse("Event type not handled", data));
+        }
         try {
             // Parse payload from raw JSON so we don't depend on Stripe SDK deserialization
             // (avoids 500 with API version 2025+)
-            JsonNode root = objectMapper.readTree(payload);
-            JsonNode data = root.path("data").path("object");
-
-            if ("checkout.session.completed".equals(event.getType())) {
-                String sessionId = data.path("id").asText("");
-                if (sessionId.isEmpty()) {
-                    log.warn("checkout.session.completed: missing session id in event {}", event.getId());
-                    return ResponseEntity.ok(new ApiResponse("Event received, no session id", processedEvents));
-                }
-                String paymentIntentId = null;
-                if (data.has("payment_intent")) {
-                    JsonNode pi = data.get("payment_intent");
-                    paymentIntentId = pi.isTextual() ? pi.asText() : pi.path("id").asText("");
-                    if (paymentIntentId.isEmpty())
-                        paymentIntentId = null;
-                }
-                processCheckoutSessionCompleted(sessionId, paymentIntentId, processedEvents);
-            } else if ("payment_intent.succeeded".equals(event.getType())) {
-                String paymentIntentId = data.path("id").asText("");
-                if (paymentIntentId.isEmpty()) {
-                    log.warn("payment_intent.succeeded: missing id in event {}", event.getId());
-                    return ResponseEntity.ok(new ApiResponse("Event received, no payment_intent id", processedEvents));
-                }
-                processPaymentIntentSucceeded(paymentIntentId, processedEvents);
-            }
-
-            processedEvents.put("processed", true);
-            return ResponseEntity.ok(new ApiResponse("Webhook processed successfully", processedEvents));
+            String orderKey = PaymentWebhookProcessor.stripeOrderKey(objectMapper.readTree(payload));
+            IPaymentWebhookService.Ingested ingested = paymentWebhookService.ingest(
+                    PaymentWebhookEvent.PROVIDER_STRIPE, event.getId(), event.getType(), orderKey, payload);
+            data.put("webhook_event_id", ingested.event().getId());
+            data.put("duplicate", ingested.duplicate());
+            return ResponseEntity.ok(new ApiResponse(ingested.duplicate() ? "Duplicate event" : "Event queued", data));
         } catch (Exception e) {
-            log.error("Stripe webhook processing failed for event {}: {}", event.getId(), e.getMessage(), e);
-            processedEvents.put("processed", false);
-            processedEvents.put("error", e.getMessage());
-            return ResponseEntity
-                    .ok(new ApiResponse("Webhook received but processing failed: " + e.getMessage(), processedEvents));
+            // Not stored: a non-2xx makes Stripe redeliver
+            log.error("Stripe webhook could not be stored for event {}: {}", event.getId(), e.getMessage(), e);
+            return ResponseEntity.status(500).body(new ApiResponse("Webhook could not be stored", data));
         }
     }
 
-    private void processCheckoutSessionCompleted(String sessionId, String paymentIntentId,
-            Map<String, Object> processedEvents) {
-        orderService.getOrderByStripeSessionId(sessionId).ifPresentOrElse(
-                order -> {
-                    if (order.getOrderStatus() == OrderStatus.PAID) {
-                        processedEvents.put("skipped", "order_already_paid");
-                        processedEvents.put("order_id", order.getId());
-                        log.info("Webhook: checkout.session.completed ignored (already paid) session {} order {}",
-                                sessionId, order.getId());
-                        return;
-                    }
-                    Optional<Payment> payOpt = paymentRepository.findByTransactionRef(sessionId)
-                            .or(() -> paymentRepository.findByOrder(order));
-                    payOpt.ifPresentOrElse(
-                            payment -> {
-                                if (payment.getStatus() == OrderStatus.SUCCESS) {
-                                    if (order.getOrderStatus() != OrderStatus.PAID) {
-                                        orderService.confirmOrderPayment(order);
-                                    }
-                                    processedEvents.put("skipped", "payment_already_success");
-                                    processedEvents.put("order_id", order.getId());
-                                    return;
-                                }
-                                if (paymentIntentId != null && !paymentIntentId.isEmpty()) {
-                                    payment.setPaymentIntentId(paymentIntentId);
-                                }
-                                payment.setStatus(OrderStatus.SUCCESS);
-                                payment.setTransactionTime(LocalDateTime.now());
-                                paymentRepository.save(payment);
-                                orderService.confirmOrderPayment(order);
-                                processedEvents.put("checkout_session", sessionId);
-                                processedEvents.put("order_id", order.getId());
-                                log.info("Webhook: checkout.session.completed processed for session {} order {}",
-                                        sessionId, order.getId());
-                            },
-                            () -> log.warn("Webhook: payment not found for sessionId {} order {}", sessionId, order.getId()));
-                },
-                () -> log.warn("Webhook: order not found for stripe sessionId {}", sessionId));
-    }
-
-    private void processPaymentIntentSucceeded(String paymentIntentId, Map<String, Object> processedEvents) {
-        Optional<Payment> paymentOpt = paymentRepository.findByPaymentIntentId(paymentIntentId)
-                .or(() -> paymentRepository.findByTransactionRef(paymentIntentId));
-
-        if (paymentOpt.isEmpty()) {
-            // Fallback: PaymentIntent has metadata order_id (set when creating Checkout Session)
-            try {
-                PaymentIntent pi = PaymentIntent.retrieve(paymentIntentId);
-                if (pi.getMetadata() != null) {
-                    String orderIdStr = null;
-                    if (pi.getMetadata().containsKey("order_id")) {
-                        orderIdStr = pi.getMetadata().get("order_id");
-                    } else if (pi.getMetadata().containsKey("orderId")) {
-                        orderIdStr = pi.getMetadata().get("orderId");
-                    }
-                    if (orderIdStr != null && !orderIdStr.isBlank()) {
-                        try {
-                            Long oid = Long.parseLong(orderIdStr.trim());
-                            Order order = orderRepository.findById(oid).orElse(null);
-                            if (order != null) {
-                                paymentOpt = paymentRepository.findByOrder(order);
-                            }
-                        } catch (NumberFormatException ignored) { }
-                    }
-                }
-            } catch (StripeException e) {
-                log.warn("Webhook: could not retrieve PaymentIntent {} for metadata fallback: {}", paymentIntentId, e.getMessage());
-            }
-        }
-
-        paymentOpt.ifPresentOrElse(
-                payment -> {
-                    Order order = payment.getOrder();
-                    if (order.getOrderStatus() != OrderStatus.PAID) {
-                        payment.setPaymentIntentId(paymentIntentId);
-                        payment.setStatus(OrderStatus.SUCCESS);
-                        payment.setTransactionTime(LocalDateTime.now());
-                        paymentRepository.save(payment);
-                        orderService.confirmOrderPayment(order);
-                        log.info("Webhook: payment_intent.succeeded processed for pi {} order {}",
-                                paymentIntentId, order.getId());
-                    }
-                    processedEvents.put("payment_intent", paymentIntentId);
-                    processedEvents.put("order_id", order.getId());
-                },
-                () -> log.warn("Webhook: payment not found for paymentIntentId {}", paymentIntentId));
-    }
-
     /**
      * PayWay (ABA / KHQR) webhook. POST JSON, HTTPS.
      * Accepts common field variants ({@code merchant_ref}, {@code merchant_ref_no}, {@code tran_id}, etc.).
      * Success: numeric {@code 0} or strings {@code "0"}, {@code "00"}.
      * {@code merchant_ref} must match our order PK (embedded in KHQR EMV tag 62.01) or {@link Payment#getTransactionRef()}.
+     * The callback is stored (deduplicated by transaction id + status) and processed asynchronously;
+     * amount mismatches and unknown references end up as failed / dead-letter events.
      */
     @PostMapping("/webhook/payway")
+    @Timed(value = "skinme.payment.webhook", extraTags = {"provider", "payway"}, histogram = true)
     public ResponseEntity<ApiResponse> handlePayWayWebhook(@RequestBody(required = false) JsonNode root) {
         if (root == null || root.isNull()) {
             return ResponseEntity.badRequest().body(new ApiResponse("Missing JSON body", null));
@@ -771,58 +694,26 @@ public class PaymentController {
             return ResponseEntity.badRequest().body(new ApiResponse("Missing merchant_ref (or merchant_ref_no)", null));
         }
         PayWayWebhookNormalizer.NormalizedPayWayWebhook n = normalizedOpt.get();
-        String merchantRef = n.merchantRef();
+        String merchantRef = n.merchantRef().trim();
+        // PayWay has no event id: a transaction can call back once per status change
+        String eventId = (n.transactionId() != null && !n.transactionId().isBlank() ? n.transactionId() : merchantRef)
+                + ":" + root.path("status").asText("");
 
-        Optional<Payment> paymentOpt = Optional.empty();
-        try {
-            Long orderId = Long.parseLong(merchantRef.trim());
-            paymentOpt = orderRepository.findById(orderId).flatMap(paymentRepository::findByOrder);
-        } catch (NumberFormatException ignored) {
-            paymentOpt = paymentRepository.findByTransactionRef(merchantRef.trim());
-        }
-        if (paymentOpt.isEmpty()) {
-            log.warn("PayWay webhook: no payment found for merchant_ref={}", merchantRef);
-            return ResponseEntity.ok(new ApiResponse("No matching order/payment for merchant_ref",
-                    Map.of("merchant_ref", merchantRef)));
-        }
-        Payment payment = paymentOpt.get();
-        if (payment.getMethod() != PaymentMethod.KHQR) {
-            payment.setMethod(PaymentMethod.KHQR);
-        }
-        if (n.success()) {
-            if (!payWayAmountMatchesPayment(payment.getAmount(), n.amount(), n.currency())) {
-                log.warn("PayWay webhook: amount mismatch for order {}. expected={} received={} currency={}",
-                        payment.getOrder().getId(), payment.getAmount(), n.amount(), n.currency());
-                return ResponseEntity.badRequest().body(new ApiResponse("Amount mismatch", Map.of(
-                        "merchant_ref", merchantRef,
-                        "expectedAmount", payment.getAmount(),
-                        "receivedAmount", n.amount(),
-                        "currency", n.currency())));
-            }
-            if (payment.getStatus() != OrderStatus.SUCCESS) {
-                payment.setStatus(OrderStatus.SUCCESS);
-                payment.setTransactionTime(LocalDateTime.now());
-                if (n.transactionId() != null && !n.transactionId().isBlank()) {
-                    payment.setMessage("PayWay: " + n.transactionId());
-                }
-                if (n.payerAccount() != null && !n.payerAccount().isBlank()) {
-                    payment.setPayerAccount(n.payerAccount());
-                }
-                paymentRepository.save(payment);
-                orderService.confirmOrderPayment(payment.getOrder());
-                log.info("PayWay webhook: payment confirmed for order {} transaction_id={}",
-                        payment.getOrder().getId(), n.transactionId());
-            }
-        } else {
-            log.debug("PayWay webhook: status not success for merchant_ref={} raw_status={}",
-                    merchantRef, root.path("status"));
-        }
         Map<String, Object> data = new HashMap<>();
         data.put("transaction_id", n.transactionId());
         data.put("merchant_ref", merchantRef);
         data.put("status", root.path("status"));
-        data.put("processed", n.success());
-        return ResponseEntity.ok(new ApiResponse("Webhook received", data));
+        try {
+            IPaymentWebhookService.Ingested ingested = paymentWebhookService.ingest(
+                    PaymentWebhookEvent.PROVIDER_PAYWAY, eventId, n.success() ? "success" : "status",
+                    merchantRef, root.toString());
+            data.put("webhook_event_id", ingested.event().getId());
+            data.put("duplicate", ingested.duplicate());
+            return ResponseEntity.ok(new ApiResponse("Webhook received", data));
+        } catch (Exception e) {
+            log.error("PayWay webhook could not be stored for merchant_ref={}: {}", merchantRef, e.getMessage(), e);
+            return ResponseEntity.status(500).body(new ApiResponse("Webhook could not be stored", data));
+        }
     }
 
     @GetMapping("/generate-khqr")
@@ -876,6 +767,7 @@ public class PaymentController {
                 payment.setTransactionRef(paywayRef);
             }
             paymentRepository.save(payment);
+            paymentStatusService.evict(orderId);
 
             Map<String, Object> responseData = new HashMap<>();
             responseData.put("qrData", khqrData.get("qrData"));
@@ -894,37 +786,12 @@ public class PaymentController {
         }
     }
 
+    /** Served from {@link IPaymentStatusService}'s cache; prefer the push channels below over polling. */
     @GetMapping("/status/{orderId}")
     public ResponseEntity<ApiResponse> getPaymentStatus(@PathVariable Long orderId) {
         try {
-            Order order = orderRepository.findById(orderId)
-                    .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
-            Optional<Payment> paymentOpt = paymentRepository.findByOrder(order);
-            Payment payment = paymentOpt.orElse(null);
-
-            boolean paid = order.getOrderStatus() == OrderStatus.PAID
-                    || order.getOrderStatus() == OrderStatus.DELIVERED
-                    || (payment != null && payment.getStatus() == OrderStatus.SUCCESS);
-
-            Map<String, Object> data = new HashMap<>();
-            data.put("orderId", order.getId());
-            data.put("orderStatus", order.getOrderStatus() != null ? order.getOrderStatus().name() : null);
-            data.put("paid", paid);
-            data.put("posOrder", order.isPosOrder());
-            if (payment != null) {
-                data.put("paymentId", payment.getId());
-                data.put("paymentStatus", payment.getStatus() != null ? payment.getStatus().name() : null);
-                data.put("paymentMethod", payment.getMethod() != null ? payment.getMethod().name() : null);
-                data.put("transactionRef", payment.getTransactionRef());
-                data.put("transactionTime", payment.getTransactionTime());
-                data.put("message", payment.getMessage());
-            } else {
-                data.put("paymentStatus", null);
-                data.put("paymentMethod", null);
-            }
-
-            return ResponseEntity.ok(new ApiResponse("Payment status", data));
-        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(new ApiResponse("Payment status", paymentStatusService.getStatus(orderId)));
+        } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(404).body(new ApiResponse(e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(500)
@@ -932,6 +799,28 @@ public class PaymentController {
         }
     }
 
+    /**
+     * SSE stream of {@code payment-status} events for one order (current status first, then every change;
+     * closes once paid). STOMP clients can subscribe to {@code /user/topic/payment/{orderId}} instead.
+     * Only the order owner or an admin may subscribe.
+     */
+    @GetMapping(value = "/status/{orderId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamPaymentStatus(@PathVariable Long orderId, Authentication authentication) {
+        PaymentStatusDto status;
+        try {
+            status = paymentStatusService.getStatus(orderId);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+        boolean admin = authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+        if (!admin && (status.getUserId() == null
+                || !status.getUserId().equals(userService.getAuthenticatedUser().getId()))) {
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok(paymentStatusService.subscribe(orderId));
+    }
+
     @PostMapping("/verify-khqr/{orderId}")
     public ResponseEntity<ApiResponse> verifyKhqrPayment(@PathVariable Long orderId) {
         try {
@@ -958,6 +847,7 @@ public class PaymentController {
             payment.setMessage("KHQR payment confirmed");
             payment.setStatus(OrderStatus.SUCCESS);
             paymentRepository.save(payment);
+            paymentStatusService.evict(orderId);
 
             orderService.confirmOrderPayment(order);
 
@@ -1014,6 +904,7 @@ public class PaymentController {
 
     /** One pending card payment row per order; updates amount/ref when creating or reusing a Checkout session. */
     private Payment upsertPendingCardPayment(Order order, String stripeSessionId) {
+        paymentStatusService.evict(order.getId());
         Optional<Payment> existing = paymentRepository.findByOrder(order);
         if (existing.isPresent()) {
             Payment p = existing.get();
@@ -1044,7 +935,7 @@ public class PaymentController {
             return StripeCheckoutResolution.createNew();
         }
         try {
-            Session existing = Session.retrieve(sid);
+            Session existing = outboundHttp.call("stripe", () -> Session.retrieve(sid), Retry.NONE);
             if ("open".equals(existing.getStatus())) {
                 return StripeCheckoutResolution.reuseOpen(existing);
             }
@@ -1059,7 +950,7 @@ public class PaymentController {
             if ("expired".equals(existing.getStatus())) {
                 return StripeCheckoutResolution.createNew();
             }
-        } catch (StripeException e) {
+        } catch (StripeException | IntegrationUnavailableException e) {
             log.debug("Stripe session {} not reusable ({}), creating new session", sid, e.getMessage());
         }
         return StripeCheckoutResolution.createNew();
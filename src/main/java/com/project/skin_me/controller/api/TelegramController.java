@@ -26,8 +26,8 @@ public class TelegramController {
         String testMessage = "<b>🧪 Skin.me Telegram test</b>\nIf you see this, alerts are working. You will receive:\n• New order (when customer places order)\n• Payment completed (when payment succeeds)\n• Delivery done (when order is delivered)";
         telegramNotificationService.sendAlert(testMessage);
         return ResponseEntity.ok(new ApiResponse(
-                "Test message sent to Telegram (if configured). Check your chat.",
-                Map.of("sent", true)
+                "Test message queued for Telegram (if configured). Check your chat.",
+                Map.of("queued", true)
         ));
     }
 }
@@ -1,6 +1,7 @@
 package com.project.skin_me.controller.api;
 
 import com.project.skin_me.dto.UserDto;
+import com.project.skin_me.dto.UserOptionDto;
 import com.project.skin_me.exception.AlreadyExistsException;
 import com.project.skin_me.exception.ResourceNotFoundException;
 import com.project.skin_me.model.User;
@@ -56,6 +57,16 @@ public class UserController {
         return ResponseEntity.ok(new ApiResponse("Success", users));
     }
 
+    /** Typeahead for admin filters: prefix match on email or name, at most 50 rows. */
+    @GetMapping("/lookup")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse> lookupUsers(
+            @RequestParam(name = "q", required = false) String query,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<UserOptionDto> options = userService.lookupUsers(query, null, limit);
+        return ResponseEntity.ok(new ApiResponse("Success", options));
+    }
+
     @PostMapping("/add")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<ApiResponse> createUser(@RequestBody CreateUserRequest request) {
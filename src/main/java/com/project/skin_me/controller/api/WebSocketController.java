@@ -1,5 +1,6 @@
 package com.project.skin_me.controller.api;
 
+import com.project.skin_me.dto.AdminEventFrameDto;
 import com.project.skin_me.dto.ChatMessageDto;
 import com.project.skin_me.dto.NotificationDto;
 import com.project.skin_me.dto.RealTimeUpdateDto;
@@ -7,20 +8,27 @@ import com.project.skin_me.model.ChatMessage;
 import com.project.skin_me.model.User;
 import com.project.skin_me.repository.ChatMessageRepository;
 import com.project.skin_me.service.chatAI.GeminiService;
+import com.project.skin_me.service.notification.AdminEventStream;
 import com.project.skin_me.service.notification.NotificationService;
 import com.project.skin_me.service.user.IUserService;
+import com.project.skin_me.service.websocket.AdminOrderFeed;
+import com.project.skin_me.service.websocket.StompDestinations;
 import com.project.skin_me.util.MarkdownCatalogLoader;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 
+import java.security.Principal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Slf4j
@@ -33,14 +41,18 @@ public class WebSocketController {
     private final ChatMessageRepository chatMessageRepository;
     private final IUserService userService;
     private final NotificationService notificationService;
+    private final AdminOrderFeed adminOrderFeed;
+    private final AdminEventStream adminEventStream;
 
     /**
      * Handle chat messages between users and admins
      * Client sends to: /app/chat/message
+     * Delivered to the admin inbox (/topic/admin/chat) and to the customer's own sessions
+     * (/user/queue/chat): the sender for a customer message, the conversation's customer for an admin reply
      */
     @MessageMapping("/chat/message")
-    @SendTo("/topic/chat")
-    public ChatMessageDto handleChatMessage(ChatMessageDto message) {
+    public void handleChatMessage(ChatMessageDto message) {
+        String recipient = null;
         try {
             // Get current user
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -57,9 +69,11 @@ public class WebSocketController {
             String senderType = "user";
             if (currentUser != null) {
                 boolean isAdmin = currentUser.getRoles().stream()
-                    .anyMatch(role -> role.getName().equalsIgnoreCase("ADMIN"));
+                    .anyMatch(role -> role.getName().equalsIgnoreCase("ADMIN")
+                            || role.getName().equalsIgnoreCase("ROLE_ADMIN"));
                 senderType = isAdmin ? "admin" : "user";
                 message.setSender(currentUser.getEmail());
+                recipient = isAdmin ? conversationCustomer(message.getConversationId()) : currentUser.getEmail();
             }
             
             // Add metadata
@@ -91,14 +105,23 @@ public class WebSocketController {
                 }
             }
             
-            // Broadcast to all subscribers
-            return message;
         } catch (Exception e) {
-            // Return message even if save fails
+            // Deliver the message even if save fails
             message.setId(UUID.randomUUID().toString());
             message.setTimestamp(LocalDateTime.now());
-            return message;
         }
+        if (recipient != null) {
+            messagingTemplate.convertAndSendToUser(recipient, StompDestinations.USER_CHAT, message);
+        }
+        messagingTemplate.convertAndSend(StompDestinations.ADMIN_CHAT, message);
+    }
+
+    private String conversationCustomer(String conversationId) {
+        if (conversationId == null || conversationId.isBlank()) {
+            return null;
+        }
+        List<String> emails = chatMessageRepository.findCustomerEmailsByConversationId(conversationId, PageRequest.of(0, 1));
+        return emails.isEmpty() ? null : emails.get(0);
     }
 
     /**
@@ -107,7 +130,7 @@ public class WebSocketController {
      * Response sent to specific user
      */
     @MessageMapping("/chat/query")
-    @SendToUser("/topic/chat")
+    @SendToUser(StompDestinations.USER_CHAT)
     public ChatMessageDto handleChatQuery(ChatMessageDto message) {
         try {
             // Get current user
@@ -268,16 +291,25 @@ public class WebSocketController {
     }
 
     /**
-     * Send real-time order update
+     * Admin event stream snapshot (admins only, see StompSubscriptionGuard)
+     * Client subscribes to: /app/admin/events (on every connect), then /topic/admin/events for deltas
+     */
+    @SubscribeMapping("/admin/events")
+    public AdminEventFrameDto adminEventSnapshot(Principal principal) {
+        return adminEventStream.snapshotFor(principal.getName());
+    }
+
+    /**
+     * Send real-time order update (admins only, see StompSubscriptionGuard)
      * Client sends to: /app/orders/update
+     * Goes out on the coalesced admin feed (/topic/admin/orders)
      */
     @MessageMapping("/orders/update")
-    @SendTo("/topic/orders")
-    public RealTimeUpdateDto handleOrderUpdate(RealTimeUpdateDto update) {
+    public void handleOrderUpdate(RealTimeUpdateDto update) {
         update.setUpdateId(UUID.randomUUID().toString());
         update.setTimestamp(LocalDateTime.now());
         update.setEntityType("ORDER");
-        return update;
+        adminOrderFeed.enqueue(update);
     }
 
     /**
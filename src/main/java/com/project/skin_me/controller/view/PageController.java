@@ -1,9 +1,6 @@
 package com.project.skin_me.controller.view;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,20 +22,25 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.util.StringUtils;
 
+import com.project.skin_me.dto.DashboardFavoriteDto;
+import com.project.skin_me.dto.DashboardPaymentDto;
+import com.project.skin_me.dto.DashboardPopularProductDto;
+import com.project.skin_me.dto.DashboardSnapshotDto;
 import com.project.skin_me.dto.OrderDto;
+import com.project.skin_me.dto.PaymentRowDto;
 import com.project.skin_me.dto.ProductFeedbackDto;
 import com.project.skin_me.dto.OrderStatusCountDto;
 import com.project.skin_me.dto.ProductDto;
 import com.project.skin_me.dto.SalesMonthDto;
+import com.project.skin_me.dto.UserOptionDto;
+import com.project.skin_me.enums.NotificationAudience;
 import com.project.skin_me.enums.OrderStatus;
 import com.project.skin_me.enums.ProductStatus;
 import com.project.skin_me.model.Activity;
 import com.project.skin_me.model.Brand;
 import com.project.skin_me.model.Category;
-import com.project.skin_me.model.FavoriteItem;
 import com.project.skin_me.model.Order;
 import com.project.skin_me.model.Payment;
-import com.project.skin_me.model.PopularProduct;
 import com.project.skin_me.model.Product;
 import com.project.skin_me.model.Role;
 import com.project.skin_me.model.User;
@@ -47,10 +49,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.skin_me.repository.ActivityRepository;
 import com.project.skin_me.repository.ChatAiRepository;
 import com.project.skin_me.repository.ChatMessageRepository;
-import com.project.skin_me.repository.FavoriteItemRepository;
 import com.project.skin_me.repository.OrderRepository;
 import com.project.skin_me.repository.PaymentRepository;
-import com.project.skin_me.repository.PopularProductRepository;
 import com.project.skin_me.repository.ProductFeedbackRepository;
 import com.project.skin_me.repository.ProductRepository;
 import com.project.skin_me.repository.RoleRepository;
@@ -61,6 +61,7 @@ import com.project.skin_me.request.ProductUpdateRequest;
 import com.project.skin_me.request.UserUpdateRequest;
 import com.project.skin_me.service.brand.IBrandService;
 import com.project.skin_me.service.category.ICategoryService;
+import com.project.skin_me.service.dashboard.IDashboardMetricsService;
 import com.project.skin_me.service.image.IImageService;
 import com.project.skin_me.service.notification.NotificationService;
 import com.project.skin_me.service.order.IOrderService;
@@ -68,12 +69,12 @@ import com.project.skin_me.service.product.IProductService;
 import com.project.skin_me.service.feedback.IProductFeedbackService;
 import com.project.skin_me.service.user.IUserService;
 import com.project.skin_me.service.chatbot.ChatSessionService;
+import com.project.skin_me.service.chatbot.ChatThreadIndex;
 import com.project.skin_me.service.chatbot.ChatbotService;
 import com.project.skin_me.service.chatbot.ChatbotSessionFilter;
 import com.project.skin_me.dto.chatbot.ChatbotHistoryMessage;
 import com.project.skin_me.dto.chatbot.ChatbotHistoryResponse;
 import com.project.skin_me.dto.chatbot.ChatbotSessionSummary;
-import com.project.skin_me.dto.chatbot.ChatbotSessionsResponse;
 import com.project.skin_me.service.payment.IBakongKhqrService;
 import com.project.skin_me.model.ChatAi;
 import com.project.skin_me.model.KhqrBankAccount;
@@ -89,6 +90,10 @@ public class PageController {
     private static final int PAGE_SIZE = 25;
 
     private static final int AUDIT_LOG_PAGE_SIZE = 20;
+    /** Users pre-rendered in admin filter dropdowns; the rest are found via /users/lookup. */
+    private static final int USER_OPTION_LIMIT = 50;
+    /** Threads listed in the Message Center sidebar, newest first. */
+    private static final int CHAT_THREAD_LIMIT = 200;
 
     private final ICategoryService categoryService;
     private final IBrandService brandService;
@@ -98,6 +103,7 @@ public class PageController {
     private final ChatAiRepository chatAiRepository;
     private final ChatbotService chatbotService;
     private final ChatSessionService chatSessionService;
+    private final ChatThreadIndex chatThreadIndex;
     private final IOrderService orderService;
     private final OrderRepository orderRepository;
     private final PaymentRepository paymentRepository;
@@ -108,12 +114,11 @@ public class PageController {
     private final NotificationService notificationService;
     private final SimpMessagingTemplate messagingTemplate;
     private final ActivityRepository activityRepository;
-    private final FavoriteItemRepository favoriteItemRepository;
-    private final PopularProductRepository popularProductRepository;
     private final ObjectMapper objectMapper;
     private final IBakongKhqrService bakongKhqrService;
     private final IProductFeedbackService productFeedbackService;
     private final ProductFeedbackRepository productFeedbackRepository;
+    private final IDashboardMetricsService dashboardMetricsService;
 
     @org.springframework.beans.factory.annotation.Value("${stripe.public.key}")
     private String stripePublicKey;
@@ -238,47 +243,24 @@ public class PageController {
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public String dashboard(Model model) {
         try {
-            // Use counts and sums instead of loading full tables (fast render)
-            long totalProducts = productRepository.count();
-            long totalOrders = orderRepository.count();
-            long totalUsers = userRepository.count();
-            java.math.BigDecimal sumResult = paymentRepository.sumAllAmounts();
-            double totalRevenue = sumResult != null ? sumResult.doubleValue() : 0;
-
-            java.time.LocalDateTime now = java.time.LocalDateTime.now();
-            java.time.LocalDateTime todayStart = now.toLocalDate().atStartOfDay();
-            java.time.LocalDateTime weekStart = now.minusDays(7);
-            java.time.LocalDateTime monthStart = now.minusDays(30);
-
-            long newUsersToday = userRepository.countByRegistrationDateAfter(todayStart);
-            long newUsersThisWeek = userRepository.countByRegistrationDateAfter(weekStart);
-            long newUsersThisMonth = userRepository.countByRegistrationDateAfter(monthStart);
-
-            model.addAttribute("totalProducts", totalProducts);
-            model.addAttribute("totalOrders", totalOrders);
-            model.addAttribute("totalUsers", totalUsers);
-            model.addAttribute("totalRevenue", totalRevenue);
-            model.addAttribute("newUsersToday", newUsersToday);
-            model.addAttribute("newUsersThisWeek", newUsersThisWeek);
-            model.addAttribute("newUsersThisMonth", newUsersThisMonth);
+            // One in-memory snapshot instead of ~15 count/sum queries per render
+            DashboardSnapshotDto metrics = dashboardMetricsService.getSnapshot();
+            model.addAttribute("totalProducts", metrics.getTotalProducts());
+            model.addAttribute("totalOrders", metrics.getTotalOrders());
+            model.addAttribute("totalUsers", metrics.getTotalUsers());
+            model.addAttribute("totalRevenue", metrics.getTotalPaymentAmount().doubleValue());
+            model.addAttribute("newUsersToday", metrics.getNewUsersToday());
+            model.addAttribute("newUsersThisWeek", metrics.getNewUsersThisWeek());
+            model.addAttribute("newUsersThisMonth", metrics.getNewUsersThisMonth());
 
             // Dashboard widgets: last 5 orders and 5 payments for card links
-            Pageable top5 = PageRequest.of(0, 5, Sort.by("orderId").descending());
-            model.addAttribute("recentOrders", orderService.getAllUserOrders(top5).getContent());
-            Pageable top5Payments = PageRequest.of(0, 5, Sort.by("id").descending());
-            model.addAttribute("recentPayments", paymentRepository.findAllWithOrderAndUser(top5Payments).getContent());
-
-            // Recent favorites and popular: limit to 5 in memory (tables usually small)
-            List<FavoriteItem> recentFavorites = favoriteItemRepository.findRecentFavoritesWithRelations();
-            model.addAttribute("recentFavorites", recentFavorites.stream().limit(5).toList());
-            List<PopularProduct> popularProducts = popularProductRepository.findTopPopularProductsWithRelations();
-            model.addAttribute("popularProducts", popularProducts.stream().limit(5).toList());
-
-            long totalFeedback = productFeedbackRepository.count();
-            Pageable feedbackTop = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
-            model.addAttribute("totalFeedback", totalFeedback);
-            model.addAttribute("dashboardFeedbackList",
-                    productFeedbackService.listAllForAdmin(feedbackTop).getContent());
+            model.addAttribute("recentOrders", metrics.getRecentOrders().stream().limit(5).toList());
+            model.addAttribute("recentPayments", metrics.getRecentPayments());
+            model.addAttribute("recentFavorites", metrics.getRecentFavorites());
+            model.addAttribute("popularProducts", metrics.getPopularProducts());
+
+            model.addAttribute("totalFeedback", metrics.getTotalFeedback());
+            model.addAttribute("dashboardFeedbackList", metrics.getRecentFeedback());
 
         } catch (Exception e) {
             model.addAttribute("totalProducts", 0);
@@ -288,10 +270,10 @@ public class PageController {
             model.addAttribute("newUsersToday", 0);
             model.addAttribute("newUsersThisWeek", 0);
             model.addAttribute("newUsersThisMonth", 0);
-            model.addAttribute("recentFavorites", List.<FavoriteItem>of());
-            model.addAttribute("popularProducts", List.<PopularProduct>of());
+            model.addAttribute("recentFavorites", List.<DashboardFavoriteDto>of());
+            model.addAttribute("popularProducts", List.<DashboardPopularProductDto>of());
             model.addAttribute("recentOrders", List.<OrderDto>of());
-            model.addAttribute("recentPayments", List.<Payment>of());
+            model.addAttribute("recentPayments", List.<DashboardPaymentDto>of());
             model.addAttribute("totalFeedback", 0L);
             model.addAttribute("dashboardFeedbackList", List.<ProductFeedbackDto>of());
             model.addAttribute("error", "Failed to load stats: " + e.getMessage());
@@ -494,6 +476,7 @@ public class PageController {
             // Send WebSocket notification for category creation (broadcast to admins)
             try {
                 notificationService.broadcastNotification(
+                        NotificationAudience.ADMIN,
                         "New Category Created",
                         "Category '" + savedCategory.getName() + "' has been created.",
                         "PRODUCT");
@@ -979,26 +962,31 @@ public class PageController {
 
     @GetMapping("/view/orders")
     @PreAuthorize("isAuthenticated()")
-    public String getAllOrdersView(Model model) {
+    public String getAllOrdersView(@RequestParam(defaultValue = "0") int page, Model model) {
         try {
-            List<OrderDto> orderDtos = orderService.getAllUserOrders();
-            long completedCount = orderDtos.stream()
-                    .filter(o -> o.getOrderStatus() != null && o.getOrderStatus().toString().equals("COMPLETED"))
-                    .count();
-            long pendingCount = orderDtos.stream()
-                    .filter(o -> o.getOrderStatus() != null && o.getOrderStatus().toString().equals("PAYMENT_PENDING"))
-                    .count();
-            model.addAttribute("orders", orderDtos);
+            Pageable pageable = PageRequest.of(page, PAGE_SIZE, Sort.by("orderId").descending());
+            var orderPage = orderService.getAllUserOrders(pageable);
+            DashboardSnapshotDto metrics = dashboardMetricsService.getSnapshot();
+            int totalPages = orderPage.getTotalPages();
+            model.addAttribute("orders", orderPage.getContent());
             model.addAttribute("pageTitle", "All Orders");
-            model.addAttribute("totalOrders", orderDtos.size());
-            model.addAttribute("completedOrders", completedCount);
-            model.addAttribute("pendingPaymentOrders", pendingCount);
+            model.addAttribute("totalOrders", orderPage.getTotalElements());
+            model.addAttribute("completedOrders", metrics.getCompletedOrders());
+            model.addAttribute("pendingPaymentOrders", metrics.getPendingPaymentOrders());
+            model.addAttribute("currentPage", page);
+            model.addAttribute("totalPages", totalPages);
+            model.addAttribute("hasNext", page < totalPages - 1);
+            model.addAttribute("hasPrev", page > 0);
         } catch (Exception e) {
             model.addAttribute("error", "Failed to load orders: " + e.getMessage());
             model.addAttribute("orders", List.<OrderDto>of());
             model.addAttribute("totalOrders", 0);
             model.addAttribute("completedOrders", 0);
             model.addAttribute("pendingPaymentOrders", 0);
+            model.addAttribute("currentPage", 0);
+            model.addAttribute("totalPages", 0);
+            model.addAttribute("hasNext", false);
+            model.addAttribute("hasPrev", false);
         }
         return "orders";
     }
@@ -1021,24 +1009,6 @@ public class PageController {
         return "order-details";
     }
 
-    /** Status colors for order charts (could be moved to DB/settings later). */
-    private static final Map<OrderStatus, String> ORDER_STATUS_COLORS = new LinkedHashMap<>() {
-        {
-            put(OrderStatus.DELIVERED, "#10b981");
-            put(OrderStatus.PAID, "#10b981");
-            put(OrderStatus.SUCCESS, "#10b981");
-            put(OrderStatus.PENDING, "#f59e0b");
-            put(OrderStatus.PROCESSING, "#f59e0b");
-            put(OrderStatus.PAYMENT_PENDING, "#f97316");
-            put(OrderStatus.PAYMENT, "#f97316");
-            put(OrderStatus.SHIPPED, "#3b82f6");
-            put(OrderStatus.CANCELLED, "#ef4444");
-            put(OrderStatus.FAILED, "#ef4444");
-        }
-    };
-
-    private static final String DEFAULT_STATUS_COLOR = "#6b7280";
-
     @GetMapping("/views/orders")
     @PreAuthorize("hasRole('ADMIN')")
     public String ordersListPage(@RequestParam(defaultValue = "0") int page, Model model) {
@@ -1047,49 +1017,16 @@ public class PageController {
             var orderPage = orderService.getAllUserOrders(pageable);
             List<OrderDto> orders = orderPage.getContent();
             long totalOrders = orderPage.getTotalElements();
-            long completedOrders = orderRepository.countByOrderStatus(OrderStatus.DELIVERED);
-            long pendingPaymentOrders = orderRepository.countByOrderStatus(OrderStatus.PAYMENT_PENDING);
             int totalPages = orderPage.getTotalPages();
 
-            BigDecimal totalRevenue = orderRepository.sumOrderTotalAmount();
-            if (totalRevenue == null)
-                totalRevenue = BigDecimal.ZERO;
-            model.addAttribute("totalRevenue", totalRevenue);
-
-            List<OrderStatusCountDto> orderStatusCounts = new ArrayList<>();
-            List<Object[]> statusRows = orderRepository.countGroupByOrderStatus();
-            for (Object[] row : statusRows) {
-                OrderStatus status = (OrderStatus) row[0];
-                Long count = ((Number) row[1]).longValue();
-                String color = ORDER_STATUS_COLORS.getOrDefault(status, DEFAULT_STATUS_COLOR);
-                orderStatusCounts.add(new OrderStatusCountDto(status.name(), count, color));
-            }
-            model.addAttribute("orderStatusCounts", orderStatusCounts);
+            DashboardSnapshotDto metrics = dashboardMetricsService.getSnapshot();
+            long completedOrders = metrics.getCompletedOrders();
+            long pendingPaymentOrders = metrics.getPendingPaymentOrders();
+            model.addAttribute("totalRevenue", metrics.getTotalOrderAmount());
 
-            LocalDate since = LocalDate.now().minusMonths(11).withDayOfMonth(1);
-            java.sql.Date sinceSql = java.sql.Date.valueOf(since);
-            List<Object[]> revenueByMonth = orderRepository.sumRevenueByMonthSince(sinceSql);
-            Map<String, BigDecimal> monthToRevenue = new LinkedHashMap<>();
-            for (Object[] row : revenueByMonth) {
-                int y = ((Number) row[0]).intValue();
-                int m = ((Number) row[1]).intValue();
-                BigDecimal sum = BigDecimal.ZERO;
-                if (row[2] != null) {
-                    sum = row[2] instanceof BigDecimal ? (BigDecimal) row[2]
-                            : BigDecimal.valueOf(((Number) row[2]).doubleValue());
-                }
-                String key = y + "-" + m;
-                monthToRevenue.put(key, sum);
-            }
-            List<SalesMonthDto> salesByMonth = new ArrayList<>();
-            for (int i = 0; i < 12; i++) {
-                LocalDate d = since.plusMonths(i);
-                String key = d.getYear() + "-" + d.getMonthValue();
-                String label = d.getMonth().name().substring(0, 1) + d.getMonth().name().substring(1).toLowerCase()
-                        + " " + d.getYear();
-                BigDecimal rev = monthToRevenue.getOrDefault(key, BigDecimal.ZERO);
-                salesByMonth.add(new SalesMonthDto(label, rev));
-            }
+            List<OrderStatusCountDto> orderStatusCounts = metrics.getOrderStatusCounts();
+            model.addAttribute("orderStatusCounts", orderStatusCounts);
+            List<SalesMonthDto> salesByMonth = metrics.getSalesByMonth();
             model.addAttribute("salesByMonth", salesByMonth);
             try {
                 model.addAttribute("orderStatusCountsJson", objectMapper.writeValueAsString(orderStatusCounts));
@@ -1107,8 +1044,7 @@ public class PageController {
             model.addAttribute("totalPages", totalPages);
             model.addAttribute("hasNext", page < totalPages - 1);
             model.addAttribute("hasPrev", page > 0);
-            Pageable recentPageable = PageRequest.of(0, 10, Sort.by("orderId").descending());
-            model.addAttribute("recentOrders", orderService.getAllUserOrders(recentPageable).getContent());
+            model.addAttribute("recentOrders", metrics.getRecentOrders());
         } catch (Exception e) {
             model.addAttribute("error", "Failed to load orders: " + e.getMessage());
             model.addAttribute("orders", List.<OrderDto>of());
@@ -1156,7 +1092,7 @@ public class PageController {
             var orderPage = orderService.getAllUserOrders(pageable);
             List<OrderDto> orders = orderPage.getContent();
             long totalOrders = orderPage.getTotalElements();
-            long deliveredOrders = orderRepository.countByOrderStatus(OrderStatus.DELIVERED);
+            long deliveredOrders = dashboardMetricsService.getSnapshot().getCompletedOrders();
             int totalPages = orderPage.getTotalPages();
             model.addAttribute("orders", orders);
             model.addAttribute("totalOrders", totalOrders);
@@ -1182,18 +1118,8 @@ public class PageController {
 
     @GetMapping("/view/payments")
     @PreAuthorize("isAuthenticated()")
-    public String getAllPaymentsView(Model model) {
-        try {
-            List<Payment> payments = paymentRepository.findAll();
-            model.addAttribute("payments", payments);
-            model.addAttribute("pageTitle", "Payments Record");
-            model.addAttribute("totalPayments", payments.size());
-        } catch (Exception e) {
-            model.addAttribute("error", "Failed to load payments: " + e.getMessage());
-            model.addAttribute("payments", List.<Payment>of());
-            model.addAttribute("totalPayments", 0);
-        }
-        return "payments";
+    public String getAllPaymentsView(@RequestParam(defaultValue = "0") int page, Model model) {
+        return paymentsListPage(page, model);
     }
 
     @GetMapping("/view/payments/{paymentId}")
@@ -1217,45 +1143,9 @@ public class PageController {
 
     @GetMapping("/view/payments/my-payments")
     @PreAuthorize("isAuthenticated()")
-    public String getMyPaymentsView(Authentication authentication, Model model) {
-        try {
-            User user = userService.getAuthenticatedUser();
-            if (user == null) {
-                model.addAttribute("payments", List.<Payment>of());
-                model.addAttribute("totalPayments", 0);
-                model.addAttribute("totalPaymentAmount", 0.0);
-                model.addAttribute("currentPage", 0);
-                model.addAttribute("totalPages", 0);
-                model.addAttribute("hasNext", false);
-                model.addAttribute("hasPrev", false);
-                model.addAttribute("pageTitle", "User Payment");
-                model.addAttribute("pageSubtitle", "Payment Record");
-                return "my-payments";
-            }
-            List<Payment> payments = paymentRepository.findByOrderUserIdWithOrderAndUser(user.getId());
-            java.math.BigDecimal sum = paymentRepository.sumAmountsByUserId(user.getId());
-            double totalPaymentAmount = sum != null ? sum.doubleValue() : 0.0;
-            int total = payments != null ? payments.size() : 0;
-            model.addAttribute("payments", payments != null ? payments : List.<Payment>of());
-            model.addAttribute("pageTitle", "User Payment");
-            model.addAttribute("pageSubtitle", "Payment Record");
-            model.addAttribute("totalPayments", total);
-            model.addAttribute("totalPaymentAmount", totalPaymentAmount);
-            model.addAttribute("currentPage", 0);
-            model.addAttribute("totalPages", total > 0 ? 1 : 0);
-            model.addAttribute("hasNext", false);
-            model.addAttribute("hasPrev", false);
-        } catch (Exception e) {
-            model.addAttribute("error", "Failed to load your payments: " + e.getMessage());
-            model.addAttribute("payments", List.<Payment>of());
-            model.addAttribute("totalPayments", 0);
-            model.addAttribute("totalPaymentAmount", 0.0);
-            model.addAttribute("currentPage", 0);
-            model.addAttribute("totalPages", 0);
-            model.addAttribute("hasNext", false);
-            model.addAttribute("hasPrev", false);
-        }
-        return "my-payments";
+    public String getMyPaymentsView(@RequestParam(defaultValue = "0") int page,
+            Authentication authentication, Model model) {
+        return myPaymentsListPage(page, authentication, model);
     }
 
     @GetMapping("/checkout/{orderId}")
@@ -1281,8 +1171,8 @@ public class PageController {
     public String paymentsListPage(@RequestParam(defaultValue = "0") int page, Model model) {
         try {
             Pageable pageable = PageRequest.of(page, PAGE_SIZE, Sort.by("id").descending());
-            var paymentPage = paymentRepository.findAllWithOrderAndUser(pageable);
-            List<Payment> payments = paymentPage.getContent();
+            Page<PaymentRowDto> paymentPage = paymentRepository.findPaymentRows(pageable);
+            List<PaymentRowDto> payments = paymentPage.getContent();
             long totalPayments = paymentPage.getTotalElements();
             long completedPayments = paymentRepository.countByStatus(OrderStatus.SUCCESS);
             java.math.BigDecimal sum = paymentRepository.sumAllAmounts();
@@ -1298,7 +1188,7 @@ public class PageController {
             model.addAttribute("hasPrev", page > 0);
         } catch (Exception e) {
             model.addAttribute("error", "Failed to load payments: " + e.getMessage());
-            model.addAttribute("payments", List.<Payment>of());
+            model.addAttribute("payments", List.<PaymentRowDto>of());
             model.addAttribute("totalPayments", 0);
             model.addAttribute("completedPayments", 0);
             model.addAttribute("totalPaymentAmount", 0.0);
@@ -1318,7 +1208,7 @@ public class PageController {
         try {
             User user = userService.getAuthenticatedUser();
             if (user == null) {
-                model.addAttribute("payments", List.<Payment>of());
+                model.addAttribute("payments", List.<PaymentRowDto>of());
                 model.addAttribute("totalPayments", 0);
                 model.addAttribute("totalPaymentAmount", 0.0);
                 model.addAttribute("currentPage", 0);
@@ -1329,23 +1219,17 @@ public class PageController {
                 model.addAttribute("pageSubtitle", "Payment Record");
                 return "my-payments";
             }
-            // Load all user payments in one query (same as Payment Record pattern) then
-            // paginate in memory
-            // to avoid JOIN FETCH + Pageable issues and ensure data always displays
-            List<Payment> allPayments = paymentRepository.findByOrderUserIdWithOrderAndUser(user.getId());
-            int total = allPayments != null ? allPayments.size() : 0;
-            int totalPages = total > 0 ? (int) Math.ceil((double) total / PAGE_SIZE) : 0;
-            int from = Math.min(page * PAGE_SIZE, total);
-            int to = Math.min(from + PAGE_SIZE, total);
-            List<Payment> payments = (allPayments != null && from < allPayments.size())
-                    ? allPayments.subList(from, to)
-                    : List.<Payment>of();
+            Pageable pageable = PageRequest.of(page, PAGE_SIZE, Sort.by("id").descending());
+            Page<PaymentRowDto> paymentPage = paymentRepository.findPaymentRowsByUserId(user.getId(), pageable);
+            List<PaymentRowDto> payments = paymentPage.getContent();
+            long total = paymentPage.getTotalElements();
+            int totalPages = paymentPage.getTotalPages();
 
             java.math.BigDecimal sum = paymentRepository.sumAmountsByUserId(user.getId());
             double totalPaymentAmount = sum != null ? sum.doubleValue() : 0.0;
 
             model.addAttribute("payments", payments);
-            model.addAttribute("totalPayments", (long) total);
+            model.addAttribute("totalPayments", total);
             model.addAttribute("totalPaymentAmount", totalPaymentAmount);
             model.addAttribute("currentPage", page);
             model.addAttribute("totalPages", totalPages);
@@ -1355,7 +1239,7 @@ public class PageController {
             model.addAttribute("pageSubtitle", "Payment Record");
         } catch (Exception e) {
             model.addAttribute("error", "Failed to load your payments: " + e.getMessage());
-            model.addAttribute("payments", List.<Payment>of());
+            model.addAttribute("payments", List.<PaymentRowDto>of());
             model.addAttribute("totalPayments", 0);
             model.addAttribute("totalPaymentAmount", 0.0);
             model.addAttribute("currentPage", 0);
@@ -1389,31 +1273,12 @@ public class PageController {
             List<ChatbotSessionSummary> chatSessions = List.of();
 
             if (isAdmin) {
-                // Load local users first so the page never hangs on chatbot.skinme.store
-                List<ChatbotSessionSummary> fromChatbot = List.of();
-                boolean chatbotTimedOut = false;
+                // Thread list from the local index; chatbot.skinme.store is merged in by the refresh scheduler
                 try {
-                    fromChatbot = java.util.concurrent.CompletableFuture
-                            .supplyAsync(() -> {
-                                ChatbotSessionsResponse sessionsResponse = chatbotService.listSessions(50);
-                                return sessionsResponse.getSessions() != null
-                                        ? sessionsResponse.getSessions()
-                                        : List.<ChatbotSessionSummary>of();
-                            })
-                            .orTimeout(3, java.util.concurrent.TimeUnit.SECONDS)
-                            .join();
-                } catch (Exception ex) {
-                    chatbotTimedOut = true;
-                    fromChatbot = List.of();
-                }
-                if (chatbotTimedOut) {
-                    model.addAttribute("sessionsWarning",
-                            "Live chatbot sessions unavailable; showing local user accounts.");
-                }
-                try {
-                    chatSessions = chatSessionService.buildAdminUserSessions(fromChatbot);
+                    chatSessions = chatThreadIndex.page(ChatbotSessionFilter.ALL, null,
+                            PageRequest.of(0, CHAT_THREAD_LIMIT)).getContent();
                 } catch (Exception localEx) {
-                    model.addAttribute("sessionsWarning", "Could not load users: " + shortError(localEx));
+                    model.addAttribute("sessionsWarning", "Could not load chat threads: " + shortError(localEx));
                     chatSessions = List.of();
                 }
                 model.addAttribute("chatSessions", chatSessions);
@@ -1430,6 +1295,7 @@ public class PageController {
                         enrichSessionSummaryWithUserDetails(selectedSession);
                         model.addAttribute("selectedSessionUser", selectedSession);
                     }
+                    chatThreadIndex.markRead(session);
                 }
             }
 
@@ -1628,36 +1494,39 @@ public class PageController {
         return "chat-history";
     }
 
-    /** Admin-only: AI chat sessions from chatbot API + optional local DB tables. */
+    /** Admin-only: AI chat sessions from the local thread index + optional local DB tables. */
     @GetMapping("/views/chat-activity")
     @PreAuthorize("hasRole('ADMIN')")
     public String chatActivityPage(
             @RequestParam(required = false) Long userId,
             @RequestParam(required = false) String session,
             @RequestParam(defaultValue = "all") String filter,
+            @RequestParam(defaultValue = "0") int pageSessions,
             @RequestParam(defaultValue = "0") int pageMsg,
             @RequestParam(defaultValue = "0") int pageAi,
             Model model) {
         try {
-            List<ChatbotSessionSummary> allSessions = List.of();
             List<ChatbotSessionSummary> filteredSessions = List.of();
             ChatbotHistoryMessage selectedHistoryPreview = null;
-            int adminRepliedCount = 0;
-            int awaitingAdminCount = 0;
+            long totalAiSessions = 0;
+            long filteredCount = 0;
+            long adminRepliedCount = 0;
+            long awaitingAdminCount = 0;
 
             try {
-                ChatbotSessionsResponse sessionsResponse = chatbotService.listSessions(200);
-                if (sessionsResponse.getSessions() != null) {
-                    allSessions = sessionsResponse.getSessions();
-                    for (ChatbotSessionSummary s : allSessions) {
-                        if (ChatbotSessionFilter.hasAdminReply(s)) {
-                            adminRepliedCount++;
-                        } else if (ChatbotSessionFilter.isLastFromUser(s)) {
-                            awaitingAdminCount++;
-                        }
-                    }
-                    filteredSessions = ChatbotSessionFilter.apply(allSessions, filter);
-                }
+                Page<ChatbotSessionSummary> sessionPage = chatThreadIndex.page(filter, null,
+                        PageRequest.of(Math.max(pageSessions, 0), PAGE_SIZE));
+                filteredSessions = sessionPage.getContent();
+                filteredCount = sessionPage.getTotalElements();
+                Map<String, Long> counts = chatThreadIndex.counts();
+                totalAiSessions = counts.get(ChatbotSessionFilter.ALL);
+                adminRepliedCount = counts.get(ChatbotSessionFilter.ADMIN_REPLIED);
+                awaitingAdminCount = counts.get(ChatbotSessionFilter.AWAITING_ADMIN);
+                model.addAttribute("unreadCount", counts.get(ChatbotSessionFilter.UNREAD));
+                model.addAttribute("currentPageSessions", sessionPage.getNumber());
+                model.addAttribute("totalPagesSessions", sessionPage.getTotalPages());
+                model.addAttribute("hasNextSessions", sessionPage.hasNext());
+                model.addAttribute("hasPrevSessions", sessionPage.hasPrevious());
             } catch (Exception ex) {
                 model.addAttribute("sessionsError", "Could not load AI sessions: " + ex.getMessage());
             }
@@ -1674,8 +1543,8 @@ public class PageController {
             }
 
             model.addAttribute("aiSessions", filteredSessions);
-            model.addAttribute("totalAiSessions", allSessions.size());
-            model.addAttribute("filteredCount", filteredSessions.size());
+            model.addAttribute("totalAiSessions", totalAiSessions);
+            model.addAttribute("filteredCount", filteredCount);
             model.addAttribute("adminRepliedCount", adminRepliedCount);
             model.addAttribute("awaitingAdminCount", awaitingAdminCount);
             model.addAttribute("sessionFilter", filter != null ? filter : ChatbotSessionFilter.ALL);
@@ -1727,7 +1596,7 @@ public class PageController {
             model.addAttribute("totalItemsAi", totalItemsAi);
             model.addAttribute("hasNextAi", pageAi < totalPagesAi - 1);
             model.addAttribute("hasPrevAi", pageAi > 0);
-            model.addAttribute("allUsers", userRepository.findAll());
+            model.addAttribute("allUsers", userService.lookupUsers(null, userId, USER_OPTION_LIMIT));
             model.addAttribute("selectedUserId", userId);
 
             StringBuilder base = new StringBuilder("/views/chat-activity?");
@@ -1742,7 +1611,7 @@ public class PageController {
             model.addAttribute("chatMessages", List.<com.project.skin_me.model.ChatMessage>of());
             model.addAttribute("chatAiList", List.<ChatAi>of());
             model.addAttribute("distinctSessions", List.<String>of());
-            model.addAttribute("allUsers", List.<User>of());
+            model.addAttribute("allUsers", List.<UserOptionDto>of());
             model.addAttribute("selectedUserId", null);
             model.addAttribute("selectedSession", null);
             model.addAttribute("totalPagesMsg", 0);
@@ -1770,10 +1639,11 @@ public class PageController {
             var orderPage = orderRepository.findAllWithOrderItems(pageable);
             List<Order> deliveries = orderPage.getContent();
             long totalDeliveries = orderPage.getTotalElements();
-            long shippedOrders = orderRepository.countByOrderStatus(OrderStatus.SHIPPED)
-                    + orderRepository.countByOrderStatus(OrderStatus.DELIVERED);
-            long deliveredOrders = orderRepository.countByOrderStatus(OrderStatus.DELIVERED);
-            long pendingDeliveries = orderRepository.countByOrderStatus(OrderStatus.PAYMENT_PENDING);
+            DashboardSnapshotDto metrics = dashboardMetricsService.getSnapshot();
+            long shippedOrders = metrics.countByStatus(OrderStatus.SHIPPED)
+                    + metrics.countByStatus(OrderStatus.DELIVERED);
+            long deliveredOrders = metrics.countByStatus(OrderStatus.DELIVERED);
+            long pendingDeliveries = metrics.countByStatus(OrderStatus.PAYMENT_PENDING);
             int totalPages = orderPage.getTotalPages();
             model.addAttribute("deliveries", deliveries);
             model.addAttribute("totalDeliveries", totalDeliveries);
@@ -2221,7 +2091,7 @@ public class PageController {
             }
             model.addAttribute("auditLogsPaginationBase", paginationBase.toString());
 
-            model.addAttribute("allUsers", userRepository.findAll());
+            model.addAttribute("allUsers", userService.lookupUsers(null, userId, USER_OPTION_LIMIT));
 
         } catch (Exception e) {
             model.addAttribute("error", "Failed to load audit logs: " + e.getMessage());
@@ -2235,11 +2105,7 @@ public class PageController {
             model.addAttribute("auditLogsPaginationBase", "/views/audit-logs");
             model.addAttribute("filterUserId", null);
             model.addAttribute("filterActivityType", null);
-            try {
-                model.addAttribute("allUsers", userRepository.findAll());
-            } catch (Exception ignored) {
-                model.addAttribute("allUsers", List.<User>of());
-            }
+            model.addAttribute("allUsers", List.<UserOptionDto>of());
         }
         return "audit-logs";
     }
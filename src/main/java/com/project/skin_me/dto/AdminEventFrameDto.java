@@ -0,0 +1,32 @@
+package com.project.skin_me.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A frame of the admin event stream. {@code SNAPSHOT} is sent once per subscription (including
+ * after a reconnect) with the recent events and this admin's unread count; {@code DELTA} frames
+ * carry only the events since the previous frame. {@code sequence} is the log sequence of the newest
+ * event covered, so a client can skip events it already has.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AdminEventFrameDto {
+    private String frameType; // "SNAPSHOT", "DELTA"
+    private long sequence;
+    private LocalDateTime timestamp;
+    /** Events per kind since midnight. */
+    private Map<String, Long> counts;
+    /** Oldest first; ids are {@code admin-<sequence>}. */
+    private List<NotificationDto> events;
+    /** SNAPSHOT only. */
+    private Long unreadCount;
+}
@@ -0,0 +1,23 @@
+package com.project.skin_me.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One frame on an admin feed: the updates coalesced since the previous frame, at most one per
+ * entity, each carrying only the fields that changed.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AdminFeedFrameDto {
+    private long sequence;
+    private LocalDateTime timestamp;
+    private List<RealTimeUpdateDto> updates;
+}
@@ -13,6 +13,8 @@ public class CartDto {
     private Long cartId;
     private Set<CartItemDto> items;
     private BigDecimal totalAmount;
+    /** Cart-store version; send back with bulk updates to detect edits from another tab. */
+    private Long version;
 
     public CartDto(Cart cart) {
         this.cartId = cart.getId();
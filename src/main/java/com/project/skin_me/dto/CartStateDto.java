@@ -0,0 +1,47 @@
+package com.project.skin_me.dto;
+
+import com.project.skin_me.service.cart.CartState;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/** Cart totals and lines straight from the cart store; product details come from GET /carts/my-cart. */
+@Data
+public class CartStateDto {
+
+    private Long cartId;
+    /** Send back with bulk updates; a mismatch means the cart changed elsewhere (another tab). */
+    private Long version;
+    private BigDecimal totalAmount;
+    private int itemCount;
+    private List<Item> items = new ArrayList<>();
+
+    @Data
+    public static class Item {
+        private Long productId;
+        private int quantity;
+        private BigDecimal listPrice;
+        private BigDecimal unitPrice;
+        private BigDecimal totalPrice;
+    }
+
+    public CartStateDto(CartState state) {
+        this.cartId = state.getCartId();
+        this.version = state.getVersion();
+        this.totalAmount = CartState.toAmount(state.getTotalCents());
+        for (Map.Entry<Long, CartState.Line> entry : state.getLines().entrySet()) {
+            CartState.Line line = entry.getValue();
+            Item item = new Item();
+            item.setProductId(entry.getKey());
+            item.setQuantity(line.getQuantity());
+            item.setListPrice(CartState.toAmount(line.getListPriceCents()));
+            item.setUnitPrice(CartState.toAmount(line.getUnitPriceCents()));
+            item.setTotalPrice(CartState.toAmount(line.totalCents()));
+            this.items.add(item);
+            this.itemCount += line.getQuantity();
+        }
+    }
+}
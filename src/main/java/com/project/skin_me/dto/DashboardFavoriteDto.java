@@ -0,0 +1,16 @@
+package com.project.skin_me.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Recent-favorite card on the admin dashboard. */
+@Getter
+@AllArgsConstructor
+public class DashboardFavoriteDto {
+    private Long productId;
+    private String productName;
+    private String brandName;
+    private String userEmail;
+    private String userFirstName;
+    private String userLastName;
+}
@@ -0,0 +1,20 @@
+package com.project.skin_me.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/** Payment card on the admin dashboard; copied out of the entity so snapshots hold no JPA state. */
+@Getter
+@AllArgsConstructor
+public class DashboardPaymentDto {
+    private Long id;
+    private BigDecimal amount;
+    private String status;
+    private LocalDateTime transactionTime;
+    private Long orderId;
+    /** First and last name, or e-mail when the customer has no name; null without an order. */
+    private String customerName;
+}
@@ -0,0 +1,20 @@
+package com.project.skin_me.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/** Best-seller card on the admin dashboard. */
+@Getter
+@AllArgsConstructor
+public class DashboardPopularProductDto {
+    private Long productId;
+    private String productName;
+    private String brandName;
+    private BigDecimal price;
+    private String imageUrl;
+    private Integer quantitySold;
+    private LocalDateTime lastPurchasedDate;
+}
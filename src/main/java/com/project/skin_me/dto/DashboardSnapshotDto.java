@@ -0,0 +1,53 @@
+package com.project.skin_me.dto;
+
+import com.project.skin_me.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of every number and widget list rendered on the admin dashboard
+ * and orders overview. Built by {@code DashboardMetricsService}; pages read it in one call.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class DashboardSnapshotDto {
+    private long totalProducts;
+    private long totalOrders;
+    private long totalUsers;
+    private long totalFeedback;
+    private long newUsersToday;
+    private long newUsersThisWeek;
+    private long newUsersThisMonth;
+
+    /** Sum of SUCCESS payment amounts. */
+    private BigDecimal totalPaymentAmount;
+    /** Sum of all order totals (any status). */
+    private BigDecimal totalOrderAmount;
+
+    private long completedOrders;
+    private long pendingPaymentOrders;
+    private Map<OrderStatus, Long> statusCounts;
+    private List<OrderStatusCountDto> orderStatusCounts;
+    /** Last 12 months, oldest first. */
+    private List<SalesMonthDto> salesByMonth;
+
+    /** Newest orders, most recent first (up to 10). */
+    private List<OrderDto> recentOrders;
+    private List<DashboardPaymentDto> recentPayments;
+    private List<DashboardFavoriteDto> recentFavorites;
+    private List<DashboardPopularProductDto> popularProducts;
+    private List<ProductFeedbackDto> recentFeedback;
+
+    private LocalDateTime reconciledAt;
+
+    public long countByStatus(OrderStatus status) {
+        return statusCounts != null ? statusCounts.getOrDefault(status, 0L) : 0L;
+    }
+}
@@ -0,0 +1,30 @@
+package com.project.skin_me.dto;
+
+import com.project.skin_me.enums.PaymentMethod;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** One row of a payments report read from {@code daily_payments} (grouped by method or by day). */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentReportRowDto {
+    private PaymentMethod method;
+    private LocalDate day;
+    private BigDecimal amount;
+    private long count;
+
+    public PaymentReportRowDto(PaymentMethod method, BigDecimal amount, Long count) {
+        this(method, null, amount, count != null ? count : 0L);
+    }
+
+    public PaymentReportRowDto(LocalDate day, BigDecimal amount, Long count) {
+        this(null, day, amount, count != null ? count : 0L);
+    }
+}
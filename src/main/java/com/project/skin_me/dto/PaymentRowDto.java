@@ -0,0 +1,24 @@
+package com.project.skin_me.dto;
+
+import com.project.skin_me.enums.OrderStatus;
+import com.project.skin_me.enums.PaymentMethod;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/** One row of the admin payments table, read with a constructor expression (no Order/User entities). */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentRowDto {
+    private Long id;
+    private Long orderId;
+    private BigDecimal amount;
+    private PaymentMethod method;
+    private OrderStatus status;
+    private String transactionRef;
+    private String cardHolderName;
+    private String cardLast4;
+}
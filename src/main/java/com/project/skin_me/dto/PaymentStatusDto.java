@@ -0,0 +1,34 @@
+package com.project.skin_me.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payment state of one order as returned by {@code GET /payment/status/{orderId}} and pushed on
+ * {@code /user/topic/payment/{orderId}} and the status SSE stream.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentStatusDto {
+    private Long orderId;
+    private String orderStatus;
+    private boolean paid;
+    private boolean posOrder;
+    private Long paymentId;
+    private String paymentStatus;
+    private String paymentMethod;
+    private String transactionRef;
+    private LocalDateTime transactionTime;
+    private String message;
+
+    /** Order owner; used for push routing and access checks, never serialized. */
+    @JsonIgnore
+    private Long userId;
+}
@@ -0,0 +1,36 @@
+package com.project.skin_me.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One row of a sales report read from {@code daily_sales}. For product/brand/category groupings
+ * {@code id}/{@code label} identify the group; for day groupings {@code day} is set instead.
+ * {@code orders} sums per-product order counts, so an order spanning two groups counts in both.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesReportRowDto {
+    private Long id;
+    private String label;
+    private LocalDate day;
+    private long quantity;
+    private BigDecimal revenue;
+    private long orders;
+
+    public SalesReportRowDto(Long id, String label, Long quantity, BigDecimal revenue, Long orders) {
+        this(id, label, null, quantity != null ? quantity : 0L, revenue, orders != null ? orders : 0L);
+    }
+
+    public SalesReportRowDto(LocalDate day, Long quantity, BigDecimal revenue, Long orders) {
+        this(null, day != null ? day.toString() : null, day, quantity != null ? quantity : 0L, revenue,
+                orders != null ? orders : 0L);
+    }
+}
@@ -0,0 +1,16 @@
+package com.project.skin_me.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Minimal user data for admin filter dropdowns and the user typeahead (avoids loading full User entities). */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserOptionDto {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+}
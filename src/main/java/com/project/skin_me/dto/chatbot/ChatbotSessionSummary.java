@@ -34,4 +34,8 @@ public class ChatbotSessionSummary {
 
     @JsonProperty("online")
     private Boolean online;
+
+    /** From the local thread index: a user message no admin has opened or answered yet. */
+    @JsonProperty("unread")
+    private Boolean unread;
 }
@@ -0,0 +1,10 @@
+package com.project.skin_me.enums;
+
+/** What happened, for the admin event stream's per-kind counts. */
+public enum AdminEventKind {
+    NEW_ORDER,
+    ORDER_PAID,
+    POS_SALE,
+    NEW_USER,
+    PRODUCT_FEEDBACK
+}
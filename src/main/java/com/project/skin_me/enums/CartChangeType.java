@@ -0,0 +1,10 @@
+package com.project.skin_me.enums;
+
+/** One edit in a bulk cart update. */
+public enum CartChangeType {
+    /** Add {@code quantity} to the line, creating it if needed. */
+    ADD,
+    /** Set the line to {@code quantity}, creating it if needed. */
+    SET,
+    REMOVE
+}
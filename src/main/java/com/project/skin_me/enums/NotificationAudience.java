@@ -0,0 +1,9 @@
+package com.project.skin_me.enums;
+
+/** Who a shared notification is for; each audience has its own sequence and read cursors. */
+public enum NotificationAudience {
+    /** Users with ROLE_ADMIN: the admin event stream. */
+    ADMIN,
+    /** Every signed-in user. */
+    ALL
+}
@@ -0,0 +1,10 @@
+package com.project.skin_me.enums;
+
+/**
+ * Read state of a personal {@code Notification}. Stored by ordinal in a TINYINT column, so only
+ * append new values.
+ */
+public enum NotificationStatus {
+    UNREAD,
+    READ
+}
@@ -0,0 +1,12 @@
+package com.project.skin_me.enums;
+
+/** What happened to a promotion in a {@link com.project.skin_me.event.PromotionChangedEvent}. */
+public enum PromotionChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    /** Start date reached; no column changes. */
+    STARTED,
+    /** Deadline passed and the promotion was switched off. */
+    EXPIRED
+}
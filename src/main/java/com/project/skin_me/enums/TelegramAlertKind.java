@@ -0,0 +1,34 @@
+package com.project.skin_me.enums;
+
+/**
+ * What a queued Telegram alert is about. Alerts of a kind with a digest title are coalesced into
+ * one message when several are waiting for the same chat.
+ */
+public enum TelegramAlertKind {
+    NEW_ORDER("🔔", "new orders (pending payment)"),
+    PAYMENT_COMPLETED("💰", "payments completed"),
+    DELIVERY_DONE("✅", "deliveries done"),
+    NEW_USER("👤", "new users registered"),
+    /** Free-form message (e.g. the test alert); always sent on its own. */
+    MESSAGE(null, null);
+
+    private final String emoji;
+    private final String digestTitle;
+
+    TelegramAlertKind(String emoji, String digestTitle) {
+        this.emoji = emoji;
+        this.digestTitle = digestTitle;
+    }
+
+    public String getEmoji() {
+        return emoji;
+    }
+
+    public String getDigestTitle() {
+        return digestTitle;
+    }
+
+    public boolean coalesces() {
+        return digestTitle != null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.project.skin_me.enums;
+
+/** Lifecycle of a queued Telegram alert. */
+public enum TelegramAlertStatus {
+    /** Waiting for its chat's rate limit; sent once {@code nextAttemptAt} passes. */
+    PENDING,
+    /** Claimed by a dispatcher run. */
+    SENDING,
+    SENT,
+    /** Rejected by Telegram (e.g. chat not found) or out of attempts. */
+    DEAD
+}
@@ -0,0 +1,15 @@
+package com.project.skin_me.enums;
+
+/** Lifecycle of a stored payment webhook event. */
+public enum WebhookEventStatus {
+    /** Stored, waiting for its order lane. */
+    RECEIVED,
+    PROCESSING,
+    PROCESSED,
+    /** Names an order or payment that does not exist here (or an unhandled type); never retried. */
+    IGNORED,
+    /** Last attempt failed; retried when {@code nextAttemptAt} passes. */
+    FAILED,
+    /** Out of attempts; only an admin replay processes it again. */
+    DEAD_LETTER
+}
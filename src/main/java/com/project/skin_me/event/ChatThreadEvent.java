@@ -0,0 +1,52 @@
+package com.project.skin_me.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a chat session is bound to a user or a chat turn passes through this backend,
+ * so the local thread index ({@code chat_threads}) can follow the conversation.
+ */
+@Getter
+public class ChatThreadEvent extends ApplicationEvent {
+
+    public enum Type {
+        /** The session id was assigned to (or confirmed for) the user. */
+        BOUND,
+        /** A message was sent; {@code role} is who spoke last. */
+        MESSAGE
+    }
+
+    private final Type type;
+    private final String sessionId;
+    /** Owner of the thread (never the admin replying); null when only the session id is known. */
+    private final Long userId;
+    private final String role;
+    private final String text;
+    /** The turn contains a user message, so the thread becomes unread for admins. */
+    private final boolean fromUser;
+    private final LocalDateTime occurredAt;
+
+    private ChatThreadEvent(Object source, Type type, String sessionId, Long userId, String role, String text,
+            boolean fromUser) {
+        super(source);
+        this.type = type;
+        this.sessionId = sessionId;
+        this.userId = userId;
+        this.role = role;
+        this.text = text;
+        this.fromUser = fromUser;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public static ChatThreadEvent bound(Object source, String sessionId, Long userId) {
+        return new ChatThreadEvent(source, Type.BOUND, sessionId, userId, null, null, false);
+    }
+
+    public static ChatThreadEvent message(Object source, String sessionId, Long userId, String role, String text,
+            boolean fromUser) {
+        return new ChatThreadEvent(source, Type.MESSAGE, sessionId, userId, role, text, fromUser);
+    }
+}
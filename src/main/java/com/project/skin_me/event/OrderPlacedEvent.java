@@ -0,0 +1,30 @@
+package com.project.skin_me.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Published once a new order (web checkout or POS) has been saved.
+ */
+@Getter
+public class OrderPlacedEvent extends ApplicationEvent {
+
+    private final Long orderId;
+    private final Long userId;
+    private final LocalDate orderDate;
+    private final BigDecimal totalAmount;
+    private final boolean posOrder;
+
+    public OrderPlacedEvent(Object source, Long orderId, Long userId, LocalDate orderDate,
+            BigDecimal totalAmount, boolean posOrder) {
+        super(source);
+        this.orderId = orderId;
+        this.userId = userId;
+        this.orderDate = orderDate;
+        this.totalAmount = totalAmount;
+        this.posOrder = posOrder;
+    }
+}
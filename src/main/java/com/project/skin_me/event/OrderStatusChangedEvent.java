@@ -0,0 +1,33 @@
+package com.project.skin_me.event;
+
+import com.project.skin_me.enums.OrderStatus;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.math.BigDecimal;
+
+/**
+ * Published when an order moves from one {@link OrderStatus} to another
+ * (paid, shipped, delivered, cancelled).
+ */
+@Getter
+public class OrderStatusChangedEvent extends ApplicationEvent {
+
+    private final Long orderId;
+    private final Long userId;
+    private final OrderStatus previousStatus;
+    private final OrderStatus newStatus;
+    private final BigDecimal totalAmount;
+    private final boolean posOrder;
+
+    public OrderStatusChangedEvent(Object source, Long orderId, Long userId, OrderStatus previousStatus,
+            OrderStatus newStatus, BigDecimal totalAmount, boolean posOrder) {
+        super(source);
+        this.orderId = orderId;
+        this.userId = userId;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+        this.totalAmount = totalAmount;
+        this.posOrder = posOrder;
+    }
+}
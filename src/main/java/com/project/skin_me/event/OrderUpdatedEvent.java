@@ -0,0 +1,19 @@
+package com.project.skin_me.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published when order fields other than status change (delivery address, courier,
+ * payment references), so read models can refresh their copy.
+ */
+@Getter
+public class OrderUpdatedEvent extends ApplicationEvent {
+
+    private final Long orderId;
+
+    public OrderUpdatedEvent(Object source, Long orderId) {
+        super(source);
+        this.orderId = orderId;
+    }
+}
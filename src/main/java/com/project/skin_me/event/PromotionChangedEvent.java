@@ -0,0 +1,30 @@
+package com.project.skin_me.event;
+
+import com.project.skin_me.enums.PromotionChangeType;
+import com.project.skin_me.enums.PromotionType;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published when a promotion is created, edited or deleted, and when it starts or expires,
+ * so the compiled promotion rules, the lifecycle timer and storefront clients pick up the
+ * committed state.
+ */
+@Getter
+public class PromotionChangedEvent extends ApplicationEvent {
+
+    private final Long promotionId;
+    private final PromotionChangeType changeType;
+    private final PromotionType promotionType;
+    /** Target product of a product discount, otherwise null. */
+    private final Long productId;
+
+    public PromotionChangedEvent(Object source, Long promotionId, PromotionChangeType changeType,
+            PromotionType promotionType, Long productId) {
+        super(source);
+        this.promotionId = promotionId;
+        this.changeType = changeType;
+        this.promotionType = promotionType;
+        this.productId = productId;
+    }
+}
@@ -0,0 +1,22 @@
+package com.project.skin_me.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published after a new user account is persisted (signup, Google, phone, or admin-created).
+ */
+@Getter
+public class UserRegisteredEvent extends ApplicationEvent {
+
+    private final Long userId;
+    private final LocalDateTime registrationDate;
+
+    public UserRegisteredEvent(Object source, Long userId, LocalDateTime registrationDate) {
+        super(source);
+        this.userId = userId;
+        this.registrationDate = registrationDate;
+    }
+}
@@ -0,0 +1,7 @@
+package com.project.skin_me.exception;
+
+public class CartVersionConflictException extends RuntimeException {
+    public CartVersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.project.skin_me.exception;
+
+/**
+ * An outbound call was not made because its integration's circuit breaker is open or its
+ * bulkhead is full; the caller should degrade as it would for a network failure.
+ */
+public class IntegrationUnavailableException extends RuntimeException {
+    public IntegrationUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,80 @@
+package com.project.skin_me.filter;
+
+import com.project.skin_me.monitoring.SqlBudgetRegistry;
+import com.project.skin_me.monitoring.SqlRequestStats;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Measures the SQL each request runs (statements, JDBC time, entities loaded), checks it
+ * against the endpoint's budget and, when {@code app.sql-budget.headers=true} (dev),
+ * returns the numbers as {@code X-SQL-*} response headers. The response is buffered in
+ * that mode so queries issued while rendering the view are included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final List<String> SKIP_PATHS = List.of(
+            "/css", "/js", "/images", "/assets", "/uploads", "/webjars", "/ws", "/favicon", "/actuator");
+
+    private final SqlBudgetRegistry budgetRegistry;
+    private final boolean enabled;
+    private final boolean headers;
+
+    public SqlBudgetFilter(SqlBudgetRegistry budgetRegistry,
+            @Value("${app.sql-budget.enabled:true}") boolean enabled,
+            @Value("${app.sql-budget.headers:false}") boolean headers) {
+        this.budgetRegistry = budgetRegistry;
+        this.enabled = enabled;
+        this.headers = headers;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !enabled || SKIP_PATHS.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String accept = request.getHeader("Accept");
+        boolean streaming = accept != null && accept.contains("text/event-stream");
+        ContentCachingResponseWrapper buffered = headers && !streaming
+                ? new ContentCachingResponseWrapper(response) : null;
+        SqlRequestStats stats = SqlRequestStats.begin();
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            SqlRequestStats.end();
+            budgetRegistry.record(endpointKey(request), stats);
+            if (buffered != null) {
+                if (!request.isAsyncStarted()) {
+                    buffered.setHeader("X-SQL-Statements", String.valueOf(stats.getStatements()));
+                    buffered.setHeader("X-SQL-Time-Ms", String.valueOf(stats.getJdbcMillis()));
+                    buffered.setHeader("X-SQL-Entities", String.valueOf(stats.getEntitiesLoaded()));
+                }
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    private static String endpointKey(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+}
@@ -0,0 +1,247 @@
+package com.project.skin_me.loadtest;
+
+import com.project.skin_me.enums.OrderStatus;
+import com.project.skin_me.service.cache.ReferenceDataCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Seeds the loadtest H2 database with a synthetic catalog and order history
+ * (defaults: 50k products, 20k customers, 1M orders) using JDBC batch inserts.
+ * <p>
+ * Rows get explicit ids starting after the current max, then each identity column is
+ * restarted past the seeded range so JPA inserts made during the run do not collide.
+ * Seeding is skipped when the file database already holds the requested volume, so a
+ * second run against {@code target/loadtest-db} starts in seconds.
+ * <p>
+ * Every seeded customer is {@code load<N>@skinme.test} with password {@code password}.
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+@Order(0)
+@RequiredArgsConstructor
+public class LoadTestDataSeeder implements ApplicationRunner {
+
+    private static final String[] PRODUCT_TYPES = { "Cleanser", "Toner", "Serum", "Moisturizer", "Sunscreen", "Mask" };
+    private static final String[] ADJECTIVES = { "Hydrating", "Gentle", "Brightening", "Soothing", "Clarifying",
+            "Daily", "Barrier", "Vitamin C", "Niacinamide", "Ceramide", "Green Tea", "Snail" };
+    private static final OrderStatus[] ORDER_STATUSES = { OrderStatus.DELIVERED, OrderStatus.DELIVERED,
+            OrderStatus.PAID, OrderStatus.PAID, OrderStatus.SHIPPED, OrderStatus.PENDING, OrderStatus.CANCELLED };
+    private static final int BATCH_SIZE = 2_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ReferenceDataCache referenceDataCache;
+
+    @Value("${app.loadtest.seed.categories:12}")
+    private int categoryCount;
+
+    @Value("${app.loadtest.seed.brands:200}")
+    private int brandCount;
+
+    @Value("${app.loadtest.seed.products:50000}")
+    private int productCount;
+
+    @Value("${app.loadtest.seed.users:20000}")
+    private int userCount;
+
+    @Value("${app.loadtest.seed.orders:1000000}")
+    private int orderCount;
+
+    @Value("${app.loadtest.seed.max-items-per-order:3}")
+    private int maxItemsPerOrder;
+
+    private final Random random = new Random(42);
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long existingProducts = count("product");
+        long existingOrders = count("orders");
+        if (existingProducts >= productCount && existingOrders >= orderCount) {
+            log.info("Loadtest seed present ({} products, {} orders); skipping", existingProducts, existingOrders);
+            return;
+        }
+        long started = System.currentTimeMillis();
+        long firstCategory = seedCategories();
+        long firstBrand = seedBrands(firstCategory);
+        long[] productCents = new long[productCount];
+        long firstProduct = seedProducts(firstCategory, firstBrand, productCents);
+        long firstUser = seedUsers();
+        seedOrders(firstUser, firstProduct, productCents);
+        // Categories and brands were inserted over JDBC, so cached finder results are stale
+        referenceDataCache.evictAll();
+        log.info("Loadtest seed finished in {} s", (System.currentTimeMillis() - started) / 1000);
+    }
+
+    private long seedCategories() {
+        long first = nextId("category", "id");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < categoryCount; i++) {
+            String name = PRODUCT_TYPES[i % PRODUCT_TYPES.length] + " " + (i + 1);
+            rows.add(new Object[] { first + i, name, name });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO category (id, name, title) VALUES (?, ?, ?)", rows);
+        restartIdentity("category", "id", first + categoryCount);
+        return first;
+    }
+
+    private long seedBrands(long firstCategory) {
+        long first = nextId("brand", "id");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < brandCount; i++) {
+            rows.add(new Object[] { first + i, "Brand " + (i + 1), firstCategory + (i % categoryCount) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO brand (id, name, category_id) VALUES (?, ?, ?)", rows);
+        restartIdentity("brand", "id", first + brandCount);
+        return first;
+    }
+
+    private long seedProducts(long firstCategory, long firstBrand, long[] productCents) {
+        long first = nextId("product", "id");
+        String sql = "INSERT INTO product (id, name, price, product_type, inventory, barcode, status, description, "
+                + "total_orders, brand_id, category_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < productCount; i++) {
+            long id = first + i;
+            String type = PRODUCT_TYPES[i % PRODUCT_TYPES.length];
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + type + " " + id;
+            long cents = 300 + random.nextInt(9_700);
+            productCents[i] = cents;
+            int brand = random.nextInt(brandCount);
+            rows.add(new Object[] { id, name, BigDecimal.valueOf(cents, 2), type, 1_000_000,
+                    "LT" + id, "ACTIVE", name + " for load testing", 0,
+                    firstBrand + brand, firstCategory + (brand % categoryCount) });
+            if (rows.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+        restartIdentity("product", "id", first + productCount);
+        log.info("Seeded {} products", productCount);
+        return first;
+    }
+
+    private long seedUsers() {
+        long first = nextId("user", "id");
+        Long roleUser = jdbcTemplate.queryForObject("SELECT id FROM role WHERE name = 'ROLE_USER'", Long.class);
+        // One BCrypt hash for every customer: encoding 20k passwords would dominate seeding time.
+        String hash = passwordEncoder.encode("password");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String userSql = "INSERT INTO user (id, first_name, last_name, email, password, confirm_password, enabled, "
+                + "registration_date, is_online) VALUES (?, ?, ?, ?, ?, ?, TRUE, ?, FALSE)";
+        List<Object[]> users = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> roles = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < userCount; i++) {
+            long id = first + i;
+            users.add(new Object[] { id, "Load", "User " + i, "load" + i + "@skinme.test", hash, hash, now });
+            roles.add(new Object[] { id, roleUser });
+            if (users.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(userSql, users);
+                jdbcTemplate.batchUpdate("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)", roles);
+                users.clear();
+                roles.clear();
+            }
+        }
+        if (!users.isEmpty()) {
+            jdbcTemplate.batchUpdate(userSql, users);
+            jdbcTemplate.batchUpdate("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)", roles);
+        }
+        restartIdentity("user", "id", first + userCount);
+        log.info("Seeded {} users", userCount);
+        return first;
+    }
+
+    private void seedOrders(long firstUser, long firstProduct, long[] productCents) {
+        long firstOrder = nextId("orders", "order_id");
+        long nextItem = nextId("order_item", "id");
+        String orderSql = "INSERT INTO orders (order_id, order_date, items_subtotal_amount, delivery_fee_amount, "
+                + "order_total_amount, order_status, delivery_address_full, is_pos_order, user_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, FALSE, ?)";
+        String itemSql = "INSERT INTO order_item (id, quantity, price, order_id, product_id) VALUES (?, ?, ?, ?, ?)";
+        LocalDate today = LocalDate.now();
+        List<Object[]> orders = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> items = new ArrayList<>(BATCH_SIZE * maxItemsPerOrder);
+        for (int i = 0; i < orderCount; i++) {
+            long orderId = firstOrder + i;
+            int lines = 1 + random.nextInt(maxItemsPerOrder);
+            long subtotal = 0;
+            for (int l = 0; l < lines; l++) {
+                int p = random.nextInt(productCount);
+                int qty = 1 + random.nextInt(3);
+                subtotal += productCents[p] * qty;
+                items.add(new Object[] { nextItem++, qty, BigDecimal.valueOf(productCents[p], 2), orderId,
+                        firstProduct + p });
+            }
+            long fee = subtotal >= 5_000 ? 0 : 150;
+            orders.add(new Object[] { orderId, Date.valueOf(today.minusDays(random.nextInt(365))),
+                    BigDecimal.valueOf(subtotal, 2), BigDecimal.valueOf(fee, 2), BigDecimal.valueOf(subtotal + fee, 2),
+                    ORDER_STATUSES[random.nextInt(ORDER_STATUSES.length)].name(), "Street " + (i % 500) + ", Phnom Penh",
+                    firstUser + random.nextInt(userCount) });
+            if (orders.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(orderSql, orders);
+                jdbcTemplate.batchUpdate(itemSql, items);
+                orders.clear();
+                items.clear();
+                if ((i + 1) % 100_000 == 0) {
+                    log.info("Seeded {} / {} orders", i + 1, orderCount);
+                }
+            }
+        }
+        if (!orders.isEmpty()) {
+            jdbcTemplate.batchUpdate(orderSql, orders);
+            jdbcTemplate.batchUpdate(itemSql, items);
+        }
+        restartIdentity("orders", "order_id", firstOrder + orderCount);
+        restartIdentity("order_item", "id", nextItem);
+    }
+
+    /** Seeded id ranges, so load scripts can pick valid ids without hard-coding them. */
+    public Map<String, Object> describe() {
+        Map<String, Object> seed = new LinkedHashMap<>();
+        seed.put("products", jdbcTemplate.queryForMap(
+                "SELECT MIN(id) AS first_id, MAX(id) AS last_id FROM product WHERE barcode LIKE 'LT%'"));
+        seed.put("categories", jdbcTemplate.queryForMap("SELECT MIN(id) AS first_id, MAX(id) AS last_id FROM category"));
+        seed.put("users", jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user WHERE email LIKE 'load%@skinme.test'", Long.class));
+        seed.put("orders", count("orders"));
+        return seed;
+    }
+
+    private long count(String table) {
+        Long n = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        return n != null ? n : 0L;
+    }
+
+    private long nextId(String table, String column) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(" + column + "), 0) FROM " + table, Long.class);
+        return (max != null ? max : 0L) + 1;
+    }
+
+    /** H2 syntax; this seeder only runs against the loadtest H2 database. */
+    private void restartIdentity(String table, String column, long next) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + next);
+    }
+}
@@ -0,0 +1,28 @@
+package com.project.skin_me.loadtest;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * Opens {@link LoadTestStubController} to the app's own outbound clients: no login and no CSRF
+ * token on {@code /loadtest-stubs/**}. Exists only under the loadtest profile, so other profiles
+ * have no rule for these paths at all.
+ */
+@Configuration
+@Profile("loadtest")
+public class LoadTestSecurityConfig {
+
+    @Bean
+    @Order(2)
+    public SecurityFilterChain loadTestStubSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/loadtest-stubs/**")
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+                .csrf(csrf -> csrf.disable());
+        return http.build();
+    }
+}
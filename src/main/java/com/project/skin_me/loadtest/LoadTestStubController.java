@@ -0,0 +1,148 @@
+package com.project.skin_me.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-ins for the third-party APIs the app calls, so a load test never leaves the box:
+ * the chatbot backend ({@code app.chat.url}), Telegram Bot API ({@code app.telegram.api-base})
+ * and Stripe ({@code stripe.api-base}). Each call sleeps {@code app.loadtest.stub-latency-ms}
+ * to approximate the remote round trip that would otherwise hold a request thread, and a
+ * {@code app.loadtest.stub-failure-rate} share of calls answers 503 so runs can exercise the
+ * outbound retries and circuit breakers.
+ */
+@RestController
+@RequiredArgsConstructor
+@Profile("loadtest")
+@RequestMapping("/loadtest-stubs")
+public class LoadTestStubController {
+
+    private final LoadTestDataSeeder seeder;
+
+    private final AtomicLong telegramMessages = new AtomicLong();
+    private final AtomicLong chatbotCalls = new AtomicLong();
+    private final AtomicLong stripeCalls = new AtomicLong();
+
+    @Value("${app.loadtest.stub-latency-ms:40}")
+    private long latencyMs;
+
+    @Value("${app.loadtest.stub-failure-rate:0}")
+    private double failureRate;
+
+    // ---- Chatbot backend ----
+
+    @PostMapping("/chatbot/v1/chat")
+    public Map<String, Object> chat(@RequestBody(required = false) Map<String, Object> body) {
+        simulateLatency(chatbotCalls);
+        Object sessionId = body != null && body.get("session_id") != null
+                ? body.get("session_id") : UUID.randomUUID().toString();
+        Map<String, Object> res = new HashMap<>();
+        res.put("reply", "Try a gentle cleanser followed by a ceramide moisturizer.");
+        res.put("options", List.of());
+        res.put("session_id", sessionId);
+        res.put("admin_connected", false);
+        return res;
+    }
+
+    @PostMapping("/chatbot/v1/chat/with-image")
+    public Map<String, Object> chatWithImage() {
+        simulateLatency(chatbotCalls);
+        return Map.of("reply", "Image received.", "session_id", UUID.randomUUID().toString());
+    }
+
+    @GetMapping("/chatbot/v1/chat/sessions")
+    public Map<String, Object> sessions() {
+        simulateLatency(chatbotCalls);
+        return Map.of("count", 0, "sessions", List.of());
+    }
+
+    @GetMapping("/chatbot/v1/chat/sessions/{sessionId}/history")
+    public Map<String, Object> history(@PathVariable String sessionId) {
+        simulateLatency(chatbotCalls);
+        return Map.of("session_id", sessionId, "messages", List.of());
+    }
+
+    @PostMapping({ "/chatbot/v1/chat/admin-reply", "/chatbot/v1/chat/log" })
+    public Map<String, Object> accepted() {
+        simulateLatency(chatbotCalls);
+        return Map.of("ok", true);
+    }
+
+    // ---- Telegram Bot API ----
+
+    @PostMapping("/telegram/bot{token}/sendMessage")
+    public Map<String, Object> telegramSend(@PathVariable String token) {
+        simulateLatency(telegramMessages);
+        return Map.of("ok", true, "result", Map.of("message_id", telegramMessages.get()));
+    }
+
+    // ---- Stripe (form-encoded requests, JSON responses) ----
+
+    @PostMapping(value = "/stripe/v1/checkout/sessions", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> stripeCheckoutSession() {
+        simulateLatency(stripeCalls);
+        String id = "cs_test_" + UUID.randomUUID().toString().replace("-", "");
+        return Map.of("id", id, "object", "checkout.session", "payment_status", "unpaid",
+                "status", "open", "url", "http://localhost/loadtest-stubs/stripe/pay/" + id);
+    }
+
+    @GetMapping(value = "/stripe/v1/checkout/sessions/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> stripeRetrieveSession(@PathVariable String id) {
+        simulateLatency(stripeCalls);
+        return Map.of("id", id, "object", "checkout.session", "payment_status", "paid", "status", "complete");
+    }
+
+    @PostMapping(value = "/stripe/v1/payment_intents", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> stripeCreateIntent(@RequestParam(required = false) Long amount) {
+        simulateLatency(stripeCalls);
+        String id = "pi_test_" + UUID.randomUUID().toString().replace("-", "");
+        return Map.of("id", id, "object", "payment_intent", "client_secret", id + "_secret_loadtest",
+                "amount", amount != null ? amount : 0L, "currency", "usd", "status", "requires_payment_method");
+    }
+
+    @GetMapping(value = "/stripe/v1/payment_intents/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> stripeRetrieveIntent(@PathVariable String id) {
+        simulateLatency(stripeCalls);
+        return Map.of("id", id, "object", "payment_intent", "currency", "usd", "status", "succeeded");
+    }
+
+    /** Seeded id ranges (read by the k6 setup stage). */
+    @GetMapping("/seed")
+    public Map<String, Object> seed() {
+        return seeder.describe();
+    }
+
+    /** Call counts, so a run can assert how many outbound calls each scenario caused. */
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return Map.of("telegramMessages", telegramMessages.get(),
+                "chatbotCalls", chatbotCalls.get(),
+                "stripeCalls", stripeCalls.get());
+    }
+
+    private void simulateLatency(AtomicLong counter) {
+        counter.incrementAndGet();
+        try {
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Injected stub failure");
+        }
+    }
+}
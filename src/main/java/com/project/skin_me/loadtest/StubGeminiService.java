@@ -0,0 +1,36 @@
+package com.project.skin_me.loadtest;
+
+import com.google.genai.Client;
+import com.project.skin_me.service.chatAI.GeminiService;
+import com.project.skin_me.service.product.IProductService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the product lookup and prompt building of {@link GeminiService} on the measured path
+ * but answers locally instead of calling Gemini.
+ */
+@Service
+@Primary
+@Profile("loadtest")
+public class StubGeminiService extends GeminiService {
+
+    @Value("${app.loadtest.stub-latency-ms:40}")
+    private long latencyMs;
+
+    public StubGeminiService(Client client, IProductService productService) {
+        super(client, productService);
+    }
+
+    @Override
+    protected String generate(String finalPrompt) {
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "Stub answer (" + finalPrompt.length() + " prompt chars)";
+    }
+}
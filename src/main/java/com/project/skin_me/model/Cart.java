@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -39,18 +40,30 @@ public class Cart {
     @Column(nullable = false)
     private boolean active = true;
 
+    /** Row version guarding concurrent write-behind flushes; clients never see it. */
+    @Version
+    private Long version;
+
+    /**
+     * The cart-store version (see {@code CartStateStore}) this row was last written from. Clients
+     * send that version back with edits; it seeds the store again after an eviction.
+     */
+    private Long stateVersion;
+
+    private LocalDateTime updatedAt;
+
+    /** Links the item; the caller maintains {@link #totalAmount} (see CartItemService). */
     public void addItem(CartItem item) {
         this.items.add(item);
         item.setCart(this);
-        this.updateTotalAmount();
     }
 
     public void removeItem(CartItem item) {
         this.items.remove(item);
         item.setCart(null);
-        this.updateTotalAmount();
     }
 
+    /** Full re-sum of the lines, for callers that do not track the total themselves. */
     public void updateTotalAmount() {
         this.totalAmount = items.stream().map(item -> {
             BigDecimal unitPrice = item.getUnitPrice();
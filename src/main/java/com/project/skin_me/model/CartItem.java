@@ -20,8 +20,10 @@ public class CartItem {
     private Long id;
 
     private int quantity;
+    /** Price charged per unit: list price less any product discount when the line was last priced. */
     private BigDecimal unitPrice;
     private BigDecimal totalPrice;
+    /** Product discount per unit included in {@link #unitPrice}. */
     private double discount;
 
     @ManyToOne
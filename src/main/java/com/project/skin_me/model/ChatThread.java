@@ -0,0 +1,87 @@
+package com.project.skin_me.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Local index of one chatbot conversation for the admin Message Center: who it belongs to and
+ * what was said last. Kept up to date from chat traffic through this backend and refreshed from
+ * chatbot.skinme.store in the background, so listing threads never calls the chatbot.
+ * Table: chat_threads
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "chat_threads", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_chat_threads_session", columnNames = "session_id"),
+        @UniqueConstraint(name = "uk_chat_threads_user", columnNames = "user_id")
+}, indexes = {
+        @Index(name = "idx_chat_threads_last_at", columnList = "last_message_at"),
+        @Index(name = "idx_chat_threads_role_last_at", columnList = "last_role, last_message_at"),
+        @Index(name = "idx_chat_threads_unread_last_at", columnList = "unread, last_message_at")
+})
+public class ChatThread {
+
+    public static final String ROLE_USER = "user";
+    public static final String ROLE_ASSISTANT = "assistant";
+    public static final String ROLE_ADMIN = "admin";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false, length = 191)
+    private String sessionId;
+
+    /** Local account; null for chatbot sessions that match no user. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @Column(name = "user_email", length = 191)
+    private String userEmail;
+
+    @Column(name = "user_name", length = 191)
+    private String userName;
+
+    @Column(name = "last_message", length = 500)
+    private String lastMessage;
+
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+
+    /** {@code user}, {@code assistant} or {@code admin}; null until the first message. */
+    @Column(name = "last_role", length = 20)
+    private String lastRole;
+
+    /** A user message arrived that no admin has opened or answered yet. */
+    @Column(nullable = false)
+    private boolean unread;
+
+    @Column(name = "remote_synced_at")
+    private LocalDateTime remoteSyncedAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,40 @@
+package com.project.skin_me.model;
+
+import com.project.skin_me.enums.PaymentMethod;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Rollup row: successful payment amount and count per method per day.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "daily_payments", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_payments_date_method", columnNames = { "payment_date", "method" })
+})
+public class DailyPayment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "payment_date", nullable = false)
+    private LocalDate paymentDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private PaymentMethod method;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal amount = BigDecimal.ZERO;
+
+    @Column(name = "payment_count", nullable = false)
+    private long paymentCount;
+}
@@ -0,0 +1,60 @@
+package com.project.skin_me.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Rollup row: units, revenue and distinct orders for one product on one day (paid orders only).
+ * Product/brand/category names are copied in so reports never join back to the catalog.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "daily_sales", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_sales_date_product", columnNames = { "sales_date", "product_id" })
+}, indexes = {
+        @Index(name = "idx_daily_sales_brand_date", columnList = "brand_id, sales_date"),
+        @Index(name = "idx_daily_sales_category_date", columnList = "category_id, sales_date")
+})
+public class DailySales {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "product_name")
+    private String productName;
+
+    @Column(name = "brand_id")
+    private Long brandId;
+
+    @Column(name = "brand_name")
+    private String brandName;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "category_name")
+    private String categoryName;
+
+    @Column(nullable = false)
+    private long quantity;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+}
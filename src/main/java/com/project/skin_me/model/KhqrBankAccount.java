@@ -1,11 +1,16 @@
 package com.project.skin_me.model;
 
 import jakarta.persistence.*;
+import com.project.skin_me.config.CacheRegions;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.KHQR_ACCOUNT)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,5 +1,6 @@
 package com.project.skin_me.model;
 
+import com.project.skin_me.enums.NotificationStatus;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -9,7 +10,11 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_notifications_user_status_created", columnList = "user_id, status, created_at"),
+        @Index(name = "idx_notifications_user_action", columnList = "user_id, action_url")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -33,8 +38,9 @@ public class Notification {
     @Column(nullable = false, length = 50)
     private String type; // ORDER, PAYMENT, CHAT, FAVORITE, DELIVERY, PROMOTION, PRODUCT
 
-    @Column(nullable = false, length = 20)
-    private String status = "UNREAD"; // UNREAD, READ
+    @Enumerated(EnumType.ORDINAL)
+    @Column(nullable = false, columnDefinition = "TINYINT")
+    private NotificationStatus status = NotificationStatus.UNREAD;
 
     @Column(name = "action_url", length = 500)
     private String actionUrl;
@@ -0,0 +1,50 @@
+package com.project.skin_me.model;
+
+import com.project.skin_me.enums.NotificationAudience;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A user's read watermark in one audience's {@link SharedNotification} log: every entry with a
+ * higher sequence is unread.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@IdClass(NotificationCursor.Key.class)
+@Table(name = "notification_cursors")
+public class NotificationCursor {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private NotificationAudience audience;
+
+    @Column(name = "last_read_sequence", nullable = false)
+    private long lastReadSequence;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long userId;
+        private NotificationAudience audience;
+    }
+}
@@ -0,0 +1,24 @@
+package com.project.skin_me.model;
+
+import com.project.skin_me.enums.NotificationAudience;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Head of an audience's {@link SharedNotification} log: the sequence of its newest entry. */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "notification_sequences")
+public class NotificationSequence {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private NotificationAudience audience;
+
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+}
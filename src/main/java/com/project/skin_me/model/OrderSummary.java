@@ -0,0 +1,103 @@
+package com.project.skin_me.model;
+
+import com.project.skin_me.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read model: one denormalised row per order for list views and APIs.
+ * Customer name and line items (as JSON) are copied in, so a page of orders is a single
+ * indexed query with no joins to users, order items, products or brands.
+ * Kept in sync by {@code OrderSummaryProjector}.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "order_summary", indexes = {
+        @Index(name = "idx_order_summary_user_order", columnList = "user_id, order_id"),
+        @Index(name = "idx_order_summary_status", columnList = "order_status")
+})
+public class OrderSummary {
+
+    /** Same id as {@link Order#getOrderId()}. */
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "user_email")
+    private String userEmail;
+
+    @Column(name = "user_name")
+    private String userName;
+
+    @Column(name = "order_date")
+    private LocalDate orderDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_status", length = 32)
+    private OrderStatus orderStatus;
+
+    @Column(name = "is_pos_order", nullable = false)
+    private boolean posOrder;
+
+    /** Total units across all lines. */
+    @Column(name = "item_count", nullable = false)
+    private int itemCount;
+
+    @Column(name = "items_subtotal_amount", precision = 12, scale = 2)
+    private BigDecimal itemsSubtotalAmount;
+
+    @Column(name = "delivery_fee_amount", precision = 12, scale = 2)
+    private BigDecimal deliveryFeeAmount;
+
+    @Column(name = "total_amount", precision = 12, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "tracking_number")
+    private String trackingNumber;
+
+    @Column(name = "delivery_street", length = 500)
+    private String deliveryStreet;
+
+    @Column(name = "delivery_city", length = 100)
+    private String deliveryCity;
+
+    @Column(name = "delivery_province", length = 100)
+    private String deliveryProvince;
+
+    @Column(name = "delivery_postal_code", length = 20)
+    private String deliveryPostalCode;
+
+    @Column(name = "delivery_latitude")
+    private Double deliveryLatitude;
+
+    @Column(name = "delivery_longitude")
+    private Double deliveryLongitude;
+
+    @Column(name = "delivery_address_full", length = 1000)
+    private String deliveryAddressFull;
+
+    @Column(name = "logistic_company", length = 32)
+    private String logisticCompany;
+
+    /** Line items as a JSON array of {@code OrderItemDto}. */
+    @Column(name = "items_json", columnDefinition = "TEXT")
+    private String itemsJson;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /** {@code OrderSummaryProjector.PROJECTION_VERSION} that wrote this row; older rows are rebuilt. */
+    @Column(name = "projection_version")
+    private Integer projectionVersion;
+}
@@ -0,0 +1,92 @@
+package com.project.skin_me.model;
+
+import com.project.skin_me.enums.WebhookEventStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Raw payment gateway callback, stored before any processing. The unique
+ * {@code (provider, event_id)} key is what makes redeliveries no-ops; {@code order_key}
+ * routes every event of one order to the same processing lane.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "payment_webhook_events", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_webhook_provider_event", columnNames = { "provider", "event_id" })
+}, indexes = {
+        @Index(name = "idx_webhook_status_next", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_webhook_order_key", columnList = "order_key")
+})
+public class PaymentWebhookEvent {
+
+    public static final String PROVIDER_STRIPE = "STRIPE";
+    public static final String PROVIDER_PAYWAY = "PAYWAY";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 20)
+    private String provider;
+
+    @Column(name = "event_id", nullable = false, length = 191)
+    private String eventId;
+
+    @Column(name = "event_type", length = 100)
+    private String eventType;
+
+    /** Order id when the payload carries one, otherwise the gateway object id. */
+    @Column(name = "order_key", length = 191)
+    private String orderKey;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private WebhookEventStatus status = WebhookEventStatus.RECEIVED;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    /** Short outcome of the last successful run (e.g. "order 42 paid", "already paid"). */
+    @Column(length = 255)
+    private String result;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    /** Set by the claim that moved the event into PROCESSING; only that run may record the outcome. */
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    /** A PROCESSING event is handed back to the sweep only after this passes; renewed while it runs. */
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @PrePersist
+    void onCreate() {
+        if (receivedAt == null) {
+            receivedAt = LocalDateTime.now();
+        }
+        updatedAt = receivedAt;
+    }
+}
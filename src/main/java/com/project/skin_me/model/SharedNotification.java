@@ -0,0 +1,58 @@
+package com.project.skin_me.model;
+
+import com.project.skin_me.enums.AdminEventKind;
+import com.project.skin_me.enums.NotificationAudience;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification stored once for a whole audience (admin alerts, broadcasts) instead of one
+ * {@link Notification} per recipient. {@code sequence} counts up without gaps within the
+ * audience, so a reader's unread count is the audience head minus their {@link NotificationCursor}.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "shared_notifications", indexes = {
+        @Index(name = "uk_shared_notifications_audience_seq", columnList = "audience, sequence", unique = true),
+        @Index(name = "idx_shared_notifications_created", columnList = "created_at")
+})
+public class SharedNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private NotificationAudience audience;
+
+    @Column(nullable = false)
+    private long sequence;
+
+    /** Set for admin alerts, for the admin event stream's per-kind counts. */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private AdminEventKind kind;
+
+    /** Notification type for the bell icon: ORDER, USER, FEEDBACK, PRODUCT, ... */
+    @Column(nullable = false, length = 50)
+    private String type;
+
+    @Column(nullable = false, length = 200)
+    private String title;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    @Column(name = "action_url", length = 500)
+    private String actionUrl;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
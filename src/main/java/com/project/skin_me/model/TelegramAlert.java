@@ -0,0 +1,78 @@
+package com.project.skin_me.model;
+
+import com.project.skin_me.enums.TelegramAlertKind;
+import com.project.skin_me.enums.TelegramAlertStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A Telegram alert waiting to be sent (or already sent) to one chat. Written in the transaction of
+ * the event that caused it, so an alert exists exactly when its order/payment/user does and
+ * survives restarts until the dispatcher delivers it.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "telegram_alerts", indexes = {
+        @Index(name = "idx_telegram_alerts_status_next", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_telegram_alerts_chat_status", columnList = "chat_id, status")
+})
+public class TelegramAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "chat_id", nullable = false, length = 64)
+    private String chatId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private TelegramAlertKind kind;
+
+    /** Full HTML message, sent when the alert goes out on its own. */
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String text;
+
+    /** One escaped line (e.g. "Order #42 · a@b.com · $12.00") used when alerts are coalesced into a digest. */
+    @Column(length = 255)
+    private String summary;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TelegramAlertStatus status = TelegramAlertStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+        updatedAt = createdAt;
+    }
+}
@@ -0,0 +1,124 @@
+package com.project.skin_me.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint SQL totals and statement budgets. Endpoints are keyed by HTTP method and
+ * handler pattern (e.g. {@code GET /views/orders}); budgets come from
+ * {@code app.sql-budget.endpoints} as {@code GET /dashboard=20;GET /views/orders=25}.
+ * Each request is also published as {@code skinme.sql.statements} / {@code skinme.sql.jdbc}.
+ */
+@Component
+@Slf4j
+public class SqlBudgetRegistry {
+
+    private final MeterRegistry meterRegistry;
+    private final int defaultBudget;
+    private final Map<String, Integer> budgets;
+    private final Map<String, EndpointTotals> totals = new ConcurrentHashMap<>();
+
+    public SqlBudgetRegistry(MeterRegistry meterRegistry,
+            @Value("${app.sql-budget.default-statements:40}") int defaultBudget,
+            @Value("${app.sql-budget.endpoints:}") String endpointBudgets) {
+        this.meterRegistry = meterRegistry;
+        this.defaultBudget = defaultBudget;
+        this.budgets = parseBudgets(endpointBudgets);
+    }
+
+    public int budgetFor(String endpoint) {
+        return budgets.getOrDefault(endpoint, defaultBudget);
+    }
+
+    /** Records one request; logs it when it ran more statements than its budget. */
+    public void record(String endpoint, SqlRequestStats stats) {
+        int budget = budgetFor(endpoint);
+        boolean over = stats.getStatements() > budget;
+        totals.computeIfAbsent(endpoint, k -> new EndpointTotals()).add(stats, over);
+        meterRegistry.summary("skinme.sql.statements", "endpoint", endpoint).record(stats.getStatements());
+        meterRegistry.timer("skinme.sql.jdbc", "endpoint", endpoint).record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        if (over) {
+            log.warn("SQL budget exceeded: {} ran {} statements (budget {}), {} ms in JDBC, {} entities loaded",
+                    endpoint, stats.getStatements(), budget, stats.getJdbcMillis(), stats.getEntitiesLoaded());
+        }
+    }
+
+    /** Endpoints ordered by total statements, heaviest first. */
+    public List<Map<String, Object>> snapshot() {
+        return totals.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, EndpointTotals> e) -> e.getValue().statements.sum())
+                        .reversed())
+                .map(e -> e.getValue().toMap(e.getKey(), budgetFor(e.getKey())))
+                .toList();
+    }
+
+    public void reset() {
+        totals.clear();
+    }
+
+    private static Map<String, Integer> parseBudgets(String raw) {
+        Map<String, Integer> parsed = new HashMap<>();
+        if (!StringUtils.hasText(raw)) {
+            return parsed;
+        }
+        for (String entry : raw.split(";")) {
+            int eq = entry.lastIndexOf('=');
+            if (eq <= 0) {
+                continue;
+            }
+            try {
+                parsed.put(entry.substring(0, eq).trim(), Integer.parseInt(entry.substring(eq + 1).trim()));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring invalid SQL budget entry '{}'", entry);
+            }
+        }
+        return parsed;
+    }
+
+    private static final class EndpointTotals {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder jdbcNanos = new LongAdder();
+        private final LongAdder entities = new LongAdder();
+        private final LongAdder overBudget = new LongAdder();
+        private final AtomicInteger maxStatements = new AtomicInteger();
+
+        void add(SqlRequestStats stats, boolean over) {
+            requests.increment();
+            statements.add(stats.getStatements());
+            jdbcNanos.add(stats.getJdbcNanos());
+            entities.add(stats.getEntitiesLoaded());
+            if (over) {
+                overBudget.increment();
+            }
+            maxStatements.accumulateAndGet(stats.getStatements(), Math::max);
+        }
+
+        Map<String, Object> toMap(String endpoint, int budget) {
+            long count = Math.max(requests.sum(), 1);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", endpoint);
+            row.put("requests", requests.sum());
+            row.put("budget", budget);
+            row.put("overBudget", overBudget.sum());
+            row.put("avgStatements", (double) statements.sum() / count);
+            row.put("maxStatements", maxStatements.get());
+            row.put("avgJdbcMs", jdbcNanos.sum() / 1_000_000.0 / count);
+            row.put("avgEntitiesLoaded", (double) entities.sum() / count);
+            return row;
+        }
+    }
+}
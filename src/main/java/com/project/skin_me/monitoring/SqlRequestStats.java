@@ -0,0 +1,93 @@
+package com.project.skin_me.monitoring;
+
+import java.util.function.Supplier;
+
+/**
+ * SQL work done by the current thread since {@link #begin()}: JDBC statements executed,
+ * time spent inside JDBC and entities hydrated by Hibernate. Fed by
+ * {@link SqlStatsSessionListener} and {@link SqlStatsHibernateRegistrar}; read by
+ * {@code SqlBudgetFilter} once per request.
+ */
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long jdbcNanos;
+    private int entitiesLoaded;
+
+    public static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /** Stats for the current thread, or null when nothing is being measured. */
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Runs {@code work} on this thread and returns what it cost in SQL, e.g. to assert that
+     * an endpoint or service call stays within a fixed number of statements.
+     */
+    public static SqlRequestStats measure(Runnable work) {
+        return measureResult(() -> {
+            work.run();
+            return null;
+        }).stats();
+    }
+
+    public static <T> Measured<T> measureResult(Supplier<T> work) {
+        SqlRequestStats outer = CURRENT.get();
+        SqlRequestStats stats = begin();
+        try {
+            return new Measured<>(work.get(), stats);
+        } finally {
+            if (outer != null) {
+                outer.add(stats);
+                CURRENT.set(outer);
+            } else {
+                end();
+            }
+        }
+    }
+
+    void recordStatement(long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+    }
+
+    void recordEntityLoad() {
+        entitiesLoaded++;
+    }
+
+    private void add(SqlRequestStats other) {
+        statements += other.statements;
+        jdbcNanos += other.jdbcNanos;
+        entitiesLoaded += other.entitiesLoaded;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcMillis() {
+        return jdbcNanos / 1_000_000;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public int getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    public record Measured<T>(T result, SqlRequestStats stats) {
+    }
+}
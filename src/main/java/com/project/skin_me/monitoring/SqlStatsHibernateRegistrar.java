@@ -0,0 +1,32 @@
+package com.project.skin_me.monitoring;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.stereotype.Component;
+
+/** Adds a post-load listener so {@link SqlRequestStats} also counts hydrated entities. */
+@Component
+@RequiredArgsConstructor
+public class SqlStatsHibernateRegistrar {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        PostLoadEventListener listener = event -> {
+            SqlRequestStats stats = SqlRequestStats.current();
+            if (stats != null) {
+                stats.recordEntityLoad();
+            }
+        };
+        registry.appendListeners(EventType.POST_LOAD, listener);
+    }
+}
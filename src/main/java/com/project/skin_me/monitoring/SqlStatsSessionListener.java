@@ -0,0 +1,41 @@
+package com.project.skin_me.monitoring;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Counts JDBC statement executions and their duration for the thread that owns the session.
+ * Hibernate creates one instance per session; registered with
+ * {@code spring.jpa.properties.hibernate.session.events.auto}.
+ */
+public class SqlStatsSessionListener implements SessionEventListener {
+
+    private long executeStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null && executeStart > 0) {
+            stats.recordStatement(System.nanoTime() - executeStart);
+        }
+        executeStart = 0;
+    }
+}
@@ -0,0 +1,100 @@
+package com.project.skin_me.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * STOMP transport metrics:
+ * <ul>
+ *   <li>{@code skinme.websocket.sessions}: open sessions</li>
+ *   <li>{@code skinme.websocket.frames.queued} / {@code skinme.websocket.channel.active}
+ *       ({@code channel=inbound|outbound}): backlog and busy threads of the client channel executors</li>
+ *   <li>{@code skinme.websocket.frames.rejected} ({@code channel=inbound|outbound}): frames dropped
+ *       because the channel queue was full</li>
+ *   <li>{@code skinme.websocket.sessions.dropped}: sessions closed because they exceeded the send
+ *       buffer or send time limit (slow consumers)</li>
+ * </ul>
+ */
+@Component
+public class WebSocketSessionMetrics {
+
+    private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+    private final MeterRegistry registry;
+    private final Counter droppedSessions;
+    private final Map<String, Counter> rejectedFrames = new ConcurrentHashMap<>();
+
+    public WebSocketSessionMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("skinme.websocket.sessions", sessions, Set::size)
+                .description("Open STOMP WebSocket sessions")
+                .register(registry);
+        this.droppedSessions = Counter.builder("skinme.websocket.sessions.dropped")
+                .description("Sessions closed for exceeding the send buffer or send time limit")
+                .register(registry);
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        String id = (String) event.getMessage().getHeaders().get("simpSessionId");
+        if (id != null) {
+            sessions.add(id);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        sessions.remove(event.getSessionId());
+    }
+
+    public int openSessions() {
+        return sessions.size();
+    }
+
+    public void sessionDropped() {
+        droppedSessions.increment();
+    }
+
+    public void frameRejected(String channel) {
+        Counter counter = rejectedFrames.get(channel);
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * Registers the queue depth and busy threads of a client channel executor. The executor is
+     * initialised later by the broker configuration, so an uninitialised pool reads as empty.
+     */
+    public void bindChannelExecutor(String channel, ThreadPoolTaskExecutor executor) {
+        Gauge.builder("skinme.websocket.frames.queued", executor, WebSocketSessionMetrics::queued)
+                .tag("channel", channel)
+                .description("Messages waiting for a " + channel + " channel thread")
+                .register(registry);
+        Gauge.builder("skinme.websocket.channel.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("channel", channel)
+                .description("Threads busy on the " + channel + " channel")
+                .register(registry);
+        rejectedFrames.put(channel, Counter.builder("skinme.websocket.frames.rejected")
+                .tag("channel", channel)
+                .description("Frames dropped because the " + channel + " channel queue was full")
+                .register(registry));
+    }
+
+    private static double queued(ThreadPoolTaskExecutor executor) {
+        try {
+            return executor.getThreadPoolExecutor().getQueue().size();
+        } catch (IllegalStateException e) {
+            return 0;
+        }
+    }
+}
@@ -1,9 +1,20 @@
 package com.project.skin_me.repository;
 
 import com.project.skin_me.model.config.ApiConfig;
+import com.project.skin_me.config.CacheRegions;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ApiConfigRepository extends JpaRepository<ApiConfig, Long> {
+
+    @QueryHints({ @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.QUERIES) })
+    @Override
+    List<ApiConfig> findAll();
 }
\ No newline at end of file
@@ -2,6 +2,10 @@ package com.project.skin_me.repository;
 
 import com.project.skin_me.model.Brand;
 
+import com.project.skin_me.config.CacheRegions;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -18,6 +22,8 @@ public interface BrandRepository extends JpaRepository<Brand, Long> {
 
     boolean existsByNameAndCategoryId(String name, Long categoryId);
 
+    @QueryHints({ @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.QUERIES) })
     @Query("SELECT b FROM Brand b LEFT JOIN FETCH b.category ORDER BY b.category.name, b.name")
     List<Brand> findAllWithCategory();
 
@@ -2,15 +2,27 @@ package com.project.skin_me.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import com.project.skin_me.config.CacheRegions;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.project.skin_me.model.Category;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+    @QueryHints({ @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.QUERIES) })
+    @Override
+    List<Category> findAll();
+
     Category findByname(String name);
 
     boolean existsByName(String name);
@@ -18,9 +30,17 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     @Query("SELECT c FROM Category c LEFT JOIN FETCH c.brands")
     List<Category> findAllWithBrands();
 
-    @Query(value = "SELECT DISTINCT c FROM Category c LEFT JOIN FETCH c.brands",
-           countQuery = "SELECT COUNT(DISTINCT c) FROM Category c")
-    Page<Category> findAllWithBrands(Pageable pageable);
+    /** Categories with brands; paged in SQL via {@link TwoPhasePage}. */
+    default Page<Category> findAllWithBrands(Pageable pageable) {
+        return TwoPhasePage.fetch(findCategoryIds(pageable), this::findWithBrandsByIdIn, Category::getId);
+    }
+
+    @Query(value = "SELECT c.id FROM Category c", countQuery = "SELECT COUNT(c) FROM Category c")
+    Page<Long> findCategoryIds(Pageable pageable);
+
+    @EntityGraph(attributePaths = "brands")
+    @Query("SELECT c FROM Category c WHERE c.id IN :ids")
+    List<Category> findWithBrandsByIdIn(@Param("ids") Collection<Long> ids);
 
     @Query("SELECT c FROM Category c LEFT JOIN FETCH c.brands WHERE c.id = :id")
     Category findByIdWithBrands(Long id);
@@ -40,6 +40,10 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     @Query(value = "SELECT DISTINCT cm FROM ChatMessage cm LEFT JOIN FETCH cm.user WHERE cm.user.id = :userId ORDER BY cm.timestamp DESC", countQuery = "SELECT COUNT(cm) FROM ChatMessage cm WHERE cm.user.id = :userId")
     Page<ChatMessage> findByUserIdWithUserOrderByTimestampDesc(@Param("userId") Long userId, Pageable pageable);
 
+    /** E-mail of the customer who wrote in the conversation, earliest first; used to route admin replies. */
+    @Query("SELECT u.email FROM ChatMessage cm JOIN cm.user u WHERE cm.conversationId = :conversationId AND cm.type = 'user' ORDER BY cm.timestamp ASC")
+    List<String> findCustomerEmailsByConversationId(@Param("conversationId") String conversationId, Pageable pageable);
+
     @Modifying
     @Query("DELETE FROM ChatMessage cm WHERE cm.user.id = :userId")
     void deleteByUserId(@Param("userId") Long userId);
@@ -0,0 +1,52 @@
+package com.project.skin_me.repository;
+
+import com.project.skin_me.model.ChatThread;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ChatThreadRepository extends JpaRepository<ChatThread, Long> {
+
+    Optional<ChatThread> findBySessionId(String sessionId);
+
+    Optional<ChatThread> findByUser_Id(Long userId);
+
+    List<ChatThread> findBySessionIdIn(Collection<String> sessionIds);
+
+    /**
+     * Threads newest first (threads without messages last). {@code lastRole} null means any;
+     * {@code search} (lower-case, with {@code %}) matches name or e-mail.
+     */
+    @Query(value = "SELECT t FROM ChatThread t LEFT JOIN FETCH t.user "
+            + "WHERE (:lastRole IS NULL OR t.lastRole = :lastRole) "
+            + "AND (:unreadOnly = false OR t.unread = true) "
+            + "AND (:search IS NULL OR LOWER(t.userName) LIKE :search OR LOWER(t.userEmail) LIKE :search) "
+            + "ORDER BY t.lastMessageAt DESC, t.id DESC",
+            countQuery = "SELECT COUNT(t) FROM ChatThread t "
+                    + "WHERE (:lastRole IS NULL OR t.lastRole = :lastRole) "
+                    + "AND (:unreadOnly = false OR t.unread = true) "
+                    + "AND (:search IS NULL OR LOWER(t.userName) LIKE :search OR LOWER(t.userEmail) LIKE :search)")
+    Page<ChatThread> search(@Param("lastRole") String lastRole, @Param("unreadOnly") boolean unreadOnly,
+            @Param("search") String search, Pageable pageable);
+
+    long countByLastRole(String lastRole);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ChatThread t SET t.unread = false WHERE t.sessionId = :sessionId AND t.unread = true")
+    int markRead(@Param("sessionId") String sessionId);
+
+    long countByUnreadTrue();
+
+    @Modifying
+    @Query("DELETE FROM ChatThread t WHERE t.user.id = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+}
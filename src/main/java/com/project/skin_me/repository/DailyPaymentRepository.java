@@ -0,0 +1,49 @@
+package com.project.skin_me.repository;
+
+import com.project.skin_me.dto.PaymentReportRowDto;
+import com.project.skin_me.enums.OrderStatus;
+import com.project.skin_me.enums.PaymentMethod;
+import com.project.skin_me.model.DailyPayment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DailyPaymentRepository extends JpaRepository<DailyPayment, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_payments (payment_date, method, amount, payment_count) VALUES (:day, :method, :amount, 1) "
+            + "ON DUPLICATE KEY UPDATE amount = amount + VALUES(amount), payment_count = payment_count + 1",
+            nativeQuery = true)
+    int upsertPayment(@Param("day") LocalDate day, @Param("method") String method, @Param("amount") BigDecimal amount);
+
+    /** Takes one payment back out of its day row (payment no longer SUCCESS). */
+    @Modifying
+    @Query("UPDATE DailyPayment dp SET dp.amount = dp.amount - :amount, dp.paymentCount = dp.paymentCount - 1 "
+            + "WHERE dp.paymentDate = :day AND dp.method = :method AND dp.paymentCount > 0")
+    int subtractPayment(@Param("day") LocalDate day, @Param("method") PaymentMethod method,
+            @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("DELETE FROM DailyPayment dp WHERE dp.paymentDate BETWEEN :from AND :to")
+    int deleteByPaymentDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /** Source aggregate for rebuilding one day: [method, amount, count]. */
+    @Query("SELECT p.method, SUM(p.amount), COUNT(p) FROM Payment p "
+            + "WHERE p.status = :status AND p.transactionTime >= :start AND p.transactionTime < :end GROUP BY p.method")
+    List<Object[]> aggregatePayments(@Param("status") OrderStatus status, @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    @Query("SELECT new com.project.skin_me.dto.PaymentReportRowDto(dp.method, SUM(dp.amount), SUM(dp.paymentCount)) "
+            + "FROM DailyPayment dp WHERE dp.paymentDate BETWEEN :from AND :to GROUP BY dp.method ORDER BY SUM(dp.amount) DESC")
+    List<PaymentReportRowDto> sumByMethod(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.project.skin_me.dto.PaymentReportRowDto(dp.paymentDate, SUM(dp.amount), SUM(dp.paymentCount)) "
+            + "FROM DailyPayment dp WHERE dp.paymentDate BETWEEN :from AND :to GROUP BY dp.paymentDate ORDER BY dp.paymentDate")
+    List<PaymentReportRowDto> sumByDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
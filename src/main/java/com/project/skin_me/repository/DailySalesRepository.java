@@ -0,0 +1,69 @@
+package com.project.skin_me.repository;
+
+import com.project.skin_me.dto.SalesReportRowDto;
+import com.project.skin_me.enums.OrderStatus;
+import com.project.skin_me.model.DailySales;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface DailySalesRepository extends JpaRepository<DailySales, Long> {
+
+    /** Adds one paid order's units/revenue for a product to its day row (creates the row if missing). */
+    @Modifying
+    @Query(value = "INSERT INTO daily_sales (sales_date, product_id, product_name, brand_id, brand_name, category_id, category_name, quantity, revenue, order_count) "
+            + "VALUES (:day, :productId, :productName, :brandId, :brandName, :categoryId, :categoryName, :quantity, :revenue, 1) "
+            + "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity), revenue = revenue + VALUES(revenue), "
+            + "order_count = order_count + 1, product_name = VALUES(product_name), brand_name = VALUES(brand_name), category_name = VALUES(category_name)",
+            nativeQuery = true)
+    int upsertSale(@Param("day") LocalDate day, @Param("productId") Long productId,
+            @Param("productName") String productName, @Param("brandId") Long brandId,
+            @Param("brandName") String brandName, @Param("categoryId") Long categoryId,
+            @Param("categoryName") String categoryName, @Param("quantity") long quantity,
+            @Param("revenue") BigDecimal revenue);
+
+    /** Takes one order's units/revenue for a product back out of its day row (order left the revenue statuses). */
+    @Modifying
+    @Query("UPDATE DailySales ds SET ds.quantity = ds.quantity - :quantity, ds.revenue = ds.revenue - :revenue, "
+            + "ds.orderCount = ds.orderCount - 1 WHERE ds.salesDate = :day AND ds.productId = :productId AND ds.orderCount > 0")
+    int subtractSale(@Param("day") LocalDate day, @Param("productId") Long productId,
+            @Param("quantity") long quantity, @Param("revenue") BigDecimal revenue);
+
+    @Modifying
+    @Query("DELETE FROM DailySales ds WHERE ds.salesDate BETWEEN :from AND :to")
+    int deleteBySalesDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Source aggregate for rebuilding one day: [productId, productName, brandId, brandName,
+     * categoryId, categoryName, quantity, revenue, orderCount].
+     */
+    @Query("SELECT p.id, p.name, b.id, b.name, c.id, c.name, SUM(oi.quantity), SUM(oi.price * oi.quantity), COUNT(DISTINCT o.orderId) "
+            + "FROM OrderItem oi JOIN oi.order o JOIN oi.product p LEFT JOIN p.brand b LEFT JOIN p.category c "
+            + "WHERE o.orderDate = :day AND o.orderStatus IN :statuses "
+            + "GROUP BY p.id, p.name, b.id, b.name, c.id, c.name")
+    List<Object[]> aggregatePaidOrderItems(@Param("day") LocalDate day,
+            @Param("statuses") Collection<OrderStatus> statuses);
+
+    @Query("SELECT new com.project.skin_me.dto.SalesReportRowDto(ds.productId, MAX(ds.productName), SUM(ds.quantity), SUM(ds.revenue), SUM(ds.orderCount)) "
+            + "FROM DailySales ds WHERE ds.salesDate BETWEEN :from AND :to GROUP BY ds.productId ORDER BY SUM(ds.revenue) DESC")
+    List<SalesReportRowDto> sumByProduct(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+
+    @Query("SELECT new com.project.skin_me.dto.SalesReportRowDto(ds.brandId, MAX(ds.brandName), SUM(ds.quantity), SUM(ds.revenue), SUM(ds.orderCount)) "
+            + "FROM DailySales ds WHERE ds.salesDate BETWEEN :from AND :to GROUP BY ds.brandId ORDER BY SUM(ds.revenue) DESC")
+    List<SalesReportRowDto> sumByBrand(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+
+    @Query("SELECT new com.project.skin_me.dto.SalesReportRowDto(ds.categoryId, MAX(ds.categoryName), SUM(ds.quantity), SUM(ds.revenue), SUM(ds.orderCount)) "
+            + "FROM DailySales ds WHERE ds.salesDate BETWEEN :from AND :to GROUP BY ds.categoryId ORDER BY SUM(ds.revenue) DESC")
+    List<SalesReportRowDto> sumByCategory(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+
+    @Query("SELECT new com.project.skin_me.dto.SalesReportRowDto(ds.salesDate, SUM(ds.quantity), SUM(ds.revenue), SUM(ds.orderCount)) "
+            + "FROM DailySales ds WHERE ds.salesDate BETWEEN :from AND :to GROUP BY ds.salesDate ORDER BY ds.salesDate")
+    List<SalesReportRowDto> sumByDay(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+}
@@ -3,6 +3,7 @@ package com.project.skin_me.repository;
 import com.project.skin_me.model.FavoriteItem;
 import com.project.skin_me.model.Product;
 import com.project.skin_me.model.FavoriteList;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -23,4 +24,11 @@ public interface FavoriteItemRepository extends JpaRepository<FavoriteItem, Long
     
     @Query("SELECT fi FROM FavoriteItem fi JOIN FETCH fi.favoriteList fl JOIN FETCH fl.user JOIN FETCH fi.product p LEFT JOIN FETCH p.images ORDER BY fi.id DESC")
     List<FavoriteItem> findRecentFavoritesWithRelations();
+
+    /** Newest favorite ids, paginated in SQL (no collection fetch, so LIMIT applies). */
+    @Query("SELECT fi.id FROM FavoriteItem fi ORDER BY fi.id DESC")
+    List<Long> findRecentFavoriteIds(Pageable pageable);
+
+    @Query("SELECT DISTINCT fi FROM FavoriteItem fi JOIN FETCH fi.favoriteList fl JOIN FETCH fl.user JOIN FETCH fi.product p LEFT JOIN FETCH p.images WHERE fi.id IN :ids")
+    List<FavoriteItem> findAllWithRelationsByIdIn(@Param("ids") List<Long> ids);
 }
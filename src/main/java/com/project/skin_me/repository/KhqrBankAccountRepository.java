@@ -1,16 +1,26 @@
 package com.project.skin_me.repository;
 
 import com.project.skin_me.model.KhqrBankAccount;
+import com.project.skin_me.config.CacheRegions;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 
 public interface KhqrBankAccountRepository extends JpaRepository<KhqrBankAccount, Long> {
 
+    @QueryHints({ @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.QUERIES) })
     List<KhqrBankAccount> findAllByOrderByDisplayOrderAscGatewayAsc();
 
     /** All active accounts ordered for Telegram routing (first with telegramChatId wins). */
+    @QueryHints({ @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.QUERIES) })
     List<KhqrBankAccount> findAllByActiveTrueOrderByDisplayOrderAsc();
 
+    @QueryHints({ @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.QUERIES) })
     List<KhqrBankAccount> findByGatewayAndActiveTrueOrderByDisplayOrderAsc(String gateway);
 }
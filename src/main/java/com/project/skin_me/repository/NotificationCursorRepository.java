@@ -0,0 +1,24 @@
+package com.project.skin_me.repository;
+
+import com.project.skin_me.model.NotificationCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface NotificationCursorRepository extends JpaRepository<NotificationCursor, NotificationCursor.Key> {
+
+    @Modifying
+    void deleteByUserId(Long userId);
+
+    /** Plain insert: fails on an existing cursor instead of overwriting it, unlike {@code save}. */
+    @Modifying
+    @Query(value = "INSERT INTO notification_cursors (user_id, audience, last_read_sequence, updated_at) "
+            + "VALUES (:userId, :audience, :sequence, :now)", nativeQuery = true)
+    int insert(@Param("userId") Long userId, @Param("audience") String audience,
+            @Param("sequence") long sequence, @Param("now") LocalDateTime now);
+}
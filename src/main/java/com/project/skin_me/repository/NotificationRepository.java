@@ -1,12 +1,15 @@
 package com.project.skin_me.repository;
 
+import com.project.skin_me.enums.NotificationStatus;
 import com.project.skin_me.model.Notification;
 import com.project.skin_me.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -14,13 +17,15 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     Page<Notification> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
 
-    boolean existsByUserAndActionUrl(User user, String actionUrl);
+    /** Newest first, without the count query of a {@code Page}. */
+    @Query("SELECT n FROM Notification n WHERE n.user = :user ORDER BY n.createdAt DESC, n.id DESC")
+    Slice<Notification> findRecentByUser(@Param("user") User user, Pageable pageable);
 
-    long countByUserAndStatus(User user, String status);
+    long countByUser_IdAndStatus(Long userId, NotificationStatus status);
 
     @Modifying
     @Query("UPDATE Notification n SET n.status = :toStatus WHERE n.user = :user AND n.status = :fromStatus")
-    int markAllByUserAndStatus(User user, String fromStatus, String toStatus);
+    int markAllByUserAndStatus(User user, NotificationStatus fromStatus, NotificationStatus toStatus);
 
     @Modifying
     void deleteByUserId(Long userId);
@@ -0,0 +1,21 @@
+package com.project.skin_me.repository;
+
+import com.project.skin_me.enums.NotificationAudience;
+import com.project.skin_me.model.NotificationSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface NotificationSequenceRepository extends JpaRepository<NotificationSequence, NotificationAudience> {
+
+    /** Locks the head row until commit, so appends to one audience get consecutive sequences. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM NotificationSequence s WHERE s.audience = :audience")
+    Optional<NotificationSequence> lockByAudience(@Param("audience") NotificationAudience audience);
+}
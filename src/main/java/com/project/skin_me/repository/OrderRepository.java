@@ -2,14 +2,18 @@ package com.project.skin_me.repository;
 
 import com.project.skin_me.enums.OrderStatus;
 import com.project.skin_me.model.Order;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,17 +41,51 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findPosOrdersByUserAndStatuses(@Param("userId") Long userId,
             @Param("statuses") List<OrderStatus> statuses);
 
-    @Query(value = "SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems oi LEFT JOIN FETCH oi.product p LEFT JOIN FETCH p.brand",
-           countQuery = "SELECT COUNT(o) FROM Order o")
-    Page<Order> findAllWithOrderItems(Pageable pageable);
+    /** Orders with items, products and brands; paged in SQL via {@link TwoPhasePage}. */
+    default Page<Order> findAllWithOrderItems(Pageable pageable) {
+        return TwoPhasePage.fetch(findOrderIds(pageable), this::findWithOrderItemsByIdIn, Order::getOrderId);
+    }
 
-    @Query(value = "SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.user LEFT JOIN FETCH o.orderItems oi LEFT JOIN FETCH oi.product p LEFT JOIN FETCH p.brand",
-           countQuery = "SELECT COUNT(DISTINCT o) FROM Order o")
-    Page<Order> findAllWithOrderItemsAndUser(Pageable pageable);
+    /** Orders with customer, items, products and brands; paged in SQL via {@link TwoPhasePage}. */
+    default Page<Order> findAllWithOrderItemsAndUser(Pageable pageable) {
+        return TwoPhasePage.fetch(findOrderIds(pageable), this::findWithOrderItemsAndUserByIdIn, Order::getOrderId);
+    }
 
-    @Query(value = "SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems oi LEFT JOIN FETCH oi.product p LEFT JOIN FETCH p.brand WHERE o.user.id = :userId",
+    /** One user's orders with items, products and brands; paged in SQL via {@link TwoPhasePage}. */
+    default Page<Order> findByUserIdWithOrderItems(Long userId, Pageable pageable) {
+        return TwoPhasePage.fetch(findOrderIdsByUserId(userId, pageable), this::findWithOrderItemsByIdIn,
+                Order::getOrderId);
+    }
+
+    @Query(value = "SELECT o.orderId FROM Order o", countQuery = "SELECT COUNT(o) FROM Order o")
+    Page<Long> findOrderIds(Pageable pageable);
+
+    @Query(value = "SELECT o.orderId FROM Order o WHERE o.user.id = :userId",
            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.user.id = :userId")
-    Page<Order> findByUserIdWithOrderItems(@Param("userId") Long userId, Pageable pageable);
+    Page<Long> findOrderIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @EntityGraph(attributePaths = { "orderItems", "orderItems.product", "orderItems.product.brand" })
+    @Query("SELECT o FROM Order o WHERE o.orderId IN :ids")
+    List<Order> findWithOrderItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = { "user", "orderItems", "orderItems.product", "orderItems.product.brand" })
+    @Query("SELECT o FROM Order o WHERE o.orderId IN :ids")
+    List<Order> findWithOrderItemsAndUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    /** Ids of orders with no order_summary row at {@code version} or later, oldest first. */
+    @Query("SELECT o.orderId FROM Order o WHERE NOT EXISTS (SELECT s.orderId FROM OrderSummary s "
+            + "WHERE s.orderId = o.orderId AND s.projectionVersion >= :version) ORDER BY o.orderId")
+    List<Long> findIdsNeedingSummary(@Param("version") int version, Pageable pageable);
+
+    /** Row-locks the given orders (SELECT ... FOR UPDATE), serialising with writers of the same orders. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.orderId IN :ids")
+    List<Order> lockByIdIn(@Param("ids") Collection<Long> ids);
+
+    /** Orders (with their owner) that have no notification linking to them yet, oldest first. */
+    @Query("SELECT o FROM Order o JOIN FETCH o.user u WHERE NOT EXISTS (SELECT n.id FROM Notification n "
+            + "WHERE n.user = u AND n.actionUrl = CONCAT('/view/orders/', CAST(o.orderId AS String))) ORDER BY o.orderId")
+    List<Order> findWithoutOwnerNotification(Pageable pageable);
 
     @Query("SELECT COALESCE(SUM(o.orderTotalAmount), 0) FROM Order o")
     BigDecimal sumOrderTotalAmount();
@@ -55,8 +93,9 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o.orderStatus, COUNT(o) FROM Order o GROUP BY o.orderStatus")
     List<Object[]> countGroupByOrderStatus();
 
-    @Query(value = "SELECT YEAR(o.order_date) AS y, MONTH(o.order_date) AS m, COALESCE(SUM(o.order_total_amount), 0) FROM orders o WHERE o.order_date >= :since GROUP BY YEAR(o.order_date), MONTH(o.order_date) ORDER BY y, m", nativeQuery = true)
-    List<Object[]> sumRevenueByMonthSince(@Param("since") java.sql.Date since);
+    /** Units bought per product by one user: [productId, name, price, brandName, quantity]. */
+    @Query("SELECT p.id, p.name, p.price, b.name, SUM(oi.quantity) FROM OrderItem oi JOIN oi.order o JOIN oi.product p LEFT JOIN p.brand b WHERE o.user.id = :userId GROUP BY p.id, p.name, p.price, b.name")
+    List<Object[]> sumQuantityByProductForUser(@Param("userId") Long userId);
 
     @Query("SELECT COUNT(o) > 0 FROM Order o JOIN o.orderItems oi WHERE o.user.id = :userId AND oi.product.id = :productId AND o.orderStatus = :status")
     boolean existsDeliveredOrderWithProduct(@Param("userId") Long userId, @Param("productId") Long productId,
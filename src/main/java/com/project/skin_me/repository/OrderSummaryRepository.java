@@ -0,0 +1,22 @@
+package com.project.skin_me.repository;
+
+import com.project.skin_me.model.OrderSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long> {
+
+    Page<OrderSummary> findByUserId(Long userId, Pageable pageable);
+
+    List<OrderSummary> findByUserIdOrderByOrderIdDesc(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM OrderSummary s WHERE s.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+}
@@ -1,5 +1,6 @@
 package com.project.skin_me.repository;
 
+import com.project.skin_me.dto.PaymentRowDto;
 import com.project.skin_me.enums.OrderStatus;
 import com.project.skin_me.model.Order;
 import com.project.skin_me.model.Payment;
@@ -22,6 +23,17 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
            countQuery = "SELECT COUNT(p) FROM Payment p")
     Page<Payment> findAllWithOrderAndUser(Pageable pageable);
 
+    /** Admin payments table: flat rows only, no entity hydration. */
+    @Query(value = "SELECT new com.project.skin_me.dto.PaymentRowDto(p.id, o.orderId, p.amount, p.method, p.status, "
+            + "p.transactionRef, p.cardHolderName, p.cardLast4) FROM Payment p JOIN p.order o",
+           countQuery = "SELECT COUNT(p) FROM Payment p")
+    Page<PaymentRowDto> findPaymentRows(Pageable pageable);
+
+    @Query(value = "SELECT new com.project.skin_me.dto.PaymentRowDto(p.id, o.orderId, p.amount, p.method, p.status, "
+            + "p.transactionRef, p.cardHolderName, p.cardLast4) FROM Payment p JOIN p.order o WHERE o.user.id = :userId",
+           countQuery = "SELECT COUNT(p) FROM Payment p WHERE p.order.user.id = :userId")
+    Page<PaymentRowDto> findPaymentRowsByUserId(@Param("userId") Long userId, Pageable pageable);
+
     Optional<Payment> findByTransactionRef(String transactionRef);
 
     Optional<Payment> findByPaymentIntentId(String paymentIntentId);
@@ -47,6 +59,9 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     @Query("SELECT COALESCE(SUM(p.amount), 0) FROM Payment p")
     BigDecimal sumAllAmounts();
 
+    @Query("SELECT COALESCE(SUM(p.amount), 0) FROM Payment p WHERE p.status = :status")
+    BigDecimal sumAmountsByStatus(@Param("status") OrderStatus status);
+
     @Query("SELECT COALESCE(SUM(p.amount), 0) FROM Payment p WHERE p.order.user.id = :userId")
     BigDecimal sumAmountsByUserId(@Param("userId") Long userId);
     
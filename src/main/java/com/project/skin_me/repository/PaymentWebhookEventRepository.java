@@ -0,0 +1,81 @@
+package com.project.skin_me.repository;
+
+import com.project.skin_me.enums.WebhookEventStatus;
+import com.project.skin_me.model.PaymentWebhookEvent;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PaymentWebhookEventRepository extends JpaRepository<PaymentWebhookEvent, Long> {
+
+    Optional<PaymentWebhookEvent> findByProviderAndEventId(String provider, String eventId);
+
+    Page<PaymentWebhookEvent> findByStatus(WebhookEventStatus status, Pageable pageable);
+
+    long countByStatus(WebhookEventStatus status);
+
+    /**
+     * Atomically moves an event into PROCESSING under {@code token} with a lease until
+     * {@code leaseUntil}. Returns 0 when another lane, node or the retry sweep already owns
+     * it, so each event runs at most once at a time.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE PaymentWebhookEvent e SET e.status = com.project.skin_me.enums.WebhookEventStatus.PROCESSING, "
+            + "e.attempts = e.attempts + 1, e.claimToken = :token, e.leaseExpiresAt = :leaseUntil, e.updatedAt = :now "
+            + "WHERE e.id = :id AND e.status IN :claimable")
+    int claim(@Param("id") Long id, @Param("claimable") Collection<WebhookEventStatus> claimable,
+            @Param("token") String token, @Param("now") LocalDateTime now,
+            @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /** Extends the leases of events this node is still running. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE PaymentWebhookEvent e SET e.leaseExpiresAt = :leaseUntil "
+            + "WHERE e.status = com.project.skin_me.enums.WebhookEventStatus.PROCESSING AND e.claimToken IN :tokens")
+    int renewLeases(@Param("tokens") Collection<String> tokens, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Records the outcome of the run that holds {@code token}. Returns 0 when the lease was
+     * lost (released and claimed again), in which case the newer run owns the event.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE PaymentWebhookEvent e SET e.status = :status, e.result = :result, e.lastError = :lastError, "
+            + "e.nextAttemptAt = :nextAttemptAt, e.processedAt = :processedAt, e.updatedAt = :now, "
+            + "e.claimToken = NULL, e.leaseExpiresAt = NULL "
+            + "WHERE e.id = :id AND e.claimToken = :token")
+    int finish(@Param("id") Long id, @Param("token") String token, @Param("status") WebhookEventStatus status,
+            @Param("result") String result, @Param("lastError") String lastError,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("processedAt") LocalDateTime processedAt,
+            @Param("now") LocalDateTime now);
+
+    /** RECEIVED events never dispatched (e.g. node restarted) and FAILED events whose backoff has elapsed. */
+    @Query("SELECT e FROM PaymentWebhookEvent e WHERE "
+            + "(e.status = com.project.skin_me.enums.WebhookEventStatus.RECEIVED AND e.receivedAt < :receivedBefore) "
+            + "OR (e.status = com.project.skin_me.enums.WebhookEventStatus.FAILED AND e.nextAttemptAt <= :now) "
+            + "ORDER BY e.id")
+    List<PaymentWebhookEvent> findDue(@Param("receivedBefore") LocalDateTime receivedBefore,
+            @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Hands events whose lease expired (node died mid-run) back to the retry sweep. Rows
+     * claimed before leases existed fall back to {@code updatedAt}.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE PaymentWebhookEvent e SET e.status = com.project.skin_me.enums.WebhookEventStatus.FAILED, "
+            + "e.nextAttemptAt = :now, e.lastError = 'Processing interrupted', e.claimToken = NULL, e.leaseExpiresAt = NULL "
+            + "WHERE e.status = com.project.skin_me.enums.WebhookEventStatus.PROCESSING "
+            + "AND (e.leaseExpiresAt < :now OR (e.leaseExpiresAt IS NULL AND e.updatedAt < :staleBefore))")
+    int releaseStale(@Param("staleBefore") LocalDateTime staleBefore, @Param("now") LocalDateTime now);
+}
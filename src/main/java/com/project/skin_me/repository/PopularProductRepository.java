@@ -1,8 +1,10 @@
 package com.project.skin_me.repository;
 
 import com.project.skin_me.model.PopularProduct;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,4 +16,11 @@ public interface PopularProductRepository extends JpaRepository<PopularProduct,L
     
     @Query("SELECT pp FROM PopularProduct pp JOIN FETCH pp.product p LEFT JOIN FETCH p.images ORDER BY pp.quantitySold DESC, pp.lastPurchasedDate DESC")
     List<PopularProduct> findTopPopularProductsWithRelations();
+
+    /** Top popular product ids, paginated in SQL (no collection fetch, so LIMIT applies). */
+    @Query("SELECT pp.id FROM PopularProduct pp ORDER BY pp.quantitySold DESC, pp.lastPurchasedDate DESC")
+    List<Long> findTopPopularProductIds(Pageable pageable);
+
+    @Query("SELECT DISTINCT pp FROM PopularProduct pp JOIN FETCH pp.product p LEFT JOIN FETCH p.images WHERE pp.id IN :ids")
+    List<PopularProduct> findAllWithRelationsByIdIn(@Param("ids") List<Long> ids);
 }
@@ -53,6 +53,7 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.brand b LEFT JOIN FETCH p.category")
     List<Product> findAllWithCategory();
 
+    /** Only to-one fetches (brand, category), so the page's LIMIT is applied in SQL as is. */
     @Query(value = "SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.brand b LEFT JOIN FETCH p.category",
            countQuery = "SELECT COUNT(DISTINCT p) FROM Product p")
     Page<Product> findAllWithCategory(Pageable pageable);
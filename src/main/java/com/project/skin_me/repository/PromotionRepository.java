@@ -10,12 +10,16 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface PromotionRepository extends JpaRepository<Promotion, Long> {
     
     List<Promotion> findByActiveTrue();
+
+    /** Switched-on promotions that are live now or start later; source of the compiled rules. */
+    List<Promotion> findByActiveTrueAndDeadlineGreaterThanEqual(LocalDateTime now);
     
     List<Promotion> findByProductId(Long productId);
 
@@ -36,6 +40,11 @@ public interface PromotionRepository extends JpaRepository<Promotion, Long> {
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("UPDATE Promotion p SET p.active = false WHERE p.active = true AND p.deadline < :now")
     int deactivateExpiredPromotions(@Param("now") LocalDateTime now);
+
+    /** Same as {@link #deactivateExpiredPromotions} but limited to the promotions whose deadline timer fired. */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Promotion p SET p.active = false WHERE p.id IN :ids AND p.active = true AND p.deadline < :now")
+    int deactivateExpiredPromotionsByIdIn(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
     
     List<Promotion> findAllByOrderByCreatedAtDesc();
     
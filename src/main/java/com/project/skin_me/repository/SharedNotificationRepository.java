@@ -0,0 +1,24 @@
+package com.project.skin_me.repository;
+
+import com.project.skin_me.enums.NotificationAudience;
+import com.project.skin_me.model.SharedNotification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SharedNotificationRepository extends JpaRepository<SharedNotification, Long> {
+
+    List<SharedNotification> findByAudienceOrderBySequenceDesc(NotificationAudience audience, Pageable pageable);
+
+    /** Rows of {@code [kind, count]} for an audience's entries with a kind, created since {@code since}. */
+    @Query("SELECT e.kind, COUNT(e) FROM SharedNotification e WHERE e.audience = :audience "
+            + "AND e.kind IS NOT NULL AND e.createdAt >= :since GROUP BY e.kind")
+    List<Object[]> countByKindSince(@Param("audience") NotificationAudience audience,
+            @Param("since") LocalDateTime since);
+}
@@ -0,0 +1,87 @@
+package com.project.skin_me.repository;
+
+import com.project.skin_me.enums.TelegramAlertStatus;
+import com.project.skin_me.model.TelegramAlert;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface TelegramAlertRepository extends JpaRepository<TelegramAlert, Long> {
+
+    long countByStatus(TelegramAlertStatus status);
+
+    /** PENDING alerts whose {@code nextAttemptAt} has passed, oldest first. */
+    @Query("SELECT a FROM TelegramAlert a WHERE a.status = com.project.skin_me.enums.TelegramAlertStatus.PENDING "
+            + "AND a.nextAttemptAt <= :now ORDER BY a.id")
+    List<TelegramAlert> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /** Rows: chat id, pending count, oldest created-at, earliest next attempt. */
+    @Query("SELECT a.chatId, COUNT(a), MIN(a.createdAt), MIN(a.nextAttemptAt) FROM TelegramAlert a "
+            + "WHERE a.status = com.project.skin_me.enums.TelegramAlertStatus.PENDING GROUP BY a.chatId")
+    List<Object[]> pendingByChat();
+
+    /** Moves an alert into SENDING; 0 when another node's dispatcher already took it. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE TelegramAlert a SET a.status = com.project.skin_me.enums.TelegramAlertStatus.SENDING, "
+            + "a.updatedAt = :now WHERE a.id = :id "
+            + "AND a.status = com.project.skin_me.enums.TelegramAlertStatus.PENDING")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE TelegramAlert a SET a.status = com.project.skin_me.enums.TelegramAlertStatus.SENT, "
+            + "a.attempts = a.attempts + 1, a.sentAt = :now, a.updatedAt = :now WHERE a.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /** Back to PENDING without counting an attempt (rate limited, or not reached this run). */
+    @Modifying
+    @Transactional
+    @Query("UPDATE TelegramAlert a SET a.status = com.project.skin_me.enums.TelegramAlertStatus.PENDING, "
+            + "a.nextAttemptAt = :nextAttemptAt, a.updatedAt = :now WHERE a.id IN :ids")
+    int release(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+            @Param("now") LocalDateTime now);
+
+    /** Back to PENDING after a failed send; one attempt counted. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE TelegramAlert a SET a.status = com.project.skin_me.enums.TelegramAlertStatus.PENDING, "
+            + "a.attempts = a.attempts + 1, a.lastError = :error, a.nextAttemptAt = :nextAttemptAt, "
+            + "a.updatedAt = :now WHERE a.id IN :ids")
+    int fail(@Param("ids") Collection<Long> ids, @Param("error") String error,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE TelegramAlert a SET a.status = com.project.skin_me.enums.TelegramAlertStatus.DEAD, "
+            + "a.attempts = a.attempts + 1, a.lastError = :error, a.updatedAt = :now WHERE a.id IN :ids")
+    int markDead(@Param("ids") Collection<Long> ids, @Param("error") String error, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE TelegramAlert a SET a.status = com.project.skin_me.enums.TelegramAlertStatus.DEAD, "
+            + "a.updatedAt = :now WHERE a.status = com.project.skin_me.enums.TelegramAlertStatus.PENDING "
+            + "AND a.attempts >= :maxAttempts")
+    int deadLetterExhausted(@Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now);
+
+    /** Hands alerts stuck in SENDING (node stopped mid-run) back to the queue. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE TelegramAlert a SET a.status = com.project.skin_me.enums.TelegramAlertStatus.PENDING, "
+            + "a.updatedAt = :now WHERE a.status = com.project.skin_me.enums.TelegramAlertStatus.SENDING "
+            + "AND a.updatedAt < :staleBefore")
+    int releaseStale(@Param("staleBefore") LocalDateTime staleBefore, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TelegramAlert a WHERE a.status = com.project.skin_me.enums.TelegramAlertStatus.SENT "
+            + "AND a.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,45 @@
+package com.project.skin_me.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Paging for queries that need collection fetches.
+ * <p>
+ * A {@code JOIN FETCH} of a collection combined with a {@code Pageable} cannot be limited in SQL,
+ * so Hibernate loads every matching row and pages in memory (HHH90003004). Instead, phase one
+ * selects a page of ids with a real {@code LIMIT/OFFSET} (and the count), and phase two loads
+ * just those ids with an entity graph, {@code WHERE id IN (:ids)}. The loaded entities are put
+ * back into the id query's order, since {@code IN} does not preserve it.
+ */
+public final class TwoPhasePage {
+
+    private TwoPhasePage() {
+    }
+
+    public static <T, ID> Page<T> fetch(Page<ID> ids, Function<Collection<ID>, List<T>> loader,
+            Function<T, ID> idOf) {
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), ids.getPageable(), ids.getTotalElements());
+        }
+        Map<ID, T> byId = new HashMap<>();
+        for (T entity : loader.apply(ids.getContent())) {
+            byId.put(idOf.apply(entity), entity);
+        }
+        List<T> ordered = new ArrayList<>(ids.getNumberOfElements());
+        for (ID id : ids.getContent()) {
+            T entity = byId.get(id);
+            if (entity != null) { // deleted between the two queries
+                ordered.add(entity);
+            }
+        }
+        return new PageImpl<>(ordered, ids.getPageable(), ids.getTotalElements());
+    }
+}
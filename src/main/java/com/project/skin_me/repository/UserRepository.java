@@ -1,6 +1,8 @@
 package com.project.skin_me.repository;
 
+import com.project.skin_me.dto.UserOptionDto;
 import com.project.skin_me.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -22,4 +24,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByPhone(String phone);
     /** Count users registered after the given time (for dashboard stats without loading all users). */
     long countByRegistrationDateAfter(LocalDateTime dateTime);
+
+    /** Dropdown/typeahead options; {@code q} matches email or first/last name prefix (null or blank = any). */
+    @Query("SELECT new com.project.skin_me.dto.UserOptionDto(u.id, u.firstName, u.lastName, u.email) FROM User u "
+            + "WHERE :q IS NULL OR LOWER(u.email) LIKE LOWER(CONCAT(:q, '%')) "
+            + "OR LOWER(u.firstName) LIKE LOWER(CONCAT(:q, '%')) OR LOWER(u.lastName) LIKE LOWER(CONCAT(:q, '%')) "
+            + "ORDER BY u.email")
+    List<UserOptionDto> findUserOptions(@Param("q") String q, Pageable pageable);
+
+    @Query("SELECT new com.project.skin_me.dto.UserOptionDto(u.id, u.firstName, u.lastName, u.email) FROM User u WHERE u.id = :id")
+    Optional<UserOptionDto> findUserOptionById(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.project.skin_me.request;
+
+import com.project.skin_me.enums.CartChangeType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CartBulkUpdateRequest {
+
+    /** Cart version the client last saw; omit to apply regardless of concurrent edits. */
+    private Long version;
+
+    @NotEmpty(message = "At least one change is required")
+    @Size(max = 100, message = "At most 100 changes per request")
+    private List<@Valid Change> changes;
+
+    @Data
+    public static class Change {
+
+        @NotNull(message = "Product id is required")
+        private Long productId;
+
+        @NotNull(message = "Change type is required")
+        private CartChangeType type;
+
+        /** Required for ADD and SET. */
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,51 @@
+package com.project.skin_me.scheduler;
+
+import com.project.skin_me.service.cart.CartStateStore;
+import com.project.skin_me.service.cart.CartWriteBehind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Drains the dirty-cart set and writes those carts to MySQL. A cart that fails is put back for
+ * the next pass; readers flush inline anyway, so a delay here never shows stale data.
+ */
+@Component
+public class CartWriteBehindScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartWriteBehindScheduler.class);
+
+    private final CartStateStore cartStateStore;
+    private final CartWriteBehind cartWriteBehind;
+
+    @Value("${app.cart.write-behind.batch-size:200}")
+    private int batchSize;
+
+    public CartWriteBehindScheduler(CartStateStore cartStateStore, CartWriteBehind cartWriteBehind) {
+        this.cartStateStore = cartStateStore;
+        this.cartWriteBehind = cartWriteBehind;
+    }
+
+    @Scheduled(fixedDelayString = "${app.cart.write-behind.interval-ms:1000}")
+    public void flushDirtyCarts() {
+        Set<Long> userIds;
+        try {
+            userIds = cartStateStore.drainDirty(Math.max(batchSize, 1));
+        } catch (Exception e) {
+            logger.error("Could not read dirty carts: {}", e.getMessage(), e);
+            return;
+        }
+        for (Long userId : userIds) {
+            try {
+                cartWriteBehind.flush(userId);
+            } catch (Exception e) {
+                logger.warn("Cart write-behind failed for user {}: {}", userId, e.getMessage());
+                cartStateStore.markDirty(userId);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.project.skin_me.scheduler;
+
+import com.project.skin_me.service.chatbot.ChatThreadIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Merges chatbot.skinme.store's session list into the chat thread index in the background, so
+ * conversations that never passed through this backend still reach the admin Message Center
+ * without a chatbot call per page load.
+ */
+@Component
+public class ChatThreadRefreshScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatThreadRefreshScheduler.class);
+
+    private final ChatThreadIndex chatThreadIndex;
+
+    @Value("${app.chat.threads.refresh-limit:500}")
+    private int refreshLimit;
+
+    public ChatThreadRefreshScheduler(ChatThreadIndex chatThreadIndex) {
+        this.chatThreadIndex = chatThreadIndex;
+    }
+
+    @Scheduled(fixedDelayString = "${app.chat.threads.refresh-ms:60000}", initialDelay = 15_000)
+    public void refresh() {
+        try {
+            int n = chatThreadIndex.refreshFromRemote(refreshLimit);
+            logger.debug("Chat thread refresh updated {} threads", n);
+        } catch (Exception e) {
+            logger.warn("Chat thread refresh from chatbot failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.project.skin_me.scheduler;
+
+import com.project.skin_me.service.notification.NotificationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-time migration: gives every order placed before order notifications existed a notification
+ * for its owner. New orders get theirs when they are placed, so once a pass finds nothing left the
+ * job stops for the life of the node. This replaces the per-request check the notifications
+ * endpoint used to run over all of the user's orders. Set
+ * {@code app.notifications.order-backfill.enabled=false} once every node has completed it.
+ */
+@Component
+public class OrderNotificationBackfillScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderNotificationBackfillScheduler.class);
+
+    private final NotificationService notificationService;
+
+    @Value("${app.notifications.order-backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.notifications.order-backfill.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.notifications.order-backfill.max-batches:20}")
+    private int maxBatches;
+
+    private volatile boolean completed;
+
+    public OrderNotificationBackfillScheduler(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @Scheduled(initialDelayString = "${app.notifications.order-backfill.initial-delay-ms:20000}",
+            fixedDelayString = "${app.notifications.order-backfill.interval-ms:60000}")
+    public void backfillOrderNotifications() {
+        if (!enabled || completed) {
+            return;
+        }
+        int total = 0;
+        try {
+            for (int i = 0; i < Math.max(maxBatches, 1); i++) {
+                int written = notificationService.backfillOrderNotifications(batchSize);
+                total += written;
+                if (written < batchSize) {
+                    completed = true;
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Order notification backfill failed: {}", e.getMessage(), e);
+        }
+        if (total > 0) {
+            logger.info("Order notification backfill wrote {} notifications", total);
+        }
+        if (completed) {
+            logger.info("Order notification backfill complete");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.project.skin_me.scheduler;
+
+import com.project.skin_me.service.order.OrderSummaryProjector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills {@code order_summary} rows for orders that have none or one from an older projection
+ * version: the initial backfill of existing orders after deploy, and rows written before new
+ * columns were added. Each pass is capped so a large backlog never holds the shared scheduler
+ * thread for long; order lists read the write model until a pass finds nothing left.
+ */
+@Component
+public class OrderSummaryBackfillScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderSummaryBackfillScheduler.class);
+
+    private final OrderSummaryProjector orderSummaryProjector;
+
+    @Value("${app.orders.summary.backfill-batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.orders.summary.backfill-max-batches:20}")
+    private int maxBatches;
+
+    public OrderSummaryBackfillScheduler(OrderSummaryProjector orderSummaryProjector) {
+        this.orderSummaryProjector = orderSummaryProjector;
+    }
+
+    @Scheduled(initialDelayString = "${app.orders.summary.backfill-initial-delay-ms:15000}",
+            fixedDelayString = "${app.orders.summary.backfill-interval-ms:60000}")
+    public void backfillMissingSummaries() {
+        int total = 0;
+        try {
+            for (int i = 0; i < Math.max(maxBatches, 1); i++) {
+                int written = orderSummaryProjector.backfillBatch(batchSize);
+                total += written;
+                if (written < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Order summary backfill failed: {}", e.getMessage(), e);
+        }
+        if (total > 0) {
+            logger.info("Order summary backfill wrote {} rows", total);
+        }
+    }
+}
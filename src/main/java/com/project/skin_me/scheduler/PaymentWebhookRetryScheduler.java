@@ -0,0 +1,35 @@
+package com.project.skin_me.scheduler;
+
+import com.project.skin_me.service.payment.IPaymentWebhookService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Re-dispatches payment webhook events whose retry backoff has elapsed, plus events that
+ * were stored but never reached a lane (node restarted between insert and dispatch).
+ */
+@Component
+public class PaymentWebhookRetryScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentWebhookRetryScheduler.class);
+
+    private final IPaymentWebhookService paymentWebhookService;
+
+    public PaymentWebhookRetryScheduler(IPaymentWebhookService paymentWebhookService) {
+        this.paymentWebhookService = paymentWebhookService;
+    }
+
+    @Scheduled(fixedDelayString = "${app.payment.webhook.sweep-interval-ms:15000}", initialDelay = 30_000)
+    public void dispatchDue() {
+        try {
+            int n = paymentWebhookService.dispatchDue();
+            if (n > 0) {
+                logger.info("Re-dispatched {} payment webhook events", n);
+            }
+        } catch (Exception e) {
+            logger.error("Payment webhook retry sweep failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.project.skin_me.scheduler;
+
+import com.project.skin_me.enums.PromotionChangeType;
+import com.project.skin_me.event.PromotionChangedEvent;
+import com.project.skin_me.model.Promotion;
+import com.project.skin_me.repository.PromotionRepository;
+import com.project.skin_me.service.promotion.IPromotionService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts and expires promotions exactly at their start date and deadline.
+ * <p>
+ * Upcoming boundaries sit in a priority queue and a single timer is armed for the earliest one.
+ * When it fires, expired promotions are switched off with one update restricted to their ids and
+ * a {@link PromotionChangedEvent} goes out for every boundary, so the rule engine and storefront
+ * clients update straight away. The queue is rebuilt after every committed promotion edit, and
+ * anything that expired while the application was down is switched off at startup.
+ */
+@Component
+public class PromotionLifecycleScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PromotionLifecycleScheduler.class);
+
+    private record Boundary(LocalDateTime at, PromotionChangeType changeType, Promotion promotion) {
+    }
+
+    private final IPromotionService promotionService;
+    private final PromotionRepository promotionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PriorityQueue<Boundary> boundaries = new PriorityQueue<>(Comparator.comparing(Boundary::at));
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "promotion-lifecycle");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ScheduledFuture<?> armed;
+
+    public PromotionLifecycleScheduler(IPromotionService promotionService, PromotionRepository promotionRepository,
+            ApplicationEventPublisher eventPublisher) {
+        this.promotionService = promotionService;
+        this.promotionRepository = promotionRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            int updated = promotionService.deactivateExpiredPromotions();
+            if (updated > 0) {
+                logger.info("Switched off {} promotion(s) that expired while the application was down", updated);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to deactivate expired promotions: {}", e.getMessage(), e);
+        }
+        reload();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPromotionChanged(PromotionChangedEvent event) {
+        PromotionChangeType type = event.getChangeType();
+        if (type == PromotionChangeType.STARTED || type == PromotionChangeType.EXPIRED) {
+            return; // published by this scheduler; the queue already reflects it
+        }
+        reload();
+    }
+
+    /** Rebuilds the queue from the promotions that are switched on and not yet expired. */
+    public synchronized void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            boundaries.clear();
+            for (Promotion promotion : promotionRepository.findByActiveTrueAndDeadlineGreaterThanEqual(now)) {
+                if (promotion.getStartDate() != null && promotion.getStartDate().isAfter(now)) {
+                    boundaries.add(new Boundary(promotion.getStartDate(), PromotionChangeType.STARTED, promotion));
+                }
+                // The deadline is inclusive, so the promotion ends just after it
+                boundaries.add(new Boundary(promotion.getDeadline().plusNanos(1_000_000),
+                        PromotionChangeType.EXPIRED, promotion));
+            }
+            arm(now);
+        } catch (Exception e) {
+            logger.error("Failed to load promotion boundaries: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+    }
+
+    private synchronized void fire() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Boundary> due = new ArrayList<>();
+        while (!boundaries.isEmpty() && !boundaries.peek().at().isAfter(now)) {
+            due.add(boundaries.poll());
+        }
+        List<Long> expiring = due.stream()
+                .filter(b -> b.changeType() == PromotionChangeType.EXPIRED)
+                .map(b -> b.promotion().getId())
+                .toList();
+        try {
+            promotionService.expirePromotions(expiring);
+        } catch (Exception e) {
+            // Leave the rows on; the rule engine already treats them as over and startup catches up
+            logger.error("Failed to expire promotions {}: {}", expiring, e.getMessage(), e);
+        }
+        for (Boundary boundary : due) {
+            Promotion promotion = boundary.promotion();
+            try {
+                eventPublisher.publishEvent(new PromotionChangedEvent(this, promotion.getId(),
+                        boundary.changeType(), promotion.getPromotionType(),
+                        promotion.getProduct() != null ? promotion.getProduct().getId() : null));
+            } catch (Exception e) {
+                logger.warn("Promotion {} {} event failed: {}", promotion.getId(), boundary.changeType(), e.getMessage());
+            }
+        }
+        arm(now);
+    }
+
+    private void arm(LocalDateTime now) {
+        if (armed != null) {
+            armed.cancel(false);
+            armed = null;
+        }
+        Boundary next = boundaries.peek();
+        if (next == null) {
+            return;
+        }
+        long delayMs = Math.max(Duration.between(now, next.at()).toMillis(), 0);
+        armed = timer.schedule(this::fire, delayMs, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,39 @@
+package com.project.skin_me.scheduler;
+
+import com.project.skin_me.service.report.SalesRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Nightly reconcile of the daily sales/payment rollups: rebuilds the last few days from
+ * orders and payments so late status changes and missed events are corrected.
+ */
+@Component
+public class SalesRollupScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesRollupScheduler.class);
+
+    private final SalesRollupService salesRollupService;
+
+    @Value("${app.reports.rollup.reconcile-days:3}")
+    private int reconcileDays;
+
+    public SalesRollupScheduler(SalesRollupService salesRollupService) {
+        this.salesRollupService = salesRollupService;
+    }
+
+    @Scheduled(cron = "${app.reports.rollup.cron:0 15 2 * * *}")
+    public void reconcileRecentDays() {
+        LocalDate today = LocalDate.now();
+        try {
+            salesRollupService.rebuild(today.minusDays(Math.max(reconcileDays, 1)), today);
+        } catch (Exception e) {
+            logger.error("Sales rollup reconcile failed: {}", e.getMessage(), e);
+        }
+    }
+}
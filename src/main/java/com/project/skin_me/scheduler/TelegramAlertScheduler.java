@@ -0,0 +1,85 @@
+package com.project.skin_me.scheduler;
+
+import com.project.skin_me.service.telegram.TelegramAlertDispatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the Telegram alert queue at the chats' rate limits, and returns alerts a stopped node left
+ * in SENDING to the queue.
+ * <p>
+ * Draining runs on its own {@code telegram-dispatch} thread rather than the shared
+ * {@code @Scheduled} thread, so Bot API calls waiting on timeouts never hold up the other jobs.
+ * Its saturation is published as {@code executor.*{name=telegram-dispatch}}.
+ */
+@Component
+public class TelegramAlertScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelegramAlertScheduler.class);
+
+    private final TelegramAlertDispatcher dispatcher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.telegram.dispatch.interval-ms:1000}")
+    private long intervalMs;
+
+    private ScheduledExecutorService sender;
+
+    public TelegramAlertScheduler(TelegramAlertDispatcher dispatcher, MeterRegistry meterRegistry) {
+        this.dispatcher = dispatcher;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (sender != null) {
+            return;
+        }
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "telegram-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sender = ExecutorServiceMetrics.monitor(meterRegistry, executor, "telegram-dispatch");
+        sender.scheduleWithFixedDelay(this::drain, 10_000, Math.max(intervalMs, 100), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    synchronized void stop() {
+        if (sender != null) {
+            sender.shutdownNow();
+        }
+    }
+
+    public void drain() {
+        try {
+            int n = dispatcher.drain();
+            if (n > 0) {
+                logger.debug("Delivered {} Telegram alerts", n);
+            }
+        } catch (Exception e) {
+            logger.error("Telegram alert dispatch failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.telegram.dispatch.housekeeping-ms:60000}", initialDelay = 5_000)
+    public void housekeeping() {
+        try {
+            dispatcher.housekeeping();
+        } catch (Exception e) {
+            logger.error("Telegram alert housekeeping failed: {}", e.getMessage(), e);
+        }
+    }
+}
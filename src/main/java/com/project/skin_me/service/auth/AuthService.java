@@ -5,9 +5,13 @@ import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeToken
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
 import com.google.api.client.googleapis.auth.oauth2.GoogleTokenResponse;
+import com.google.api.client.http.HttpRequestInitializer;
+import com.google.api.client.http.HttpResponseException;
 import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.jackson2.JacksonFactory;
 import com.project.skin_me.enums.ActivityType;
+import com.project.skin_me.event.UserRegisteredEvent;
+import com.project.skin_me.exception.IntegrationUnavailableException;
 import com.project.skin_me.model.Activity;
 import com.project.skin_me.model.PhoneOtp;
 import com.project.skin_me.model.PhoneVerification;
@@ -29,9 +33,13 @@ import com.project.skin_me.response.JwtResponse;
 import com.project.skin_me.security.jwt.JwtUtils;
 import com.project.skin_me.security.user.ShopUserDetails;
 import com.project.skin_me.service.email.EmailService;
+import com.project.skin_me.service.http.IntegrationGuard.Retry;
+import com.project.skin_me.service.http.IntegrationProfile;
+import com.project.skin_me.service.http.OutboundHttp;
 import com.project.skin_me.service.notification.NotificationService;
 import com.project.skin_me.service.sms.SmsService;
 import com.project.skin_me.service.telegram.TelegramNotificationService;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -39,6 +47,7 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -80,6 +89,14 @@ public class AuthService implements IAuthService {
     private final PhoneOtpRepository phoneOtpRepository;
     private final PhoneVerificationRepository phoneVerificationRepository;
     private final SmsService smsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboundHttp outboundHttp;
+
+    /** Shared (keep-alive) transport, timeouts from {@code app.http.google.*}; built in {@link #initGoogleClients()}. */
+    private NetHttpTransport googleTransport;
+    private HttpRequestInitializer googleRequestTimeouts;
+    /** Built once so Google's signing certs stay cached between logins. */
+    private GoogleIdTokenVerifier googleIdTokenVerifier;
 
     private static final int OTP_EXPIRY_MINUTES = 10;
     private static final int PHONE_VERIFICATION_EXPIRY_MINUTES = 15;
@@ -100,6 +117,18 @@ public class AuthService implements IAuthService {
     @Value("${spring.security.oauth2.client.registration.google.redirect-uri}")
     private String googleRedirectUri;
 
+    @PostConstruct
+    void initGoogleClients() {
+        IntegrationProfile profile = outboundHttp.profile("google");
+        googleTransport = new NetHttpTransport();
+        googleRequestTimeouts = request -> request
+                .setConnectTimeout((int) profile.connectTimeout().toMillis())
+                .setReadTimeout((int) profile.readTimeout().toMillis());
+        googleIdTokenVerifier = new GoogleIdTokenVerifier.Builder(googleTransport, JacksonFactory.getDefaultInstance())
+                .setAudience(Collections.singletonList(googleClientId))
+                .build();
+    }
+
     @Override
     @Transactional
     public ResponseEntity<ApiResponse> login(LoginRequest loginRequest, HttpServletRequest request, HttpServletResponse response) {
@@ -190,7 +219,7 @@ public class AuthService implements IAuthService {
                             e.getMessage());
                     return ResponseEntity.status(UNAUTHORIZED)
                             .body(ApiResponse.ofKey("api.auth.google.code.invalid", null));
-                } catch (IOException e) {
+                } catch (IOException | IntegrationUnavailableException e) {
                     logger.error("Google auth code exchange failed: {}", e.getMessage(), e);
                     return ResponseEntity.status(UNAUTHORIZED)
                             .body(ApiResponse.ofKey("api.auth.google.code.invalid", null));
@@ -240,14 +269,18 @@ public class AuthService implements IAuthService {
                 : googleRedirectUri;
         logger.debug("Google token exchange using redirect_uri={}", redirectUriForToken);
 
-        GoogleTokenResponse tokenResponse = new GoogleAuthorizationCodeTokenRequest(
-                new NetHttpTransport(),
+        GoogleAuthorizationCodeTokenRequest tokenRequest = new GoogleAuthorizationCodeTokenRequest(
+                googleTransport,
                 JacksonFactory.getDefaultInstance(),
                 "https://oauth2.googleapis.com/token",
                 googleClientId,
                 googleClientSecret,
                 code,
-                redirectUriForToken).execute();
+                redirectUriForToken);
+        tokenRequest.setRequestInitializer(googleRequestTimeouts);
+        // an auth code is single-use, so only failures before the request was sent are retried
+        GoogleTokenResponse tokenResponse = outboundHttp.call("google", tokenRequest::execute, Retry.CONNECT_FAILURES,
+                e -> e instanceof HttpResponseException rejected && rejected.getStatusCode() < 500);
 
         GoogleIdToken idToken = tokenResponse.parseIdToken();
         if (idToken == null) {
@@ -260,12 +293,7 @@ public class AuthService implements IAuthService {
      * ID-token flow (Sign in with Google button / {@code google.accounts.id}): verify JWT using Google's certs; no client secret.
      */
     private GoogleIdToken verifyGoogleCredentialJwt(String credentialJwt) throws GeneralSecurityException, IOException {
-        GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.Builder(
-                new NetHttpTransport(),
-                JacksonFactory.getDefaultInstance())
-                .setAudience(Collections.singletonList(googleClientId))
-                .build();
-        return verifier.verify(credentialJwt);
+        return googleIdTokenVerifier.verify(credentialJwt);
     }
 
     private ResponseEntity<ApiResponse> completeGoogleLoginWithIdToken(GoogleIdToken idToken, HttpServletRequest request, HttpServletResponse response) {
@@ -953,6 +981,7 @@ public class AuthService implements IAuthService {
         activity.setTimestamp(LocalDateTime.now());
         activity.setDetails("User registered with email: " + user.getEmail());
         activityRepository.save(activity);
+        eventPublisher.publishEvent(new UserRegisteredEvent(this, savedUser.getId(), savedUser.getRegistrationDate()));
 
         logger.info("User registered successfully: {}", user.getEmail());
         return savedUser;
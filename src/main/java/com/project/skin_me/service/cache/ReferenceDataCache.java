@@ -0,0 +1,228 @@
+package com.project.skin_me.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.skin_me.config.CacheRegions;
+import com.project.skin_me.service.store.MessageBus;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Eviction and hit/miss metrics for the reference-data regions of the Hibernate second-level cache
+ * (categories, brands, roles, KHQR accounts, API configs and their cached finder queries).
+ * <p>
+ * The regions live in each node's memory. Writes through JPA evict and invalidate them on the
+ * writing node; after commit, the changed entity is also published on the {@link MessageBus} so
+ * every other node evicts its copy and its cached finder results. {@link #evictAll} is for rows
+ * changed behind Hibernate's back (JDBC seeding, manual SQL) and is broadcast the same way. The
+ * bus is fire-and-forget, so the region TTLs in {@code application.conf} stay short as a backstop.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReferenceDataCache {
+
+    private static final String BUS_CHANNEL = "skinme:cache:reference";
+
+    /** One changed entity, or every region when {@code entityName} or {@code id} is null. */
+    record Invalidation(String origin, String entityName, Long id) {
+    }
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+    private final MessageBus messageBus;
+    private final ObjectMapper objectMapper;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @PostConstruct
+    void start() {
+        registerMetrics();
+        registerInvalidation();
+    }
+
+    private void registerMetrics() {
+        List<String> regions = new ArrayList<>(CacheRegions.ENTITY_REGIONS);
+        regions.add(CacheRegions.QUERIES);
+        for (String region : regions) {
+            FunctionCounter.builder("skinme.cache.requests", this, c -> c.hits(region))
+                    .tag("region", region).tag("result", "hit")
+                    .description("Second-level cache lookups").register(meterRegistry);
+            FunctionCounter.builder("skinme.cache.requests", this, c -> c.misses(region))
+                    .tag("region", region).tag("result", "miss")
+                    .description("Second-level cache lookups").register(meterRegistry);
+            Gauge.builder("skinme.cache.hit.ratio", this, c -> c.hitRatio(region))
+                    .tag("region", region)
+                    .description("Hits / (hits + misses) since startup").register(meterRegistry);
+        }
+    }
+
+    private void registerInvalidation() {
+        EventListenerRegistry registry = sessionFactory().unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        CommittedWriteListener listener = new CommittedWriteListener();
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+        messageBus.subscribe(BUS_CHANNEL, this::onInvalidation);
+    }
+
+    /** Drops every reference-data entity and cached query result, on every node. */
+    public void evictAll() {
+        evictAllLocally();
+        publish(null, null);
+        log.info("Reference data cache evicted");
+    }
+
+    private void evictAllLocally() {
+        org.hibernate.Cache cache = sessionFactory().getCache();
+        CacheRegions.ENTITY_REGIONS.forEach(cache::evictRegion);
+        cache.evictQueryRegion(CacheRegions.QUERIES);
+    }
+
+    private void publish(String entityName, Long id) {
+        try {
+            messageBus.publish(BUS_CHANNEL, objectMapper.writeValueAsString(new Invalidation(nodeId, entityName, id)));
+        } catch (Exception e) {
+            // Other nodes keep their copy until the region TTL expires
+            log.warn("Could not broadcast cache invalidation for {} {}: {}", entityName, id, e.getMessage());
+        }
+    }
+
+    private void onInvalidation(String json) {
+        try {
+            Invalidation invalidation = objectMapper.readValue(json, Invalidation.class);
+            if (nodeId.equals(invalidation.origin())) {
+                return;
+            }
+            if (invalidation.entityName() == null || invalidation.id() == null) {
+                evictAllLocally();
+                return;
+            }
+            org.hibernate.Cache cache = sessionFactory().getCache();
+            cache.evictEntityData(invalidation.entityName(), invalidation.id());
+            cache.evictQueryRegion(CacheRegions.QUERIES);
+        } catch (Exception e) {
+            log.warn("Dropping malformed cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    /** Broadcasts committed writes of second-level-cached entities. */
+    private class CommittedWriteListener implements PostCommitInsertEventListener,
+            PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            committed(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            committed(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            committed(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return persister.canWriteToCache();
+        }
+
+        private void committed(EntityPersister persister, Object id) {
+            if (persister.canWriteToCache()) {
+                // Every cached entity has a Long id; anything else falls back to evicting all
+                publish(persister.getEntityName(), id instanceof Long key ? key : null);
+            }
+        }
+    }
+
+    /** Per-region counters since startup, for the admin endpoint. */
+    public List<Map<String, Object>> snapshot() {
+        List<String> regions = new ArrayList<>(CacheRegions.ENTITY_REGIONS);
+        regions.add(CacheRegions.QUERIES);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (String region : regions) {
+            CacheRegionStatistics stats = regionStatistics(region);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("region", region);
+            row.put("hits", stats != null ? stats.getHitCount() : 0L);
+            row.put("misses", stats != null ? stats.getMissCount() : 0L);
+            row.put("puts", stats != null ? stats.getPutCount() : 0L);
+            row.put("hitRatio", hitRatio(region));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private double hits(String region) {
+        CacheRegionStatistics stats = regionStatistics(region);
+        return stats != null ? stats.getHitCount() : 0;
+    }
+
+    private double misses(String region) {
+        CacheRegionStatistics stats = regionStatistics(region);
+        return stats != null ? stats.getMissCount() : 0;
+    }
+
+    private double hitRatio(String region) {
+        double hits = hits(region);
+        double total = hits + misses(region);
+        return total > 0 ? hits / total : 0;
+    }
+
+    /** Null until the region has been created (query regions are built on first use). */
+    private CacheRegionStatistics regionStatistics(String region) {
+        Statistics statistics = sessionFactory().getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return null;
+        }
+        try {
+            return statistics.getCacheRegionStatistics(region);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
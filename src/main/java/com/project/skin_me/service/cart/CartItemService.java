@@ -1,94 +1,157 @@
 package com.project.skin_me.service.cart;
 
+import com.project.skin_me.enums.CartChangeType;
 import com.project.skin_me.exception.ResourceNotFoundException;
 import com.project.skin_me.model.Cart;
 import com.project.skin_me.model.CartItem;
 import com.project.skin_me.model.Product;
-import com.project.skin_me.repository.CartRepository;
-import com.project.skin_me.service.product.IProductService;
+import com.project.skin_me.repository.ProductRepository;
+import com.project.skin_me.request.CartBulkUpdateRequest;
+import com.project.skin_me.service.promotion.PromotionRuleEngine;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+/**
+ * Applies cart edits to the stored {@link CartState}, whose lines are keyed by product id.
+ * <p>
+ * The running total is kept in cents: each edit subtracts the old line and adds the new one
+ * instead of re-summing the cart. Lines are priced through {@link PromotionRuleEngine}, so
+ * product discounts apply without queries, and the state's version lets a client's stale edits
+ * (another tab) be rejected. MySQL is updated behind by {@link CartWriteBehind}.
+ */
 @Service
 @RequiredArgsConstructor
 public class CartItemService implements ICartItemService {
 
-    private final CartRepository cartRepository;
-    private final IProductService productService;
-    private final ICartService cartService;
+    private final CartStateStore cartStateStore;
+    private final ProductRepository productRepository;
+    private final PromotionRuleEngine promotionRuleEngine;
 
     @Override
-    @Transactional
-    public void addItemToCart(Cart cart, Long productId, int quantity) {
-        Product product = productService.getProductById(productId);
+    public CartState addItemToCart(Long userId, Long productId, int quantity) {
+        return applyChanges(userId, null, List.of(change(productId, CartChangeType.ADD, quantity)));
+    }
 
-        Optional<CartItem> cartItemOpt = cart.getItems().stream()
-                .filter(item -> item.getProduct().getId().equals(productId))
-                .findFirst();
+    @Override
+    public CartState removeItemFromCart(Long userId, Long productId) {
+        return applyChanges(userId, null, List.of(change(productId, CartChangeType.REMOVE, null)));
+    }
 
-        if (cartItemOpt.isPresent()) {
-            CartItem existingItem = cartItemOpt.get();
-            existingItem.setQuantity(existingItem.getQuantity() + quantity);
-            existingItem.setUnitPrice(product.getPrice());
-            existingItem.setTotalPrice();
-        } else {
-            CartItem newItem = new CartItem();
-            newItem.setCart(cart);
-            newItem.setProduct(product);
-            newItem.setQuantity(quantity);
-            newItem.setUnitPrice(product.getPrice());
-            newItem.setTotalPrice();
-            cart.addItem(newItem);
+    @Override
+    public CartState updateItemQuantity(Long userId, Long productId, int quantity) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("Quantity must be at least 1");
         }
-
-        recalculateCartTotal(cart);
-        cartRepository.save(cart);
+        Map<Long, Product> products = loadProducts(List.of(change(productId, CartChangeType.SET, quantity)));
+        return cartStateStore.update(userId, null, state -> {
+            if (!state.getLines().containsKey(productId)) {
+                throw new ResourceNotFoundException("Cart item not found for product id: " + productId);
+            }
+            apply(state, change(productId, CartChangeType.SET, quantity), products);
+        });
     }
 
     @Override
-    @Transactional
-    public void removeItemFromCart(Long cartId, Long productId) {
-        Cart cart = cartService.getCart(cartId);
-        CartItem itemToRemove = getCartItem(cartId, productId);
-        cart.removeItem(itemToRemove);
-        recalculateCartTotal(cart);
-        cartRepository.save(cart);
+    public CartState applyChanges(Long userId, Long expectedVersion, List<CartBulkUpdateRequest.Change> changes) {
+        for (CartBulkUpdateRequest.Change c : changes) {
+            if (c.getType() != CartChangeType.REMOVE && (c.getQuantity() == null || c.getQuantity() < 1)) {
+                throw new IllegalArgumentException("Quantity must be at least 1");
+            }
+        }
+        Map<Long, Product> products = loadProducts(changes);
+        return cartStateStore.update(userId, expectedVersion, state -> {
+            for (CartBulkUpdateRequest.Change c : changes) {
+                apply(state, c, products);
+            }
+        });
     }
 
     @Override
     @Transactional
-    public void updateItemQuantity(Long cartId, Long productId, int quantity) {
-        if (quantity < 1) {
-            throw new IllegalArgumentException("Quantity must be at least 1");
+    public void repriceCart(Cart cart) {
+        long totalCents = 0;
+        for (CartItem item : cart.getItems()) {
+            Product product = item.getProduct();
+            BigDecimal listPrice = product.getPrice() != null ? product.getPrice() : BigDecimal.ZERO;
+            BigDecimal unitPrice = promotionRuleEngine.discountedPrice(product.getId(), listPrice);
+            item.setUnitPrice(unitPrice);
+            item.setDiscount(listPrice.subtract(unitPrice).doubleValue());
+            item.setTotalPrice();
+            totalCents += Math.multiplyExact(CartStateStore.toCents(unitPrice), (long) item.getQuantity());
+        }
+        BigDecimal total = CartState.toAmount(totalCents);
+        if (cart.getTotalAmount() == null || total.compareTo(cart.getTotalAmount()) != 0) {
+            cart.setTotalAmount(total);
+            cart.setUpdatedAt(LocalDateTime.now());
         }
-        Cart cart = cartService.getCart(cartId);
-        CartItem item = cart.getItems().stream()
-                .filter(i -> i.getProduct().getId().equals(productId))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException("Cart item not found for product id: " + productId));
-        item.setQuantity(quantity);
-        item.setUnitPrice(item.getProduct().getPrice());
-        item.setTotalPrice();
-        recalculateCartTotal(cart);
-        cartRepository.save(cart);
     }
 
-    public CartItem getCartItem(Long cartId, Long productId) {
-        Cart cart = cartService.getCart(cartId);
-        return cart.getItems()
-                .stream()
-                .filter(item -> item.getProduct().getId().equals(productId))
-                .findFirst().orElseThrow(() -> new ResourceNotFoundException("Item not found"));
+    /** One change against the product map; keeps {@code totalCents} in step line by line. */
+    private void apply(CartState state, CartBulkUpdateRequest.Change c, Map<Long, Product> products) {
+        Long productId = c.getProductId();
+        CartState.Line line = state.getLines().get(productId);
+        if (c.getType() == CartChangeType.REMOVE) {
+            if (line == null) {
+                throw new ResourceNotFoundException("Item not found");
+            }
+            state.setTotalCents(state.getTotalCents() - line.totalCents());
+            state.getLines().remove(productId);
+            return;
+        }
+        if (line == null) {
+            line = new CartState.Line();
+            state.getLines().put(productId, line);
+        } else {
+            state.setTotalCents(state.getTotalCents() - line.totalCents());
+        }
+        int quantity = c.getType() == CartChangeType.ADD
+                ? Math.addExact(line.getQuantity(), c.getQuantity())
+                : c.getQuantity();
+        Product product = products.get(productId);
+        BigDecimal listPrice = product.getPrice() != null ? product.getPrice() : BigDecimal.ZERO;
+        line.setQuantity(quantity);
+        line.setListPriceCents(CartStateStore.toCents(listPrice));
+        line.setUnitPriceCents(CartStateStore.toCents(promotionRuleEngine.discountedPrice(productId, listPrice)));
+        state.setTotalCents(state.getTotalCents() + line.totalCents());
+    }
+
+    /** Current products for every line being added or set, in one query. */
+    private Map<Long, Product> loadProducts(List<CartBulkUpdateRequest.Change> changes) {
+        Set<Long> ids = new HashSet<>();
+        for (CartBulkUpdateRequest.Change c : changes) {
+            if (c.getType() != CartChangeType.REMOVE) {
+                ids.add(c.getProductId());
+            }
+        }
+        Map<Long, Product> products = new HashMap<>();
+        if (ids.isEmpty()) {
+            return products;
+        }
+        for (Product product : productRepository.findAllById(ids)) {
+            products.put(product.getId(), product);
+        }
+        for (Long id : ids) {
+            if (!products.containsKey(id)) {
+                throw new ResourceNotFoundException("Product not found with ID: " + id);
+            }
+        }
+        return products;
     }
 
-    private void recalculateCartTotal(Cart cart) {
-        BigDecimal total = cart.getItems().stream()
-                .map(CartItem::getTotalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        cart.setTotalAmount(total);
+    private static CartBulkUpdateRequest.Change change(Long productId, CartChangeType type, Integer quantity) {
+        CartBulkUpdateRequest.Change change = new CartBulkUpdateRequest.Change();
+        change.setProductId(productId);
+        change.setType(type);
+        change.setQuantity(quantity);
+        return change;
     }
 }
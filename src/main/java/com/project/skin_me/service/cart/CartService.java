@@ -6,8 +6,11 @@ import com.project.skin_me.model.User;
 import com.project.skin_me.repository.CartItemRepository;
 import com.project.skin_me.repository.CartRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -19,6 +22,8 @@ public class CartService implements ICartService {
 
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
+    private final CartWriteBehind cartWriteBehind;
+    private final CartStateStore cartStateStore;
 
     @Override
     public Cart getCart(Long id) {
@@ -28,6 +33,7 @@ public class CartService implements ICartService {
 
     @Override
     public Optional<Cart> getUserActiveCart(User user) {
+        flushPending(user.getId());
         return cartRepository.findByUserIdAndActiveWithRelations(user.getId(), true);
     }
 
@@ -38,6 +44,9 @@ public class CartService implements ICartService {
         cartItemRepository.deleteByCartId(id);
         cart.getItems().clear();
         cartRepository.deleteById(id);
+        if (cart.getUser() != null) {
+            evictAfterCommit(cart.getUser().getId());
+        }
     }
 
     @Override
@@ -57,6 +66,7 @@ public class CartService implements ICartService {
 
     @Override
     public Cart getCartByUserId(Long userId) {
+        flushPending(userId);
         Cart cart = cartRepository.findByUserIdWithRelations(userId);
         if (cart == null) {
             throw new ResourceNotFoundException("Cart not found for user with ID: " + userId);
@@ -69,4 +79,30 @@ public class CartService implements ICartService {
         return cartRepository.findAll();
     }
 
+    /**
+     * Drops the stored cart once the delete is committed; evicting earlier would let a read in
+     * between reseed the store from the row that is about to go.
+     */
+    private void evictAfterCommit(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cartStateStore.evict(userId);
+                }
+            });
+        } else {
+            cartStateStore.evict(userId);
+        }
+    }
+
+    /** Brings MySQL up to date with the cart store before reading the cart from MySQL. */
+    private void flushPending(Long userId) {
+        try {
+            cartWriteBehind.flush(userId);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Another node flushed the same cart concurrently; the background pass settles it
+            cartStateStore.markDirty(userId);
+        }
+    }
 }
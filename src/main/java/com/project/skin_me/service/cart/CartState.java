@@ -0,0 +1,54 @@
+package com.project.skin_me.service.cart;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A user's cart as held in the shared {@link com.project.skin_me.service.store.KeyValueStore},
+ * stored as JSON. Money is in cents; {@link #version} goes up on every edit and is what clients
+ * send back to detect edits from another tab. {@link #cartId} is null until the cart has been
+ * written to MySQL for the first time.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class CartState {
+
+    private Long userId;
+    private Long cartId;
+    private long version;
+    /** Highest version known to be written to MySQL. */
+    private long flushedVersion;
+    private long totalCents;
+    /** Lines keyed by product id, in the order they were added. */
+    private Map<Long, Line> lines = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Line {
+        private int quantity;
+        private long listPriceCents;
+        /** List price less any product discount. */
+        private long unitPriceCents;
+
+        public long totalCents() {
+            return Math.multiplyExact(unitPriceCents, (long) quantity);
+        }
+    }
+
+    @JsonIgnore
+    public boolean isFlushed() {
+        return flushedVersion >= version;
+    }
+
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -0,0 +1,189 @@
+package com.project.skin_me.service.cart;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.skin_me.exception.CartVersionConflictException;
+import com.project.skin_me.model.Cart;
+import com.project.skin_me.model.CartItem;
+import com.project.skin_me.repository.CartRepository;
+import com.project.skin_me.service.store.KeyValueStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Carts in the shared {@link KeyValueStore}, written behind to MySQL.
+ * <p>
+ * Edits are compare-and-set on the stored JSON, so two nodes editing the same cart cannot lose
+ * each other's changes. Each edit bumps {@link CartState#getVersion()} and adds the user to a
+ * dirty set that {@link CartWriteBehind} drains; {@code flushedVersion} records what MySQL has.
+ * The store's counter is the only cart version: MySQL keeps a copy in {@code Cart.stateVersion}
+ * so a cart reseeded after an eviction carries on from the version clients last saw.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CartStateStore {
+
+    private static final String KEY_PREFIX = "skinme:cart:";
+    private static final String DIRTY_KEY = "skinme:cart:dirty";
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final KeyValueStore store;
+    private final CartRepository cartRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.cart.store-ttl-hours:72}")
+    private long ttlHours;
+
+    /** The user's cart, seeded from MySQL on a miss. */
+    public CartState load(Long userId) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Optional<String> raw = store.get(key(userId));
+            if (raw.isPresent()) {
+                return read(raw.get());
+            }
+            CartState seeded = fromDatabase(userId);
+            if (store.compareAndSet(key(userId), null, write(seeded), ttl())) {
+                return seeded;
+            }
+        }
+        throw new CartVersionConflictException("Cart is busy, try again");
+    }
+
+    /** The stored cart without falling back to MySQL. */
+    public Optional<CartState> peek(Long userId) {
+        return store.get(key(userId)).map(this::read);
+    }
+
+    /**
+     * Applies {@code edit} to the current cart and stores it with the next version.
+     *
+     * @param expectedVersion version the client saw, or null to skip the check
+     * @throws CartVersionConflictException if the version does not match or writers keep colliding
+     */
+    public CartState update(Long userId, Long expectedVersion, Consumer<CartState> edit) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            String raw = store.get(key(userId)).orElse(null);
+            if (raw == null) {
+                load(userId);
+                continue;
+            }
+            CartState state = read(raw);
+            if (expectedVersion != null && expectedVersion != state.getVersion()) {
+                throw new CartVersionConflictException("Cart was changed elsewhere (version " + state.getVersion()
+                        + ", expected " + expectedVersion + ")");
+            }
+            edit.accept(state);
+            state.setVersion(state.getVersion() + 1);
+            if (store.compareAndSet(key(userId), raw, write(state), ttl())) {
+                store.addToSet(DIRTY_KEY, userId.toString());
+                return state;
+            }
+        }
+        throw new CartVersionConflictException("Cart is busy, try again");
+    }
+
+    /** Records that MySQL holds {@code version} (and the cart's id), without bumping the version. */
+    public void markFlushed(Long userId, Long cartId, long version) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            String raw = store.get(key(userId)).orElse(null);
+            if (raw == null) {
+                return;
+            }
+            CartState state = read(raw);
+            state.setCartId(cartId);
+            state.setFlushedVersion(Math.max(state.getFlushedVersion(), version));
+            if (store.compareAndSet(key(userId), raw, write(state), ttl())) {
+                return;
+            }
+        }
+        // Harmless: the next flush finds the same lines and rewrites them
+        log.debug("Could not record flush of cart for user {}", userId);
+    }
+
+    public void evict(Long userId) {
+        store.delete(key(userId));
+    }
+
+    public void markDirty(Long userId) {
+        store.addToSet(DIRTY_KEY, userId.toString());
+    }
+
+    /** Removes and returns up to {@code max} users whose cart may be ahead of MySQL. */
+    public Set<Long> drainDirty(int max) {
+        Set<Long> userIds = new HashSet<>();
+        for (String member : store.popFromSet(DIRTY_KEY, max)) {
+            try {
+                userIds.add(Long.valueOf(member));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed dirty cart entry: {}", member);
+            }
+        }
+        return userIds;
+    }
+
+    private CartState fromDatabase(Long userId) {
+        CartState state = new CartState();
+        state.setUserId(userId);
+        Cart cart = cartRepository.findByUserIdWithRelations(userId);
+        if (cart == null) {
+            return state;
+        }
+        state.setCartId(cart.getId());
+        long version = cart.getStateVersion() != null ? cart.getStateVersion() : 0L;
+        state.setVersion(version);
+        state.setFlushedVersion(version);
+        long total = 0;
+        for (CartItem item : cart.getItems()) {
+            CartState.Line line = new CartState.Line();
+            line.setQuantity(item.getQuantity());
+            line.setListPriceCents(toCents(item.getProduct().getPrice()));
+            line.setUnitPriceCents(toCents(item.getUnitPrice()));
+            state.getLines().put(item.getProduct().getId(), line);
+            total += line.totalCents();
+        }
+        state.setTotalCents(total);
+        return state;
+    }
+
+    static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private CartState read(String json) {
+        try {
+            return objectMapper.readValue(json, CartState.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable cart state", e);
+        }
+    }
+
+    private String write(CartState state) {
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise cart state", e);
+        }
+    }
+
+    private Duration ttl() {
+        return Duration.ofHours(Math.max(ttlHours, 1));
+    }
+
+    private static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+}
@@ -0,0 +1,94 @@
+package com.project.skin_me.service.cart;
+
+import com.project.skin_me.model.Cart;
+import com.project.skin_me.model.CartItem;
+import com.project.skin_me.repository.CartRepository;
+import com.project.skin_me.repository.ProductRepository;
+import com.project.skin_me.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Writes carts from the shared store into MySQL: in the background for dirty carts, and inline
+ * before anything reads the cart from MySQL (cart page, checkout, admin views).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CartWriteBehind {
+
+    private final CartStateStore cartStateStore;
+    private final CartRepository cartRepository;
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+
+    /** Copies the user's stored cart to MySQL if it has unwritten edits; no-op otherwise. */
+    @Transactional
+    public void flush(Long userId) {
+        Optional<CartState> stored = cartStateStore.peek(userId);
+        if (stored.isEmpty() || stored.get().isFlushed()) {
+            return;
+        }
+        CartState state = stored.get();
+        Cart cart = cartRepository.findByUserIdWithRelations(userId);
+        if (cart == null) {
+            if (state.getCartId() != null) {
+                // The MySQL cart was removed (checkout, clear) and the user kept editing: keep the edits
+                log.info("Cart {} of user {} is gone; recreating it from the cart store", state.getCartId(), userId);
+            }
+            cart = new Cart();
+            cart.setUser(userRepository.getReferenceById(userId));
+            cart.setActive(true);
+        } else if (cart.getStateVersion() != null && cart.getStateVersion() >= state.getVersion()) {
+            // Another node already wrote this version
+            markFlushedAfterCommit(userId, cart.getId(), cart.getStateVersion());
+            return;
+        }
+
+        Map<Long, CartItem> existing = new HashMap<>();
+        for (CartItem item : cart.getItems()) {
+            existing.put(item.getProduct().getId(), item);
+        }
+        for (Map.Entry<Long, CartState.Line> entry : state.getLines().entrySet()) {
+            CartState.Line line = entry.getValue();
+            CartItem item = existing.remove(entry.getKey());
+            if (item == null) {
+                item = new CartItem();
+                item.setProduct(productRepository.getReferenceById(entry.getKey()));
+                cart.addItem(item);
+            }
+            item.setQuantity(line.getQuantity());
+            item.setUnitPrice(CartState.toAmount(line.getUnitPriceCents()));
+            item.setDiscount(CartState.toAmount(line.getListPriceCents() - line.getUnitPriceCents()).doubleValue());
+            item.setTotalPrice();
+        }
+        existing.values().forEach(cart::removeItem);
+        cart.setTotalAmount(CartState.toAmount(state.getTotalCents()));
+        cart.setStateVersion(state.getVersion());
+        cart.setUpdatedAt(LocalDateTime.now());
+        Cart saved = cartRepository.save(cart);
+        markFlushedAfterCommit(userId, saved.getId(), state.getVersion());
+    }
+
+    private void markFlushedAfterCommit(Long userId, Long cartId, long version) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cartStateStore.markFlushed(userId, cartId, version);
+                }
+            });
+        } else {
+            cartStateStore.markFlushed(userId, cartId, version);
+        }
+    }
+}
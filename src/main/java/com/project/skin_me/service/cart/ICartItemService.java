@@ -1,9 +1,21 @@
 package com.project.skin_me.service.cart;
 
 import com.project.skin_me.model.Cart;
+import com.project.skin_me.request.CartBulkUpdateRequest;
+
+import java.util.List;
 
 public interface ICartItemService {
-    void addItemToCart(Cart cart, Long productId, int quantity);
-    void removeItemFromCart(Long cartId, Long productId);
-    void updateItemQuantity(Long cartId, Long productId, int quantity);
+    CartState addItemToCart(Long userId, Long productId, int quantity);
+    CartState removeItemFromCart(Long userId, Long productId);
+    CartState updateItemQuantity(Long userId, Long productId, int quantity);
+    /**
+     * Applies all changes as one edit of the stored cart, in order.
+     *
+     * @param expectedVersion cart version the client saw, or null to skip the check
+     * @throws com.project.skin_me.exception.CartVersionConflictException if the cart has moved on
+     */
+    CartState applyChanges(Long userId, Long expectedVersion, List<CartBulkUpdateRequest.Change> changes);
+    /** Re-prices every line of the MySQL cart at current list prices and promotions (checkout). */
+    void repriceCart(Cart cart);
 }
@@ -4,6 +4,7 @@ import com.google.genai.Client;
 import com.google.genai.types.GenerateContentResponse;
 import com.project.skin_me.model.Product;
 import com.project.skin_me.service.product.IProductService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -18,11 +19,17 @@ public class GeminiService {
     private final Client client;
     private final IProductService productService;
 
+    @Timed(value = "skinme.gemini.ask", description = "Product lookup + Gemini generateContent", histogram = true)
     public String askGemini(String prompt){
         List<Product> relevantProducts = findRelevantProducts(prompt);
         String productContext = formatProductsForGemini(relevantProducts);
         String finalPrompt = createAssistantPrompt(productContext, prompt);
 
+        return generate(finalPrompt);
+    }
+
+    /** The remote model call; the loadtest profile replaces this with a local stub. */
+    protected String generate(String finalPrompt) {
         GenerateContentResponse response =
                 client.models.generateContent(
                         "gemini-2.5-flash",
@@ -0,0 +1,319 @@
+package com.project.skin_me.service.chatbot;
+
+import com.project.skin_me.dto.chatbot.ChatbotSessionSummary;
+import com.project.skin_me.dto.chatbot.ChatbotSessionsResponse;
+import com.project.skin_me.event.ChatThreadEvent;
+import com.project.skin_me.model.ChatThread;
+import com.project.skin_me.model.User;
+import com.project.skin_me.repository.ChatThreadRepository;
+import com.project.skin_me.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Maintains the {@code chat_threads} index behind the admin Message Center.
+ * <p>
+ * Chat turns, admin replies and session bindings that pass through this backend arrive as
+ * {@link ChatThreadEvent}s and are applied after commit, each in its own transaction. Conversations that happen directly
+ * between the storefront and chatbot.skinme.store are picked up by {@link #refreshFromRemote},
+ * which the scheduler runs in the background. Listing, filtering (admin replied, awaiting admin,
+ * unread) and paging are then plain indexed queries, with no per-request chatbot call and no scan
+ * over users.
+ * <p>
+ * A message only replaces the thread's last message when it is not older than it, so events
+ * applied out of order and the remote refresh cannot move a thread back in time.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatThreadIndex {
+
+    static final String NO_MESSAGES = "No messages yet — tap to chat";
+
+    private final ChatThreadRepository threadRepository;
+    private final UserRepository userRepository;
+    private final ChatbotService chatbotService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChatThreadEvent(ChatThreadEvent event) {
+        if (!StringUtils.hasText(event.getSessionId())) {
+            return;
+        }
+        for (int attempt = 0; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply(event));
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == 0) {
+                    // a concurrent event for the same user or session created the thread first; apply onto it
+                    continue;
+                }
+                log.warn("Chat thread index update failed for session {}: {}", event.getSessionId(), e.getMessage());
+                return;
+            } catch (Exception e) {
+                // The next event for this session or the remote refresh rewrites the thread
+                log.warn("Chat thread index update failed for session {}: {}", event.getSessionId(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void apply(ChatThreadEvent event) {
+        String sessionId = event.getSessionId().trim();
+        User user = event.getUserId() != null
+                ? userRepository.findById(event.getUserId()).orElse(null)
+                : resolveUser(sessionId, null, null);
+        if (user != null && ChatSessionService.isAdminUser(user)) {
+            return;
+        }
+        ChatThread thread = threadFor(user, sessionId);
+        if (event.getType() == ChatThreadEvent.Type.MESSAGE) {
+            applyMessage(thread, event.getRole(), event.getText(), event.getOccurredAt(), event.isFromUser());
+        }
+        threadRepository.saveAndFlush(thread);
+    }
+
+    /** Admin Message Center page; {@code filter} is a {@link ChatbotSessionFilter} constant, {@code search} matches name or e-mail. */
+    @Transactional(readOnly = true)
+    public Page<ChatbotSessionSummary> page(String filter, String search, Pageable pageable) {
+        String pattern = StringUtils.hasText(search) ? "%" + search.trim().toLowerCase(Locale.ROOT) + "%" : null;
+        return threadRepository.search(ChatbotSessionFilter.lastRoleFor(filter),
+                        ChatbotSessionFilter.UNREAD.equals(filter), pattern, pageable)
+                .map(ChatThreadIndex::toSummary);
+    }
+
+    /** Thread counts per filter, for the filter badges. */
+    @Transactional(readOnly = true)
+    public Map<String, Long> counts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put(ChatbotSessionFilter.ALL, threadRepository.count());
+        counts.put(ChatbotSessionFilter.ADMIN_REPLIED, threadRepository.countByLastRole(ChatThread.ROLE_ADMIN));
+        counts.put(ChatbotSessionFilter.AWAITING_ADMIN, threadRepository.countByLastRole(ChatThread.ROLE_USER));
+        counts.put(ChatbotSessionFilter.UNREAD, threadRepository.countByUnreadTrue());
+        return counts;
+    }
+
+    /** An admin opened the thread. */
+    public void markRead(String sessionId) {
+        if (StringUtils.hasText(sessionId)) {
+            threadRepository.markRead(sessionId.trim());
+        }
+    }
+
+    /**
+     * Merges the chatbot's session list into the index: new sessions become threads (bound to
+     * their user when one matches), and a remote last message newer than the local one replaces it.
+     *
+     * @return number of threads created or changed
+     */
+    public int refreshFromRemote(int limit) {
+        // fetched outside the transaction, so no connection is held while waiting on the chatbot
+        ChatbotSessionsResponse response = chatbotService.listSessions(limit);
+        Integer changed = transactionTemplate.execute(status -> merge(response));
+        return changed != null ? changed : 0;
+    }
+
+    private int merge(ChatbotSessionsResponse response) {
+        List<ChatbotSessionSummary> sessions = new ArrayList<>();
+        for (ChatbotSessionSummary s : response.getSessions() != null ? response.getSessions() : List.<ChatbotSessionSummary>of()) {
+            if (s != null && StringUtils.hasText(s.getSessionId())) {
+                sessions.add(s);
+            }
+        }
+        // oldest first, so when one user has several sessions the newest ends up bound to the thread
+        sessions.sort(Comparator.comparing((ChatbotSessionSummary s) -> parseTimestamp(s.getLastMessageAt()),
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        Map<String, ChatThread> known = new HashMap<>();
+        for (ChatThread thread : threadRepository.findBySessionIdIn(
+                sessions.stream().map(s -> s.getSessionId().trim()).toList())) {
+            known.put(thread.getSessionId(), thread);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int changed = 0;
+        for (ChatbotSessionSummary s : sessions) {
+            String sessionId = s.getSessionId().trim();
+            ChatThread thread = known.get(sessionId);
+            if (thread == null) {
+                User user = resolveUser(sessionId, s.getUserId(), s.getUserEmail());
+                if (user != null && (ChatSessionService.isAdminUser(user)
+                        || StringUtils.hasText(user.getChatSessionId()) && !sessionId.equals(user.getChatSessionId()))) {
+                    // admins have no thread; an older session must not take over the user's bound one
+                    continue;
+                }
+                thread = threadFor(user, sessionId);
+                if (user == null) {
+                    thread.setUserEmail(s.getUserEmail());
+                    thread.setUserName(StringUtils.hasText(s.getUserName()) ? s.getUserName() : s.getUserEmail());
+                }
+            }
+            LocalDateTime at = parseTimestamp(s.getLastMessageAt());
+            boolean hadMessage = thread.getLastMessageAt() != null;
+            if (StringUtils.hasText(s.getLastMessage()) && (at != null || !hadMessage)) {
+                String role = ChatbotSessionFilter.lastRole(s);
+                applyMessage(thread, role, s.getLastMessage(), at != null ? at : now,
+                        ChatThread.ROLE_USER.equals(role));
+            }
+            thread.setRemoteSyncedAt(now);
+            threadRepository.save(thread);
+            known.put(thread.getSessionId(), thread);
+            changed++;
+        }
+        return changed;
+    }
+
+    /**
+     * The user's thread, moved to {@code sessionId} when the user now chats under another session;
+     * an unowned thread already on that session is merged into it. Without a user, the thread of
+     * the session (created when missing).
+     */
+    private ChatThread threadFor(User user, String sessionId) {
+        ChatThread bySession = threadRepository.findBySessionId(sessionId).orElse(null);
+        ChatThread thread;
+        if (user == null) {
+            thread = bySession;
+        } else {
+            ChatThread byUser = threadRepository.findByUser_Id(user.getId()).orElse(null);
+            if (byUser == null) {
+                thread = bySession != null && bySession.getUser() == null ? bySession : null;
+                if (bySession != null && bySession.getUser() != null) {
+                    // the session belongs to another account; leave that thread alone
+                    return bySession;
+                }
+            } else if (bySession == null || Objects.equals(bySession.getId(), byUser.getId())) {
+                thread = byUser;
+            } else if (bySession.getUser() == null) {
+                if (bySession.getLastMessageAt() != null) {
+                    applyMessage(byUser, bySession.getLastRole(), bySession.getLastMessage(),
+                            bySession.getLastMessageAt(), bySession.isUnread());
+                }
+                threadRepository.delete(bySession);
+                threadRepository.flush();
+                thread = byUser;
+            } else {
+                return bySession;
+            }
+            if (thread != null) {
+                thread.setUser(user);
+            }
+        }
+        if (thread == null) {
+            thread = new ChatThread();
+            thread.setUser(user);
+        }
+        thread.setSessionId(sessionId);
+        if (user != null) {
+            thread.setUserEmail(user.getEmail());
+            thread.setUserName(ChatbotService.displayName(user));
+        }
+        return thread;
+    }
+
+    private static void applyMessage(ChatThread thread, String role, String text, LocalDateTime at, boolean fromUser) {
+        if (!StringUtils.hasText(text) || at == null) {
+            return;
+        }
+        if (thread.getLastMessageAt() != null && at.isBefore(thread.getLastMessageAt())) {
+            return;
+        }
+        String message = text.trim();
+        thread.setLastMessage(message.length() > 500 ? message.substring(0, 497) + "..." : message);
+        thread.setLastMessageAt(at);
+        thread.setLastRole(role != null ? role.toLowerCase(Locale.ROOT) : null);
+        if (ChatThread.ROLE_ADMIN.equals(thread.getLastRole())) {
+            thread.setUnread(false);
+        } else if (fromUser) {
+            thread.setUnread(true);
+        }
+    }
+
+    /** Local account of a session: bound session id, then {@code skinme_<id>} or the chatbot's user id, then e-mail. */
+    private User resolveUser(String sessionId, String userId, String email) {
+        User user = userRepository.findByChatSessionId(sessionId).orElse(null);
+        if (user != null) {
+            return user;
+        }
+        Long id = ChatSessionService.parseSkinmeUserId(sessionId);
+        if (id == null && StringUtils.hasText(userId)) {
+            try {
+                id = Long.parseLong(userId.trim());
+            } catch (NumberFormatException ignored) {
+                // chatbot-side id, not ours
+            }
+        }
+        if (id != null) {
+            user = userRepository.findById(id).orElse(null);
+            if (user != null) {
+                return user;
+            }
+        }
+        return StringUtils.hasText(email) ? userRepository.findByEmail(email.trim()).orElse(null) : null;
+    }
+
+    static ChatbotSessionSummary toSummary(ChatThread thread) {
+        ChatbotSessionSummary summary = new ChatbotSessionSummary();
+        summary.setSessionId(thread.getSessionId());
+        User user = thread.getUser();
+        summary.setUserId(user != null ? String.valueOf(user.getId()) : null);
+        summary.setUserEmail(thread.getUserEmail());
+        summary.setUserName(StringUtils.hasText(thread.getUserName()) ? thread.getUserName() : thread.getUserEmail());
+        summary.setSessionCreatedAt(thread.getCreatedAt() != null ? thread.getCreatedAt().toString() : null);
+        summary.setLastMessage(StringUtils.hasText(thread.getLastMessage()) ? thread.getLastMessage() : NO_MESSAGES);
+        summary.setLastMessageAt(thread.getLastMessageAt() != null ? thread.getLastMessageAt().toString() : null);
+        summary.setLastMessageRole(thread.getLastRole());
+        summary.setLastMessageSender(thread.getLastRole());
+        summary.setOnline(user != null && user.isOnline());
+        summary.setUnread(thread.isUnread());
+        return summary;
+    }
+
+    /** Chatbot timestamps: ISO local date-time, ISO with offset, or epoch seconds. */
+    static LocalDateTime parseTimestamp(String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        String v = value.trim();
+        try {
+            return LocalDateTime.parse(v);
+        } catch (DateTimeParseException ignored) {
+            // try the other formats
+        }
+        try {
+            return OffsetDateTime.parse(v).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException ignored) {
+            // try epoch
+        }
+        try {
+            double seconds = Double.parseDouble(v);
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli((long) (seconds * 1000)), ZoneId.systemDefault());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.project.skin_me.service.chatbot;
 
 import com.project.skin_me.dto.chatbot.*;
+import com.project.skin_me.exception.IntegrationUnavailableException;
 import com.project.skin_me.model.User;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -65,10 +67,12 @@ public class ChatbotService {
         return builder.build().toUriString();
     }
 
+    @Timed(value = "skinme.chatbot.call", extraTags = {"op", "chat"}, histogram = true)
     public ChatbotChatResponse postChat(ChatbotChatRequest request) {
         return exchange(HttpMethod.POST, "/v1/chat", request, ChatbotChatResponse.class, false);
     }
 
+    @Timed(value = "skinme.chatbot.call", extraTags = {"op", "chat-with-image"}, histogram = true)
     public ChatbotImageResponse postChatWithImage(
             String message,
             String sessionId,
@@ -112,6 +116,7 @@ public class ChatbotService {
         return response.getBody();
     }
 
+    @Timed(value = "skinme.chatbot.call", extraTags = {"op", "list-sessions"}, histogram = true)
     public ChatbotSessionsResponse listSessions(int limit) {
         URI uri = UriComponentsBuilder.fromUriString(baseUrl + "/v1/chat/sessions")
                 .queryParam("limit", limit)
@@ -131,6 +136,7 @@ public class ChatbotService {
         return body;
     }
 
+    @Timed(value = "skinme.chatbot.call", extraTags = {"op", "session-history"}, histogram = true)
     public ChatbotHistoryResponse getSessionHistory(String sessionId, int limit) {
         URI uri = UriComponentsBuilder
                 .fromUriString(baseUrl + "/v1/chat/sessions/{sessionId}/history")
@@ -151,6 +157,7 @@ public class ChatbotService {
         return body;
     }
 
+    @Timed(value = "skinme.chatbot.call", extraTags = {"op", "admin-reply"}, histogram = true)
     public ChatbotAdminReplyResponse postAdminReply(ChatbotAdminReplyRequest request) {
         if (!StringUtils.hasText(request.getAdminKey()) && StringUtils.hasText(adminKey)) {
             request.setAdminKey(adminKey);
@@ -165,6 +172,7 @@ public class ChatbotService {
         return response.getBody();
     }
 
+    @Timed(value = "skinme.chatbot.call", extraTags = {"op", "log"}, histogram = true)
     public Object postLog(ChatbotLogRequest request) {
         return exchange(HttpMethod.POST, "/v1/chat/log", request, Object.class, false);
     }
@@ -206,7 +214,7 @@ public class ChatbotService {
         try {
             ResponseEntity<T> response = restTemplate.exchange(baseUrl + path, method, entity, type);
             return response.getBody();
-        } catch (RestClientException e) {
+        } catch (RestClientException | IntegrationUnavailableException e) {
             log.error("Chatbot API {} {} failed: {}", method, path, e.getMessage());
             throw e;
         }
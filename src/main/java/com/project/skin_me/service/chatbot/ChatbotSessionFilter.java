@@ -12,6 +12,7 @@ public final class ChatbotSessionFilter {
     public static final String ALL = "all";
     public static final String ADMIN_REPLIED = "admin-replied";
     public static final String AWAITING_ADMIN = "awaiting-admin";
+    public static final String UNREAD = "unread";
 
     private ChatbotSessionFilter() {
     }
@@ -29,6 +30,40 @@ public final class ChatbotSessionFilter {
         return stream.toList();
     }
 
+    /**
+     * {@code last_role} value of the thread index that a filter selects: {@code admin} for
+     * {@link #ADMIN_REPLIED}, {@code user} for {@link #AWAITING_ADMIN}, null for everything else.
+     */
+    public static String lastRoleFor(String filter) {
+        if (ADMIN_REPLIED.equals(filter)) {
+            return "admin";
+        }
+        if (AWAITING_ADMIN.equals(filter)) {
+            return "user";
+        }
+        return null;
+    }
+
+    /**
+     * Role stored as {@code last_role} for a chatbot session, normalised so that the SQL filters
+     * match {@link #apply}: {@code admin} when {@link #hasAdminReply}, {@code user} when
+     * {@link #isLastFromUser}, otherwise the chatbot's role in lower case.
+     */
+    public static String lastRole(ChatbotSessionSummary session) {
+        if (session == null) {
+            return null;
+        }
+        if (hasAdminReply(session)) {
+            return "admin";
+        }
+        if (isLastFromUser(session)) {
+            return "user";
+        }
+        return StringUtils.hasText(session.getLastMessageRole())
+                ? session.getLastMessageRole().toLowerCase(Locale.ROOT)
+                : null;
+    }
+
     public static boolean hasAdminReply(ChatbotSessionSummary session) {
         if (session == null) {
             return false;
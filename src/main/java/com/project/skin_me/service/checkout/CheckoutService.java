@@ -1,5 +1,7 @@
 package com.project.skin_me.service.checkout;
 
+import com.project.skin_me.service.http.IntegrationGuard.Retry;
+import com.project.skin_me.service.http.OutboundHttp;
 import com.stripe.exception.StripeException;
 import com.stripe.model.checkout.Session;
 import com.stripe.param.checkout.SessionCreateParams;
@@ -9,6 +11,12 @@ import org.springframework.stereotype.Service;
 @Service
 public class CheckoutService implements ICheckoutService {
 
+    private final OutboundHttp outboundHttp;
+
+    public CheckoutService(OutboundHttp outboundHttp) {
+        this.outboundHttp = outboundHttp;
+    }
+
     @Value("${app.frontend.url:https://skinme.store}")
     private String frontendUrl;
 
@@ -50,6 +58,6 @@ public class CheckoutService implements ICheckoutService {
                 )
                 .build();
 
-        return Session.create(params);
+        return outboundHttp.call("stripe", () -> Session.create(params), Retry.NONE);
     }
 }
\ No newline at end of file
@@ -0,0 +1,419 @@
+package com.project.skin_me.service.dashboard;
+
+import com.project.skin_me.dto.DashboardFavoriteDto;
+import com.project.skin_me.dto.DashboardPaymentDto;
+import com.project.skin_me.dto.DashboardPopularProductDto;
+import com.project.skin_me.dto.DashboardSnapshotDto;
+import com.project.skin_me.dto.OrderDto;
+import com.project.skin_me.dto.OrderStatusCountDto;
+import com.project.skin_me.dto.ProductFeedbackDto;
+import com.project.skin_me.dto.SalesMonthDto;
+import com.project.skin_me.enums.OrderStatus;
+import com.project.skin_me.event.OrderPlacedEvent;
+import com.project.skin_me.event.OrderStatusChangedEvent;
+import com.project.skin_me.event.ProductAddedEvent;
+import com.project.skin_me.event.UserRegisteredEvent;
+import com.project.skin_me.model.FavoriteItem;
+import com.project.skin_me.model.Payment;
+import com.project.skin_me.model.PopularProduct;
+import com.project.skin_me.model.User;
+import com.project.skin_me.repository.FavoriteItemRepository;
+import com.project.skin_me.repository.OrderRepository;
+import com.project.skin_me.repository.PaymentRepository;
+import com.project.skin_me.repository.PopularProductRepository;
+import com.project.skin_me.repository.ProductFeedbackRepository;
+import com.project.skin_me.repository.ProductRepository;
+import com.project.skin_me.repository.UserRepository;
+import com.project.skin_me.service.feedback.IProductFeedbackService;
+import com.project.skin_me.service.order.IOrderService;
+import com.project.skin_me.service.report.SalesRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps admin dashboard counters in memory so pages render from one snapshot instead of
+ * ~15 count/sum/group-by queries per load.
+ * <p>
+ * Counters move incrementally from domain events (after commit). Order events only mark the
+ * recent orders and payments and the revenue chart (read from {@code daily_sales}) stale, and
+ * those are reloaded at most once per
+ * {@code app.dashboard.metrics.lists-refresh-ms}; favorites, best sellers and feedback are
+ * reloaded by the reconcile. A scheduled reconcile recomputes everything from SQL, which also
+ * corrects drift from status changes made outside the event-publishing services.
+ * <p>
+ * Widget rows are copied into DTOs while loading, so the shared snapshot holds no JPA entities.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardMetricsService implements IDashboardMetricsService {
+
+    private static final int RECENT_ORDERS_SIZE = 10;
+    private static final int WIDGET_SIZE = 5;
+    private static final int RECENT_FEEDBACK_SIZE = 10;
+    private static final int SALES_MONTHS = 12;
+
+    /** Status colors for order charts (could be moved to DB/settings later). */
+    private static final Map<OrderStatus, String> ORDER_STATUS_COLORS = new LinkedHashMap<>() {
+        {
+            put(OrderStatus.DELIVERED, "#10b981");
+            put(OrderStatus.PAID, "#10b981");
+            put(OrderStatus.SUCCESS, "#10b981");
+            put(OrderStatus.PENDING, "#f59e0b");
+            put(OrderStatus.PROCESSING, "#f59e0b");
+            put(OrderStatus.PAYMENT_PENDING, "#f97316");
+            put(OrderStatus.PAYMENT, "#f97316");
+            put(OrderStatus.SHIPPED, "#3b82f6");
+            put(OrderStatus.CANCELLED, "#ef4444");
+            put(OrderStatus.FAILED, "#ef4444");
+        }
+    };
+
+    private static final String DEFAULT_STATUS_COLOR = "#6b7280";
+
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final PaymentRepository paymentRepository;
+    private final FavoriteItemRepository favoriteItemRepository;
+    private final PopularProductRepository popularProductRepository;
+    private final ProductFeedbackRepository productFeedbackRepository;
+    private final IOrderService orderService;
+    private final IProductFeedbackService productFeedbackService;
+    private final SalesRollupService salesRollupService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.dashboard.metrics.lists-refresh-ms:30000}")
+    private long listsRefreshMs;
+
+    /** Guards every mutable field below. */
+    private final Object lock = new Object();
+
+    private final Map<OrderStatus, Long> statusCounts = new EnumMap<>(OrderStatus.class);
+    private final Map<YearMonth, BigDecimal> revenueByMonth = new HashMap<>();
+    private long totalProducts;
+    private long totalOrders;
+    private long totalUsers;
+    private long totalFeedback;
+    private long newUsersToday;
+    private long newUsersThisWeek;
+    private long newUsersThisMonth;
+    private BigDecimal totalPaymentAmount = BigDecimal.ZERO;
+    private BigDecimal totalOrderAmount = BigDecimal.ZERO;
+    private List<OrderDto> recentOrders = List.of();
+    private List<DashboardPaymentDto> recentPayments = List.of();
+    private List<DashboardFavoriteDto> recentFavorites = List.of();
+    private List<DashboardPopularProductDto> popularProducts = List.of();
+    private List<ProductFeedbackDto> recentFeedback = List.of();
+    private LocalDateTime reconciledAt;
+
+    private volatile boolean ordersStale;
+    private volatile long ordersRefreshedAt;
+    private volatile DashboardSnapshotDto snapshot;
+
+    @Override
+    public DashboardSnapshotDto getSnapshot() {
+        if (snapshot == null) {
+            reconcile();
+        } else if (ordersStale && System.currentTimeMillis() - ordersRefreshedAt >= listsRefreshMs) {
+            refreshOrderLists();
+        }
+        return snapshot;
+    }
+
+    @Override
+    public void reconcile() {
+        long products = productRepository.count();
+        long orders = orderRepository.count();
+        long users = userRepository.count();
+        long feedback = productFeedbackRepository.count();
+
+        LocalDateTime now = LocalDateTime.now();
+        long usersToday = userRepository.countByRegistrationDateAfter(now.toLocalDate().atStartOfDay());
+        long usersWeek = userRepository.countByRegistrationDateAfter(now.minusDays(7));
+        long usersMonth = userRepository.countByRegistrationDateAfter(now.minusDays(30));
+
+        BigDecimal payments = orZero(paymentRepository.sumAmountsByStatus(OrderStatus.SUCCESS));
+        BigDecimal orderAmount = orZero(orderRepository.sumOrderTotalAmount());
+
+        Map<OrderStatus, Long> statuses = new EnumMap<>(OrderStatus.class);
+        for (Object[] row : orderRepository.countGroupByOrderStatus()) {
+            if (row[0] != null) {
+                statuses.put((OrderStatus) row[0], ((Number) row[1]).longValue());
+            }
+        }
+
+        synchronized (lock) {
+            totalProducts = products;
+            totalOrders = orders;
+            totalUsers = users;
+            totalFeedback = feedback;
+            newUsersToday = usersToday;
+            newUsersThisWeek = usersWeek;
+            newUsersThisMonth = usersMonth;
+            totalPaymentAmount = payments;
+            totalOrderAmount = orderAmount;
+            statusCounts.clear();
+            statusCounts.putAll(statuses);
+            reconciledAt = now;
+        }
+        refreshOrderLists();
+        refreshWidgetLists();
+    }
+
+    /** Periodic SQL reconcile; failures keep the previous snapshot. */
+    @Scheduled(fixedDelayString = "${app.dashboard.metrics.reconcile-ms:300000}",
+            initialDelayString = "${app.dashboard.metrics.reconcile-ms:300000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.warn("Dashboard metrics reconcile failed: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        synchronized (lock) {
+            if (snapshot == null) {
+                return;
+            }
+            totalOrders++;
+            statusCounts.merge(event.isPosOrder() ? OrderStatus.PAYMENT_PENDING : OrderStatus.PENDING, 1L, Long::sum);
+            totalOrderAmount = totalOrderAmount.add(orZero(event.getTotalAmount()));
+            ordersStale = true;
+            publishSnapshot();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.getPreviousStatus() == event.getNewStatus()) {
+            return;
+        }
+        BigDecimal paymentDelta = paymentDelta(event);
+        synchronized (lock) {
+            if (snapshot == null) {
+                return;
+            }
+            if (event.getPreviousStatus() != null) {
+                statusCounts.merge(event.getPreviousStatus(), -1L, Long::sum);
+            }
+            if (event.getNewStatus() != null) {
+                statusCounts.merge(event.getNewStatus(), 1L, Long::sum);
+            }
+            totalPaymentAmount = totalPaymentAmount.add(paymentDelta);
+            ordersStale = true;
+            publishSnapshot();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        synchronized (lock) {
+            if (snapshot == null) {
+                return;
+            }
+            totalUsers++;
+            newUsersToday++;
+            newUsersThisWeek++;
+            newUsersThisMonth++;
+            publishSnapshot();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductAdded(ProductAddedEvent event) {
+        synchronized (lock) {
+            if (snapshot == null) {
+                return;
+            }
+            totalProducts++;
+            publishSnapshot();
+        }
+    }
+
+    /**
+     * Change to the SUCCESS payment total for a status change, matching {@code sumAmountsByStatus(SUCCESS)}
+     * in the reconcile: the order's payment is added when the order becomes paid with a SUCCESS
+     * payment, and taken off when the order leaves paid and its payment is no longer SUCCESS.
+     */
+    private BigDecimal paymentDelta(OrderStatusChangedEvent event) {
+        boolean nowPaid = isPaid(event.getNewStatus());
+        if (nowPaid == isPaid(event.getPreviousStatus()) || event.getOrderId() == null) {
+            return BigDecimal.ZERO;
+        }
+        Payment payment = paymentRepository.findByOrderId(event.getOrderId()).orElse(null);
+        if (payment == null || payment.getAmount() == null) {
+            return BigDecimal.ZERO;
+        }
+        boolean success = payment.getStatus() == OrderStatus.SUCCESS;
+        if (nowPaid) {
+            return success ? payment.getAmount() : BigDecimal.ZERO;
+        }
+        return success ? BigDecimal.ZERO : payment.getAmount().negate();
+    }
+
+    /** Recent orders and payments, and the revenue chart: what order events make stale. */
+    private void refreshOrderLists() {
+        ordersStale = false;
+        ordersRefreshedAt = System.currentTimeMillis();
+        // Chart reads the daily_sales rollup, never a YEAR()/MONTH() scan of orders
+        Map<YearMonth, BigDecimal> months = salesRollupService.revenueByMonth(firstSalesMonth().atDay(1),
+                LocalDate.now());
+        List<OrderDto> orders = orderService
+                .getAllUserOrders(PageRequest.of(0, RECENT_ORDERS_SIZE, Sort.by("orderId").descending()))
+                .getContent();
+        List<DashboardPaymentDto> payments = transactionTemplate.execute(status -> paymentRepository
+                .findAllWithOrderAndUser(PageRequest.of(0, WIDGET_SIZE, Sort.by("id").descending()))
+                .getContent().stream()
+                .map(DashboardMetricsService::toPaymentDto)
+                .toList());
+
+        synchronized (lock) {
+            revenueByMonth.clear();
+            revenueByMonth.putAll(months);
+            recentOrders = List.copyOf(orders);
+            recentPayments = payments != null ? payments : List.of();
+            publishSnapshot();
+        }
+    }
+
+    /** Favorites, best sellers and feedback; reloaded by the reconcile only. */
+    private void refreshWidgetLists() {
+        List<DashboardFavoriteDto> favorites = transactionTemplate.execute(status -> {
+            List<Long> ids = favoriteItemRepository.findRecentFavoriteIds(PageRequest.of(0, WIDGET_SIZE));
+            return ids.isEmpty() ? List.<DashboardFavoriteDto>of()
+                    : inIdOrder(favoriteItemRepository.findAllWithRelationsByIdIn(ids), ids, FavoriteItem::getId)
+                            .stream().map(DashboardMetricsService::toFavoriteDto).toList();
+        });
+        List<DashboardPopularProductDto> popular = transactionTemplate.execute(status -> {
+            List<Long> ids = popularProductRepository.findTopPopularProductIds(PageRequest.of(0, WIDGET_SIZE));
+            return ids.isEmpty() ? List.<DashboardPopularProductDto>of()
+                    : inIdOrder(popularProductRepository.findAllWithRelationsByIdIn(ids), ids, PopularProduct::getId)
+                            .stream().map(DashboardMetricsService::toPopularDto).toList();
+        });
+
+        List<ProductFeedbackDto> feedback = productFeedbackService
+                .listAllForAdmin(PageRequest.of(0, RECENT_FEEDBACK_SIZE, Sort.by(Sort.Direction.DESC, "createdAt")))
+                .getContent();
+
+        synchronized (lock) {
+            recentFavorites = favorites != null ? favorites : List.of();
+            popularProducts = popular != null ? popular : List.of();
+            recentFeedback = List.copyOf(feedback);
+            publishSnapshot();
+        }
+    }
+
+    private static DashboardPaymentDto toPaymentDto(Payment payment) {
+        Long orderId = payment.getOrder() != null ? payment.getOrder().getOrderId() : null;
+        User user = payment.getOrder() != null ? payment.getOrder().getUser() : null;
+        String customer = null;
+        if (user != null) {
+            customer = user.getFirstName() != null
+                    ? user.getFirstName() + " " + (user.getLastName() != null ? user.getLastName() : "")
+                    : user.getEmail();
+        }
+        return new DashboardPaymentDto(payment.getId(), payment.getAmount(),
+                payment.getStatus() != null ? payment.getStatus().name() : null,
+                payment.getTransactionTime(), orderId, customer);
+    }
+
+    private static DashboardFavoriteDto toFavoriteDto(FavoriteItem item) {
+        User user = item.getFavoriteList() != null ? item.getFavoriteList().getUser() : null;
+        return new DashboardFavoriteDto(item.getProduct().getId(), item.getProduct().getName(),
+                item.getProduct().getBrand() != null ? item.getProduct().getBrand().getName() : null,
+                user != null ? user.getEmail() : null,
+                user != null ? user.getFirstName() : null,
+                user != null ? user.getLastName() : null);
+    }
+
+    private static DashboardPopularProductDto toPopularDto(PopularProduct popular) {
+        return new DashboardPopularProductDto(popular.getProduct().getId(), popular.getProduct().getName(),
+                popular.getProduct().getBrand() != null ? popular.getProduct().getBrand().getName() : null,
+                popular.getProduct().getPrice(), popular.getProduct().getThumbnailUrl(),
+                popular.getQuantitySold(), popular.getLastPurchasedDate());
+    }
+
+    /** Must be called while holding {@link #lock}. */
+    private void publishSnapshot() {
+        List<OrderStatusCountDto> orderStatusCounts = new ArrayList<>();
+        statusCounts.forEach((status, count) -> {
+            if (count > 0) {
+                orderStatusCounts.add(new OrderStatusCountDto(status.name(), count,
+                        ORDER_STATUS_COLORS.getOrDefault(status, DEFAULT_STATUS_COLOR)));
+            }
+        });
+
+        List<SalesMonthDto> salesByMonth = new ArrayList<>();
+        YearMonth first = firstSalesMonth();
+        for (int i = 0; i < SALES_MONTHS; i++) {
+            YearMonth ym = first.plusMonths(i);
+            String label = ym.getMonth().name().substring(0, 1) + ym.getMonth().name().substring(1).toLowerCase()
+                    + " " + ym.getYear();
+            salesByMonth.add(new SalesMonthDto(label, revenueByMonth.getOrDefault(ym, BigDecimal.ZERO)));
+        }
+
+        snapshot = DashboardSnapshotDto.builder()
+                .totalProducts(totalProducts)
+                .totalOrders(totalOrders)
+                .totalUsers(totalUsers)
+                .totalFeedback(totalFeedback)
+                .newUsersToday(newUsersToday)
+                .newUsersThisWeek(newUsersThisWeek)
+                .newUsersThisMonth(newUsersThisMonth)
+                .totalPaymentAmount(totalPaymentAmount)
+                .totalOrderAmount(totalOrderAmount)
+                .completedOrders(statusCounts.getOrDefault(OrderStatus.DELIVERED, 0L))
+                .pendingPaymentOrders(statusCounts.getOrDefault(OrderStatus.PAYMENT_PENDING, 0L))
+                .orderStatusCounts(List.copyOf(orderStatusCounts))
+                .salesByMonth(List.copyOf(salesByMonth))
+                .recentOrders(recentOrders)
+                .recentPayments(recentPayments)
+                .recentFavorites(recentFavorites)
+                .popularProducts(popularProducts)
+                .recentFeedback(recentFeedback)
+                .statusCounts(Map.copyOf(statusCounts))
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+
+    private static YearMonth firstSalesMonth() {
+        return YearMonth.now().minusMonths(SALES_MONTHS - 1);
+    }
+
+    private static boolean isPaid(OrderStatus status) {
+        return status == OrderStatus.PAID || status == OrderStatus.SUCCESS;
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private static <T> List<T> inIdOrder(List<T> rows, List<Long> ids, Function<T, Long> idOf) {
+        Map<Long, T> byId = rows.stream().collect(Collectors.toMap(idOf, Function.identity(), (a, b) -> a));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+}
@@ -0,0 +1,12 @@
+package com.project.skin_me.service.dashboard;
+
+import com.project.skin_me.dto.DashboardSnapshotDto;
+
+public interface IDashboardMetricsService {
+
+    /** Current dashboard numbers and widget lists; served from memory. */
+    DashboardSnapshotDto getSnapshot();
+
+    /** Recompute every counter from SQL (scheduled; also callable after bulk changes). */
+    void reconcile();
+}
@@ -2,6 +2,8 @@ package com.project.skin_me.service.delivery;
 
 import com.project.skin_me.enums.LogisticCompany;
 import com.project.skin_me.enums.OrderStatus;
+import com.project.skin_me.event.OrderStatusChangedEvent;
+import com.project.skin_me.event.OrderUpdatedEvent;
 import com.project.skin_me.exception.ResourceNotFoundException;
 import com.project.skin_me.model.Order;
 import com.project.skin_me.repository.OrderRepository;
@@ -10,6 +12,7 @@ import com.project.skin_me.service.telegram.TelegramNotificationService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +33,7 @@ public class DeliveryService implements IDeliveryService {
     private final OrderRepository orderRepository;
     private final TelegramNotificationService telegramNotificationService;
     private final IBakongKhqrService bakongKhqrService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -40,11 +44,14 @@ public class DeliveryService implements IDeliveryService {
             throw new IllegalStateException(
                     "Order must be paid before creating shipment. Current status: " + order.getOrderStatus());
         }
+        OrderStatus previousStatus = order.getOrderStatus();
         order.setOrderStatus(OrderStatus.SHIPPED);
         order.setTrackingNumber("TRK-" + UUID.randomUUID());
         order.setShippedAt(LocalDateTime.now());
         logger.info("Shipment created for order ID: {}", orderId);
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+        publishStatusChange(savedOrder, previousStatus);
+        return savedOrder;
     }
 
     @Override
@@ -62,6 +69,7 @@ public class DeliveryService implements IDeliveryService {
             order.setLogisticCompany(logisticCompany);
         }
         Order savedOrder = orderRepository.save(order);
+        publishStatusChange(savedOrder, OrderStatus.SHIPPED);
         logger.info("Order marked as delivered: {}", orderId);
         try {
             String userInfo = order.getUser() != null ? order.getUser().getEmail() : "N/A";
@@ -73,6 +81,12 @@ public class DeliveryService implements IDeliveryService {
         return savedOrder;
     }
 
+    private void publishStatusChange(Order order, OrderStatus previousStatus) {
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(this, order.getId(),
+                order.getUser() != null ? order.getUser().getId() : null,
+                previousStatus, order.getOrderStatus(), order.getOrderTotalAmount(), order.isPosOrder()));
+    }
+
     @Override
     public Order trackOrder(Long orderId) {
         return orderRepository.findById(orderId)
@@ -155,6 +169,7 @@ public class DeliveryService implements IDeliveryService {
         }
 
         Order savedOrder = orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderUpdatedEvent(this, savedOrder.getId()));
             logger.info("Delivery address updated successfully for order ID: {}", orderId);
         return savedOrder;
     }
@@ -177,6 +192,7 @@ public class DeliveryService implements IDeliveryService {
         order.setDeliveryAddressFull(null);
 
         Order savedOrder = orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderUpdatedEvent(this, savedOrder.getId()));
         logger.info("Delivery address cleared successfully for order ID: {}", orderId);
         return savedOrder;
     }
@@ -7,9 +7,13 @@ import com.project.skin_me.model.*;
 import com.project.skin_me.repository.*;
 import com.project.skin_me.service.notification.NotificationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -134,11 +138,17 @@ public class FavoriteService implements IFavoriteService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<FavoriteProductDto> getAllFavorites() {
-        List<FavoriteItem> items = favoriteItemRepository.findAll();
-        if (items.isEmpty()) {
-            throw new ResourceNotFoundException("No favorites found in the system");
+    public Page<FavoriteProductDto> getAllFavorites(Pageable pageable) {
+        // Page the ids first: a JOIN FETCH on images would make Hibernate paginate in memory.
+        List<Long> ids = favoriteItemRepository.findRecentFavoriteIds(pageable);
+        long total = favoriteItemRepository.count();
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, total);
         }
-        return items.stream().map(this::convertToDto).collect(Collectors.toList());
+        List<FavoriteProductDto> content = favoriteItemRepository.findAllWithRelationsByIdIn(ids).stream()
+                .sorted(Comparator.comparing(FavoriteItem::getId).reversed())
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, total);
     }
 }
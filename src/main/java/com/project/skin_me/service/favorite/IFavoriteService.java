@@ -1,6 +1,8 @@
 package com.project.skin_me.service.favorite;
 
 import com.project.skin_me.dto.FavoriteProductDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -17,5 +19,6 @@ public interface IFavoriteService {
 
     FavoriteProductDto convertToDto(Object favoriteItem);
 
-    List<FavoriteProductDto> getAllFavorites();
+    /** Newest favorites first, one page at a time. */
+    Page<FavoriteProductDto> getAllFavorites(Pageable pageable);
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package com.project.skin_me.service.feedback;
 
 import com.project.skin_me.dto.ProductFeedbackDto;
-import com.project.skin_me.dto.ProductFeedbackEventDto;
 import com.project.skin_me.exception.ResourceNotFoundException;
 import com.project.skin_me.model.Product;
 import com.project.skin_me.model.ProductFeedback;
@@ -14,14 +13,12 @@ import com.project.skin_me.service.notification.NotificationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.ZoneId;
 import java.util.Optional;
 
 @Service
@@ -31,7 +28,6 @@ public class ProductFeedbackService implements IProductFeedbackService {
     private final ProductFeedbackRepository productFeedbackRepository;
     private final ProductRepository productRepository;
     private final NotificationService notificationService;
-    private final SimpMessagingTemplate messagingTemplate;
     private final IImageService imageService;
 
     @Override
@@ -60,21 +56,7 @@ public class ProductFeedbackService implements IProductFeedbackService {
 
         ProductFeedback saved = productFeedbackRepository.save(fb);
 
-        String preview = saved.getComment();
-        if (preview != null && preview.length() > 120) {
-            preview = preview.substring(0, 117) + "...";
-        }
-        ProductFeedbackEventDto event = ProductFeedbackEventDto.builder()
-                .feedbackId(saved.getId())
-                .productId(product.getId())
-                .productName(product.getName())
-                .rating(saved.getRating())
-                .userEmail(user.getEmail())
-                .commentPreview(preview)
-                .createdAtEpochMs(saved.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
-                .build();
-        messagingTemplate.convertAndSend("/topic/feedback", event);
-
+        // Reaches admins through the admin event stream (bell + live toast)
         try {
             notificationService.notifyAdminsNewProductFeedback(
                     product.getName(), saved.getRating(), saved.getComment(), user.getEmail());
@@ -0,0 +1,44 @@
+package com.project.skin_me.service.http;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Runs each {@code RestTemplate} exchange through its integration's {@link IntegrationGuard}.
+ * GET, HEAD, OPTIONS, PUT and DELETE are retried on any transient failure (including 5xx);
+ * POST and PATCH only when the connection could not be made.
+ */
+class GuardedRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Set<HttpMethod> IDEMPOTENT = Set.of(
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE);
+
+    private final IntegrationGuard guard;
+
+    GuardedRequestInterceptor(IntegrationGuard guard) {
+        this.guard = guard;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        IntegrationGuard.Retry retry = IDEMPOTENT.contains(request.getMethod())
+                ? IntegrationGuard.Retry.TRANSIENT
+                : IntegrationGuard.Retry.CONNECT_FAILURES;
+        return guard.execute(() -> execution.execute(request, body), retry, GuardedRequestInterceptor::isServerError);
+    }
+
+    private static boolean isServerError(ClientHttpResponse response) {
+        try {
+            return response.getStatusCode().is5xxServerError();
+        } catch (IOException e) {
+            return true;
+        }
+    }
+}
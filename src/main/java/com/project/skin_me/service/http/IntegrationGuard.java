@@ -0,0 +1,216 @@
+package com.project.skin_me.service.http;
+
+import com.project.skin_me.exception.IntegrationUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.net.http.HttpConnectTimeoutException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Bulkhead, circuit breaker, retry with jittered backoff and metrics around the calls of one
+ * integration.
+ * <p>
+ * A call first takes a bulkhead slot (waiting at most {@code acquireTimeout}), then asks the
+ * breaker. Network failures ({@link IOException} anywhere in the cause chain) and failed results
+ * (for HTTP: 5xx) count against the breaker; any other exception means the remote answered and
+ * counts as a success. Retries follow {@link Retry}; each wait is a random time up to
+ * {@code backoff * 2^attempt} (capped at {@code maxBackoff}), so callers that failed together do
+ * not retry together.
+ * <p>
+ * Metrics, tagged {@code integration}: {@code skinme.outbound.requests} (timer, {@code outcome} =
+ * success, failure, error), {@code skinme.outbound.rejected} ({@code reason} = bulkhead,
+ * circuit_open), {@code skinme.outbound.retries}, {@code skinme.outbound.breaker.state}
+ * (0 closed, 1 half-open, 2 open) and {@code skinme.outbound.bulkhead.in_use}.
+ */
+@Slf4j
+public class IntegrationGuard {
+
+    /** Which failures may be retried. */
+    public enum Retry {
+        /** Never; for clients that retry themselves (Stripe retries with idempotency keys). */
+        NONE,
+        /** Only failures before the request was sent (refused, connect timeout, unknown host); safe for any call. */
+        CONNECT_FAILURES,
+        /** Any network failure or failed result; only for idempotent calls. */
+        TRANSIENT
+    }
+
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    private final IntegrationProfile profile;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker breaker;
+    private final MeterRegistry registry;
+    private final Counter retries;
+    private final Counter rejectedBulkhead;
+    private final Counter rejectedOpen;
+
+    IntegrationGuard(IntegrationProfile profile, MeterRegistry registry) {
+        this.profile = profile;
+        this.bulkhead = new Semaphore(Math.max(profile.maxConcurrent(), 1));
+        this.breaker = new CircuitBreaker(profile.failureThreshold(), profile.openDuration().toMillis());
+        this.registry = registry;
+        String name = profile.name();
+        this.retries = Counter.builder("skinme.outbound.retries").tag("integration", name).register(registry);
+        this.rejectedBulkhead = Counter.builder("skinme.outbound.rejected")
+                .tag("integration", name).tag("reason", "bulkhead").register(registry);
+        this.rejectedOpen = Counter.builder("skinme.outbound.rejected")
+                .tag("integration", name).tag("reason", "circuit_open").register(registry);
+        Gauge.builder("skinme.outbound.breaker.state", breaker, b -> b.state().ordinal())
+                .tag("integration", name)
+                .description("0 closed, 1 half-open, 2 open")
+                .register(registry);
+        Gauge.builder("skinme.outbound.bulkhead.in_use", bulkhead,
+                        s -> Math.max(profile.maxConcurrent(), 1) - s.availablePermits())
+                .tag("integration", name)
+                .register(registry);
+    }
+
+    public IntegrationProfile profile() {
+        return profile;
+    }
+
+    public <T, E extends Exception> T execute(Call<T, E> call, Retry retry) throws E {
+        return execute(call, retry, result -> false);
+    }
+
+    /**
+     * Runs {@code call} under the guard. A result matching {@code failedResult} counts as a
+     * failure; it is retried under {@link Retry#TRANSIENT} (closed first when it is
+     * {@link Closeable}) and otherwise returned to the caller as is.
+     */
+    public <T, E extends Exception> T execute(Call<T, E> call, Retry retry, Predicate<? super T> failedResult) throws E {
+        return execute(call, retry, failedResult, e -> false);
+    }
+
+    /**
+     * As above; an exception matching {@code answered} is the remote's reply rather than a network
+     * failure even when it is an {@link IOException} (SDKs that throw one for a 4xx), so it counts
+     * as a success and is never retried.
+     */
+    @SuppressWarnings("unchecked")
+    public <T, E extends Exception> T execute(Call<T, E> call, Retry retry, Predicate<? super T> failedResult,
+            Predicate<? super Exception> answered) throws E {
+        int maxRetries = retry == Retry.NONE ? 0 : Math.max(profile.maxRetries(), 0);
+        for (int attempt = 0; ; attempt++) {
+            acquire();
+            long start = System.nanoTime();
+            try {
+                T result = call.call();
+                if (!failedResult.test(result)) {
+                    breaker.onSuccess();
+                    record("success", start);
+                    return result;
+                }
+                breaker.onFailure();
+                record("failure", start);
+                if (retry != Retry.TRANSIENT || attempt >= maxRetries) {
+                    return result;
+                }
+                closeQuietly(result);
+            } catch (Exception e) {
+                boolean networkFailure = !answered.test(e) && isNetworkFailure(e);
+                if (networkFailure) {
+                    breaker.onFailure();
+                } else {
+                    breaker.onSuccess();
+                }
+                record(networkFailure ? "failure" : "error", start);
+                boolean retryable = retry == Retry.TRANSIENT ? networkFailure
+                        : retry == Retry.CONNECT_FAILURES && networkFailure && isConnectFailure(e);
+                if (!retryable || attempt >= maxRetries) {
+                    throw (E) e;
+                }
+                log.debug("{} call failed (attempt {}), retrying: {}", profile.name(), attempt + 1, e.toString());
+            } finally {
+                // the backoff below waits without holding a bulkhead slot
+                bulkhead.release();
+            }
+            retries.increment();
+            sleep(attempt);
+        }
+    }
+
+    private void acquire() {
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(profile.acquireTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejectedBulkhead.increment();
+            throw new IntegrationUnavailableException(profile.name() + ": too many calls in flight");
+        }
+        if (!breaker.tryAcquire()) {
+            bulkhead.release();
+            rejectedOpen.increment();
+            throw new IntegrationUnavailableException(profile.name() + ": circuit open after repeated failures");
+        }
+    }
+
+    private void record(String outcome, long startNanos) {
+        Timer.builder("skinme.outbound.requests")
+                .tag("integration", profile.name())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void sleep(int attempt) {
+        long ceiling = Math.min(profile.maxBackoff().toMillis(), profile.backoff().toMillis() << Math.min(attempt, 20));
+        long wait = ThreadLocalRandom.current().nextLong(Math.max(ceiling, 1) + 1);
+        try {
+            Thread.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IntegrationUnavailableException(profile.name() + ": interrupted while backing off");
+        }
+    }
+
+    private static void closeQuietly(Object result) {
+        if (result instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException ignored) {
+                // discarded response
+            }
+        }
+    }
+
+    static boolean isNetworkFailure(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean isConnectFailure(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConnectException || t instanceof HttpConnectTimeoutException
+                    || t instanceof UnknownHostException || t instanceof NoRouteToHostException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,52 @@
+package com.project.skin_me.service.http;
+
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Timeouts and resilience limits of one outbound integration, read from {@code app.http.<name>.*}
+ * with {@code app.http.default.*} as fallback.
+ *
+ * @param maxConcurrent   bulkhead size: calls in flight at once (and so open connections)
+ * @param acquireTimeout  how long a call waits for a bulkhead slot before it is rejected
+ * @param maxRetries      extra attempts after the first, see {@link IntegrationGuard.Retry}
+ * @param backoff         base of the exponential backoff; each wait is a random value up to it
+ * @param failureThreshold consecutive failures that open the circuit breaker
+ * @param openDuration    how long an open breaker rejects calls before letting one trial through
+ */
+public record IntegrationProfile(
+        String name,
+        Duration connectTimeout,
+        Duration readTimeout,
+        boolean http2,
+        int maxConcurrent,
+        Duration acquireTimeout,
+        int maxRetries,
+        Duration backoff,
+        Duration maxBackoff,
+        int failureThreshold,
+        Duration openDuration) {
+
+    static IntegrationProfile from(Environment env, String name) {
+        return new IntegrationProfile(
+                name,
+                Duration.ofMillis(get(env, name, "connect-timeout-ms", 5000L)),
+                Duration.ofMillis(get(env, name, "read-timeout-ms", 10000L)),
+                get(env, name, "http2", Boolean.TRUE),
+                get(env, name, "max-concurrent", 20),
+                Duration.ofMillis(get(env, name, "acquire-timeout-ms", 200L)),
+                get(env, name, "max-retries", 2),
+                Duration.ofMillis(get(env, name, "backoff-ms", 100L)),
+                Duration.ofMillis(get(env, name, "max-backoff-ms", 2000L)),
+                get(env, name, "breaker.failure-threshold", 5),
+                Duration.ofMillis(get(env, name, "breaker.open-ms", 30000L)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T get(Environment env, String name, String key, T defaultValue) {
+        Class<T> type = (Class<T>) defaultValue.getClass();
+        T fallback = env.getProperty("app.http.default." + key, type, defaultValue);
+        return env.getProperty("app.http." + name + "." + key, type, fallback);
+    }
+}
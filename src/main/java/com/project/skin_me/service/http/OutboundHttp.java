@@ -0,0 +1,90 @@
+package com.project.skin_me.service.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Shared outbound HTTP for third-party integrations (chatbot, Telegram, Stripe, Google, Twilio).
+ * <p>
+ * Each integration gets one pooled JDK {@link HttpClient}: connections are kept alive and
+ * reused, HTTP/2 is negotiated where the server supports it (falling back to HTTP/1.1), and since
+ * every integration talks to one host its client is that host's pool. The integration's
+ * {@link IntegrationGuard} bulkhead caps calls in flight, and with them the connections the pool
+ * opens. Timeouts and limits come from {@link IntegrationProfile} ({@code app.http.<name>.*}).
+ * <p>
+ * {@link #restTemplate} builds a {@code RestTemplate} on that client with the guard applied to
+ * every exchange; SDKs with their own transport wrap their calls in {@link #call}.
+ */
+@Slf4j
+@Component
+public class OutboundHttp {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, IntegrationGuard> guards = new ConcurrentHashMap<>();
+    private final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+
+    public OutboundHttp(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public IntegrationProfile profile(String integration) {
+        return guard(integration).profile();
+    }
+
+    public IntegrationGuard guard(String integration) {
+        return guards.computeIfAbsent(integration,
+                name -> new IntegrationGuard(IntegrationProfile.from(environment, name), meterRegistry));
+    }
+
+    public HttpClient httpClient(String integration) {
+        return clients.computeIfAbsent(integration, name -> {
+            IntegrationProfile profile = profile(name);
+            log.info("Outbound HTTP client '{}': connect {} ms, read {} ms, {} concurrent, HTTP/2 {}",
+                    name, profile.connectTimeout().toMillis(), profile.readTimeout().toMillis(),
+                    profile.maxConcurrent(), profile.http2());
+            return HttpClient.newBuilder()
+                    .version(profile.http2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(profile.connectTimeout())
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .build();
+        });
+    }
+
+    /** A {@code RestTemplate} on the integration's pooled client, with its read timeout and guard. */
+    public RestTemplate restTemplate(String integration) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient(integration));
+        factory.setReadTimeout(profile(integration).readTimeout());
+        RestTemplate template = new RestTemplate(factory);
+        template.getInterceptors().add(new GuardedRequestInterceptor(guard(integration)));
+        return template;
+    }
+
+    /** Runs an SDK call (Stripe, Google, Twilio) under the integration's guard. */
+    public <T, E extends Exception> T call(String integration, IntegrationGuard.Call<T, E> call,
+            IntegrationGuard.Retry retry) throws E {
+        return guard(integration).execute(call, retry);
+    }
+
+    /** As {@link #call(String, IntegrationGuard.Call, IntegrationGuard.Retry)}, with {@code answered} marking the remote's error replies. */
+    public <T, E extends Exception> T call(String integration, IntegrationGuard.Call<T, E> call,
+            IntegrationGuard.Retry retry, Predicate<? super Exception> answered) throws E {
+        return guard(integration).execute(call, retry, result -> false, answered);
+    }
+
+    @PreDestroy
+    public void close() {
+        clients.values().forEach(HttpClient::close);
+    }
+}
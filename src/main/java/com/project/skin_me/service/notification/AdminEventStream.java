@@ -0,0 +1,200 @@
+package com.project.skin_me.service.notification;
+
+import com.project.skin_me.dto.AdminEventFrameDto;
+import com.project.skin_me.dto.NotificationDto;
+import com.project.skin_me.enums.AdminEventKind;
+import com.project.skin_me.enums.NotificationAudience;
+import com.project.skin_me.model.SharedNotification;
+import com.project.skin_me.repository.SharedNotificationRepository;
+import com.project.skin_me.repository.UserRepository;
+import com.project.skin_me.service.websocket.StompDestinations;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Admin alerts as the {@link NotificationAudience#ADMIN} audience of the {@link SharedNotificationLog},
+ * plus a live stream.
+ * <p>
+ * Each alert is stored once for all admins; an admin's unread alerts are those above their read
+ * cursor. In memory the stream keeps a rolling snapshot (today's count per kind and the last
+ * {@code app.admin.events.snapshot-size} events). New events are buffered and sent to {@link StompDestinations#ADMIN_EVENTS} as one
+ * DELTA frame per {@code app.admin.events.flush-ms}; subscribing to {@code /app/admin/events}
+ * (again after every reconnect) returns the SNAPSHOT frame.
+ * <p>
+ * The snapshot is per node: in a multi-node deployment a node's counts and recent list only
+ * include events recorded on it since startup, on top of what it loaded from the log.
+ */
+@Slf4j
+@Service
+public class AdminEventStream {
+
+    private final SharedNotificationLog notificationLog;
+    private final SharedNotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.admin.events.snapshot-size:50}")
+    private int snapshotSize;
+
+    /** Guarded by {@code this}. */
+    private final Deque<NotificationDto> recent = new ArrayDeque<>();
+    private final Map<AdminEventKind, Long> counts = new EnumMap<>(AdminEventKind.class);
+    private LocalDate countsDay = LocalDate.now();
+    private long sequence;
+    private List<NotificationDto> pending = new ArrayList<>();
+
+    public AdminEventStream(SharedNotificationLog notificationLog, SharedNotificationRepository notificationRepository,
+            UserRepository userRepository, SimpMessagingTemplate messagingTemplate, MeterRegistry meterRegistry) {
+        this.notificationLog = notificationLog;
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Seeds the snapshot from the log. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<SharedNotification> latest = notificationRepository.findByAudienceOrderBySequenceDesc(
+                NotificationAudience.ADMIN, PageRequest.of(0, Math.max(snapshotSize, 1)));
+        List<Object[]> today = notificationRepository.countByKindSince(
+                NotificationAudience.ADMIN, LocalDate.now().atStartOfDay());
+        synchronized (this) {
+            recent.clear();
+            for (int i = latest.size() - 1; i >= 0; i--) {
+                recent.addLast(SharedNotificationLog.toDto(latest.get(i), null));
+            }
+            sequence = latest.isEmpty() ? 0 : latest.get(0).getSequence();
+            counts.clear();
+            countsDay = LocalDate.now();
+            for (Object[] row : today) {
+                counts.put((AdminEventKind) row[0], (Long) row[1]);
+            }
+        }
+        log.info("Admin event stream loaded: {} recent events, sequence {}", latest.size(), sequence);
+    }
+
+    /**
+     * Appends an event to the log once the caller's transaction commits (at once outside one), in a
+     * short transaction of its own, then adds it to the snapshot and the stream. The caller's
+     * transaction never waits on the log's head row, and rolled-back work leaves no alert.
+     * {@code kind} may be null for alerts outside the per-kind counts.
+     */
+    public void record(AdminEventKind kind, String type, String title, String message, String actionUrl) {
+        Runnable task = () -> {
+            try {
+                SharedNotification event = notificationLog.append(NotificationAudience.ADMIN, kind, type, title,
+                        message, actionUrl);
+                meterRegistry.counter("skinme.admin.events", "kind", kind != null ? kind.name() : "OTHER").increment();
+                append(kind, SharedNotificationLog.toDto(event, null));
+            } catch (Exception e) {
+                log.warn("Admin event '{}' not recorded: {}", title, e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    private synchronized void append(AdminEventKind kind, NotificationDto dto) {
+        rollDay();
+        if (kind != null) {
+            counts.merge(kind, 1L, Long::sum);
+        }
+        recent.addLast(dto);
+        while (recent.size() > Math.max(snapshotSize, 1)) {
+            recent.removeFirst();
+        }
+        sequence = Math.max(sequence, eventSequence(dto.getId()));
+        pending.add(dto);
+    }
+
+    @Scheduled(fixedDelayString = "${app.admin.events.flush-ms:500}")
+    public void flush() {
+        AdminEventFrameDto frame;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<NotificationDto> events = pending;
+            pending = new ArrayList<>();
+            // after-commit callbacks of concurrent transactions can arrive out of sequence order
+            events.sort(Comparator.comparingLong(e -> eventSequence(e.getId())));
+            frame = frame("DELTA", events, null);
+        }
+        try {
+            messagingTemplate.convertAndSend(StompDestinations.ADMIN_EVENTS, frame);
+        } catch (Exception e) {
+            log.warn("Admin event delta ({} events) not sent: {}", frame.getEvents().size(), e.getMessage());
+        }
+    }
+
+    /** SNAPSHOT frame for an admin (re)subscribing, identified by principal name (e-mail). */
+    @Transactional(readOnly = true)
+    public AdminEventFrameDto snapshotFor(String principalName) {
+        Long unread = userRepository.findByEmail(principalName)
+                .map(user -> notificationLog.unreadCount(user.getId(), NotificationAudience.ADMIN))
+                .orElse(null);
+        synchronized (this) {
+            rollDay();
+            return frame("SNAPSHOT", new ArrayList<>(recent), unread);
+        }
+    }
+
+    private static long eventSequence(String id) {
+        return SharedNotificationLog.parseId(id).sequence();
+    }
+
+    private void rollDay() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(countsDay)) {
+            counts.clear();
+            countsDay = today;
+        }
+    }
+
+    private AdminEventFrameDto frame(String type, List<NotificationDto> events, Long unread) {
+        Map<String, Long> byKind = new LinkedHashMap<>();
+        for (AdminEventKind kind : AdminEventKind.values()) {
+            byKind.put(kind.name(), counts.getOrDefault(kind, 0L));
+        }
+        return AdminEventFrameDto.builder()
+                .frameType(type)
+                .sequence(sequence)
+                .timestamp(LocalDateTime.now())
+                .counts(byKind)
+                .events(events)
+                .unreadCount(unread)
+                .build();
+    }
+}
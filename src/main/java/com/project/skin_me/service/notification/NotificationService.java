@@ -1,22 +1,34 @@
 package com.project.skin_me.service.notification;
 
 import com.project.skin_me.dto.NotificationDto;
+import com.project.skin_me.enums.AdminEventKind;
+import com.project.skin_me.enums.NotificationAudience;
+import com.project.skin_me.enums.NotificationStatus;
 import com.project.skin_me.model.Notification;
 import com.project.skin_me.model.Order;
+import com.project.skin_me.model.SharedNotification;
 import com.project.skin_me.model.User;
 import com.project.skin_me.repository.NotificationRepository;
 import com.project.skin_me.repository.OrderRepository;
 import com.project.skin_me.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 import java.util.regex.Matcher;
@@ -36,6 +48,10 @@ public class NotificationService {
     private final UserRepository userRepository;
     private final OrderRepository orderRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final MeterRegistry meterRegistry;
+    private final AdminEventStream adminEventStream;
+    private final SharedNotificationLog sharedNotificationLog;
+    private final UnreadCountService unreadCountService;
 
     /**
      * Persist notification and send to user via WebSocket (using principal name =
@@ -52,13 +68,15 @@ public class NotificationService {
         n.setTitle(title);
         n.setMessage(message);
         n.setType(type != null ? type : "INFO");
-        n.setStatus("UNREAD");
+        n.setStatus(NotificationStatus.UNREAD);
         n.setActionUrl(normalizeActionUrlForWebApp(actionUrl));
         n.setCreatedAt(LocalDateTime.now());
         n = notificationRepository.save(n);
+        unreadCountService.created(user);
 
         NotificationDto dto = toDto(n);
         sendToPrincipal(user.getEmail(), dto);
+        meterRegistry.counter("skinme.notifications.created", "type", n.getType()).increment();
     }
 
     private void sendToPrincipal(String principalName, NotificationDto dto) {
@@ -112,17 +130,43 @@ public class NotificationService {
     }
 
     /**
-     * Broadcast notification to all users (no persistence).
+     * Broadcast notification to all users.
      */
     public void broadcastNotification(String title, String message, String type) {
-        NotificationDto notification = NotificationDto.builder()
-                .title(title)
-                .message(message)
-                .type(type)
-                .build();
-        notification.setId(UUID.randomUUID().toString());
-        notification.setCreatedAt(LocalDateTime.now());
-        messagingTemplate.convertAndSend("/topic/notifications", notification);
+        broadcastNotification(NotificationAudience.ALL, title, message, type);
+    }
+
+    /**
+     * Broadcast notification stored once in the shared log for {@code audience}; each user's read
+     * cursor tracks what they have seen. Admin broadcasts go out on the admin event stream, the
+     * others on {@code /topic/notifications}; both are appended after commit.
+     */
+    @Transactional
+    public void broadcastNotification(NotificationAudience audience, String title, String message, String type) {
+        meterRegistry.counter("skinme.notifications.broadcast", "audience", audience.name()).increment();
+        if (audience == NotificationAudience.ADMIN) {
+            adminEventStream.record(null, type, title, message, null);
+            return;
+        }
+        // Appended in its own transaction after the caller commits, like admin events
+        Runnable task = () -> {
+            try {
+                SharedNotification entry = sharedNotificationLog.append(audience, null, type, title, message, null);
+                messagingTemplate.convertAndSend("/topic/notifications", SharedNotificationLog.toDto(entry, null));
+            } catch (Exception e) {
+                log.warn("Broadcast '{}' not recorded: {}", title, e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
     }
 
     public void notifyOrderStatusChange(String userId, String orderId, String status) {
@@ -145,69 +189,38 @@ public class NotificationService {
     }
 
     /**
-     * In-app + WebSocket notification for admins when a POS sale is completed (after payment is processed).
+     * Admin alert (shared event log + admin event stream) when a POS sale is completed (after payment is processed).
      */
     @Transactional
     public void notifyAdminsPosSaleCompleted(Long orderId, BigDecimal totalAmount, String paymentMethod) {
-        List<User> admins = userRepository.findAllByRoleName("ROLE_ADMIN");
-        if (admins.isEmpty()) {
-            return;
-        }
         String amt = totalAmount != null ? "$" + totalAmount.stripTrailingZeros().toPlainString() : "N/A";
         String method = (paymentMethod != null && !paymentMethod.isBlank()) ? paymentMethod : "POS";
         String message = "POS sale #" + orderId + " · " + amt + " · " + method;
-        String actionUrl = "/views/orders/" + orderId;
-        for (User admin : admins) {
-            try {
-                createAndNotifyUser(admin.getId(), "POS sale completed", message, "ORDER", actionUrl);
-            } catch (Exception e) {
-                log.warn("Could not notify admin {} of POS sale {}: {}", admin.getId(), orderId, e.getMessage());
-            }
-        }
+        adminEventStream.record(AdminEventKind.POS_SALE, "ORDER", "POS sale completed", message,
+                "/views/orders/" + orderId);
     }
 
     /**
-     * In-app + WebSocket popup for each admin when a NEW order is placed (before payment).
+     * Admin alert when a NEW order is placed (before payment).
      */
     @Transactional
     public void notifyAdminsNewOrder(Long orderId, String customerEmail, BigDecimal totalAmount) {
-        List<User> admins = userRepository.findAllByRoleName("ROLE_ADMIN");
-        if (admins.isEmpty()) {
-            return;
-        }
         String amt = totalAmount != null ? "$" + totalAmount.stripTrailingZeros().toPlainString() : "N/A";
         String who = (customerEmail != null && !customerEmail.isBlank()) ? customerEmail : "Customer";
         String message = "New order #" + orderId + " · " + who + " · " + amt;
-        String actionUrl = "/views/orders/" + orderId;
-        for (User admin : admins) {
-            try {
-                createAndNotifyUser(admin.getId(), "New order received", message, "ORDER", actionUrl);
-            } catch (Exception e) {
-                log.warn("Could not notify admin {} of new order {}: {}", admin.getId(), orderId, e.getMessage());
-            }
-        }
+        adminEventStream.record(AdminEventKind.NEW_ORDER, "ORDER", "New order received", message,
+                "/views/orders/" + orderId);
     }
 
     /**
-     * In-app notification for each admin when an order is paid (bell panel + persisted).
+     * Admin alert when an order is paid.
      */
     @Transactional
     public void notifyAdminsOrderPaid(Long orderId, String customerEmail, BigDecimal totalAmount) {
-        List<User> admins = userRepository.findAllByRoleName("ROLE_ADMIN");
-        if (admins.isEmpty()) {
-            return;
-        }
         String amt = totalAmount != null ? "$" + totalAmount.stripTrailingZeros().toPlainString() : "N/A";
         String who = (customerEmail != null && !customerEmail.isBlank()) ? customerEmail : "Customer";
         String message = "Order #" + orderId + " · " + who + " · " + amt;
-        String actionUrl = "/views/orders";
-        for (User admin : admins) {
-            try {
-                createAndNotifyUser(admin.getId(), "Payment received", message, "ORDER", actionUrl);
-            } catch (Exception e) {
-                log.warn("Could not notify admin {} of paid order {}: {}", admin.getId(), orderId, e.getMessage());
-            }
-        }
+        adminEventStream.record(AdminEventKind.ORDER_PAID, "ORDER", "Payment received", message, "/views/orders");
     }
 
     /**
@@ -215,34 +228,19 @@ public class NotificationService {
      */
     @Transactional
     public void notifyAdminsNewUserRegistered(String email, String displayName, Long userId) {
-        List<User> admins = userRepository.findAllByRoleName("ROLE_ADMIN");
-        if (admins.isEmpty()) {
-            return;
-        }
         String who = (displayName != null && !displayName.isBlank()) ? displayName.trim()
                 : ((email != null && !email.isBlank()) ? email : "New user");
         String msg = (email != null && !email.isBlank()) ? who + " · " + email : who;
         String actionUrl = userId != null ? "/views/users/" + userId : "/views/users";
-        for (User admin : admins) {
-            try {
-                createAndNotifyUser(admin.getId(), "New user registered", msg, "USER", actionUrl);
-            } catch (Exception e) {
-                log.warn("Could not notify admin {} of new user: {}", admin.getId(), e.getMessage());
-            }
-        }
+        adminEventStream.record(AdminEventKind.NEW_USER, "USER", "New user registered", msg, actionUrl);
     }
 
     /**
-     * Persist a notification per admin and push each over {@code /user/topic/notifications} so the bell panel,
-     * badge, and toast show product name, rating, comment, and reviewer.
+     * Admin alert for a new product review, with product name, rating, comment, and reviewer.
      */
     @Transactional
     public void notifyAdminsNewProductFeedback(String productName, BigDecimal rating,
             String comment, String reviewerEmail) {
-        List<User> admins = userRepository.findAllByRoleName("ROLE_ADMIN");
-        if (admins.isEmpty()) {
-            return;
-        }
         String r = rating != null ? rating.stripTrailingZeros().toPlainString() : "?";
         String commentPart = (comment != null && !comment.isBlank()) ? comment.trim() : "(no comment)";
         if (commentPart.length() > 400) {
@@ -251,43 +249,32 @@ public class NotificationService {
         String reviewer = (reviewerEmail != null && !reviewerEmail.isBlank()) ? reviewerEmail : "Customer";
         String pname = (productName != null && !productName.isBlank()) ? productName : "Product";
         String message = pname + " · " + r + "★ — " + commentPart + " · " + reviewer;
-        String title = "New product review";
-        String actionUrl = "/views/user-feedback";
-        for (User admin : admins) {
-            try {
-                createAndNotifyUser(admin.getId(), title, message, "FEEDBACK", actionUrl);
-            } catch (Exception e) {
-                log.warn("Could not notify admin {} of new product feedback: {}", admin.getId(), e.getMessage());
-            }
-        }
+        adminEventStream.record(AdminEventKind.PRODUCT_FEEDBACK, "FEEDBACK", "New product review", message,
+                "/views/user-feedback");
     }
 
     /**
-     * Ensures the user has a notification for each of their existing orders
-     * (backfill for orders
-     * created before notifications were implemented, or missed events).
+     * One batch of the order notification backfill: gives the owner of each order that has no
+     * notification linking to it (orders placed before notifications existed) one "Order #id"
+     * notification. Returns the number written; fewer than {@code batchSize} means none are left.
      */
     @Transactional
-    public void ensureOrderNotificationsForUser(User user) {
-        List<Order> orders = orderRepository.findByUserId(user.getId());
+    public int backfillOrderNotifications(int batchSize) {
+        List<Order> orders = orderRepository.findWithoutOwnerNotification(PageRequest.of(0, Math.max(batchSize, 1)));
         for (Order order : orders) {
-            String actionUrl = "/view/orders/" + order.getOrderId();
-            if (notificationRepository.existsByUserAndActionUrl(user, actionUrl))
-                continue;
             String statusStr = order.getOrderStatus() != null ? order.getOrderStatus().name() : "CREATED";
-            String title = "Order #" + order.getOrderId();
-            String message = "Order #" + order.getOrderId() + " – " + statusStr
-                    + (order.getOrderTotalAmount() != null ? " · $" + order.getOrderTotalAmount() : "");
             Notification n = new Notification();
-            n.setUser(user);
-            n.setTitle(title);
-            n.setMessage(message);
+            n.setUser(order.getUser());
+            n.setTitle("Order #" + order.getOrderId());
+            n.setMessage("Order #" + order.getOrderId() + " – " + statusStr
+                    + (order.getOrderTotalAmount() != null ? " · $" + order.getOrderTotalAmount() : ""));
             n.setType("ORDER");
-            n.setStatus("UNREAD");
-            n.setActionUrl(actionUrl);
-            n.setCreatedAt(LocalDateTime.now());
+            n.setStatus(NotificationStatus.UNREAD);
+            n.setActionUrl("/view/orders/" + order.getOrderId());
+            n.setCreatedAt(order.getOrderDate() != null ? order.getOrderDate().atStartOfDay() : LocalDateTime.now());
             notificationRepository.save(n);
         }
+        return orders.size();
     }
 
     @Transactional(readOnly = true)
@@ -295,23 +282,64 @@ public class NotificationService {
         return notificationRepository.findByUserOrderByCreatedAtDesc(user, pageable);
     }
 
+    /**
+     * Bell panel page: the user's own notifications merged by date with the shared entries of each
+     * audience they belong to. Every source is read newest first up to the end of the requested
+     * page, by index and without counts, so the cost depends on the page and not on the history.
+     */
+    @Transactional(readOnly = true)
+    public Slice<NotificationDto> findInbox(User user, Pageable pageable) {
+        int window = (int) pageable.getOffset() + pageable.getPageSize() + 1;
+        List<NotificationDto> merged = new ArrayList<>();
+        notificationRepository.findRecentByUser(user, PageRequest.of(0, window)).forEach(n -> merged.add(toDto(n)));
+        for (NotificationAudience audience : SharedNotificationLog.audiencesFor(user)) {
+            merged.addAll(sharedNotificationLog.latest(user.getId(), audience, window));
+        }
+        merged.sort(Comparator.comparing(NotificationDto::getCreatedAt,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(from + pageable.getPageSize(), merged.size());
+        return new SliceImpl<>(new ArrayList<>(merged.subList(from, to)), pageable, merged.size() > to);
+    }
+
+    /** Badge count, from {@link UnreadCountService}'s cached counter. */
     public long countUnreadByUser(User user) {
-        return notificationRepository.countByUserAndStatus(user, "UNREAD");
+        return unreadCountService.unreadCount(user);
     }
 
     @Transactional
     public void markAsRead(Long notificationId, User user) {
         notificationRepository.findById(notificationId).ifPresent(n -> {
-            if (n.getUser().getId().equals(user.getId())) {
-                n.setStatus("READ");
+            if (n.getUser().getId().equals(user.getId()) && n.getStatus() == NotificationStatus.UNREAD) {
+                n.setStatus(NotificationStatus.READ);
                 notificationRepository.save(n);
+                unreadCountService.read(user, 1);
             }
         });
     }
 
+    /**
+     * Marks a bell-panel item read: a notification id, or a shared entry id ({@code admin-<n>},
+     * {@code all-<n>}), which moves the user's cursor so that entry and older ones are read.
+     */
+    @Transactional
+    public void markAsRead(String id, User user) {
+        SharedNotificationLog.Ref ref = SharedNotificationLog.parseId(id);
+        if (ref == null) {
+            markAsRead(Long.valueOf(id), user);
+        } else if (SharedNotificationLog.audiencesFor(user).contains(ref.audience())) {
+            sharedNotificationLog.markRead(user.getId(), ref.audience(), ref.sequence());
+            unreadCountService.sharedRead(user);
+        }
+    }
+
     @Transactional
     public void markAllAsRead(User user) {
-        notificationRepository.markAllByUserAndStatus(user, "UNREAD", "READ");
+        notificationRepository.markAllByUserAndStatus(user, NotificationStatus.UNREAD, NotificationStatus.READ);
+        for (NotificationAudience audience : SharedNotificationLog.audiencesFor(user)) {
+            sharedNotificationLog.markAllRead(user.getId(), audience);
+        }
+        unreadCountService.allRead(user);
     }
 
     public static NotificationDto toDto(Notification n) {
@@ -321,7 +349,7 @@ public class NotificationService {
                 .title(n.getTitle())
                 .message(n.getMessage())
                 .type(n.getType())
-                .status(n.getStatus())
+                .status(n.getStatus() != null ? n.getStatus().name() : null)
                 .createdAt(n.getCreatedAt())
                 .actionUrl(normalizeActionUrlForWebApp(n.getActionUrl()))
                 .build();
@@ -0,0 +1,220 @@
+package com.project.skin_me.service.notification;
+
+import com.project.skin_me.dto.NotificationDto;
+import com.project.skin_me.enums.AdminEventKind;
+import com.project.skin_me.enums.NotificationAudience;
+import com.project.skin_me.model.NotificationCursor;
+import com.project.skin_me.model.NotificationSequence;
+import com.project.skin_me.model.SharedNotification;
+import com.project.skin_me.model.User;
+import com.project.skin_me.repository.NotificationCursorRepository;
+import com.project.skin_me.repository.NotificationSequenceRepository;
+import com.project.skin_me.repository.SharedNotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Notifications stored once per audience, read through per-user watermarks.
+ * <p>
+ * Appending takes the audience's {@link NotificationSequence} row under a write lock and gives the
+ * entry the next sequence, so sequences have no gaps. The append runs in a transaction of its own,
+ * which callers start after their own work commits, so the lock is held for one insert and never
+ * across a checkout. A user's unread count is then the head sequence minus their
+ * {@link NotificationCursor}: two primary-key reads, whatever the size of the log. Marking an entry
+ * read moves the cursor up to it, so it and everything older count as read. A user without a
+ * cursor gets one at the current head when first seen, so history from before they arrived is
+ * not unread.
+ * <p>
+ * Bell-panel ids are {@code <audience>-<sequence>}, e.g. {@code admin-42} or {@code all-7}.
+ */
+@Slf4j
+@Service
+public class SharedNotificationLog {
+
+    private final SharedNotificationRepository notificationRepository;
+    private final NotificationSequenceRepository sequenceRepository;
+    private final NotificationCursorRepository cursorRepository;
+
+    private final TransactionTemplate cursorTransaction;
+
+    public SharedNotificationLog(SharedNotificationRepository notificationRepository,
+            NotificationSequenceRepository sequenceRepository, NotificationCursorRepository cursorRepository,
+            PlatformTransactionManager transactionManager) {
+        this.notificationRepository = notificationRepository;
+        this.sequenceRepository = sequenceRepository;
+        this.cursorRepository = cursorRepository;
+        // First-seen cursors are written from read-only callers, so they get a transaction of their own
+        this.cursorTransaction = new TransactionTemplate(transactionManager);
+        this.cursorTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** A bell-panel id resolved to its audience and sequence. */
+    public record Ref(NotificationAudience audience, long sequence) {
+    }
+
+    /** Creates the head row of each audience, so appends only ever lock an existing row. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void ensureSequences() {
+        for (NotificationAudience audience : NotificationAudience.values()) {
+            if (!sequenceRepository.existsById(audience)) {
+                try {
+                    NotificationSequence head = new NotificationSequence();
+                    head.setAudience(audience);
+                    sequenceRepository.saveAndFlush(head);
+                } catch (Exception e) {
+                    // another node created it first
+                    log.debug("Notification sequence for {} not created: {}", audience, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends an entry in a new transaction; the head row stays locked only until it commits. Call
+     * it after the triggering transaction commits (see {@link AdminEventStream#record}).
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public SharedNotification append(NotificationAudience audience, AdminEventKind kind, String type,
+            String title, String message, String actionUrl) {
+        NotificationSequence head = sequenceRepository.lockByAudience(audience).orElseGet(() -> {
+            NotificationSequence created = new NotificationSequence();
+            created.setAudience(audience);
+            return created;
+        });
+        head.setLastSequence(head.getLastSequence() + 1);
+        sequenceRepository.save(head);
+
+        SharedNotification entry = new SharedNotification();
+        entry.setAudience(audience);
+        entry.setSequence(head.getLastSequence());
+        entry.setKind(kind);
+        entry.setType(type != null ? type : "INFO");
+        entry.setTitle(title);
+        entry.setMessage(message);
+        entry.setActionUrl(NotificationService.normalizeActionUrlForWebApp(actionUrl));
+        entry.setCreatedAt(LocalDateTime.now());
+        return notificationRepository.save(entry);
+    }
+
+    @Transactional(readOnly = true)
+    public long head(NotificationAudience audience) {
+        return sequenceRepository.findById(audience).map(NotificationSequence::getLastSequence).orElse(0L);
+    }
+
+    @Transactional(readOnly = true)
+    public long unreadCount(Long userId, NotificationAudience audience) {
+        return Math.max(0, head(audience) - lastRead(userId, audience));
+    }
+
+    /** Newest first, with READ/UNREAD from the user's cursor. */
+    @Transactional(readOnly = true)
+    public List<NotificationDto> latest(Long userId, NotificationAudience audience, int limit) {
+        long cursor = lastRead(userId, audience);
+        List<NotificationDto> entries = new ArrayList<>();
+        for (SharedNotification entry : notificationRepository.findByAudienceOrderBySequenceDesc(
+                audience, PageRequest.of(0, Math.max(limit, 1)))) {
+            entries.add(toDto(entry, cursor));
+        }
+        return entries;
+    }
+
+    /** Moves the user's cursor up to {@code sequence}; never moves it back. */
+    @Transactional
+    public void markRead(Long userId, NotificationAudience audience, long sequence) {
+        NotificationCursor cursor = cursorRepository.findById(new NotificationCursor.Key(userId, audience))
+                .orElseGet(() -> {
+                    NotificationCursor c = new NotificationCursor();
+                    c.setUserId(userId);
+                    c.setAudience(audience);
+                    return c;
+                });
+        long target = Math.min(sequence, head(audience));
+        if (target > cursor.getLastReadSequence()) {
+            cursor.setLastReadSequence(target);
+            cursor.setUpdatedAt(LocalDateTime.now());
+            cursorRepository.save(cursor);
+        }
+    }
+
+    @Transactional
+    public void markAllRead(Long userId, NotificationAudience audience) {
+        markRead(userId, audience, head(audience));
+    }
+
+    /** Shared audiences whose entries appear in this user's bell panel. */
+    public static List<NotificationAudience> audiencesFor(User user) {
+        boolean admin = user.getRoles() != null && user.getRoles().stream()
+                .anyMatch(role -> "ROLE_ADMIN".equalsIgnoreCase(role.getName()));
+        return admin ? List.of(NotificationAudience.ALL, NotificationAudience.ADMIN) : List.of(NotificationAudience.ALL);
+    }
+
+    public static String id(NotificationAudience audience, long sequence) {
+        return audience.name().toLowerCase(Locale.ROOT) + "-" + sequence;
+    }
+
+    /** The entry behind a bell-panel id such as {@code admin-42}, or {@code null} for other ids. */
+    public static Ref parseId(String id) {
+        if (id == null) {
+            return null;
+        }
+        int dash = id.indexOf('-');
+        if (dash <= 0) {
+            return null;
+        }
+        for (NotificationAudience audience : NotificationAudience.values()) {
+            if (audience.name().equalsIgnoreCase(id.substring(0, dash))) {
+                return new Ref(audience, Long.parseLong(id.substring(dash + 1)));
+            }
+        }
+        return null;
+    }
+
+    /** {@code cursor == null}: status UNREAD (live frames; each client tracks its own reads). */
+    public static NotificationDto toDto(SharedNotification entry, Long cursor) {
+        return NotificationDto.builder()
+                .id(id(entry.getAudience(), entry.getSequence()))
+                .title(entry.getTitle())
+                .message(entry.getMessage())
+                .type(entry.getType())
+                .status(cursor == null || entry.getSequence() > cursor ? "UNREAD" : "READ")
+                .createdAt(entry.getCreatedAt())
+                .actionUrl(entry.getActionUrl())
+                .build();
+    }
+
+    private long lastRead(Long userId, NotificationAudience audience) {
+        return cursorRepository.findById(new NotificationCursor.Key(userId, audience))
+                .map(NotificationCursor::getLastReadSequence)
+                .orElseGet(() -> startCursor(userId, audience));
+    }
+
+    /** First sight of the user in this audience: everything already in the log counts as read. */
+    private long startCursor(Long userId, NotificationAudience audience) {
+        long head = head(audience);
+        try {
+            cursorTransaction.executeWithoutResult(status ->
+                    cursorRepository.insert(userId, audience.name(), head, LocalDateTime.now()));
+        } catch (Exception e) {
+            // another request created it first
+            log.debug("Notification cursor for user {} in {} not created: {}", userId, audience, e.getMessage());
+        }
+        return head;
+    }
+}
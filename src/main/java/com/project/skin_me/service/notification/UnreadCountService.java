@@ -0,0 +1,143 @@
+package com.project.skin_me.service.notification;
+
+import com.project.skin_me.enums.NotificationAudience;
+import com.project.skin_me.enums.NotificationStatus;
+import com.project.skin_me.model.User;
+import com.project.skin_me.repository.NotificationRepository;
+import com.project.skin_me.service.websocket.StompDestinations;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Unread counts for the notification badge.
+ * <p>
+ * A user's personal unread count is cached in memory once read and then moved by the writes
+ * (create, mark read, mark all read) instead of being counted again. An entry older than
+ * {@code app.notifications.unread.reconcile-ms} is recounted from the database on its next read,
+ * which also corrects drift: writes on other nodes, or a write that raced a recount. Shared
+ * notifications add head-minus-cursor per audience ({@link SharedNotificationLog}).
+ * <p>
+ * Every change is pushed to the user as {@code {"unreadCount": n}} on
+ * {@link StompDestinations#USER_UNREAD}, so open tabs do not need to poll.
+ */
+@Slf4j
+@Service
+public class UnreadCountService {
+
+    private final NotificationRepository notificationRepository;
+    private final SharedNotificationLog sharedNotificationLog;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Counter reloads;
+
+    @Value("${app.notifications.unread.reconcile-ms:300000}")
+    private long reconcileMs;
+
+    private final Map<Long, Entry> counters = new ConcurrentHashMap<>();
+
+    private record Entry(long count, long loadedAt) {
+    }
+
+    public UnreadCountService(NotificationRepository notificationRepository,
+            SharedNotificationLog sharedNotificationLog, SimpMessagingTemplate messagingTemplate,
+            MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.sharedNotificationLog = sharedNotificationLog;
+        this.messagingTemplate = messagingTemplate;
+        this.reloads = Counter.builder("skinme.notifications.unread.reloads")
+                .description("Unread counts recounted from the database (first read or reconcile)")
+                .register(meterRegistry);
+        Gauge.builder("skinme.notifications.unread.cached", counters, Map::size)
+                .description("Users with a cached unread count")
+                .register(meterRegistry);
+    }
+
+    /** Badge count: personal unread plus unread shared entries of the user's audiences. */
+    public long unreadCount(User user) {
+        long unread = personalUnread(user.getId());
+        for (NotificationAudience audience : SharedNotificationLog.audiencesFor(user)) {
+            unread += sharedNotificationLog.unreadCount(user.getId(), audience);
+        }
+        return unread;
+    }
+
+    /** A personal notification was created for the user (applied after commit). */
+    public void created(User user) {
+        afterCommit(() -> adjust(user, 1));
+    }
+
+    /** {@code count} personal notifications went from unread to read (applied after commit). */
+    public void read(User user, int count) {
+        afterCommit(() -> adjust(user, -count));
+    }
+
+    /** All personal notifications are read (applied after commit). */
+    public void allRead(User user) {
+        afterCommit(() -> {
+            counters.put(user.getId(), new Entry(0, System.currentTimeMillis()));
+            push(user);
+        });
+    }
+
+    /** A shared read cursor moved: only the pushed total changes (sent after commit). */
+    public void sharedRead(User user) {
+        afterCommit(() -> push(user));
+    }
+
+    /** Drops entries past the reconcile age, so the map only holds recently active users. */
+    @Scheduled(fixedDelayString = "${app.notifications.unread.reconcile-ms:300000}")
+    public void evictStale() {
+        long cutoff = System.currentTimeMillis() - reconcileMs;
+        counters.values().removeIf(e -> e.loadedAt() < cutoff);
+    }
+
+    private long personalUnread(Long userId) {
+        Entry entry = counters.get(userId);
+        if (entry != null && System.currentTimeMillis() - entry.loadedAt() < reconcileMs) {
+            return entry.count();
+        }
+        long count = notificationRepository.countByUser_IdAndStatus(userId, NotificationStatus.UNREAD);
+        counters.put(userId, new Entry(count, System.currentTimeMillis()));
+        reloads.increment();
+        return count;
+    }
+
+    private void adjust(User user, long delta) {
+        // users without an entry are counted from the database on their next read
+        counters.computeIfPresent(user.getId(),
+                (id, e) -> new Entry(Math.max(0, e.count() + delta), e.loadedAt()));
+        push(user);
+    }
+
+    private void push(User user) {
+        try {
+            messagingTemplate.convertAndSendToUser(user.getEmail(), StompDestinations.USER_UNREAD,
+                    Map.of("unreadCount", unreadCount(user)));
+        } catch (Exception e) {
+            log.debug("Unread count for user {} not pushed: {}", user.getId(), e.getMessage());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -15,9 +15,9 @@ public interface IOrderService {
     Order getOrderById(Long orderId);
     List<OrderDto> getUserOrders(Long userId);
     List<OrderDto> getAllUserOrders();
-    /** Paginated: only fetches the requested page from DB. */
+    /** Paginated from the order_summary read model: one indexed query per page, no joins. */
     Page<OrderDto> getAllUserOrders(Pageable pageable);
-    /** Paginated: only fetches the requested page from DB for the user. */
+    /** Paginated from the order_summary read model for the user. */
     Page<OrderDto> getUserOrders(Long userId, Pageable pageable);
     OrderDto convertToDto(Order order);
     void updateOrder(Order order);
@@ -5,24 +5,35 @@ import com.project.skin_me.dto.OrderItemDto;
 import com.project.skin_me.dto.RealTimeUpdateDto;
 import com.project.skin_me.enums.LogisticCompany;
 import com.project.skin_me.enums.OrderStatus;
+import com.project.skin_me.event.OrderPlacedEvent;
+import com.project.skin_me.event.OrderStatusChangedEvent;
+import com.project.skin_me.event.OrderUpdatedEvent;
 import com.project.skin_me.exception.ResourceNotFoundException;
 import com.project.skin_me.model.*;
 import com.project.skin_me.repository.OrderRepository;
+import com.project.skin_me.repository.OrderSummaryRepository;
 import com.project.skin_me.repository.PaymentRepository;
 import com.project.skin_me.repository.ProductRepository;
 import com.project.skin_me.enums.ActivityType;
 import com.project.skin_me.model.Activity;
 import com.project.skin_me.repository.ActivityRepository;
+import com.project.skin_me.service.cart.ICartItemService;
 import com.project.skin_me.service.cart.ICartService;
 import com.project.skin_me.service.notification.NotificationService;
 import com.project.skin_me.service.payment.IBakongKhqrService;
 import com.project.skin_me.service.popularProduct.IPopularProductService;
 import com.project.skin_me.service.telegram.TelegramNotificationService;
+import com.project.skin_me.service.websocket.OrderFeedPublisher;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -38,26 +49,38 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderService implements IOrderService {
 
+    private static final TypeReference<List<OrderItemDto>> ORDER_ITEMS_TYPE = new TypeReference<>() {
+    };
+
     private final OrderRepository orderRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final OrderSummaryReadiness summaryReadiness;
+    private final ObjectMapper objectMapper;
     private final ProductRepository productRepository;
     private final PaymentRepository paymentRepository;
     private final ICartService cartService;
+    private final ICartItemService cartItemService;
     private final IPopularProductService popularProductService;
     private final NotificationService notificationService;
     private final TelegramNotificationService telegramNotificationService;
     private final IBakongKhqrService bakongKhqrService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final OrderFeedPublisher orderFeedPublisher;
     private final ActivityRepository activityRepository;
     private final DeliveryFeeService deliveryFeeService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
+    @Timed(value = "skinme.order.place", description = "Cart checkout into an order", histogram = true)
     public Order placeOrderItem(Long userId) {
         Cart cart = cartService.getCartByUserId(userId);
+        // Lines keep the price from their last edit; charge current prices and promotions
+        cartItemService.repriceCart(cart);
         Order order = createOrder(cart);
 
         List<OrderItem> orderItemList = createOrderItems(order, cart);
@@ -68,6 +91,8 @@ public class OrderService implements IOrderService {
         order.setDeliveryFeeAmount(deliveryFee);
         order.setOrderTotalAmount(itemsSubtotal.add(deliveryFee));
         Order savedOrder = orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderPlacedEvent(this, savedOrder.getId(), userId,
+                savedOrder.getOrderDate(), savedOrder.getOrderTotalAmount(), false));
 
         // Send WebSocket notification for order creation (persisted + user notification
         // panel)
@@ -97,10 +122,10 @@ public class OrderService implements IOrderService {
                             "status", savedOrder.getOrderStatus().toString(),
                             "totalAmount", savedOrder.getOrderTotalAmount()))
                     .build();
-            messagingTemplate.convertAndSend("/topic/orders", update);
+            orderFeedPublisher.publish(update, savedOrder.getUser());
         } catch (Exception e) {
             // Log but don't fail the order creation
-            System.err.println("Failed to send order notification: " + e.getMessage());
+            log.warn("Failed to send order notification: {}", e.getMessage());
         }
 
         // Telegram alert: new order (default chat + owner chat if set on KHQR account)
@@ -110,7 +135,7 @@ public class OrderService implements IOrderService {
             String ownerChatId = bakongKhqrService.getFirstActiveTelegramChatId().orElse(null);
             telegramNotificationService.notifyNewOrder(savedOrder.getId(), userInfo, total, ownerChatId);
         } catch (Exception e) {
-            System.err.println("Failed to send Telegram new-order alert: " + e.getMessage());
+            log.warn("Failed to send Telegram new-order alert: {}", e.getMessage());
         }
 
         // Record order placed in audit log
@@ -123,7 +148,7 @@ public class OrderService implements IOrderService {
                     "Order placed - Order #" + savedOrder.getId() + " - Total: $" + savedOrder.getOrderTotalAmount());
             activityRepository.save(orderPlacedActivity);
         } catch (Exception e) {
-            System.err.println("Failed to record order placed activity: " + e.getMessage());
+            log.warn("Failed to record order placed activity: {}", e.getMessage());
         }
 
         // cartService.removeCart(cart.getId());
@@ -176,29 +201,74 @@ public class OrderService implements IOrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
     }
 
+    @Transactional(readOnly = true)
     public List<OrderDto> getUserOrders(Long userId) {
-        List<Order> orders = orderRepository.findByUserId(userId);
-        return orders.stream().map(this::convertToDto).toList();
+        if (!summaryReadiness.isCaughtUp()) {
+            return orderRepository.findByUserId(userId).stream().map(this::convertToDto).toList();
+        }
+        return orderSummaryRepository.findByUserIdOrderByOrderIdDesc(userId).stream()
+                .map(this::convertSummaryToDto).toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderDto> getAllUserOrders() {
-        List<Order> orders = orderRepository.findAllWithUser();
-        return orders.stream().map(this::convertToDto).toList();
+        if (!summaryReadiness.isCaughtUp()) {
+            return orderRepository.findAllWithUser().stream().map(this::convertToDto).toList();
+        }
+        return orderSummaryRepository.findAll(Sort.by("orderId").descending()).stream()
+                .map(this::convertSummaryToDto).toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<OrderDto> getAllUserOrders(Pageable pageable) {
-        Page<Order> page = orderRepository.findAllWithOrderItemsAndUser(pageable);
-        List<OrderDto> dtos = page.getContent().stream().map(this::convertToDto).toList();
-        return new PageImpl<>(dtos, pageable, page.getTotalElements());
+        if (!summaryReadiness.isCaughtUp()) {
+            return orderRepository.findAllWithOrderItemsAndUser(pageable).map(this::convertToDto);
+        }
+        return orderSummaryRepository.findAll(pageable).map(this::convertSummaryToDto);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<OrderDto> getUserOrders(Long userId, Pageable pageable) {
-        Page<Order> page = orderRepository.findByUserIdWithOrderItems(userId, pageable);
-        List<OrderDto> dtos = page.getContent().stream().map(this::convertToDto).toList();
-        return new PageImpl<>(dtos, pageable, page.getTotalElements());
+        if (!summaryReadiness.isCaughtUp()) {
+            return orderRepository.findByUserIdWithOrderItems(userId, pageable).map(this::convertToDto);
+        }
+        return orderSummaryRepository.findByUserId(userId, pageable).map(this::convertSummaryToDto);
+    }
+
+    /** List-view DTO from the read model. */
+    private OrderDto convertSummaryToDto(OrderSummary summary) {
+        OrderDto dto = new OrderDto();
+        dto.setOrderId(summary.getOrderId());
+        dto.setUserId(summary.getUserId());
+        dto.setUserEmail(summary.getUserEmail());
+        dto.setUserName(summary.getUserName());
+        dto.setOrderDate(summary.getOrderDate());
+        dto.setItemsSubtotalAmount(summary.getItemsSubtotalAmount());
+        dto.setDeliveryFeeAmount(summary.getDeliveryFeeAmount());
+        dto.setTotalAmount(summary.getTotalAmount());
+        dto.setOrderStatus(summary.getOrderStatus() != null ? summary.getOrderStatus().toString() : null);
+        dto.setTrackingNumber(summary.getTrackingNumber());
+        dto.setDeliveryStreet(summary.getDeliveryStreet());
+        dto.setDeliveryCity(summary.getDeliveryCity());
+        dto.setDeliveryProvince(summary.getDeliveryProvince());
+        dto.setDeliveryPostalCode(summary.getDeliveryPostalCode());
+        dto.setDeliveryAddressFull(summary.getDeliveryAddressFull());
+        dto.setDeliveryLatitude(summary.getDeliveryLatitude());
+        dto.setDeliveryLongitude(summary.getDeliveryLongitude());
+        dto.setLogisticCompany(summary.getLogisticCompany());
+        List<OrderItemDto> items = List.of();
+        if (summary.getItemsJson() != null && !summary.getItemsJson().isBlank()) {
+            try {
+                items = objectMapper.readValue(summary.getItemsJson(), ORDER_ITEMS_TYPE);
+            } catch (JsonProcessingException e) {
+                log.warn("Unreadable items_json on order_summary {}: {}", summary.getOrderId(), e.getMessage());
+            }
+        }
+        dto.setOrderItems(items);
+        return dto;
     }
 
     @Override
@@ -284,6 +354,13 @@ public class OrderService implements IOrderService {
     @Transactional
     public void updateOrder(Order order) {
         orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderUpdatedEvent(this, order.getId()));
+    }
+
+    private void publishStatusChange(Order order, OrderStatus previousStatus) {
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(this, order.getId(),
+                order.getUser() != null ? order.getUser().getId() : null,
+                previousStatus, order.getOrderStatus(), order.getOrderTotalAmount(), order.isPosOrder()));
     }
 
     private boolean isOrderUserAdmin(User user) {
@@ -301,6 +378,7 @@ public class OrderService implements IOrderService {
 
     @Override
     @Transactional
+    @Timed(value = "skinme.order.confirm-payment", description = "Mark order paid, notify and alert", histogram = true)
     public void confirmOrderPayment(Order order) {
         Order managedOrder = orderRepository.findByIdWithOrderItemsAndProducts(order.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + order.getId()));
@@ -326,7 +404,7 @@ public class OrderService implements IOrderService {
             if (!managedOrder.isPosOrder()) {
                 throw e;
             }
-            System.err.println("POS: skipped popular-product update: " + e.getMessage());
+            log.warn("POS: skipped popular-product update: {}", e.getMessage());
         }
         // Remove cart (optional: POS/admin may have no active cart)
         try {
@@ -386,8 +464,10 @@ public class OrderService implements IOrderService {
         paymentRepository.save(payment);
 
         // Update order status
+        OrderStatus previousStatus = managedOrder.getOrderStatus();
         managedOrder.setOrderStatus(OrderStatus.PAID);
         updateOrder(managedOrder);
+        publishStatusChange(managedOrder, previousStatus);
 
         // Record payment success and purchase in audit log
         try {
@@ -407,7 +487,7 @@ public class OrderService implements IOrderService {
                     + managedOrder.getOrderTotalAmount());
             activityRepository.save(purchaseActivity);
         } catch (Exception e) {
-            System.err.println("Failed to record payment/purchase activity: " + e.getMessage());
+            log.warn("Failed to record payment/purchase activity: {}", e.getMessage());
         }
 
         // Send WebSocket notification for payment confirmation (skip for POS orders
@@ -436,10 +516,10 @@ public class OrderService implements IOrderService {
                                 "status", "PAID",
                                 "message", "Payment confirmed successfully"))
                         .build();
-                messagingTemplate.convertAndSend("/topic/orders", update);
+                orderFeedPublisher.publish(update, managedOrder.getUser());
             }
         } catch (Exception e) {
-            System.err.println("Failed to send payment confirmation notification: " + e.getMessage());
+            log.warn("Failed to send payment confirmation notification: {}", e.getMessage());
         }
 
         try {
@@ -458,7 +538,7 @@ public class OrderService implements IOrderService {
                         managedOrder.getOrderTotalAmount());
             }
         } catch (Exception e) {
-            System.err.println("Failed to notify admins of paid order: " + e.getMessage());
+            log.warn("Failed to notify admins of paid order: {}", e.getMessage());
         }
 
         // Telegram alert: payment completed (default chat + owner chat if set on KHQR
@@ -472,7 +552,7 @@ public class OrderService implements IOrderService {
                 telegramNotificationService.notifyPaymentCompleted(managedOrder.getId(), userInfo, total, ownerChatId);
             }
         } catch (Exception e) {
-            System.err.println("Failed to send Telegram payment alert: " + e.getMessage());
+            log.warn("Failed to send Telegram payment alert: {}", e.getMessage());
         }
     }
 
@@ -495,6 +575,7 @@ public class OrderService implements IOrderService {
         order.setOrderStatus(OrderStatus.SHIPPED);
         order.setShippedAt(LocalDateTime.now());
         Order savedOrder = orderRepository.save(order);
+        publishStatusChange(savedOrder, st);
 
         // Send WebSocket notification for shipping
         try {
@@ -515,9 +596,9 @@ public class OrderService implements IOrderService {
                             "status", "SHIPPED",
                             "trackingNumber", trackingNumber))
                     .build();
-            messagingTemplate.convertAndSend("/topic/orders", update);
+            orderFeedPublisher.publish(update, order.getUser());
         } catch (Exception e) {
-            System.err.println("Failed to send shipping notification: " + e.getMessage());
+            log.warn("Failed to send shipping notification: {}", e.getMessage());
         }
 
         return savedOrder;
@@ -540,6 +621,7 @@ public class OrderService implements IOrderService {
             order.setLogisticCompany(logisticCompany);
         }
         Order savedOrder = orderRepository.save(order);
+        publishStatusChange(savedOrder, OrderStatus.SHIPPED);
 
         // Send WebSocket notification for delivery
         try {
@@ -560,9 +642,9 @@ public class OrderService implements IOrderService {
                             "status", "DELIVERED",
                             "message", "Your order has been delivered"))
                     .build();
-            messagingTemplate.convertAndSend("/topic/orders", update);
+            orderFeedPublisher.publish(update, order.getUser());
         } catch (Exception e) {
-            System.err.println("Failed to send delivery notification: " + e.getMessage());
+            log.warn("Failed to send delivery notification: {}", e.getMessage());
         }
 
         // Telegram alert: delivery done (default chat + owner chat if set on KHQR
@@ -573,7 +655,7 @@ public class OrderService implements IOrderService {
             telegramNotificationService.notifyDeliveryDone(order.getId(), userInfo, order.getTrackingNumber(),
                     ownerChatId);
         } catch (Exception e) {
-            System.err.println("Failed to send Telegram delivery alert: " + e.getMessage());
+            log.warn("Failed to send Telegram delivery alert: {}", e.getMessage());
         }
 
         return savedOrder;
@@ -0,0 +1,152 @@
+package com.project.skin_me.service.order;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.skin_me.dto.OrderDto;
+import com.project.skin_me.dto.OrderItemDto;
+import com.project.skin_me.event.OrderPlacedEvent;
+import com.project.skin_me.event.OrderStatusChangedEvent;
+import com.project.skin_me.event.OrderUpdatedEvent;
+import com.project.skin_me.model.Order;
+import com.project.skin_me.model.OrderSummary;
+import com.project.skin_me.repository.OrderRepository;
+import com.project.skin_me.repository.OrderSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Maintains the {@code order_summary} read model.
+ * <p>
+ * Every order event rebuilds that order's row from the write side inside the transaction that
+ * changed the order (just before it commits), so a committed order always has a current row and
+ * a failed projection rolls the change back with it. The rebuild first row-locks the orders, so
+ * two writers of one order, or a writer and the backfill, project one after the other from the
+ * latest committed state instead of overwriting each other out of order.
+ * {@link #backfillBatch} fills rows for orders that have none, or one from an older
+ * {@link #PROJECTION_VERSION}, and flips {@link OrderSummaryReadiness} once nothing is left.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderSummaryProjector {
+
+    /** Bump when {@link #toSummary} starts copying new fields, so the backfill rebuilds old rows. */
+    static final int PROJECTION_VERSION = 2;
+
+    private final OrderRepository orderRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final IOrderService orderService;
+    private final OrderSummaryReadiness readiness;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        refreshOne(event.getOrderId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        refreshOne(event.getOrderId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onOrderUpdated(OrderUpdatedEvent event) {
+        refreshOne(event.getOrderId());
+    }
+
+    /**
+     * Locks the given orders, then rebuilds their summary rows.
+     *
+     * @return number of rows written
+     */
+    @Transactional
+    public int refresh(Collection<Long> orderIds) {
+        if (orderIds == null || orderIds.isEmpty()) {
+            return 0;
+        }
+        // Locking read: loads the latest committed orders into the session before the graph fetch
+        orderRepository.lockByIdIn(orderIds);
+        List<Order> orders = orderRepository.findWithOrderItemsAndUserByIdIn(orderIds);
+        List<OrderSummary> rows = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            rows.add(toSummary(order));
+        }
+        orderSummaryRepository.saveAll(rows);
+        return rows.size();
+    }
+
+    /** Joins the writer's transaction; starts one when the event was published outside any. */
+    private void refreshOne(Long orderId) {
+        if (orderId != null) {
+            transactionTemplate.executeWithoutResult(status -> refresh(List.of(orderId)));
+        }
+    }
+
+    /**
+     * Writes rows for up to {@code batchSize} orders that have no current summary.
+     *
+     * @return number of rows written; 0 once every order has a current summary
+     */
+    @Transactional
+    public int backfillBatch(int batchSize) {
+        List<Long> ids = orderRepository.findIdsNeedingSummary(PROJECTION_VERSION,
+                PageRequest.of(0, Math.max(batchSize, 1)));
+        if (ids.isEmpty()) {
+            if (!readiness.isCaughtUp()) {
+                log.info("Order summaries are current; order lists now read order_summary");
+            }
+            readiness.markCaughtUp();
+            return 0;
+        }
+        return refresh(ids);
+    }
+
+    private OrderSummary toSummary(Order order) {
+        OrderDto dto = orderService.convertToDto(order);
+        List<OrderItemDto> items = new ArrayList<>(dto.getOrderItems());
+        items.sort(Comparator.comparing(OrderItemDto::getProductId, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        OrderSummary summary = new OrderSummary();
+        summary.setOrderId(order.getOrderId());
+        summary.setUserId(dto.getUserId());
+        summary.setUserEmail(dto.getUserEmail());
+        summary.setUserName(dto.getUserName() != null ? dto.getUserName().trim() : null);
+        summary.setOrderDate(order.getOrderDate());
+        summary.setOrderStatus(order.getOrderStatus());
+        summary.setPosOrder(order.isPosOrder());
+        summary.setItemCount(items.stream().mapToInt(OrderItemDto::getQuantity).sum());
+        summary.setItemsSubtotalAmount(order.getItemsSubtotalAmount());
+        summary.setDeliveryFeeAmount(order.getDeliveryFeeAmount());
+        summary.setTotalAmount(order.getOrderTotalAmount());
+        summary.setTrackingNumber(order.getTrackingNumber());
+        summary.setDeliveryStreet(order.getDeliveryStreet());
+        summary.setDeliveryCity(order.getDeliveryCity());
+        summary.setDeliveryProvince(order.getDeliveryProvince());
+        summary.setDeliveryPostalCode(order.getDeliveryPostalCode());
+        summary.setDeliveryLatitude(order.getDeliveryLatitude());
+        summary.setDeliveryLongitude(order.getDeliveryLongitude());
+        summary.setDeliveryAddressFull(order.getDeliveryAddressFull());
+        summary.setLogisticCompany(dto.getLogisticCompany());
+        try {
+            summary.setItemsJson(objectMapper.writeValueAsString(items));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise items of order " + order.getOrderId(), e);
+        }
+        summary.setUpdatedAt(LocalDateTime.now());
+        summary.setProjectionVersion(PROJECTION_VERSION);
+        return summary;
+    }
+}
@@ -0,0 +1,22 @@
+package com.project.skin_me.service.order;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Whether {@code order_summary} covers every order at the current projection version on this
+ * node. Until the backfill reports nothing left, order lists are served from the write model so
+ * orders that predate the read model (or a new projection version) are not missing.
+ */
+@Component
+public class OrderSummaryReadiness {
+
+    private volatile boolean caughtUp;
+
+    public boolean isCaughtUp() {
+        return caughtUp;
+    }
+
+    void markCaughtUp() {
+        caughtUp = true;
+    }
+}
@@ -9,6 +9,7 @@ import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
 import com.project.skin_me.exception.ResourceNotFoundException;
 import com.project.skin_me.model.KhqrBankAccount;
 import com.project.skin_me.repository.KhqrBankAccountRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -222,6 +223,7 @@ public class BakongKhqrService implements IBakongKhqrService {
     }
 
     @Override
+    @Timed(value = "skinme.khqr.generate", description = "KHQR payload + QR image for an order", histogram = true)
     public Map<String, String> generateKhqrForOrder(BigDecimal amount, String currency, String gateway, Long orderId) {
         BigDecimal safeAmount = amount != null ? amount : BigDecimal.ZERO;
         if (gateway == null || gateway.isBlank()) gateway = GATEWAY_ABA;
@@ -275,7 +277,8 @@ public class BakongKhqrService implements IBakongKhqrService {
         return id + String.format("%02d", safeValue.length()) + safeValue;
     }
 
-    private String calculateCRC(String data) {
+    /** CRC-16/CCITT-FALSE over the EMV payload (package-private for the KHQR benchmark). */
+    static String calculateCRC(String data) {
         int crc = 0xFFFF;
         int polynomial = 0x1021;
 
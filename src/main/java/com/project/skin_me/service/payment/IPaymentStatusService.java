@@ -0,0 +1,20 @@
+package com.project.skin_me.service.payment;
+
+import com.project.skin_me.dto.PaymentStatusDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Payment status per order, served from an in-memory cache that is refreshed when an order's
+ * status changes after commit, and pushed to {@code /user/topic/payment/{orderId}} and SSE subscribers.
+ */
+public interface IPaymentStatusService {
+
+    /** Cached status; loads from the database on a miss or expiry. Throws when the order does not exist. */
+    PaymentStatusDto getStatus(Long orderId);
+
+    /** Drops the cached entry after a payment row changed without an order status change. */
+    void evict(Long orderId);
+
+    /** Opens an SSE stream that sends the current status immediately and again on every change. */
+    SseEmitter subscribe(Long orderId);
+}
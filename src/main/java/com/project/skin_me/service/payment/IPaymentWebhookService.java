@@ -0,0 +1,35 @@
+package com.project.skin_me.service.payment;
+
+import com.project.skin_me.enums.WebhookEventStatus;
+import com.project.skin_me.model.PaymentWebhookEvent;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Map;
+
+/**
+ * Payment webhook ingestion: store the raw event once (unique per provider + event id),
+ * acknowledge, then process asynchronously on a per-order lane with retries and a dead letter.
+ */
+public interface IPaymentWebhookService {
+
+    /** Result of storing a callback; {@code duplicate} means the event id was seen before. */
+    record Ingested(PaymentWebhookEvent event, boolean duplicate) {
+    }
+
+    Ingested ingest(String provider, String eventId, String eventType, String orderKey, String payload);
+
+    /** Runs due retries and re-dispatches events that were stored but never processed. */
+    int dispatchDue();
+
+    /** Puts a FAILED or DEAD_LETTER event back on its lane with a fresh attempt budget. */
+    PaymentWebhookEvent replay(Long id);
+
+    int replayDeadLetters();
+
+    Page<PaymentWebhookEvent> list(WebhookEventStatus status, Pageable pageable);
+
+    PaymentWebhookEvent get(Long id);
+
+    Map<WebhookEventStatus, Long> countsByStatus();
+}
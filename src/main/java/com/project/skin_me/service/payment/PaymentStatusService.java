@@ -0,0 +1,189 @@
+package com.project.skin_me.service.payment;
+
+import com.project.skin_me.dto.PaymentStatusDto;
+import com.project.skin_me.dto.UserOptionDto;
+import com.project.skin_me.enums.OrderStatus;
+import com.project.skin_me.event.OrderStatusChangedEvent;
+import com.project.skin_me.exception.ResourceNotFoundException;
+import com.project.skin_me.model.Order;
+import com.project.skin_me.model.Payment;
+import com.project.skin_me.repository.OrderRepository;
+import com.project.skin_me.repository.PaymentRepository;
+import com.project.skin_me.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Answers payment-status polls from memory and pushes changes instead of waiting for the next poll.
+ * <p>
+ * Entries for unpaid orders expire after {@code pending-ttl-seconds} (bounds staleness if a
+ * change ever bypasses {@link OrderStatusChangedEvent}); paid orders are final and kept for
+ * {@code paid-ttl-seconds}. The cache is per node, like the simple STOMP broker it pushes through.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentStatusService implements IPaymentStatusService {
+
+    private final OrderRepository orderRepository;
+    private final PaymentRepository paymentRepository;
+    private final UserRepository userRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, CachedStatus> cache = new ConcurrentHashMap<>();
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    @Value("${app.payment.status-cache.pending-ttl-seconds:30}")
+    private long pendingTtlSeconds;
+
+    @Value("${app.payment.status-cache.paid-ttl-seconds:900}")
+    private long paidTtlSeconds;
+
+    @Value("${app.payment.status-stream.timeout-ms:900000}")
+    private long streamTimeoutMs;
+
+    private record CachedStatus(PaymentStatusDto status, long expiresAt) {
+    }
+
+    @Override
+    public PaymentStatusDto getStatus(Long orderId) {
+        CachedStatus cached = cache.get(orderId);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            meterRegistry.counter("skinme.payment.status.cache", "result", "hit").increment();
+            return cached.status();
+        }
+        meterRegistry.counter("skinme.payment.status.cache", "result", "miss").increment();
+        return load(orderId);
+    }
+
+    @Override
+    public void evict(Long orderId) {
+        if (orderId != null) {
+            cache.remove(orderId);
+        }
+    }
+
+    /**
+     * Registers the stream before reading the current status, so a change committed in between
+     * is pushed to it rather than lost. A stale initial status that loses the race to a final
+     * push is dropped, because that push has already completed the emitter.
+     */
+    @Override
+    public SseEmitter subscribe(Long orderId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        List<SseEmitter> list = emitters.computeIfAbsent(orderId, k -> new CopyOnWriteArrayList<>());
+        list.add(emitter);
+        Runnable remove = () -> {
+            list.remove(emitter);
+            emitters.computeIfPresent(orderId, (k, v) -> v.isEmpty() ? null : v);
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        PaymentStatusDto current;
+        try {
+            current = getStatus(orderId);
+        } catch (RuntimeException e) {
+            remove.run();
+            throw e;
+        }
+        send(emitter, current);
+        if (current.isPaid()) {
+            // Final state: no need to hold a connection
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    /** After commit: reload the order's status, then push it to the owner's STOMP session and SSE streams. */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        cache.remove(event.getOrderId());
+        PaymentStatusDto status;
+        try {
+            status = load(event.getOrderId());
+        } catch (ResourceNotFoundException e) {
+            return;
+        }
+        push(status);
+    }
+
+    @Scheduled(fixedDelayString = "${app.payment.status-cache.cleanup-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        cache.entrySet().removeIf(e -> e.getValue().expiresAt() <= now);
+    }
+
+    private PaymentStatusDto load(Long orderId) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + orderId));
+        Payment payment = paymentRepository.findByOrder(order).orElse(null);
+
+        boolean paid = order.getOrderStatus() == OrderStatus.PAID
+                || order.getOrderStatus() == OrderStatus.DELIVERED
+                || (payment != null && payment.getStatus() == OrderStatus.SUCCESS);
+
+        PaymentStatusDto.PaymentStatusDtoBuilder b = PaymentStatusDto.builder()
+                .orderId(order.getId())
+                .orderStatus(order.getOrderStatus() != null ? order.getOrderStatus().name() : null)
+                .paid(paid)
+                .posOrder(order.isPosOrder())
+                .userId(order.getUser() != null ? order.getUser().getId() : null);
+        if (payment != null) {
+            b.paymentId(payment.getId())
+                    .paymentStatus(payment.getStatus() != null ? payment.getStatus().name() : null)
+                    .paymentMethod(payment.getMethod() != null ? payment.getMethod().name() : null)
+                    .transactionRef(payment.getTransactionRef())
+                    .transactionTime(payment.getTransactionTime())
+                    .message(payment.getMessage());
+        }
+        PaymentStatusDto status = b.build();
+        long ttl = paid ? paidTtlSeconds : pendingTtlSeconds;
+        cache.put(orderId, new CachedStatus(status, System.currentTimeMillis() + ttl * 1000));
+        return status;
+    }
+
+    private void push(PaymentStatusDto status) {
+        if (status.getUserId() != null) {
+            userRepository.findUserOptionById(status.getUserId())
+                    .map(UserOptionDto::getEmail)
+                    .ifPresent(email -> messagingTemplate.convertAndSendToUser(email,
+                            "/topic/payment/" + status.getOrderId(), status));
+        }
+        List<SseEmitter> list = emitters.get(status.getOrderId());
+        if (list == null) {
+            return;
+        }
+        for (SseEmitter emitter : list) {
+            send(emitter, status);
+            if (status.isPaid()) {
+                emitter.complete();
+            }
+        }
+    }
+
+    private void send(SseEmitter emitter, PaymentStatusDto status) {
+        try {
+            emitter.send(SseEmitter.event().name("payment-status").data(status));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the emitter's completion/error callback unregisters it
+            log.debug("Payment status stream for order {} closed: {}", status.getOrderId(), e.getMessage());
+        }
+    }
+}
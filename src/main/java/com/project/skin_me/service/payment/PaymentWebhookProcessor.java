@@ -0,0 +1,246 @@
+package com.project.skin_me.service.payment;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.skin_me.enums.OrderStatus;
+import com.project.skin_me.enums.PaymentMethod;
+import com.project.skin_me.enums.WebhookEventStatus;
+import com.project.skin_me.exception.IntegrationUnavailableException;
+import com.project.skin_me.model.Order;
+import com.project.skin_me.model.Payment;
+import com.project.skin_me.model.PaymentWebhookEvent;
+import com.project.skin_me.repository.OrderRepository;
+import com.project.skin_me.repository.PaymentRepository;
+import com.project.skin_me.service.http.IntegrationGuard.Retry;
+import com.project.skin_me.service.http.OutboundHttp;
+import com.project.skin_me.service.order.IOrderService;
+import com.project.skin_me.util.PayWayWebhookNormalizer;
+import com.stripe.exception.StripeException;
+import com.stripe.model.PaymentIntent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Applies one stored webhook event to payments/orders. Runs inside its own transaction on the
+ * event's order lane; throwing marks the attempt failed and schedules a retry. Every branch is
+ * safe to re-run: an already paid order or successful payment is reported, not re-confirmed.
+ * An event naming an order or payment that does not exist here is {@link Outcome#ignored ignored}:
+ * retrying cannot make it appear, so it would only end up in DEAD_LETTER.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentWebhookProcessor {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final IOrderService orderService;
+    private final OrderRepository orderRepository;
+    private final PaymentRepository paymentRepository;
+    private final OutboundHttp outboundHttp;
+
+    /** Final status and short result stored on the event. */
+    public record Outcome(WebhookEventStatus status, String result) {
+
+        static Outcome applied(String result) {
+            return new Outcome(WebhookEventStatus.PROCESSED, result);
+        }
+
+        static Outcome ignored(String reason) {
+            return new Outcome(WebhookEventStatus.IGNORED, reason);
+        }
+    }
+
+    @Transactional
+    public Outcome apply(PaymentWebhookEvent event) throws IOException {
+        JsonNode root = objectMapper.readTree(event.getPayload());
+        if (PaymentWebhookEvent.PROVIDER_PAYWAY.equals(event.getProvider())) {
+            return applyPayWay(root);
+        }
+        return applyStripe(event.getEventType(), root);
+    }
+
+    /** Order id from Stripe object metadata (set by CheckoutService), else the object id. */
+    public static String stripeOrderKey(JsonNode root) {
+        JsonNode data = root.path("data").path("object");
+        String orderId = data.path("metadata").path("order_id").asText("");
+        if (orderId.isEmpty()) {
+            orderId = data.path("metadata").path("orderId").asText("");
+        }
+        return !orderId.isEmpty() ? orderId : data.path("id").asText(null);
+    }
+
+    // ---- Stripe ----
+
+    private Outcome applyStripe(String type, JsonNode root) {
+        JsonNode data = root.path("data").path("object");
+        if ("checkout.session.completed".equals(type)) {
+            String sessionId = data.path("id").asText("");
+            if (sessionId.isEmpty()) {
+                return Outcome.ignored("no session id");
+            }
+            String paymentIntentId = null;
+            if (data.has("payment_intent")) {
+                JsonNode pi = data.get("payment_intent");
+                paymentIntentId = pi.isTextual() ? pi.asText() : pi.path("id").asText("");
+                if (paymentIntentId.isEmpty())
+                    paymentIntentId = null;
+            }
+            return checkoutSessionCompleted(sessionId, paymentIntentId);
+        }
+        if ("payment_intent.succeeded".equals(type)) {
+            String paymentIntentId = data.path("id").asText("");
+            if (paymentIntentId.isEmpty()) {
+                return Outcome.ignored("no payment_intent id");
+            }
+            return paymentIntentSucceeded(paymentIntentId);
+        }
+        return Outcome.ignored("unhandled type " + type);
+    }
+
+    private Outcome checkoutSessionCompleted(String sessionId, String paymentIntentId) {
+        Optional<Order> orderOpt = orderService.getOrderByStripeSessionId(sessionId);
+        if (orderOpt.isEmpty()) {
+            log.warn("Webhook: checkout.session.completed for unknown stripe session {}", sessionId);
+            return Outcome.ignored("no order for stripe session " + sessionId);
+        }
+        Order order = orderOpt.get();
+        if (order.getOrderStatus() == OrderStatus.PAID) {
+            log.info("Webhook: checkout.session.completed ignored (already paid) session {} order {}",
+                    sessionId, order.getId());
+            return Outcome.applied("order " + order.getId() + " already paid");
+        }
+        Optional<Payment> paymentOpt = paymentRepository.findByTransactionRef(sessionId)
+                .or(() -> paymentRepository.findByOrder(order));
+        if (paymentOpt.isEmpty()) {
+            log.warn("Webhook: no payment for stripe session {} order {}", sessionId, order.getId());
+            return Outcome.ignored("no payment for order " + order.getId());
+        }
+        Payment payment = paymentOpt.get();
+        if (payment.getStatus() == OrderStatus.SUCCESS) {
+            orderService.confirmOrderPayment(order);
+            return Outcome.applied("order " + order.getId() + " payment already successful");
+        }
+        if (paymentIntentId != null) {
+            payment.setPaymentIntentId(paymentIntentId);
+        }
+        payment.setStatus(OrderStatus.SUCCESS);
+        payment.setTransactionTime(LocalDateTime.now());
+        paymentRepository.save(payment);
+        orderService.confirmOrderPayment(order);
+        log.info("Webhook: checkout.session.completed processed for session {} order {}", sessionId, order.getId());
+        return Outcome.applied("order " + order.getId() + " paid");
+    }
+
+    private Outcome paymentIntentSucceeded(String paymentIntentId) {
+        Optional<Payment> paymentOpt = paymentRepository.findByPaymentIntentId(paymentIntentId)
+                .or(() -> paymentRepository.findByTransactionRef(paymentIntentId));
+        if (paymentOpt.isEmpty()) {
+            paymentOpt = findByPaymentIntentMetadata(paymentIntentId);
+        }
+        if (paymentOpt.isEmpty()) {
+            log.warn("Webhook: payment_intent.succeeded for unknown payment intent {}", paymentIntentId);
+            return Outcome.ignored("no payment for payment_intent " + paymentIntentId);
+        }
+        Payment payment = paymentOpt.get();
+        Order order = payment.getOrder();
+        if (order.getOrderStatus() == OrderStatus.PAID) {
+            return Outcome.applied("order " + order.getId() + " already paid");
+        }
+        payment.setPaymentIntentId(paymentIntentId);
+        payment.setStatus(OrderStatus.SUCCESS);
+        payment.setTransactionTime(LocalDateTime.now());
+        paymentRepository.save(payment);
+        orderService.confirmOrderPayment(order);
+        log.info("Webhook: payment_intent.succeeded processed for pi {} order {}", paymentIntentId, order.getId());
+        return Outcome.applied("order " + order.getId() + " paid");
+    }
+
+    /** Fallback: PaymentIntent has metadata order_id (set when creating Checkout Session). */
+    private Optional<Payment> findByPaymentIntentMetadata(String paymentIntentId) {
+        try {
+            PaymentIntent pi = outboundHttp.call("stripe", () -> PaymentIntent.retrieve(paymentIntentId), Retry.NONE);
+            if (pi.getMetadata() == null) {
+                return Optional.empty();
+            }
+            String orderIdStr = pi.getMetadata().getOrDefault("order_id", pi.getMetadata().get("orderId"));
+            if (orderIdStr == null || orderIdStr.isBlank()) {
+                return Optional.empty();
+            }
+            return paymentRepository.findByOrderId(Long.parseLong(orderIdStr.trim()));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        } catch (StripeException | IntegrationUnavailableException e) {
+            log.warn("Webhook: could not retrieve PaymentIntent {} for metadata fallback: {}", paymentIntentId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // ---- PayWay ----
+
+    private Outcome applyPayWay(JsonNode root) {
+        PayWayWebhookNormalizer.NormalizedPayWayWebhook n = PayWayWebhookNormalizer.parse(root)
+                .orElseThrow(() -> new IllegalArgumentException("Missing merchant_ref (or merchant_ref_no)"));
+        String merchantRef = n.merchantRef().trim();
+
+        Optional<Payment> paymentOpt;
+        try {
+            paymentOpt = paymentRepository.findByOrderId(Long.parseLong(merchantRef));
+        } catch (NumberFormatException ignored) {
+            paymentOpt = paymentRepository.findByTransactionRef(merchantRef);
+        }
+        if (paymentOpt.isEmpty()) {
+            log.warn("PayWay webhook: no payment for merchant_ref={}", merchantRef);
+            return Outcome.ignored("no payment for merchant_ref " + merchantRef);
+        }
+        Payment payment = paymentOpt.get();
+        if (payment.getMethod() != PaymentMethod.KHQR) {
+            payment.setMethod(PaymentMethod.KHQR);
+        }
+        if (!n.success()) {
+            log.debug("PayWay webhook: status not success for merchant_ref={} raw_status={}",
+                    merchantRef, root.path("status"));
+            return Outcome.applied("status not success");
+        }
+        if (!payWayAmountMatchesPayment(payment.getAmount(), n.amount(), n.currency())) {
+            throw new IllegalStateException("Amount mismatch for order " + payment.getOrder().getId()
+                    + ": expected " + payment.getAmount() + " received " + n.amount() + " " + n.currency());
+        }
+        if (payment.getStatus() == OrderStatus.SUCCESS) {
+            return Outcome.applied("order " + payment.getOrder().getId() + " payment already successful");
+        }
+        payment.setStatus(OrderStatus.SUCCESS);
+        payment.setTransactionTime(LocalDateTime.now());
+        if (n.transactionId() != null && !n.transactionId().isBlank()) {
+            payment.setMessage("PayWay: " + n.transactionId());
+        }
+        if (n.payerAccount() != null && !n.payerAccount().isBlank()) {
+            payment.setPayerAccount(n.payerAccount());
+        }
+        paymentRepository.save(payment);
+        orderService.confirmOrderPayment(payment.getOrder());
+        log.info("PayWay webhook: payment confirmed for order {} transaction_id={}",
+                payment.getOrder().getId(), n.transactionId());
+        return Outcome.applied("order " + payment.getOrder().getId() + " paid");
+    }
+
+    private static boolean payWayAmountMatchesPayment(BigDecimal expected, BigDecimal received, String currency) {
+        if (expected == null || received == null) {
+            return true; // Some channels may omit amount; keep backward compatibility.
+        }
+        if ("KHR".equalsIgnoreCase(currency)) {
+            return expected.setScale(0, RoundingMode.HALF_UP)
+                    .compareTo(received.setScale(0, RoundingMode.HALF_UP)) == 0;
+        }
+        return expected.setScale(2, RoundingMode.HALF_UP)
+                .compareTo(received.setScale(2, RoundingMode.HALF_UP)) == 0;
+    }
+}
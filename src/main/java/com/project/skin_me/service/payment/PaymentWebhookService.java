@@ -0,0 +1,260 @@
+package com.project.skin_me.service.payment;
+
+import com.project.skin_me.enums.WebhookEventStatus;
+import com.project.skin_me.exception.ResourceNotFoundException;
+import com.project.skin_me.model.PaymentWebhookEvent;
+import com.project.skin_me.repository.PaymentWebhookEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores every payment callback in {@code payment_webhook_events} and processes it off the
+ * request thread.
+ * <p>
+ * Events are hashed by order key onto single-threaded lanes, so two callbacks for the same
+ * order never run concurrently in this node; {@link PaymentWebhookEventRepository#claim} keeps
+ * a second node (or the retry sweep) from picking up an event that is already running. A claim
+ * carries a token and a lease that the sweep renews for every event this node is still running,
+ * so only events of a dead node are released; a run whose lease was lost anyway cannot overwrite
+ * the outcome of the run that re-claimed it. Failures back off exponentially and move to
+ * DEAD_LETTER after {@code max-attempts}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentWebhookService implements IPaymentWebhookService {
+
+    private static final Set<WebhookEventStatus> CLAIMABLE = EnumSet.of(WebhookEventStatus.RECEIVED,
+            WebhookEventStatus.FAILED);
+    private static final Set<WebhookEventStatus> REPLAYABLE = EnumSet.of(WebhookEventStatus.FAILED,
+            WebhookEventStatus.IGNORED, WebhookEventStatus.DEAD_LETTER);
+    private static final int SWEEP_BATCH = 200;
+
+    private final PaymentWebhookEventRepository eventRepository;
+    private final PaymentWebhookProcessor processor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.payment.webhook.lanes:4}")
+    private int laneCount;
+
+    @Value("${app.payment.webhook.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${app.payment.webhook.retry-base-seconds:30}")
+    private long retryBaseSeconds;
+
+    /** RECEIVED events older than this are assumed lost (e.g. restart) and re-dispatched by the sweep. */
+    @Value("${app.payment.webhook.redispatch-after-seconds:60}")
+    private long redispatchAfterSeconds;
+
+    @Value("${app.payment.webhook.stale-processing-minutes:5}")
+    private long staleProcessingMinutes;
+
+    private ExecutorService[] lanes;
+
+    /** Claim tokens of events running on this node's lanes; their leases are renewed by the sweep. */
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void startLanes() {
+        lanes = new ExecutorService[Math.max(laneCount, 1)];
+        for (int i = 0; i < lanes.length; i++) {
+            String name = "webhook-lane-" + i;
+            ThreadPoolExecutor lane = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), r -> {
+                        Thread t = new Thread(r, name);
+                        t.setDaemon(true);
+                        return t;
+                    });
+            // Saturation as executor.*{name=webhook-lane-N}, next to the Spring-managed pools
+            lanes[i] = ExecutorServiceMetrics.monitor(meterRegistry, lane, name);
+        }
+    }
+
+    @PreDestroy
+    void stopLanes() throws InterruptedException {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        for (ExecutorService lane : lanes) {
+            lane.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public Ingested ingest(String provider, String eventId, String eventType, String orderKey, String payload) {
+        var existing = eventRepository.findByProviderAndEventId(provider, eventId);
+        if (existing.isPresent()) {
+            count(provider, "duplicate");
+            return new Ingested(existing.get(), true);
+        }
+        PaymentWebhookEvent event = new PaymentWebhookEvent();
+        event.setProvider(provider);
+        event.setEventId(eventId);
+        event.setEventType(eventType);
+        event.setOrderKey(orderKey);
+        event.setPayload(payload);
+        try {
+            event = eventRepository.save(event);
+        } catch (DataIntegrityViolationException e) {
+            // Concurrent redelivery won the insert
+            count(provider, "duplicate");
+            return new Ingested(eventRepository.findByProviderAndEventId(provider, eventId).orElseThrow(), true);
+        }
+        count(provider, "received");
+        dispatch(event);
+        return new Ingested(event, false);
+    }
+
+    @Override
+    public int dispatchDue() {
+        LocalDateTime now = LocalDateTime.now();
+        if (!inFlight.isEmpty()) {
+            eventRepository.renewLeases(Set.copyOf(inFlight), now.plusMinutes(staleProcessingMinutes));
+        }
+        int released = eventRepository.releaseStale(now.minusMinutes(staleProcessingMinutes), now);
+        if (released > 0) {
+            log.warn("Released {} payment webhook events stuck in PROCESSING", released);
+        }
+        List<PaymentWebhookEvent> due = eventRepository.findDue(now.minusSeconds(redispatchAfterSeconds), now,
+                PageRequest.of(0, SWEEP_BATCH));
+        due.forEach(this::dispatch);
+        return due.size();
+    }
+
+    @Override
+    public PaymentWebhookEvent replay(Long id) {
+        PaymentWebhookEvent event = get(id);
+        if (!REPLAYABLE.contains(event.getStatus())) {
+            throw new IllegalStateException("Only FAILED, IGNORED or DEAD_LETTER events can be replayed (event " + id
+                    + " is " + event.getStatus() + ")");
+        }
+        event.setStatus(WebhookEventStatus.RECEIVED);
+        event.setAttempts(0);
+        event.setNextAttemptAt(null);
+        event.setUpdatedAt(LocalDateTime.now());
+        event = eventRepository.save(event);
+        log.info("Replaying payment webhook event {} ({} {})", id, event.getProvider(), event.getEventId());
+        dispatch(event);
+        return event;
+    }
+
+    @Override
+    public int replayDeadLetters() {
+        List<PaymentWebhookEvent> dead = eventRepository
+                .findByStatus(WebhookEventStatus.DEAD_LETTER, PageRequest.of(0, SWEEP_BATCH)).getContent();
+        dead.forEach(e -> replay(e.getId()));
+        return dead.size();
+    }
+
+    @Override
+    public Page<PaymentWebhookEvent> list(WebhookEventStatus status, Pageable pageable) {
+        return status != null ? eventRepository.findByStatus(status, pageable) : eventRepository.findAll(pageable);
+    }
+
+    @Override
+    public PaymentWebhookEvent get(Long id) {
+        return eventRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Webhook event not found: " + id));
+    }
+
+    @Override
+    public Map<WebhookEventStatus, Long> countsByStatus() {
+        Map<WebhookEventStatus, Long> counts = new EnumMap<>(WebhookEventStatus.class);
+        for (WebhookEventStatus s : WebhookEventStatus.values()) {
+            counts.put(s, eventRepository.countByStatus(s));
+        }
+        return counts;
+    }
+
+    private void dispatch(PaymentWebhookEvent event) {
+        String key = event.getOrderKey() != null ? event.getOrderKey() : event.getEventId();
+        Long id = event.getId();
+        lanes[Math.floorMod(key.hashCode(), lanes.length)].execute(() -> process(id));
+    }
+
+    private void process(Long id) {
+        String token = UUID.randomUUID().toString();
+        LocalDateTime claimedAt = LocalDateTime.now();
+        if (eventRepository.claim(id, CLAIMABLE, token, claimedAt, claimedAt.plusMinutes(staleProcessingMinutes)) == 0) {
+            return;
+        }
+        inFlight.add(token);
+        try {
+            PaymentWebhookEvent event = eventRepository.findById(id).orElse(null);
+            if (event != null) {
+                run(event, token);
+            }
+        } finally {
+            inFlight.remove(token);
+        }
+    }
+
+    private void run(PaymentWebhookEvent event, String token) {
+        Long id = event.getId();
+        WebhookEventStatus status;
+        String result = null;
+        String lastError = null;
+        LocalDateTime nextAttemptAt = null;
+        LocalDateTime processedAt = null;
+        try {
+            PaymentWebhookProcessor.Outcome outcome = processor.apply(event);
+            status = outcome.status();
+            result = truncate(outcome.result(), 255);
+            processedAt = LocalDateTime.now();
+            count(event.getProvider(), status == WebhookEventStatus.IGNORED ? "ignored" : "processed");
+        } catch (Exception e) {
+            String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            lastError = truncate(error, 1000);
+            if (event.getAttempts() >= maxAttempts) {
+                status = WebhookEventStatus.DEAD_LETTER;
+                count(event.getProvider(), "dead_letter");
+                log.error("Payment webhook event {} ({} {}) dead-lettered after {} attempts: {}",
+                        id, event.getProvider(), event.getEventId(), event.getAttempts(), error);
+            } else {
+                long delay = retryBaseSeconds << Math.min(event.getAttempts() - 1, 10);
+                status = WebhookEventStatus.FAILED;
+                nextAttemptAt = LocalDateTime.now().plusSeconds(delay);
+                count(event.getProvider(), "failed");
+                log.warn("Payment webhook event {} attempt {} failed, retry in {} s: {}",
+                        id, event.getAttempts(), delay, error);
+            }
+        }
+        if (eventRepository.finish(id, token, status, result, lastError, nextAttemptAt, processedAt,
+                LocalDateTime.now()) == 0) {
+            log.warn("Payment webhook event {} lost its lease while running; {} outcome left to the newer run",
+                    id, status);
+        }
+    }
+
+    private void count(String provider, String outcome) {
+        meterRegistry.counter("skinme.payment.webhook.events", "provider", provider, "outcome", outcome).increment();
+    }
+
+    private static String truncate(String s, int max) {
+        return s == null || s.length() <= max ? s : s.substring(0, max);
+    }
+}
@@ -12,9 +12,9 @@ import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 @Service
@@ -83,29 +83,15 @@ public class PopularProductService implements IPopularProductService {
     }
 
     public List<PopularProductDto> getUserSales(Long userId) {
-        // Fetch orders for the user
-        List<Order> orders = orderRepository.findByUserId(userId);
-        // Aggregate quantitySold per product from order items
-        Map<Long, Integer> productQuantities = orders.stream()
-                .flatMap(order -> order.getOrderItems().stream())
-                .collect(Collectors.groupingBy(
-                        item -> item.getProduct().getId(),
-                        Collectors.summingInt(OrderItem::getQuantity)
-                ));
-
-        // Convert to PopularProductDto
-        return productQuantities.entrySet().stream()
-                .map(entry -> {
-                    Long productId = entry.getKey();
-                    Integer quantitySold = entry.getValue();
-                    Product product = productRepository.findById(productId)
-                            .orElseThrow(() -> new RuntimeException("Product not found: " + productId));
+        // Aggregate quantity per product in SQL instead of loading every order and item
+        return orderRepository.sumQuantityByProductForUser(userId).stream()
+                .map(row -> {
                     PopularProductDto dto = new PopularProductDto();
-                    dto.setProductId(productId);
-                    dto.setName(product.getName());
-                    dto.setPrice(product.getPrice());
-                    dto.setBrand(product.getBrand() != null ? product.getBrand().getName() : null);
-                    dto.setQuantitySold(quantitySold);
+                    dto.setProductId((Long) row[0]);
+                    dto.setName((String) row[1]);
+                    dto.setPrice((BigDecimal) row[2]);
+                    dto.setBrand((String) row[3]);
+                    dto.setQuantitySold(((Number) row[4]).intValue());
                     return dto;
                 })
                 .collect(Collectors.toList());
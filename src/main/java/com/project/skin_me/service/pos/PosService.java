@@ -6,6 +6,8 @@ import com.project.skin_me.dto.PosLineItemDto;
 import com.project.skin_me.enums.OrderStatus;
 import com.project.skin_me.enums.PaymentMethod;
 import com.project.skin_me.enums.ProductStatus;
+import com.project.skin_me.event.OrderPlacedEvent;
+import com.project.skin_me.event.OrderStatusChangedEvent;
 import com.project.skin_me.exception.ResourceNotFoundException;
 import com.project.skin_me.model.Order;
 import com.project.skin_me.model.OrderItem;
@@ -18,6 +20,7 @@ import com.project.skin_me.repository.ProductRepository;
 import com.project.skin_me.service.order.IOrderService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -43,6 +46,7 @@ public class PosService implements IPosService {
     private final OrderRepository orderRepository;
     private final PaymentRepository paymentRepository;
     private final IOrderService orderService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.pos.shop-name:SkinMe Store}")
     private String shopName;
@@ -115,7 +119,10 @@ public class PosService implements IPosService {
             orderItems.add(new OrderItem(order, product, line.getQuantity(), line.getUnitPrice()));
         }
         order.setOrderItems(new HashSet<>(orderItems));
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderPlacedEvent(this, saved.getId(),
+                cashier != null ? cashier.getId() : null, saved.getOrderDate(), saved.getOrderTotalAmount(), true));
+        return saved;
     }
 
     @Override
@@ -325,10 +332,12 @@ public class PosService implements IPosService {
     private void markPickupDelivered(Order order) {
 
         Order managed = orderRepository.findById(order.getOrderId()).orElse(order);
+        OrderStatus previousStatus = managed.getOrderStatus();
         managed.setOrderStatus(OrderStatus.DELIVERED);
         managed.setDeliveredAt(LocalDateTime.now());
         managed.setTrackingNumber("PICKUP");
         orderRepository.save(managed);
+        publishStatusChange(managed, previousStatus);
     }
 
     private void cancelStalePendingPosOrders(User cashier) {
@@ -341,10 +350,13 @@ public class PosService implements IPosService {
         if (stale.isEmpty()) {
             return;
         }
+        Map<Order, OrderStatus> previous = new HashMap<>();
         for (Order order : stale) {
+            previous.put(order, order.getOrderStatus());
             order.setOrderStatus(OrderStatus.CANCELLED);
         }
         orderRepository.saveAll(stale);
+        previous.forEach(this::publishStatusChange);
     }
 
     @Override
@@ -367,8 +379,16 @@ public class PosService implements IPosService {
             return;
         }
 
+        OrderStatus previousStatus = order.getOrderStatus();
         order.setOrderStatus(OrderStatus.CANCELLED);
         orderRepository.save(order);
+        publishStatusChange(order, previousStatus);
+    }
+
+    private void publishStatusChange(Order order, OrderStatus previousStatus) {
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(this, order.getId(),
+                order.getUser() != null ? order.getUser().getId() : null,
+                previousStatus, order.getOrderStatus(), order.getOrderTotalAmount(), order.isPosOrder()));
     }
 
 
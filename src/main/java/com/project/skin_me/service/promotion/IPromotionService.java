@@ -8,6 +8,7 @@ import com.project.skin_me.request.CreatePromotionRequest;
 import com.project.skin_me.request.UpdatePromotionRequest;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -29,6 +30,8 @@ public interface IPromotionService {
     void deletePromotion(Long id);
     PromotionDto convertToDto(Promotion promotion);
     BigDecimal calculateDiscountedPrice(Long productId);
-    /** Sets active=false for promotions past their deadline. Returns how many were updated. */
+    /** Sets active=false for every promotion past its deadline (startup catch-up). Returns how many were updated. */
     int deactivateExpiredPromotions();
+    /** Sets active=false for the given promotions if their deadline has passed. Returns how many were updated. */
+    int expirePromotions(Collection<Long> ids);
 }
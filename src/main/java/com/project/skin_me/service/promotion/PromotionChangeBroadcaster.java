@@ -0,0 +1,48 @@
+package com.project.skin_me.service.promotion;
+
+import com.project.skin_me.dto.RealTimeUpdateDto;
+import com.project.skin_me.event.PromotionChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tells storefront clients on {@code /topic/products} that a promotion changed (edited, started or
+ * expired), so they can re-fetch prices and banners instead of waiting for a reload.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PromotionChangeBroadcaster {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPromotionChanged(PromotionChangedEvent event) {
+        try {
+            Map<String, Object> data = new HashMap<>();
+            data.put("promotionId", event.getPromotionId());
+            data.put("promotionType", event.getPromotionType() != null ? event.getPromotionType().name() : null);
+            data.put("productId", event.getProductId());
+            RealTimeUpdateDto update = RealTimeUpdateDto.builder()
+                    .updateId(UUID.randomUUID().toString())
+                    .entityType("PROMOTION")
+                    .entityId(String.valueOf(event.getPromotionId()))
+                    .action(event.getChangeType().name())
+                    .timestamp(LocalDateTime.now())
+                    .affectedUsers("ALL")
+                    .data(data)
+                    .build();
+            messagingTemplate.convertAndSend("/topic/products", update);
+        } catch (Exception e) {
+            log.warn("Failed to broadcast promotion {} change: {}", event.getPromotionId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.project.skin_me.service.promotion;
+
+import com.project.skin_me.event.PromotionChangedEvent;
+import com.project.skin_me.repository.PromotionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Evaluates promotions in memory against a compiled {@link PromotionSnapshot}.
+ * <p>
+ * The snapshot is rebuilt with one query on every {@link PromotionChangedEvent}: committed edits and
+ * the start/deadline boundaries fired by the lifecycle scheduler. Pricing a product or checking free delivery
+ * never touches the database.
+ * {@code MIN_ORDER_SPEND} promotions are not compiled: checkout has never applied an order-wide
+ * discount, so they are stored but not priced.
+ */
+@Service
+public class PromotionRuleEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PromotionRuleEngine.class);
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final PromotionRepository promotionRepository;
+    private volatile PromotionSnapshot snapshot = PromotionSnapshot.EMPTY;
+
+    public PromotionRuleEngine(PromotionRepository promotionRepository) {
+        this.promotionRepository = promotionRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /** Runs before other listeners, so anything they trigger already prices with the new rules. */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPromotionChanged(PromotionChangedEvent event) {
+        refresh();
+    }
+
+    /** Recompiles the snapshot from the database. */
+    public synchronized void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            PromotionSnapshot compiled = PromotionSnapshot.compile(
+                    promotionRepository.findByActiveTrueAndDeadlineGreaterThanEqual(now), now);
+            snapshot = compiled;
+            logger.debug("Promotion rules compiled: {} rule(s)", compiled.size());
+        } catch (Exception e) {
+            // Keep serving the previous snapshot; its intervals are still checked against the clock
+            logger.error("Failed to compile promotion rules: {}", e.getMessage(), e);
+        }
+    }
+
+    /** List price less the best live product discount; {@code basePrice} when none applies. */
+    public BigDecimal discountedPrice(Long productId, BigDecimal basePrice) {
+        return discountedPrice(productId, basePrice, LocalDateTime.now());
+    }
+
+    BigDecimal discountedPrice(Long productId, BigDecimal basePrice, LocalDateTime at) {
+        if (basePrice == null) {
+            return null;
+        }
+        PromotionSnapshot.Rule rule = snapshot.productDiscount(productId, at);
+        return rule != null ? applyPercentage(basePrice, rule.discountPercentage()) : basePrice;
+    }
+
+    public boolean qualifiesForFreeDelivery(BigDecimal itemsSubtotal) {
+        return qualifiesForFreeDelivery(itemsSubtotal, LocalDateTime.now());
+    }
+
+    boolean qualifiesForFreeDelivery(BigDecimal itemsSubtotal, LocalDateTime at) {
+        BigDecimal subtotal = itemsSubtotal != null ? itemsSubtotal : BigDecimal.ZERO;
+        return snapshot.freeDelivery(subtotal, at) != null;
+    }
+
+    /** Same rounding as {@link com.project.skin_me.model.Promotion#calculateDiscountedPrice()}. */
+    private static BigDecimal applyPercentage(BigDecimal price, BigDecimal percentage) {
+        BigDecimal discountAmount = price.multiply(percentage).divide(HUNDRED, 2, RoundingMode.HALF_UP);
+        return price.subtract(discountAmount);
+    }
+}
@@ -5,11 +5,13 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -20,7 +22,9 @@ import org.springframework.web.multipart.MultipartFile;
 import com.project.skin_me.dto.ImageDto;
 import com.project.skin_me.dto.PromotionCheckoutSummaryDto;
 import com.project.skin_me.dto.PromotionDto;
+import com.project.skin_me.enums.PromotionChangeType;
 import com.project.skin_me.enums.PromotionType;
+import com.project.skin_me.event.PromotionChangedEvent;
 import com.project.skin_me.exception.ResourceNotFoundException;
 import com.project.skin_me.model.Image;
 import com.project.skin_me.model.Product;
@@ -41,6 +45,8 @@ public class PromotionService implements IPromotionService {
     private final PromotionRepository promotionRepository;
     private final ProductRepository productRepository;
     private final ImageRepository imageRepository;
+    private final PromotionRuleEngine promotionRuleEngine;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -63,6 +69,7 @@ public class PromotionService implements IPromotionService {
 
         Promotion savedPromotion = promotionRepository.save(promotion);
         logger.info("Promotion created successfully: {}", savedPromotion.getId());
+        publishChange(savedPromotion, PromotionChangeType.CREATED);
 
         return convertToDto(savedPromotion);
     }
@@ -242,6 +249,7 @@ public class PromotionService implements IPromotionService {
 
         Promotion updatedPromotion = promotionRepository.save(promotion);
         logger.info("Promotion updated successfully: {}", id);
+        publishChange(updatedPromotion, PromotionChangeType.UPDATED);
 
         return convertToDto(updatedPromotion);
     }
@@ -272,9 +280,8 @@ public class PromotionService implements IPromotionService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public Page<PromotionDto> getAllPromotions(Pageable pageable) {
-        promotionRepository.deactivateExpiredPromotions(LocalDateTime.now());
         Page<Promotion> page = promotionRepository.findAllByOrderByCreatedAtDesc(pageable);
         List<PromotionDto> dtos = page.getContent().stream()
                 .map(this::convertToDto)
@@ -333,6 +340,12 @@ public class PromotionService implements IPromotionService {
                 .orElseThrow(() -> new ResourceNotFoundException("Promotion not found with ID: " + id));
         promotionRepository.delete(promotion);
         logger.info("Promotion deleted successfully: {}", id);
+        publishChange(promotion, PromotionChangeType.DELETED);
+    }
+
+    private void publishChange(Promotion promotion, PromotionChangeType changeType) {
+        eventPublisher.publishEvent(new PromotionChangedEvent(this, promotion.getId(), changeType,
+                promotion.getPromotionType(), promotion.getProduct() != null ? promotion.getProduct().getId() : null));
     }
 
     @Override
@@ -345,6 +358,19 @@ public class PromotionService implements IPromotionService {
         return updated;
     }
 
+    @Override
+    @Transactional
+    public int expirePromotions(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        int updated = promotionRepository.deactivateExpiredPromotionsByIdIn(ids, LocalDateTime.now());
+        if (updated > 0) {
+            logger.info("Expired {} promotion(s) at their deadline", updated);
+        }
+        return updated;
+    }
+
     @Override
     public PromotionDto convertToDto(Promotion promotion) {
         PromotionDto dto = new PromotionDto();
@@ -458,24 +484,8 @@ public class PromotionService implements IPromotionService {
     @Override
     @Transactional(readOnly = true)
     public BigDecimal calculateDiscountedPrice(Long productId) {
-        try {
-            Promotion promotion = promotionRepository.findActivePromotionByProductId(productId, LocalDateTime.now())
-                    .orElse(null);
-
-            if (promotion != null && promotion.isCurrentlyActive()) {
-                return promotion.calculateDiscountedPrice();
-            }
-
-            Product product = productRepository.findById(productId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
-            return product.getPrice();
-        } catch (ResourceNotFoundException e) {
-            throw e;
-        } catch (Exception e) {
-            logger.error("Error calculating discounted price for product ID: {}", productId, e);
-            Product product = productRepository.findById(productId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
-            return product.getPrice();
-        }
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
+        return promotionRuleEngine.discountedPrice(productId, product.getPrice());
     }
 }
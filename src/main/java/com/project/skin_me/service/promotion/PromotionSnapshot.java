@@ -0,0 +1,130 @@
+package com.project.skin_me.service.promotion;
+
+import com.project.skin_me.enums.PromotionType;
+import com.project.skin_me.model.Promotion;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, time-indexed copy of the promotions that are switched on and not yet past their deadline.
+ * <p>
+ * Every rule keeps its own {@code [startDate, deadline]} interval (inclusive, like the repository
+ * queries), so a snapshot stays correct as time passes: upcoming promotions are already in it and
+ * simply start matching at their start date, and finished ones stop matching after their deadline
+ * until the next rebuild drops them. Product discounts are indexed by product id; cart-level rules
+ * are kept in start order.
+ * {@code MIN_ORDER_SPEND} promotions are skipped because checkout does not apply them.
+ */
+final class PromotionSnapshot {
+
+    static final PromotionSnapshot EMPTY = new PromotionSnapshot(Map.of(), List.of());
+
+    record Rule(Long promotionId, PromotionType type, Long productId, BigDecimal discountPercentage,
+            BigDecimal minimumOrderAmount, LocalDateTime startDate, LocalDateTime deadline) {
+
+        boolean activeAt(LocalDateTime at) {
+            return !at.isBefore(startDate) && !at.isAfter(deadline);
+        }
+
+        /** Null or zero minimum means every order qualifies. */
+        boolean meetsMinimum(BigDecimal subtotal) {
+            return minimumOrderAmount == null || minimumOrderAmount.signum() <= 0
+                    || subtotal.compareTo(minimumOrderAmount) >= 0;
+        }
+    }
+
+    private static final Comparator<Rule> BY_START = Comparator.comparing(Rule::startDate);
+
+    private final Map<Long, List<Rule>> productDiscounts;
+    private final List<Rule> freeDelivery;
+
+    private PromotionSnapshot(Map<Long, List<Rule>> productDiscounts, List<Rule> freeDelivery) {
+        this.productDiscounts = productDiscounts;
+        this.freeDelivery = freeDelivery;
+    }
+
+    static PromotionSnapshot compile(List<Promotion> promotions, LocalDateTime now) {
+        Map<Long, List<Rule>> products = new HashMap<>();
+        List<Rule> delivery = new ArrayList<>();
+        for (Promotion p : promotions) {
+            if (!p.isActive() || p.getStartDate() == null || p.getDeadline() == null
+                    || p.getDeadline().isBefore(now)) {
+                continue;
+            }
+            Rule rule = new Rule(p.getId(), p.getPromotionType(),
+                    p.getProduct() != null ? p.getProduct().getId() : null,
+                    p.getDiscountPercentage(), p.getMinimumOrderAmount(), p.getStartDate(), p.getDeadline());
+            switch (p.getPromotionType()) {
+                case PRODUCT_DISCOUNT -> {
+                    if (rule.productId() == null || !hasPercentage(rule)) {
+                        continue;
+                    }
+                    products.computeIfAbsent(rule.productId(), id -> new ArrayList<>()).add(rule);
+                }
+                case FREE_DELIVERY -> delivery.add(rule);
+                case MIN_ORDER_SPEND -> {
+                    // Not applied at checkout
+                }
+            }
+        }
+        Map<Long, List<Rule>> indexed = new HashMap<>(products.size() * 2);
+        products.forEach((productId, rules) -> {
+            rules.sort(BY_START);
+            indexed.put(productId, List.copyOf(rules));
+        });
+        delivery.sort(BY_START);
+        return new PromotionSnapshot(Map.copyOf(indexed), List.copyOf(delivery));
+    }
+
+    /** Highest product discount live at {@code at}, or null. */
+    Rule productDiscount(Long productId, LocalDateTime at) {
+        if (productId == null) {
+            return null;
+        }
+        return best(productDiscounts.getOrDefault(productId, List.of()), at);
+    }
+
+    /** Any free-delivery rule live at {@code at} whose minimum the subtotal reaches, or null. */
+    Rule freeDelivery(BigDecimal subtotal, LocalDateTime at) {
+        for (Rule rule : freeDelivery) {
+            if (rule.startDate().isAfter(at)) {
+                break;
+            }
+            if (rule.activeAt(at) && rule.meetsMinimum(subtotal)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    int size() {
+        int products = productDiscounts.values().stream().mapToInt(List::size).sum();
+        return products + freeDelivery.size();
+    }
+
+    private static Rule best(List<Rule> rules, LocalDateTime at) {
+        Rule best = null;
+        for (Rule rule : rules) {
+            if (rule.startDate().isAfter(at)) {
+                break;
+            }
+            if (!rule.activeAt(at)) {
+                continue;
+            }
+            if (best == null || rule.discountPercentage().compareTo(best.discountPercentage()) > 0) {
+                best = rule;
+            }
+        }
+        return best;
+    }
+
+    private static boolean hasPercentage(Rule rule) {
+        return rule.discountPercentage() != null && rule.discountPercentage().signum() > 0;
+    }
+}
@@ -0,0 +1,22 @@
+package com.project.skin_me.service.report;
+
+import com.project.skin_me.dto.PaymentReportRowDto;
+import com.project.skin_me.dto.SalesReportRowDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ISalesReportService {
+
+    /**
+     * Sales grouped by {@code product}, {@code brand}, {@code category} or {@code day} over
+     * {@code [from, to]}. Non-day groupings are ordered by revenue (top-N); day groupings by date.
+     */
+    List<SalesReportRowDto> getSales(String groupBy, LocalDate from, LocalDate to, int top);
+
+    /** Successful payments grouped by {@code method} or {@code day} over {@code [from, to]}. */
+    List<PaymentReportRowDto> getPayments(String groupBy, LocalDate from, LocalDate to);
+
+    /** Recompute rollup rows for {@code [from, to]} from orders and payments. */
+    int rebuild(LocalDate from, LocalDate to);
+}
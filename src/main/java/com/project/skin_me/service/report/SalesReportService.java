@@ -0,0 +1,77 @@
+package com.project.skin_me.service.report;
+
+import com.project.skin_me.dto.PaymentReportRowDto;
+import com.project.skin_me.dto.SalesReportRowDto;
+import com.project.skin_me.repository.DailyPaymentRepository;
+import com.project.skin_me.repository.DailySalesRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Reporting queries over the rollup tables only, so cost depends on the number of
+ * product-days in range rather than on order history size.
+ */
+@Service
+@RequiredArgsConstructor
+public class SalesReportService implements ISalesReportService {
+
+    private static final int MAX_TOP = 500;
+    private static final long MAX_RANGE_DAYS = 3660;
+
+    private final DailySalesRepository dailySalesRepository;
+    private final DailyPaymentRepository dailyPaymentRepository;
+    private final SalesRollupService salesRollupService;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalesReportRowDto> getSales(String groupBy, LocalDate from, LocalDate to, int top) {
+        validateRange(from, to);
+        String key = groupBy != null ? groupBy.trim().toLowerCase() : "product";
+        if ("day".equals(key)) {
+            Pageable days = PageRequest.of(0, (int) ChronoUnit.DAYS.between(from, to) + 1);
+            return dailySalesRepository.sumByDay(from, to, days);
+        }
+        Pageable limit = PageRequest.of(0, Math.min(Math.max(top, 1), MAX_TOP));
+        return switch (key) {
+            case "product" -> dailySalesRepository.sumByProduct(from, to, limit);
+            case "brand" -> dailySalesRepository.sumByBrand(from, to, limit);
+            case "category" -> dailySalesRepository.sumByCategory(from, to, limit);
+            default -> throw new IllegalArgumentException(
+                    "groupBy must be one of product, brand, category, day: " + groupBy);
+        };
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PaymentReportRowDto> getPayments(String groupBy, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        String key = groupBy != null ? groupBy.trim().toLowerCase() : "method";
+        return switch (key) {
+            case "method" -> dailyPaymentRepository.sumByMethod(from, to);
+            case "day" -> dailyPaymentRepository.sumByDay(from, to);
+            default -> throw new IllegalArgumentException("groupBy must be one of method, day: " + groupBy);
+        };
+    }
+
+    @Override
+    public int rebuild(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return salesRollupService.rebuild(from, to);
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Invalid date range: " + from + " .. " + to);
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range too large (max " + MAX_RANGE_DAYS + " days)");
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.project.skin_me.service.report;
+
+import com.project.skin_me.dto.SalesReportRowDto;
+import com.project.skin_me.enums.OrderStatus;
+import com.project.skin_me.enums.PaymentMethod;
+import com.project.skin_me.event.OrderStatusChangedEvent;
+import com.project.skin_me.model.Brand;
+import com.project.skin_me.model.Category;
+import com.project.skin_me.model.DailyPayment;
+import com.project.skin_me.model.DailySales;
+import com.project.skin_me.model.Order;
+import com.project.skin_me.model.OrderItem;
+import com.project.skin_me.model.Payment;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.repository.DailyPaymentRepository;
+import com.project.skin_me.repository.DailySalesRepository;
+import com.project.skin_me.repository.OrderRepository;
+import com.project.skin_me.repository.PaymentRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maintains the {@code daily_sales} and {@code daily_payments} rollup tables.
+ * <p>
+ * Paid-order events add to the day rows with an atomic upsert, and an order that leaves the
+ * revenue statuses (cancelled or refunded after payment) is subtracted again; {@link #rebuild} recomputes
+ * a date range from {@code orders}/{@code payments} (nightly reconcile and manual backfill).
+ * Sales are bucketed by order date, payments by transaction date.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesRollupService {
+
+    /** Order statuses whose line items count as sold. */
+    public static final Set<OrderStatus> REVENUE_STATUSES = EnumSet.of(
+            OrderStatus.PAID, OrderStatus.SUCCESS, OrderStatus.SHIPPED, OrderStatus.DELIVERED, OrderStatus.COMPLETED);
+
+    private final DailySalesRepository dailySalesRepository;
+    private final DailyPaymentRepository dailyPaymentRepository;
+    private final OrderRepository orderRepository;
+    private final PaymentRepository paymentRepository;
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        boolean wasRevenue = REVENUE_STATUSES.contains(event.getPreviousStatus());
+        boolean isRevenue = REVENUE_STATUSES.contains(event.getNewStatus());
+        if (wasRevenue == isRevenue) {
+            return;
+        }
+        try {
+            Order order = orderRepository.findByIdWithOrderItemsAndProducts(event.getOrderId()).orElse(null);
+            if (order == null) {
+                return;
+            }
+            if (isRevenue) {
+                addOrder(order);
+                paymentRepository.findByOrderId(order.getId())
+                        .filter(p -> p.getStatus() == OrderStatus.SUCCESS && p.getMethod() != null)
+                        .ifPresent(p -> dailyPaymentRepository.upsertPayment(paymentDay(p), p.getMethod().name(),
+                                p.getAmount()));
+            } else {
+                // Cancelled or refunded after payment: take the order back out; the payment only
+                // when it was reversed too, matching the SUCCESS-only rebuild
+                subtractOrder(order);
+                paymentRepository.findByOrderId(order.getId())
+                        .filter(p -> p.getStatus() != OrderStatus.SUCCESS && p.getMethod() != null
+                                && p.getAmount() != null)
+                        .ifPresent(p -> dailyPaymentRepository.subtractPayment(paymentDay(p), p.getMethod(),
+                                p.getAmount()));
+            }
+        } catch (Exception e) {
+            // Nightly reconcile rebuilds the day, so a missed increment is only temporary
+            log.warn("Sales rollup update failed for order {}: {}", event.getOrderId(), e.getMessage());
+        }
+    }
+
+    private void addOrder(Order order) {
+        LocalDate day = orderDay(order);
+        Lines lines = lines(order);
+        lines.products().forEach((productId, product) -> {
+            Brand brand = safeBrand(product);
+            Category category = safeCategory(product);
+            dailySalesRepository.upsertSale(day, productId, product.getName(),
+                    brand != null ? brand.getId() : null, brand != null ? brand.getName() : null,
+                    category != null ? category.getId() : null, category != null ? category.getName() : null,
+                    lines.quantities().get(productId)[0], lines.revenues().get(productId));
+        });
+    }
+
+    private void subtractOrder(Order order) {
+        LocalDate day = orderDay(order);
+        Lines lines = lines(order);
+        lines.products().keySet().forEach(productId -> dailySalesRepository.subtractSale(day, productId,
+                lines.quantities().get(productId)[0], lines.revenues().get(productId)));
+    }
+
+    private record Lines(Map<Long, Product> products, Map<Long, long[]> quantities, Map<Long, BigDecimal> revenues) {
+    }
+
+    /** Order lines merged per product, so order_count moves by one per order. */
+    private static Lines lines(Order order) {
+        Map<Long, long[]> quantities = new LinkedHashMap<>();
+        Map<Long, BigDecimal> revenues = new LinkedHashMap<>();
+        Map<Long, Product> products = new LinkedHashMap<>();
+        for (OrderItem item : order.getOrderItems()) {
+            Product product = item.getProduct();
+            if (product == null || item.getPrice() == null) {
+                continue;
+            }
+            products.putIfAbsent(product.getId(), product);
+            quantities.computeIfAbsent(product.getId(), k -> new long[1])[0] += item.getQuantity();
+            revenues.merge(product.getId(), item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())),
+                    BigDecimal::add);
+        }
+        return new Lines(products, quantities, revenues);
+    }
+
+    private static LocalDate orderDay(Order order) {
+        return order.getOrderDate() != null ? order.getOrderDate() : LocalDate.now();
+    }
+
+    private static LocalDate paymentDay(Payment payment) {
+        return payment.getTransactionTime() != null ? payment.getTransactionTime().toLocalDate() : LocalDate.now();
+    }
+
+    /** Revenue per month from {@code daily_sales}, for the dashboard chart. */
+    @Transactional(readOnly = true)
+    public Map<YearMonth, BigDecimal> revenueByMonth(LocalDate from, LocalDate to) {
+        Map<YearMonth, BigDecimal> months = new LinkedHashMap<>();
+        Pageable days = PageRequest.of(0, (int) ChronoUnit.DAYS.between(from, to) + 1);
+        for (SalesReportRowDto row : dailySalesRepository.sumByDay(from, to, days)) {
+            if (row.getDay() != null && row.getRevenue() != null) {
+                months.merge(YearMonth.from(row.getDay()), row.getRevenue(), BigDecimal::add);
+            }
+        }
+        return months;
+    }
+
+    /**
+     * Deletes and recomputes rollup rows for every day in {@code [from, to]}.
+     *
+     * @return number of daily_sales rows written
+     */
+    @Transactional
+    public int rebuild(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Invalid rollup range: " + from + " .. " + to);
+        }
+        dailySalesRepository.deleteBySalesDateBetween(from, to);
+        dailyPaymentRepository.deleteByPaymentDateBetween(from, to);
+
+        int written = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            List<DailySales> salesRows = new ArrayList<>();
+            for (Object[] row : dailySalesRepository.aggregatePaidOrderItems(day, REVENUE_STATUSES)) {
+                DailySales ds = new DailySales();
+                ds.setSalesDate(day);
+                ds.setProductId((Long) row[0]);
+                ds.setProductName((String) row[1]);
+                ds.setBrandId((Long) row[2]);
+                ds.setBrandName((String) row[3]);
+                ds.setCategoryId((Long) row[4]);
+                ds.setCategoryName((String) row[5]);
+                ds.setQuantity(((Number) row[6]).longValue());
+                ds.setRevenue(toBigDecimal(row[7]));
+                ds.setOrderCount(((Number) row[8]).longValue());
+                salesRows.add(ds);
+            }
+            dailySalesRepository.saveAll(salesRows);
+            written += salesRows.size();
+
+            List<DailyPayment> paymentRows = new ArrayList<>();
+            for (Object[] row : dailyPaymentRepository.aggregatePayments(OrderStatus.SUCCESS,
+                    day.atStartOfDay(), day.plusDays(1).atStartOfDay())) {
+                DailyPayment dp = new DailyPayment();
+                dp.setPaymentDate(day);
+                dp.setMethod((PaymentMethod) row[0]);
+                dp.setAmount(toBigDecimal(row[1]));
+                dp.setPaymentCount(((Number) row[2]).longValue());
+                paymentRows.add(dp);
+            }
+            dailyPaymentRepository.saveAll(paymentRows);
+        }
+        log.info("Sales rollup rebuilt for {} .. {} ({} product-day rows)", from, to, written);
+        return written;
+    }
+
+    private static Brand safeBrand(Product product) {
+        try {
+            return product.getBrand();
+        } catch (EntityNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Category safeCategory(Product product) {
+        try {
+            Category category = product.getCategory();
+            if (category != null) {
+                category.getName();
+            }
+            return category;
+        } catch (EntityNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal ? (BigDecimal) value : BigDecimal.valueOf(((Number) value).doubleValue());
+    }
+}
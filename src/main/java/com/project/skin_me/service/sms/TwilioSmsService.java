@@ -1,5 +1,7 @@
 package com.project.skin_me.service.sms;
 
+import com.project.skin_me.service.http.IntegrationGuard.Retry;
+import com.project.skin_me.service.http.OutboundHttp;
 import com.twilio.Twilio;
 import com.twilio.rest.api.v2010.account.Message;
 import com.twilio.type.PhoneNumber;
@@ -26,6 +28,12 @@ public class TwilioSmsService implements SmsService {
 
     private static final Logger logger = LoggerFactory.getLogger(TwilioSmsService.class);
 
+    private final OutboundHttp outboundHttp;
+
+    public TwilioSmsService(OutboundHttp outboundHttp) {
+        this.outboundHttp = outboundHttp;
+    }
+
     @Value("${app.sms.twilio.account-sid:}")
     private String accountSid;
 
@@ -47,7 +55,8 @@ public class TwilioSmsService implements SmsService {
             String body = "Your Skin.me verification code is: " + code + ". Valid for 10 minutes.";
             PhoneNumber to = new PhoneNumber(normalizeToE164(phone));
             PhoneNumber from = new PhoneNumber(fromNumber);
-            Message.creator(to, from, body).create();
+            // not retried once sent: a timeout after the send could deliver the OTP twice
+            outboundHttp.call("twilio", () -> Message.creator(to, from, body).create(), Retry.CONNECT_FAILURES);
             logger.info("SMS OTP sent via Twilio to {}", phone);
             return true;
         } catch (Exception e) {
@@ -0,0 +1,94 @@
+package com.project.skin_me.service.store;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Single-node {@link KeyValueStore}; expired entries are dropped on read and by a periodic sweep. */
+public class InMemoryKeyValueStore implements KeyValueStore {
+
+    private record Entry(String value, long expiresAtMs) {
+        boolean expired(long nowMs) {
+            return nowMs >= expiresAtMs;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Entry> values = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> sets = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<String> get(String key) {
+        Entry entry = values.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expired(System.currentTimeMillis())) {
+            values.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value());
+    }
+
+    @Override
+    public void set(String key, String value, Duration ttl) {
+        values.put(key, new Entry(value, expiry(ttl)));
+    }
+
+    @Override
+    public boolean compareAndSet(String key, String expected, String value, Duration ttl) {
+        boolean[] written = {false};
+        long now = System.currentTimeMillis();
+        values.compute(key, (k, current) -> {
+            String currentValue = current == null || current.expired(now) ? null : current.value();
+            if (!Objects.equals(currentValue, expected)) {
+                return current;
+            }
+            written[0] = true;
+            return new Entry(value, expiry(ttl));
+        });
+        return written[0];
+    }
+
+    @Override
+    public void delete(String key) {
+        values.remove(key);
+    }
+
+    @Override
+    public void addToSet(String key, String member) {
+        sets.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(member);
+    }
+
+    @Override
+    public Set<String> popFromSet(String key, int count) {
+        Set<String> members = sets.get(key);
+        Set<String> popped = new HashSet<>();
+        if (members == null) {
+            return popped;
+        }
+        Iterator<String> it = members.iterator();
+        while (it.hasNext() && popped.size() < count) {
+            String member = it.next();
+            if (members.remove(member)) {
+                popped.add(member);
+            }
+        }
+        return popped;
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        values.entrySet().removeIf(e -> e.getValue().expired(now));
+    }
+
+    private static long expiry(Duration ttl) {
+        return ttl == null ? Long.MAX_VALUE : System.currentTimeMillis() + ttl.toMillis();
+    }
+}
@@ -0,0 +1,32 @@
+package com.project.skin_me.service.store;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Minimal shared key/value store behind carts and other per-user state that must be visible to
+ * every application node. {@code app.store.type} picks the implementation: {@code memory}
+ * (single node) or {@code redis} (any Redis-protocol server).
+ */
+public interface KeyValueStore {
+
+    Optional<String> get(String key);
+
+    void set(String key, String value, Duration ttl);
+
+    /**
+     * Writes {@code value} only if the key still holds {@code expected}
+     * ({@code expected == null} means the key must be absent).
+     *
+     * @return false if another writer got there first
+     */
+    boolean compareAndSet(String key, String expected, String value, Duration ttl);
+
+    void delete(String key);
+
+    void addToSet(String key, String member);
+
+    /** Removes and returns up to {@code count} members. */
+    Set<String> popFromSet(String key, int count);
+}
@@ -0,0 +1,15 @@
+package com.project.skin_me.service.store;
+
+import java.util.function.Consumer;
+
+/**
+ * Fire-and-forget publish/subscribe shared by every application node; the companion of
+ * {@link KeyValueStore} and backed by the same server ({@code app.store.type}).
+ * Subscribers also receive messages published by their own node.
+ */
+public interface MessageBus {
+
+    void publish(String channel, String message);
+
+    void subscribe(String channel, Consumer<String> listener);
+}
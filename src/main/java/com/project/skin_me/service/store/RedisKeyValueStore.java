@@ -0,0 +1,76 @@
+package com.project.skin_me.service.store;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/** {@link KeyValueStore} on any Redis-protocol server; compare-and-set runs as one Lua script. */
+public class RedisKeyValueStore implements KeyValueStore {
+
+    /** ARGV: expected, new value, ttl ms (0 = none), "1" when the key must be absent. */
+    private static final RedisScript<Long> COMPARE_AND_SET = new DefaultRedisScript<>("""
+            local current = redis.call('GET', KEYS[1])
+            if ARGV[4] == '1' then
+              if current then return 0 end
+            elseif current ~= ARGV[1] then
+              return 0
+            end
+            if tonumber(ARGV[3]) > 0 then
+              redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            else
+              redis.call('SET', KEYS[1], ARGV[2])
+            end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisKeyValueStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(redisTemplate.opsForValue().get(key));
+    }
+
+    @Override
+    public void set(String key, String value, Duration ttl) {
+        if (ttl == null) {
+            redisTemplate.opsForValue().set(key, value);
+        } else {
+            redisTemplate.opsForValue().set(key, value, ttl);
+        }
+    }
+
+    @Override
+    public boolean compareAndSet(String key, String expected, String value, Duration ttl) {
+        Long written = redisTemplate.execute(COMPARE_AND_SET, List.of(key),
+                expected != null ? expected : "", value,
+                String.valueOf(ttl != null ? ttl.toMillis() : 0),
+                expected == null ? "1" : "0");
+        return written != null && written == 1L;
+    }
+
+    @Override
+    public void delete(String key) {
+        redisTemplate.delete(key);
+    }
+
+    @Override
+    public void addToSet(String key, String member) {
+        redisTemplate.opsForSet().add(key, member);
+    }
+
+    @Override
+    public Set<String> popFromSet(String key, int count) {
+        List<String> popped = redisTemplate.opsForSet().pop(key, count);
+        return popped != null ? new HashSet<>(popped) : new HashSet<>();
+    }
+}
@@ -0,0 +1,361 @@
+package com.project.skin_me.service.telegram;
+
+import com.project.skin_me.enums.TelegramAlertKind;
+import com.project.skin_me.enums.TelegramAlertStatus;
+import com.project.skin_me.model.TelegramAlert;
+import com.project.skin_me.repository.TelegramAlertRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Queue between the events that raise Telegram alerts and the Bot API.
+ * <p>
+ * {@link #enqueue} stores the alert in {@code telegram_alerts} in its own transaction and returns, so
+ * a failed insert never marks the caller's (order) transaction rollback-only; nothing is sent on the
+ * request thread. {@link #drain()} (every
+ * {@code app.telegram.dispatch.interval-ms}) takes the due alerts and sends them per chat:
+ * <ul>
+ *   <li>each chat has a token bucket ({@code burst} messages, refilled at {@code per-minute}), so we
+ *       stay under Telegram's per-chat limits instead of collecting 429s;</li>
+ *   <li>when {@code digest-min} or more alerts of one kind wait for the same chat they go out as one
+ *       digest ("12 new orders (pending payment) in the last minute") instead of one message each;</li>
+ *   <li>a 429 pauses the chat for its {@code retry_after}, stored on the alerts so every node and a
+ *       restarted node honour it; other failures back off exponentially up to {@code max-attempts},
+ *       while rejections (chat not found, bot blocked) are dead at once.</li>
+ * </ul>
+ * Token buckets are per node; with several nodes each drains at the configured rate and a 429
+ * still pauses all of them.
+ */
+@Slf4j
+@Service
+public class TelegramAlertDispatcher {
+
+    private final TelegramAlertRepository alertRepository;
+    private final TelegramBotClient botClient;
+    private final Counter enqueued;
+    private final Counter sent;
+    private final Counter digests;
+    private final Counter rateLimited;
+    private final Counter dead;
+    private final AtomicLong depth = new AtomicLong();
+
+    @Value("${app.telegram.dispatch.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.telegram.dispatch.burst:3}")
+    private int burst;
+
+    @Value("${app.telegram.dispatch.per-minute:20}")
+    private int perMinute;
+
+    @Value("${app.telegram.dispatch.digest-min:3}")
+    private int digestMin;
+
+    @Value("${app.telegram.dispatch.digest-max-lines:15}")
+    private int digestMaxLines;
+
+    @Value("${app.telegram.dispatch.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.telegram.dispatch.retry-base-seconds:10}")
+    private long retryBaseSeconds;
+
+    @Value("${app.telegram.dispatch.stale-sending-minutes:5}")
+    private long staleSendingMinutes;
+
+    @Value("${app.telegram.dispatch.retention-days:7}")
+    private long retentionDays;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public TelegramAlertDispatcher(TelegramAlertRepository alertRepository, TelegramBotClient botClient,
+            MeterRegistry meterRegistry) {
+        this.alertRepository = alertRepository;
+        this.botClient = botClient;
+        this.enqueued = Counter.builder("skinme.telegram.alerts.enqueued").register(meterRegistry);
+        this.sent = Counter.builder("skinme.telegram.alerts.sent")
+                .description("Alerts delivered, alone or inside a digest").register(meterRegistry);
+        this.digests = Counter.builder("skinme.telegram.alerts.digests").register(meterRegistry);
+        this.rateLimited = Counter.builder("skinme.telegram.alerts.rate_limited")
+                .description("429 responses from Telegram").register(meterRegistry);
+        this.dead = Counter.builder("skinme.telegram.alerts.dead").register(meterRegistry);
+        Gauge.builder("skinme.telegram.queue.depth", depth, AtomicLong::get)
+                .description("PENDING alerts at the last dispatcher run")
+                .register(meterRegistry);
+    }
+
+    /** Queues an alert for {@code chatId} in a transaction of its own. */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void enqueue(String chatId, TelegramAlertKind kind, String summary, String text) {
+        TelegramAlert alert = new TelegramAlert();
+        alert.setChatId(chatId);
+        alert.setKind(kind);
+        alert.setSummary(summary != null && summary.length() > 255 ? summary.substring(0, 255) : summary);
+        alert.setText(text);
+        alertRepository.save(alert);
+        enqueued.increment();
+    }
+
+    /** Sends what the chats' rate limits allow; returns the number of alerts delivered. */
+    public int drain() {
+        if (!botClient.hasToken()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<TelegramAlert> due = alertRepository.findDue(now, PageRequest.of(0, Math.max(batchSize, 1)));
+        Map<String, List<TelegramAlert>> byChat = new LinkedHashMap<>();
+        for (TelegramAlert alert : due) {
+            byChat.computeIfAbsent(alert.getChatId(), id -> new ArrayList<>()).add(alert);
+        }
+        int delivered = 0;
+        for (Map.Entry<String, List<TelegramAlert>> chat : byChat.entrySet()) {
+            delivered += drainChat(chat.getKey(), chat.getValue());
+        }
+        int exhausted = alertRepository.deadLetterExhausted(maxAttempts, LocalDateTime.now());
+        if (exhausted > 0) {
+            dead.increment(exhausted);
+            log.warn("{} Telegram alerts out of attempts, marked DEAD", exhausted);
+        }
+        depth.set(alertRepository.countByStatus(TelegramAlertStatus.PENDING));
+        return delivered;
+    }
+
+    private int drainChat(String chatId, List<TelegramAlert> alerts) {
+        Bucket bucket = buckets.computeIfAbsent(chatId, id -> new Bucket(Math.max(burst, 1)));
+        if (!bucket.hasToken(System.currentTimeMillis(), perMinute)) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<TelegramAlert> claimed = new ArrayList<>();
+        for (TelegramAlert alert : alerts) {
+            if (alertRepository.claim(alert.getId(), now) == 1) {
+                claimed.add(alert);
+            }
+        }
+
+        List<Message> messages = compose(claimed, now);
+        int delivered = 0;
+        int i = 0;
+        for (; i < messages.size(); i++) {
+            Message message = messages.get(i);
+            if (!bucket.tryTake(System.currentTimeMillis(), perMinute)) {
+                break;
+            }
+            TelegramBotClient.SendResult result = botClient.send(chatId, message.text());
+            LocalDateTime at = LocalDateTime.now();
+            switch (result.outcome()) {
+                case SENT -> {
+                    alertRepository.markSent(message.ids(), at);
+                    sent.increment(message.ids().size());
+                    if (message.ids().size() > 1) {
+                        digests.increment();
+                    }
+                    delivered += message.ids().size();
+                }
+                case RETRY_AFTER -> {
+                    rateLimited.increment();
+                    bucket.pauseUntil(System.currentTimeMillis() + result.retryAfterSeconds() * 1000L);
+                    release(messages.subList(i, messages.size()), at.plusSeconds(result.retryAfterSeconds()));
+                    return delivered;
+                }
+                case REJECTED -> {
+                    alertRepository.markDead(message.ids(), truncate(result.error()), at);
+                    dead.increment(message.ids().size());
+                }
+                case FAILED -> {
+                    // the chat (or Telegram) is unreachable: back off this message, keep the rest queued
+                    int attempt = message.maxAttempts() + 1;
+                    alertRepository.fail(message.ids(), truncate(result.error()), at.plus(backoff(attempt)), at);
+                    release(messages.subList(i + 1, messages.size()), at.plus(backoff(attempt)));
+                    return delivered;
+                }
+            }
+        }
+        release(messages.subList(i, messages.size()), now);
+        return delivered;
+    }
+
+    /**
+     * One message per alert, except that kinds with a digest title and at least {@code digest-min}
+     * waiting alerts become one digest. Ordered by their oldest alert.
+     */
+    private List<Message> compose(List<TelegramAlert> alerts, LocalDateTime now) {
+        Map<TelegramAlertKind, List<TelegramAlert>> byKind = new EnumMap<>(TelegramAlertKind.class);
+        for (TelegramAlert alert : alerts) {
+            byKind.computeIfAbsent(alert.getKind(), k -> new ArrayList<>()).add(alert);
+        }
+        List<Message> messages = new ArrayList<>();
+        for (Map.Entry<TelegramAlertKind, List<TelegramAlert>> group : byKind.entrySet()) {
+            TelegramAlertKind kind = group.getKey();
+            List<TelegramAlert> list = group.getValue();
+            if (kind.coalesces() && list.size() >= Math.max(digestMin, 2)) {
+                messages.add(new Message(digest(kind, list, now), list));
+            } else {
+                for (TelegramAlert alert : list) {
+                    messages.add(new Message(alert.getText(), List.of(alert)));
+                }
+            }
+        }
+        messages.sort(Comparator.comparingLong(Message::firstId));
+        return messages;
+    }
+
+    private String digest(TelegramAlertKind kind, List<TelegramAlert> alerts, LocalDateTime now) {
+        Duration span = Duration.between(alerts.get(0).getCreatedAt(), now);
+        long minutes = Math.max(1, (span.toSeconds() + 59) / 60);
+        StringBuilder sb = new StringBuilder();
+        sb.append(kind.getEmoji()).append(" <b>").append(alerts.size()).append(' ').append(kind.getDigestTitle())
+                .append(minutes == 1 ? " in the last minute" : " in the last " + minutes + " minutes")
+                .append("</b>\n");
+        int shown = Math.min(alerts.size(), Math.max(digestMaxLines, 1));
+        for (int i = 0; i < shown; i++) {
+            String summary = alerts.get(i).getSummary();
+            sb.append("• ").append(summary != null ? summary : "#" + alerts.get(i).getId()).append('\n');
+        }
+        if (alerts.size() > shown) {
+            sb.append("…and ").append(alerts.size() - shown).append(" more\n");
+        }
+        return sb.toString().trim();
+    }
+
+    private void release(List<Message> messages, LocalDateTime nextAttemptAt) {
+        List<Long> ids = new ArrayList<>();
+        for (Message message : messages) {
+            ids.addAll(message.ids());
+        }
+        if (!ids.isEmpty()) {
+            alertRepository.release(ids, nextAttemptAt, LocalDateTime.now());
+        }
+    }
+
+    private Duration backoff(int attempt) {
+        long seconds = retryBaseSeconds * (1L << Math.min(Math.max(attempt - 1, 0), 10));
+        return Duration.ofSeconds(Math.min(seconds, 3600));
+    }
+
+    /** Returns SENDING alerts of a stopped run to the queue and purges old SENT rows. */
+    public void housekeeping() {
+        LocalDateTime now = LocalDateTime.now();
+        int released = alertRepository.releaseStale(now.minusMinutes(staleSendingMinutes), now);
+        if (released > 0) {
+            log.info("Released {} Telegram alerts left in SENDING", released);
+        }
+        alertRepository.deleteSentBefore(now.minusDays(retentionDays));
+    }
+
+    /** Queue depth per status and per chat, plus each chat's rate-limit state on this node. */
+    @Transactional(readOnly = true)
+    public Map<String, Object> status() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (TelegramAlertStatus s : TelegramAlertStatus.values()) {
+            counts.put(s.name(), alertRepository.countByStatus(s));
+        }
+        List<Map<String, Object>> chats = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (Object[] row : alertRepository.pendingByChat()) {
+            String chatId = (String) row[0];
+            Map<String, Object> chat = new LinkedHashMap<>();
+            chat.put("chatId", chatId);
+            chat.put("pending", row[1]);
+            chat.put("oldestPendingAt", row[2]);
+            chat.put("nextAttemptAt", row[3]);
+            Bucket bucket = buckets.get(chatId);
+            if (bucket != null) {
+                chat.put("tokens", bucket.tokens(now, perMinute));
+                chat.put("pausedForMs", bucket.pausedFor(now));
+            }
+            chats.add(chat);
+        }
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", botClient.hasToken());
+        status.put("depth", counts.get(TelegramAlertStatus.PENDING.name()));
+        status.put("counts", counts);
+        status.put("chats", chats);
+        status.put("ratePerChatPerMinute", perMinute);
+        status.put("burst", burst);
+        return status;
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+
+    private record Message(String text, List<TelegramAlert> alerts) {
+        List<Long> ids() {
+            return alerts.stream().map(TelegramAlert::getId).toList();
+        }
+
+        long firstId() {
+            return alerts.get(0).getId();
+        }
+
+        int maxAttempts() {
+            return alerts.stream().mapToInt(TelegramAlert::getAttempts).max().orElse(0);
+        }
+    }
+
+    /** Token bucket of one chat; only the dispatcher run mutates it. */
+    private static final class Bucket {
+        private final int capacity;
+        private double tokens;
+        private long refilledAt = System.currentTimeMillis();
+        private long pausedUntil;
+
+        Bucket(int capacity) {
+            this.capacity = capacity;
+            this.tokens = capacity;
+        }
+
+        synchronized boolean hasToken(long now, int perMinute) {
+            refill(now, perMinute);
+            return now >= pausedUntil && tokens >= 1;
+        }
+
+        synchronized boolean tryTake(long now, int perMinute) {
+            if (!hasToken(now, perMinute)) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        synchronized void pauseUntil(long until) {
+            pausedUntil = Math.max(pausedUntil, until);
+            tokens = 0;
+        }
+
+        synchronized double tokens(long now, int perMinute) {
+            refill(now, perMinute);
+            return Math.floor(tokens * 10) / 10;
+        }
+
+        synchronized long pausedFor(long now) {
+            return Math.max(0, pausedUntil - now);
+        }
+
+        private void refill(long now, int perMinute) {
+            if (now > refilledAt) {
+                tokens = Math.min(capacity, tokens + (now - refilledAt) * Math.max(perMinute, 1) / 60_000.0);
+                refilledAt = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.project.skin_me.service.telegram;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.skin_me.service.http.OutboundHttp;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+
+/**
+ * Bot API {@code sendMessage} for the alert dispatcher. Performs one synchronous call and reports
+ * how it went; queuing, rate limits and retries are {@link TelegramAlertDispatcher}'s job.
+ */
+@Component
+public class TelegramBotClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelegramBotClient.class);
+
+    /** How one {@code sendMessage} call ended. */
+    public enum Outcome {
+        SENT,
+        /** HTTP 429: the chat is rate limited for {@code retryAfterSeconds}. */
+        RETRY_AFTER,
+        /** Telegram refused the message (chat not found, bot blocked, bad markup); retrying will not help. */
+        REJECTED,
+        /** Network error, 5xx or the outbound guard refused the call; worth retrying later. */
+        FAILED
+    }
+
+    public record SendResult(Outcome outcome, int retryAfterSeconds, String error) {
+    }
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${app.telegram.bot-token:}")
+    private String botToken;
+
+    /** Bot API host; overridden by the loadtest profile to point at the local stub. */
+    @Value("${app.telegram.api-base:https://api.telegram.org}")
+    private String apiBase;
+
+    /**
+     * Pooled, guarded client ({@code app.http.telegram.*}) with a no-op error handler so that
+     * non-2xx responses (e.g. 403 "bot was blocked", 400 "chat not found", 429) are returned to us
+     * instead of thrown, letting us read Telegram's real reason.
+     */
+    public TelegramBotClient(OutboundHttp outboundHttp) {
+        this.restTemplate = outboundHttp.restTemplate("telegram");
+        this.restTemplate.setErrorHandler(new ResponseErrorHandler() {
+            @Override
+            public boolean hasError(ClientHttpResponse response) {
+                return false;
+            }
+
+            @Override
+            public void handleError(ClientHttpResponse response) {
+                // No-op: we inspect the status/body ourselves in send.
+            }
+        });
+    }
+
+    public boolean hasToken() {
+        return botToken != null && !botToken.isBlank();
+    }
+
+    @Timed(value = "skinme.telegram.send", description = "Telegram sendMessage to a specific chat", histogram = true)
+    public SendResult send(String chatId, String text) {
+        ResponseEntity<String> response;
+        try {
+            String url = apiBase + "/bot" + botToken + "/sendMessage";
+            Map<String, Object> body = Map.of(
+                    "chat_id", chatId,
+                    "text", text,
+                    "parse_mode", "HTML"
+            );
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            response = restTemplate.exchange(
+                    url,
+                    HttpMethod.POST,
+                    new HttpEntity<>(objectMapper.writeValueAsString(body), headers),
+                    String.class
+            );
+        } catch (Exception e) {
+            logger.warn("Telegram sendMessage to chat {} failed: {}", chatId, e.getMessage());
+            return new SendResult(Outcome.FAILED, 0, e.getMessage());
+        }
+
+        int status = response.getStatusCode().value();
+        if (response.getStatusCode().is2xxSuccessful()) {
+            logger.debug("Telegram alert sent to chat {}", chatId);
+            return new SendResult(Outcome.SENT, 0, null);
+        }
+        if (status == 429) {
+            int retryAfter = retryAfter(response.getBody());
+            logger.info("Telegram rate limited chat {}: retry after {} s", chatId, retryAfter);
+            return new SendResult(Outcome.RETRY_AFTER, retryAfter, "HTTP 429");
+        }
+        if (response.getStatusCode().is4xxClientError()) {
+            // Telegram returns a JSON body explaining the failure, e.g.
+            // {"ok":false,"error_code":403,"description":"Forbidden: bot was blocked by the user"}
+            // or {"ok":false,"error_code":400,"description":"Bad Request: chat not found"}.
+            logger.warn("Telegram sendMessage to chat {} FAILED with HTTP {} -> {}. "
+                            + "Common causes: the chat has never pressed Start on the bot, "
+                            + "wrong chat-id, or the bot is not a member of the group.",
+                    chatId, status, response.getBody());
+            return new SendResult(Outcome.REJECTED, 0, "HTTP " + status + ": " + response.getBody());
+        }
+        logger.warn("Telegram sendMessage to chat {} failed with HTTP {}", chatId, status);
+        return new SendResult(Outcome.FAILED, 0, "HTTP " + status);
+    }
+
+    /** {@code parameters.retry_after} of a 429 body; 5 s when it is missing. */
+    private int retryAfter(String body) {
+        try {
+            JsonNode node = objectMapper.readTree(body != null ? body : "{}");
+            int seconds = node.path("parameters").path("retry_after").asInt(0);
+            return seconds > 0 ? seconds : 5;
+        } catch (Exception e) {
+            return 5;
+        }
+    }
+}
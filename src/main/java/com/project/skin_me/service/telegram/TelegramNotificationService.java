@@ -1,52 +1,22 @@
 package com.project.skin_me.service.telegram;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.skin_me.enums.TelegramAlertKind;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
-import org.springframework.http.client.ClientHttpResponse;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.ResponseErrorHandler;
-import org.springframework.web.client.RestTemplate;
-
-import java.util.Map;
 
+/**
+ * Formats order, payment, delivery and sign-up alerts and queues them on the
+ * {@link TelegramAlertDispatcher}; nothing is sent on the caller's thread.
+ */
 @Service
 public class TelegramNotificationService {
 
     private static final Logger logger = LoggerFactory.getLogger(TelegramNotificationService.class);
-    private static final String TELEGRAM_API = "https://api.telegram.org/bot%s/sendMessage";
-
-    private final RestTemplate restTemplate = buildRestTemplate();
-    private final ObjectMapper objectMapper = new ObjectMapper();
-
-    /**
-     * RestTemplate with explicit timeouts and a no-op error handler so that
-     * non-2xx responses (e.g. 403 "bot was blocked", 400 "chat not found") are
-     * returned to us instead of thrown, letting us log Telegram's real reason.
-     */
-    private static RestTemplate buildRestTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(10_000);
-        factory.setReadTimeout(10_000);
-        RestTemplate template = new RestTemplate(factory);
-        template.setErrorHandler(new ResponseErrorHandler() {
-            @Override
-            public boolean hasError(ClientHttpResponse response) {
-                return false;
-            }
 
-            @Override
-            public void handleError(ClientHttpResponse response) {
-                // No-op: we inspect the status/body ourselves in sendToChat.
-            }
-        });
-        return template;
-    }
+    private final TelegramAlertDispatcher dispatcher;
 
     @Value("${app.telegram.bot-token:}")
     private String botToken;
@@ -54,6 +24,10 @@ public class TelegramNotificationService {
     @Value("${app.telegram.chat-id:}")
     private String chatId;
 
+    public TelegramNotificationService(TelegramAlertDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
     @PostConstruct
     public void logTelegramStatus() {
         if (isConfigured()) {
@@ -63,54 +37,48 @@ public class TelegramNotificationService {
         }
     }
 
-    /** Send to default chat (app.telegram.chat-id). */
+    /** Queue for the default chat (app.telegram.chat-id). */
     public void sendAlert(String message) {
         if (!isConfigured()) {
             logger.warn("Telegram not configured (bot-token or chat-id missing), skipping alert");
             return;
         }
-        sendToChat(message, chatId);
+        dispatcher.enqueue(chatId, TelegramAlertKind.MESSAGE, null, message);
     }
 
-    /** Send to a specific chat (e.g. KHQR account owner group). Uses same bot token. */
+    /** Queue for a specific chat (e.g. KHQR account owner group). Uses same bot token. */
     public void sendAlertToChat(String message, String targetChatId) {
         if (botToken == null || botToken.isBlank() || targetChatId == null || targetChatId.isBlank()) {
             return;
         }
-        sendToChat(message, targetChatId);
-    }
-
-    private void sendToChat(String message, String targetChatId) {
-        try {
-            String url = String.format(TELEGRAM_API, botToken);
-            Map<String, Object> body = Map.of(
-                    "chat_id", targetChatId,
-                    "text", message,
-                    "parse_mode", "HTML"
-            );
-            String jsonBody = objectMapper.writeValueAsString(body);
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            ResponseEntity<String> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.POST,
-                    new HttpEntity<>(jsonBody, headers),
-                    String.class
-            );
-            if (response.getStatusCode().is2xxSuccessful()) {
-                logger.info("Telegram alert sent to chat {}", targetChatId);
-            } else {
-                // Telegram returns a JSON body explaining the failure, e.g.
-                // {"ok":false,"error_code":403,"description":"Forbidden: bot was blocked by the user"}
-                // or {"ok":false,"error_code":400,"description":"Bad Request: chat not found"}.
-                logger.warn("Telegram sendMessage to chat {} FAILED with HTTP {} -> {}. "
-                                + "Common causes: the chat has never pressed Start on the bot, "
-                                + "wrong chat-id, or the bot is not a member of the group.",
-                        targetChatId, response.getStatusCode().value(), response.getBody());
+        dispatcher.enqueue(targetChatId, TelegramAlertKind.MESSAGE, null, message);
+    }
+
+    /** Queues {@code text} for the default chat and, when given, the owner chat. */
+    private void alert(TelegramAlertKind kind, String summary, String text, String ownerChatId) {
+        if (isConfigured()) {
+            dispatcher.enqueue(chatId, kind, summary, text);
+        } else {
+            logger.debug("Telegram not configured, {} alert not queued for default chat", kind);
+        }
+        if (botToken != null && !botToken.isBlank() && ownerChatId != null && !ownerChatId.isBlank()
+                && !ownerChatId.trim().equals(chatId)) {
+            dispatcher.enqueue(ownerChatId.trim(), kind, summary, text);
+        }
+    }
+
+    /** Digest line: escaped, non-empty parts joined with " · ". */
+    private static String summary(String... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (String part : parts) {
+            if (part != null && !part.isBlank()) {
+                if (sb.length() > 0) {
+                    sb.append(" · ");
+                }
+                sb.append(escapeHtml(part));
             }
-        } catch (Exception e) {
-            logger.error("Failed to send Telegram alert to {}: {}", targetChatId, e.getMessage(), e);
         }
+        return sb.toString();
     }
 
     /** Build clean notification: alert emoji + bold title + lines. Escapes HTML entities in values. */
@@ -130,76 +98,51 @@ public class TelegramNotificationService {
         return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
     }
 
-    /** Fired when order is placed (before payment). Sends to default chat and optionally to account owner chat. */
-    @Async
+    /** Fired when order is placed (before payment). Queued for the default chat. */
     public void notifyNewOrder(Long orderId, String userInfo, String totalAmount) {
-        String msg = alertBlock("🔔", "New order (pending payment)",
-                "Order #" + orderId,
-                "User: " + userInfo,
-                "Total: " + totalAmount);
-        sendAlert(msg);
+        notifyNewOrder(orderId, userInfo, totalAmount, null);
     }
 
-    @Async
+    /** Fired when order is placed (before payment). Queued for the default chat and optionally the account owner chat. */
     public void notifyNewOrder(Long orderId, String userInfo, String totalAmount, String ownerChatId) {
-        logger.info("Telegram new-order alert triggered for order #{} (configured={})", orderId, isConfigured());
+        logger.info("Telegram new-order alert queued for order #{} (configured={})", orderId, isConfigured());
         String msg = alertBlock("🔔", "New order (pending payment)",
                 "Order #" + orderId,
                 "User: " + userInfo,
                 "Total: " + totalAmount);
-        sendAlert(msg);
-        if (ownerChatId != null && !ownerChatId.isBlank()) {
-            sendAlertToChat(msg, ownerChatId.trim());
-        }
+        alert(TelegramAlertKind.NEW_ORDER, summary("Order #" + orderId, userInfo, totalAmount), msg, ownerChatId);
     }
 
-    /** Fired when payment is confirmed. Sends to default chat and optionally to account owner chat. */
-    @Async
+    /** Fired when payment is confirmed. Queued for the default chat. */
     public void notifyPaymentCompleted(Long orderId, String userInfo, String totalAmount) {
-        String msg = alertBlock("💰", "Payment completed",
-                "Order #" + orderId,
-                "User: " + userInfo,
-                "Amount: " + totalAmount);
-        sendAlert(msg);
+        notifyPaymentCompleted(orderId, userInfo, totalAmount, null);
     }
 
-    @Async
+    /** Fired when payment is confirmed. Queued for the default chat and optionally the account owner chat. */
     public void notifyPaymentCompleted(Long orderId, String userInfo, String totalAmount, String ownerChatId) {
         String msg = alertBlock("💰", "Payment completed",
                 "Order #" + orderId,
                 "User: " + userInfo,
                 "Amount: " + totalAmount);
-        sendAlert(msg);
-        if (ownerChatId != null && !ownerChatId.isBlank()) {
-            sendAlertToChat(msg, ownerChatId.trim());
-        }
+        alert(TelegramAlertKind.PAYMENT_COMPLETED, summary("Order #" + orderId, userInfo, totalAmount), msg,
+                ownerChatId);
     }
 
-    @Async
     public void notifyDeliveryDone(Long orderId, String userInfo, String trackingNumber) {
-        String tracking = (trackingNumber != null && !trackingNumber.isBlank()) ? "Tracking: " + trackingNumber : null;
-        String msg = alertBlock("✅", "Delivery done",
-                "Order #" + orderId,
-                "User: " + userInfo,
-                tracking);
-        sendAlert(msg);
+        notifyDeliveryDone(orderId, userInfo, trackingNumber, null);
     }
 
-    @Async
     public void notifyDeliveryDone(Long orderId, String userInfo, String trackingNumber, String ownerChatId) {
         String tracking = (trackingNumber != null && !trackingNumber.isBlank()) ? "Tracking: " + trackingNumber : null;
         String msg = alertBlock("✅", "Delivery done",
                 "Order #" + orderId,
                 "User: " + userInfo,
                 tracking);
-        sendAlert(msg);
-        if (ownerChatId != null && !ownerChatId.isBlank()) {
-            sendAlertToChat(msg, ownerChatId.trim());
-        }
+        alert(TelegramAlertKind.DELIVERY_DONE, summary("Order #" + orderId, userInfo, trackingNumber), msg,
+                ownerChatId);
     }
 
     /** Fired when a new user registers (email/phone/Google). */
-    @Async
     public void notifyNewUserRegistered(String email, String displayName, Long userId, String registrationMethod) {
         String who = (displayName != null && !displayName.isBlank()) ? displayName : "New user";
         String userRef = userId != null ? "User ID: " + userId : null;
@@ -212,7 +155,7 @@ public class TelegramNotificationService {
                 mail,
                 method,
                 userRef);
-        sendAlert(msg);
+        alert(TelegramAlertKind.NEW_USER, summary(who, email, method), msg, null);
     }
 
     private boolean isConfigured() {
@@ -1,6 +1,7 @@
 package com.project.skin_me.service.user;
 
 import com.project.skin_me.dto.UserDto;
+import com.project.skin_me.dto.UserOptionDto;
 import com.project.skin_me.model.Activity;
 import com.project.skin_me.model.User;
 import com.project.skin_me.request.CreateUserRequest;
@@ -21,4 +22,6 @@ public interface IUserService {
     List<Activity> getUserActivityHistory(Long userId);
     boolean isUserOnline(Long userId);
     List<UserDto> getAllUsers();
+    /** Prefix search on email/name for dropdowns; {@code includeId} is always returned first when it exists. */
+    List<UserOptionDto> lookupUsers(String query, Long includeId, int limit);
 }
@@ -1,7 +1,9 @@
 package com.project.skin_me.service.user;
 
 import com.project.skin_me.dto.UserDto;
+import com.project.skin_me.dto.UserOptionDto;
 import com.project.skin_me.enums.ActivityType;
+import com.project.skin_me.event.UserRegisteredEvent;
 import com.project.skin_me.exception.AlreadyExistsException;
 import com.project.skin_me.exception.ResourceNotFoundException;
 import com.project.skin_me.model.Activity;
@@ -9,8 +11,11 @@ import com.project.skin_me.model.Role;
 import com.project.skin_me.model.User;
 import com.project.skin_me.repository.ActivityRepository;
 import com.project.skin_me.repository.ChatMessageRepository;
+import com.project.skin_me.repository.ChatThreadRepository;
+import com.project.skin_me.repository.NotificationCursorRepository;
 import com.project.skin_me.repository.NotificationRepository;
 import com.project.skin_me.repository.OrderRepository;
+import com.project.skin_me.repository.OrderSummaryRepository;
 import com.project.skin_me.repository.ProductFeedbackRepository;
 import com.project.skin_me.repository.RoleRepository;
 import com.project.skin_me.repository.UserRepository;
@@ -20,6 +25,8 @@ import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -27,6 +34,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -36,16 +44,21 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserService implements IUserService {
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+    private static final int MAX_USER_LOOKUP = 50;
 
     private final UserRepository userRepository;
     private final ActivityRepository activityRepository;
     private final NotificationRepository notificationRepository;
+    private final NotificationCursorRepository notificationCursorRepository;
     private final ChatMessageRepository chatMessageRepository;
+    private final ChatThreadRepository chatThreadRepository;
     private final ProductFeedbackRepository productFeedbackRepository;
     private final OrderRepository orderRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
     private final RoleRepository roleRepository;
     private final ModelMapper modelMapper;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public User getUserById(Long userId) {
@@ -60,6 +73,18 @@ public class UserService implements IUserService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserOptionDto> lookupUsers(String query, Long includeId, int limit) {
+        String q = query != null && !query.isBlank() ? query.trim() : null;
+        int capped = Math.min(Math.max(limit, 1), MAX_USER_LOOKUP);
+        List<UserOptionDto> options = new ArrayList<>(userRepository.findUserOptions(q, PageRequest.of(0, capped)));
+        if (includeId != null && options.stream().noneMatch(o -> includeId.equals(o.getId()))) {
+            userRepository.findUserOptionById(includeId).ifPresent(options::addFirst);
+        }
+        return options;
+    }
+
     @Override
     @Transactional
     public User createUser(CreateUserRequest request) {
@@ -111,6 +136,7 @@ public class UserService implements IUserService {
         activity.setTimestamp(LocalDateTime.now());
         activity.setDetails("Admin created user: " + request.getEmail());
         activityRepository.save(activity);
+        eventPublisher.publishEvent(new UserRegisteredEvent(this, savedUser.getId(), savedUser.getRegistrationDate()));
 
         return savedUser;
     }
@@ -225,10 +251,13 @@ public class UserService implements IUserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
 
         notificationRepository.deleteByUserId(userId);
+        notificationCursorRepository.deleteByUserId(userId);
         activityRepository.deleteByUserId(userId);
         productFeedbackRepository.deleteByUserId(userId);
         chatMessageRepository.deleteByUserId(userId);
+        chatThreadRepository.deleteByUserId(userId);
         orderRepository.deleteByUserId(userId);
+        orderSummaryRepository.deleteByUserId(userId);
 
         userRepository.delete(user);
     }
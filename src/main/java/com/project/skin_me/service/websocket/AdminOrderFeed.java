@@ -0,0 +1,108 @@
+package com.project.skin_me.service.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.skin_me.dto.AdminFeedFrameDto;
+import com.project.skin_me.dto.RealTimeUpdateDto;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The admin order feed ({@link StompDestinations#ADMIN_ORDERS}).
+ * <p>
+ * Updates are buffered per entity and sent as one {@link AdminFeedFrameDto} every
+ * {@code app.websocket.admin.coalesce-ms}: a burst of changes to the same order (created, KHQR
+ * pending, paid) reaches admins as a single entry whose data is the union of the changed fields,
+ * newest value winning.
+ */
+@Slf4j
+@Component
+public class AdminOrderFeed {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final ObjectMapper objectMapper;
+    private final DistributionSummary bytesPerEvent;
+    private final AtomicLong sequence = new AtomicLong();
+
+    /** Keyed by entity type and id; guarded by {@code this}. */
+    private Map<String, RealTimeUpdateDto> pending = new LinkedHashMap<>();
+
+    public AdminOrderFeed(SimpMessagingTemplate messagingTemplate, SimpUserRegistry userRegistry,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.userRegistry = userRegistry;
+        this.objectMapper = objectMapper;
+        this.bytesPerEvent = OrderFeedPublisher.bytesPerEvent(meterRegistry, "admin");
+    }
+
+    public synchronized void enqueue(RealTimeUpdateDto update) {
+        String key = update.getEntityType() + ":" + update.getEntityId();
+        RealTimeUpdateDto previous = pending.remove(key);
+        pending.put(key, previous == null ? update : merge(previous, update));
+    }
+
+    @Scheduled(fixedDelayString = "${app.websocket.admin.coalesce-ms:500}")
+    public void flush() {
+        Map<String, RealTimeUpdateDto> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+        List<RealTimeUpdateDto> updates = new ArrayList<>(batch.values());
+        AdminFeedFrameDto frame = AdminFeedFrameDto.builder()
+                .sequence(sequence.incrementAndGet())
+                .timestamp(LocalDateTime.now())
+                .updates(updates)
+                .build();
+        try {
+            messagingTemplate.convertAndSend(StompDestinations.ADMIN_ORDERS, frame);
+            recordBytes(frame, updates.size());
+        } catch (Exception e) {
+            log.warn("Admin order feed flush failed ({} updates): {}", updates.size(), e.getMessage());
+        }
+    }
+
+    /** Each update's share of the frame, times the admins subscribed to the feed. */
+    private void recordBytes(AdminFeedFrameDto frame, int updates) throws JsonProcessingException {
+        int subscribers = userRegistry.findSubscriptions(
+                s -> StompDestinations.ADMIN_ORDERS.equals(s.getDestination())).size();
+        double share = (double) objectMapper.writeValueAsBytes(frame).length * subscribers / updates;
+        for (int i = 0; i < updates; i++) {
+            bytesPerEvent.record(share);
+        }
+    }
+
+    private static RealTimeUpdateDto merge(RealTimeUpdateDto older, RealTimeUpdateDto newer) {
+        Object data = newer.getData();
+        if (older.getData() instanceof Map<?, ?> before && newer.getData() instanceof Map<?, ?> after) {
+            Map<Object, Object> merged = new LinkedHashMap<>(before);
+            merged.putAll(after);
+            data = merged;
+        }
+        return RealTimeUpdateDto.builder()
+                .updateId(newer.getUpdateId())
+                .entityType(newer.getEntityType())
+                .entityId(newer.getEntityId())
+                .action(newer.getAction())
+                .data(data)
+                .timestamp(newer.getTimestamp())
+                .affectedUsers(newer.getAffectedUsers())
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.project.skin_me.service.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.skin_me.service.store.InMemoryMessageBus;
+import com.project.skin_me.service.store.MessageBus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Cluster broker mode: every node runs the simple broker, and this bridge copies each message
+ * published on the local broker channel to all other nodes over the {@link MessageBus}.
+ * <p>
+ * {@code /topic/...} messages reach subscribers on every node. {@code /user/{name}/...} messages are
+ * forwarded unresolved, so each node resolves them against its own sessions and the user is
+ * reached wherever they are connected. Messages that arrive from the bus, and user messages
+ * already resolved to a session, are not forwarded again.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.websocket.broker.mode", havingValue = "cluster")
+public class ClusterBrokerBridge implements ChannelInterceptor {
+
+    private static final String BUS_CHANNEL = "skinme:ws:broker";
+    private static final String REMOTE_HEADER = "skinmeClusterRemote";
+
+    record Envelope(String origin, String destination, String contentType, String payload) {
+    }
+
+    private final MessageBus messageBus;
+    private final ObjectMapper objectMapper;
+    private final ApplicationContext applicationContext;
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile MessageChannel brokerChannel;
+
+    public ClusterBrokerBridge(MessageBus messageBus, ObjectMapper objectMapper, ApplicationContext applicationContext) {
+        this.messageBus = messageBus;
+        this.objectMapper = objectMapper;
+        this.applicationContext = applicationContext;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        brokerChannel = applicationContext.getBean("brokerChannel", MessageChannel.class);
+        messageBus.subscribe(BUS_CHANNEL, this::onBusMessage);
+        if (messageBus instanceof InMemoryMessageBus) {
+            log.warn("app.websocket.broker.mode=cluster with app.store.type=memory: messages reach this node only");
+        }
+        log.info("WebSocket cluster bus started (node {})", nodeId);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (accessor.getMessageType() != SimpMessageType.MESSAGE
+                || accessor.getHeader(REMOTE_HEADER) != null
+                || accessor.getHeader(SimpMessageHeaderAccessor.ORIGINAL_DESTINATION) != null
+                || accessor.getDestination() == null
+                || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+        try {
+            MimeType contentType = accessor.getContentType();
+            Envelope envelope = new Envelope(nodeId, accessor.getDestination(),
+                    contentType != null ? contentType.toString() : null,
+                    Base64.getEncoder().encodeToString(payload));
+            messageBus.publish(BUS_CHANNEL, objectMapper.writeValueAsString(envelope));
+        } catch (Exception e) {
+            // Local subscribers still get it; only other nodes miss this message
+            log.warn("Could not forward {} to the cluster: {}", accessor.getDestination(), e.getMessage());
+        }
+        return message;
+    }
+
+    private void onBusMessage(String json) {
+        MessageChannel channel = brokerChannel;
+        if (channel == null) {
+            return;
+        }
+        try {
+            Envelope envelope = objectMapper.readValue(json, Envelope.class);
+            if (nodeId.equals(envelope.origin())) {
+                return;
+            }
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setDestination(envelope.destination());
+            if (envelope.contentType() != null) {
+                accessor.setContentType(MimeType.valueOf(envelope.contentType()));
+            }
+            accessor.setHeader(REMOTE_HEADER, Boolean.TRUE);
+            byte[] payload = Base64.getDecoder().decode(envelope.payload());
+            channel.send(MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+        } catch (Exception e) {
+            log.warn("Dropping malformed cluster broker message: {}", e.getMessage());
+        }
+    }
+}
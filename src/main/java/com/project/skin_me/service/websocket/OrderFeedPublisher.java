@@ -0,0 +1,86 @@
+package com.project.skin_me.service.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.skin_me.dto.RealTimeUpdateDto;
+import com.project.skin_me.model.User;
+import com.project.skin_me.monitoring.WebSocketSessionMetrics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Sends order and payment updates to the order's owner ({@code /user/queue/orders}) and to the
+ * coalesced admin feed, instead of broadcasting them to every connected client.
+ * <p>
+ * {@code skinme.websocket.event.bytes} measures the cost per update: {@code feed=user} and
+ * {@code feed=admin} are the bytes actually sent, {@code feed=broadcast} what the former global
+ * {@code /topic/orders} broadcast would have sent (payload times open sessions).
+ */
+@Slf4j
+@Service
+public class OrderFeedPublisher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final AdminOrderFeed adminOrderFeed;
+    private final WebSocketSessionMetrics sessionMetrics;
+    private final ObjectMapper objectMapper;
+    private final DistributionSummary userBytes;
+    private final DistributionSummary broadcastBytes;
+
+    public OrderFeedPublisher(SimpMessagingTemplate messagingTemplate, SimpUserRegistry userRegistry,
+            AdminOrderFeed adminOrderFeed, WebSocketSessionMetrics sessionMetrics, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.userRegistry = userRegistry;
+        this.adminOrderFeed = adminOrderFeed;
+        this.sessionMetrics = sessionMetrics;
+        this.objectMapper = objectMapper;
+        this.userBytes = bytesPerEvent(meterRegistry, "user");
+        this.broadcastBytes = bytesPerEvent(meterRegistry, "broadcast");
+    }
+
+    /**
+     * @param owner the customer the update belongs to; {@code null} sends it to the admin feed only
+     */
+    public void publish(RealTimeUpdateDto update, User owner) {
+        if (update.getUpdateId() == null) {
+            update.setUpdateId(UUID.randomUUID().toString());
+        }
+        if (update.getTimestamp() == null) {
+            update.setTimestamp(LocalDateTime.now());
+        }
+        String principal = owner != null ? owner.getEmail() : null;
+        if (principal != null) {
+            messagingTemplate.convertAndSendToUser(principal, StompDestinations.USER_ORDERS, update);
+        }
+        adminOrderFeed.enqueue(update);
+        recordBytes(update, principal);
+    }
+
+    private void recordBytes(RealTimeUpdateDto update, String principal) {
+        try {
+            int payload = objectMapper.writeValueAsBytes(update).length;
+            SimpUser user = principal != null ? userRegistry.getUser(principal) : null;
+            userBytes.record((double) payload * (user != null ? user.getSessions().size() : 0));
+            broadcastBytes.record((double) payload * sessionMetrics.openSessions());
+        } catch (Exception e) {
+            log.debug("Order feed byte count skipped: {}", e.getMessage());
+        }
+    }
+
+    static DistributionSummary bytesPerEvent(MeterRegistry registry, String feed) {
+        return DistributionSummary.builder("skinme.websocket.event.bytes")
+                .tag("feed", feed)
+                .baseUnit("bytes")
+                .description("WebSocket bytes sent per order update")
+                .register(registry);
+    }
+}
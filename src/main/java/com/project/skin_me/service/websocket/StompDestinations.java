@@ -0,0 +1,33 @@
+package com.project.skin_me.service.websocket;
+
+/**
+ * Destinations for order, chat and notification-badge traffic. Customers get their own data on user queues
+ * ({@code /user/queue/...}, resolved per session by the broker); admins get every customer's
+ * traffic on the {@code /topic/admin/...} feeds, which {@link StompSubscriptionGuard} keeps
+ * admin-only.
+ */
+public final class StompDestinations {
+
+    /** Per-user order and payment updates; subscribe as {@code /user/queue/orders}. */
+    public static final String USER_ORDERS = "/queue/orders";
+    /** Per-user chat echo (own messages, admin replies); subscribe as {@code /user/queue/chat}. */
+    public static final String USER_CHAT = "/queue/chat";
+    /** Per-user notification badge count; subscribe as {@code /user/queue/unread}. */
+    public static final String USER_UNREAD = "/queue/unread";
+
+    public static final String ADMIN_PREFIX = "/topic/admin/";
+    /** Coalesced order updates of all customers, see {@link AdminOrderFeed}. */
+    public static final String ADMIN_ORDERS = ADMIN_PREFIX + "orders";
+    /** Admin alerts as batched DELTA frames; the SNAPSHOT comes from subscribing to {@code /app/admin/events}. */
+    public static final String ADMIN_EVENTS = ADMIN_PREFIX + "events";
+    /** Every chat message, for the admin inbox. */
+    public static final String ADMIN_CHAT = ADMIN_PREFIX + "chat";
+
+    /** Relay mode: user messages a node could not resolve, re-broadcast to the other nodes. Broker-internal. */
+    public static final String USER_DESTINATION_BROADCAST = "/topic/unresolved-user-destination";
+    /** Relay mode: each node's connected users, shared between nodes. Broker-internal. */
+    public static final String USER_REGISTRY_BROADCAST = "/topic/simp-user-registry";
+
+    private StompDestinations() {
+    }
+}
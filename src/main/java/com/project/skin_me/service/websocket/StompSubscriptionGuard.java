@@ -0,0 +1,88 @@
+package com.project.skin_me.service.websocket;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+
+/**
+ * Authorises client frames on the inbound channel before they reach the broker:
+ * <ul>
+ *   <li>{@code /topic/admin/...} feeds, {@code /app/admin/...} snapshots and {@code /app/orders/...}
+ *       publishing need {@code ROLE_ADMIN};</li>
+ *   <li>{@code /user/...} subscriptions need a logged-in principal and must be the caller's own
+ *       {@code /user/queue/...} or {@code /user/topic/...}; {@code /user/{name}/...} names another
+ *       user and is refused, as is sending to any {@code /user/...} destination;</li>
+ *   <li>raw {@code /queue/...} destinations are refused, since they are the per-session queues the
+ *       broker resolves {@code /user/queue/...} to and would expose another user's traffic;</li>
+ *   <li>the relay's user-destination and user-registry broadcast topics are refused both ways: they
+ *       carry every user's messages and session list between nodes.</li>
+ * </ul>
+ * A refused frame makes the STOMP handler send an ERROR frame and close the session.
+ */
+@Slf4j
+@Component
+public class StompSubscriptionGuard implements ChannelInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    public StompSubscriptionGuard(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        StompCommand command = accessor.getCommand();
+        String destination = accessor.getDestination();
+        if (destination == null || (command != StompCommand.SUBSCRIBE && command != StompCommand.SEND)) {
+            return message;
+        }
+        Principal user = accessor.getUser();
+        if (destination.startsWith(StompDestinations.USER_DESTINATION_BROADCAST)
+                || destination.startsWith(StompDestinations.USER_REGISTRY_BROADCAST)) {
+            deny(command, destination, user, "internal");
+        }
+        if (command == StompCommand.SUBSCRIBE) {
+            if ((destination.startsWith(StompDestinations.ADMIN_PREFIX) || destination.startsWith("/app/admin/"))
+                    && !isAdmin(user)) {
+                deny(command, destination, user, "admin");
+            }
+            if (destination.startsWith("/user/")) {
+                if (user == null) {
+                    deny(command, destination, null, "anonymous");
+                }
+                if (!destination.startsWith("/user/queue/") && !destination.startsWith("/user/topic/")) {
+                    deny(command, destination, user, "user-name");
+                }
+            }
+            if (destination.startsWith("/queue/")) {
+                deny(command, destination, user, "raw-queue");
+            }
+        } else if (destination.startsWith("/app/orders/") && !isAdmin(user)) {
+            deny(command, destination, user, "admin");
+        } else if (destination.startsWith("/user/")) {
+            deny(command, destination, user, "user-send");
+        }
+        return message;
+    }
+
+    private void deny(StompCommand command, String destination, Principal user, String reason) {
+        meterRegistry.counter("skinme.websocket.subscriptions.denied", "reason", reason).increment();
+        log.debug("Refused STOMP {} to {} for {}", command, destination, user != null ? user.getName() : "anonymous");
+        throw new AccessDeniedException("Not allowed: " + destination);
+    }
+
+    private static boolean isAdmin(Principal user) {
+        return user instanceof Authentication auth && auth.getAuthorities().stream()
+                .anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+    }
+}
@@ -153,24 +153,47 @@
   }
 
   /**
-   * Subscribe to chat messages
+   * Subscribe to this user's chat messages (own messages and admin replies)
    */
   subscribeToChat(callback) {
-    this.subscribe("/topic/chat", callback);
+    this.subscribeToUser("/queue/chat", callback);
   }
 
   /**
-   * Subscribe to notifications
+   * Subscribe to every customer's chat messages (admins only)
+   */
+  subscribeToAdminChat(callback) {
+    this.subscribe("/topic/admin/chat", callback);
+  }
+
+  /**
+   * Subscribe to notifications: this user's own, plus broadcasts to everyone
    */
   subscribeToNotifications(callback) {
     this.subscribeToUser("/topic/notifications", callback);
+    this.subscribe("/topic/notifications", callback);
   }
 
   /**
-   * Subscribe to order updates
+   * Subscribe to this user's notification badge count: { unreadCount } on every change
+   */
+  subscribeToUnreadCount(callback) {
+    this.subscribeToUser("/queue/unread", callback);
+  }
+
+  /**
+   * Subscribe to this user's order and payment updates
    */
   subscribeToOrders(callback) {
-    this.subscribe("/topic/orders", callback);
+    this.subscribeToUser("/queue/orders", callback);
+  }
+
+  /**
+   * Subscribe to all order updates (admins only). Each frame carries the updates coalesced
+   * since the previous one: { sequence, timestamp, updates: [...] }.
+   */
+  subscribeToAdminOrders(callback) {
+    this.subscribe("/topic/admin/orders", callback);
   }
 
   /**
@@ -188,10 +211,13 @@
   }
 
   /**
-   * Subscribe to new product feedback events (admin dashboard).
+   * Subscribe to the admin event stream (admins only): new orders, payments, POS sales, new users
+   * and product reviews. The callback first gets a SNAPSHOT frame (again after every reconnect),
+   * then DELTA frames; both are { frameType, sequence, counts, events: [...] }.
    */
-  subscribeToFeedback(callback) {
-    this.subscribe("/topic/feedback", callback);
+  subscribeToAdminEvents(callback) {
+    this.subscribe("/app/admin/events", callback);
+    this.subscribe("/topic/admin/events", callback);
   }
 
   /**
@@ -221,14 +247,13 @@
   }
 
   /**
-   * Send order update
+   * Send order update to the admin feed (admins only)
    */
   sendOrderUpdate(entityId, action, data) {
     const update = {
       entityId: entityId,
       action: action,
       data: data,
-      affectedUsers: "ALL",
     };
     return this.sendMessage("/app/orders/update", update);
   }
@@ -0,0 +1,243 @@
+package com.project.skin_me.controller.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.skin_me.enums.PromotionType;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.model.Promotion;
+import com.project.skin_me.repository.ProductRepository;
+import com.project.skin_me.repository.PromotionRepository;
+import com.project.skin_me.repository.UserRepository;
+import com.project.skin_me.service.cart.CartState;
+import com.project.skin_me.service.cart.CartStateStore;
+import com.project.skin_me.service.promotion.PromotionRuleEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * {@code POST /cartItems/items/bulk}: cent totals with a percentage discount, the 409 a stale
+ * {@code version} gets, and two edits racing from the same version.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({ "loadtest", "test" })
+class CartItemBulkTest {
+
+    private static final String BULK = "/api/v1/cartItems/items/bulk";
+    private static final String CUSTOMER = "load41@skinme.test";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CartStateStore cartStateStore;
+
+    @Autowired
+    private PromotionRuleEngine promotionRuleEngine;
+
+    private final Map<Long, BigDecimal> originalPrices = new HashMap<>();
+    private final List<Promotion> promotions = new ArrayList<>();
+    private Long userId;
+    private Product discounted;
+    private Product plain;
+    private Product tenOff;
+
+    @BeforeEach
+    void setUp() {
+        List<Product> products = productRepository.findAll(PageRequest.of(5, 3, Sort.by("id"))).getContent();
+        discounted = price(products.get(0), "19.99");
+        plain = price(products.get(1), "5.00");
+        tenOff = price(products.get(2), "12.50");
+        // 19.99 less 33.33 % = 19.99 - 6.66 (6.662667 rounded half up) = 13.33
+        discount(discounted, "33.33");
+        // 12.50 less 10 % = 11.25
+        discount(tenOff, "10.00");
+        promotionRuleEngine.refresh();
+
+        userId = userRepository.findByEmail(CUSTOMER).orElseThrow().getId();
+        cartStateStore.update(userId, null, state -> {
+            state.getLines().clear();
+            state.setTotalCents(0);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        promotionRepository.deleteAll(promotions);
+        promotionRuleEngine.refresh();
+        for (Map.Entry<Long, BigDecimal> original : originalPrices.entrySet()) {
+            Product product = productRepository.findById(original.getKey()).orElseThrow();
+            product.setPrice(original.getValue());
+            productRepository.save(product);
+        }
+    }
+
+    @Test
+    void batchOfAddsSetsAndRemovesKeepsCentTotals() throws Exception {
+        JsonNode first = bulk(null,
+                change(discounted, "ADD", 2),
+                change(plain, "ADD", 3),
+                change(tenOff, "ADD", 1));
+        assertThat(first.path("message").asText()).isEqualTo("Cart updated successfully");
+        JsonNode cart = first.path("data");
+        // 2 x 13.33 + 3 x 5.00 + 1 x 11.25
+        assertThat(cart.path("totalAmount").decimalValue()).isEqualByComparingTo("52.91");
+        assertThat(cart.path("itemCount").asInt()).isEqualTo(6);
+        JsonNode line = item(cart, discounted);
+        assertThat(line.path("listPrice").decimalValue()).isEqualByComparingTo("19.99");
+        assertThat(line.path("unitPrice").decimalValue()).isEqualByComparingTo("13.33");
+        assertThat(line.path("totalPrice").decimalValue()).isEqualByComparingTo("26.66");
+
+        JsonNode second = bulk(cart.path("version").asLong(),
+                change(discounted, "SET", 1),
+                change(tenOff, "REMOVE", null),
+                change(plain, "ADD", 1));
+        cart = second.path("data");
+        // 1 x 13.33 + 4 x 5.00
+        assertThat(cart.path("totalAmount").decimalValue()).isEqualByComparingTo("33.33");
+        assertThat(cart.path("itemCount").asInt()).isEqualTo(5);
+        assertThat(cart.path("items")).hasSize(2);
+        assertThat(item(cart, plain).path("totalPrice").decimalValue()).isEqualByComparingTo("20.00");
+        assertThat(cart.path("version").asLong()).isEqualTo(first.path("data").path("version").asLong() + 1);
+
+        CartState stored = cartStateStore.load(userId);
+        assertThat(stored.getTotalCents()).isEqualTo(3333);
+    }
+
+    @Test
+    void staleVersionGetsConflictWithTheCurrentCart() throws Exception {
+        long seen = bulk(null, change(plain, "ADD", 1)).path("data").path("version").asLong();
+        // another tab edits the cart
+        bulk(seen, change(plain, "ADD", 1));
+
+        MvcResult result = post(Map.of("version", seen, "changes", List.of(change(discounted, "ADD", 1))));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(409);
+        JsonNode current = objectMapper.readTree(result.getResponse().getContentAsString()).path("data");
+        assertThat(current.path("version").asLong()).isEqualTo(seen + 1);
+        assertThat(current.path("items")).hasSize(1);
+        assertThat(item(current, plain).path("quantity").asInt()).isEqualTo(2);
+        assertThat(current.path("totalAmount").decimalValue()).isEqualByComparingTo("10.00");
+        assertThat(cartStateStore.load(userId).getLines()).doesNotContainKey(discounted.getId());
+    }
+
+    @Test
+    void concurrentEditsFromTheSameVersionLetExactlyOneWin() throws Exception {
+        long seen = bulk(null, change(plain, "ADD", 1)).path("data").path("version").asLong();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<MvcResult>> results = new ArrayList<>();
+            for (Product product : List.of(discounted, tenOff)) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return post(Map.of("version", seen, "changes", List.of(change(product, "ADD", 1))));
+                }));
+            }
+            start.countDown();
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<MvcResult> result : results) {
+                statuses.add(result.get().getResponse().getStatus());
+            }
+
+            assertThat(statuses).containsExactlyInAnyOrder(200, 409);
+            CartState stored = cartStateStore.load(userId);
+            assertThat(stored.getVersion()).isEqualTo(seen + 1);
+            assertThat(stored.getLines()).hasSize(2);
+            Long winner = statuses.get(0) == 200 ? discounted.getId() : tenOff.getId();
+            assertThat(stored.getLines()).containsKey(winner);
+            assertThat(stored.getTotalCents()).isEqualTo(500 + (winner.equals(discounted.getId()) ? 1333 : 1125));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @SafeVarargs
+    private JsonNode bulk(Long version, Map<String, Object>... changes) throws Exception {
+        Map<String, Object> body = new HashMap<>();
+        body.put("version", version);
+        body.put("changes", List.of(changes));
+        MvcResult result = post(body);
+        assertThat(result.getResponse().getStatus()).as(result.getResponse().getContentAsString()).isEqualTo(200);
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private MvcResult post(Map<String, Object> body) throws Exception {
+        return mockMvc.perform(post(BULK)
+                        .with(user(CUSTOMER).roles("USER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andReturn();
+    }
+
+    private static Map<String, Object> change(Product product, String type, Integer quantity) {
+        Map<String, Object> change = new HashMap<>();
+        change.put("productId", product.getId());
+        change.put("type", type);
+        change.put("quantity", quantity);
+        return change;
+    }
+
+    private static JsonNode item(JsonNode cart, Product product) {
+        for (JsonNode item : cart.path("items")) {
+            if (item.path("productId").asLong() == product.getId()) {
+                return item;
+            }
+        }
+        throw new AssertionError("No line for product " + product.getId() + " in " + cart);
+    }
+
+    private Product price(Product product, String price) {
+        originalPrices.put(product.getId(), product.getPrice());
+        product.setPrice(new BigDecimal(price));
+        return productRepository.save(product);
+    }
+
+    private void discount(Product product, String percentage) {
+        Promotion promotion = new Promotion();
+        promotion.setPromotionType(PromotionType.PRODUCT_DISCOUNT);
+        promotion.setTitle("bulk cart test");
+        promotion.setProduct(product);
+        promotion.setDiscountPercentage(new BigDecimal(percentage));
+        promotion.setStartDate(LocalDateTime.now().minusDays(1));
+        promotion.setDeadline(LocalDateTime.now().plusDays(1));
+        promotions.add(promotionRepository.save(promotion));
+    }
+}
@@ -0,0 +1,78 @@
+package com.project.skin_me.controller.view;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Fails the build when an admin view hydrates more than {@link #MAX_ENTITIES_PER_VIEW}
+ * entities. The seed (600 orders, 300 customers) is larger than that, so a view that
+ * falls back to {@code findAll()} trips the guard. Entity counts come from the
+ * {@code X-SQL-Entities} header written by {@code SqlBudgetFilter}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({ "loadtest", "test" })
+@WithMockUser(username = "admin@skinme.com", roles = "ADMIN")
+class AdminViewEntityBudgetTest {
+
+    static final int MAX_ENTITIES_PER_VIEW = 200;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedPayments() {
+        Long payments = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payments", Long.class);
+        if (payments == null || payments == 0) {
+            jdbcTemplate.update("INSERT INTO payments (order_id, amount, method, status, transaction_time) "
+                    + "SELECT order_id, order_total_amount, 'CREDIT_CARD', "
+                    + "CASE WHEN order_status = 'CANCELLED' THEN 'FAILED' ELSE 'SUCCESS' END, CURRENT_TIMESTAMP "
+                    + "FROM orders WHERE order_status <> 'PENDING'");
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/view/payments",
+            "/views/payments",
+            "/views/my-payments",
+            "/view/orders",
+            "/views/orders",
+            "/views/chat-activity",
+            "/views/audit-logs",
+            "/views/users",
+            "/api/v1/favorites/all",
+            "/api/v1/users/lookup?q=load" })
+    void viewStaysWithinEntityBudget(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        if (result.getModelAndView() != null) {
+            assertThat(result.getModelAndView().getModel())
+                    .as("%s rendered its error fallback", url)
+                    .doesNotContainKey("error");
+        }
+        String entities = result.getResponse().getHeader("X-SQL-Entities");
+        assertThat(entities).as("X-SQL-Entities header on %s", url).isNotNull();
+        assertThat(Integer.parseInt(entities))
+                .as("entities loaded by %s", url)
+                .isLessThanOrEqualTo(MAX_ENTITIES_PER_VIEW);
+    }
+}
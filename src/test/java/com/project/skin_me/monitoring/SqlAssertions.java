@@ -0,0 +1,42 @@
+package com.project.skin_me.monitoring;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query-count assertions for tests, built on {@link SqlRequestStats#measure(Runnable)} for
+ * service calls and on the {@code X-SQL-Statements} header for MockMvc requests (the
+ * filter measures those itself, so wrapping {@code perform} would read zero).
+ */
+public final class SqlAssertions {
+
+    private SqlAssertions() {
+    }
+
+    /** Runs {@code work}, fails when it issued more than {@code max} statements, and returns its result. */
+    public static <T> T assertStatementsAtMost(int max, Supplier<T> work) {
+        SqlRequestStats.Measured<T> measured = SqlRequestStats.measureResult(work);
+        assertThat(measured.stats().getStatements())
+                .as("SQL statements (budget %d)", max)
+                .isLessThanOrEqualTo(max);
+        return measured.result();
+    }
+
+    public static int statementsOf(Runnable work) {
+        return SqlRequestStats.measure(work).getStatements();
+    }
+
+    /** MockMvc matcher on the statement count reported by {@code SqlBudgetFilter}. */
+    public static ResultMatcher statementsAtMost(int max) {
+        return result -> {
+            String header = result.getResponse().getHeader("X-SQL-Statements");
+            assertThat(header).as("X-SQL-Statements header (app.sql-budget.headers=true?)").isNotNull();
+            assertThat(Integer.parseInt(header))
+                    .as("SQL statements for %s (budget %d)", result.getRequest().getRequestURI(), max)
+                    .isLessThanOrEqualTo(max);
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.project.skin_me.monitoring;
+
+import com.project.skin_me.dto.OrderDto;
+import com.project.skin_me.repository.OrderRepository;
+import com.project.skin_me.service.order.OrderService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static com.project.skin_me.monitoring.SqlAssertions.assertStatementsAtMost;
+import static com.project.skin_me.monitoring.SqlAssertions.statementsAtMost;
+import static com.project.skin_me.monitoring.SqlAssertions.statementsOf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Key endpoints stay within the statement budgets configured in
+ * {@code app.sql-budget.endpoints}, and DTO conversion of a page does not issue a query
+ * per row.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({ "loadtest", "test" })
+@WithMockUser(username = "admin@skinme.com", roles = "ADMIN")
+class SqlBudgetTest {
+
+    /** Id page, count and one batch fetch of the order graph. */
+    private static final int ORDER_PAGE_STATEMENTS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlBudgetRegistry budgetRegistry;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @ParameterizedTest
+    @ValueSource(strings = { "/dashboard", "/views/orders", "/views/payments", "/api/v1/notifications" })
+    void endpointStaysWithinItsBudget(String path) throws Exception {
+        int budget = budgetRegistry.budgetFor("GET " + path);
+
+        mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(budget));
+    }
+
+    @Test
+    void orderDtoPageCostsTheSameForAnyPageSize() {
+        int small = statementsOf(() -> orderDtoPage(5));
+        int large = statementsOf(() -> orderDtoPage(25));
+
+        assertThat(large).as("statements for 25 orders vs 5 orders").isEqualTo(small);
+        List<OrderDto> page = assertStatementsAtMost(ORDER_PAGE_STATEMENTS, () -> orderDtoPage(25));
+        assertThat(page).hasSize(25);
+    }
+
+    private List<OrderDto> orderDtoPage(int size) {
+        return transactionTemplate.execute(status -> orderRepository
+                .findAllWithOrderItemsAndUser(PageRequest.of(1, size, Sort.by("orderId").descending()))
+                .map(orderService::convertToDto)
+                .getContent());
+    }
+}
@@ -0,0 +1,37 @@
+package com.project.skin_me.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Test-only Hibernate {@link StatementInspector} (registered in application-test.properties)
+ * that records the SQL the current thread prepares while inside {@link #capture(Runnable)}.
+ */
+public class SqlCapture implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> captured = CAPTURED.get();
+        if (captured != null) {
+            captured.add(sql.toLowerCase(Locale.ROOT));
+        }
+        return sql;
+    }
+
+    /** Runs {@code work} and returns the lower-cased SQL it prepared, in order. */
+    public static List<String> capture(Runnable work) {
+        List<String> captured = new ArrayList<>();
+        CAPTURED.set(captured);
+        try {
+            work.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return captured;
+    }
+}
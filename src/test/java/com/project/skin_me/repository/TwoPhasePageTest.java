@@ -0,0 +1,104 @@
+package com.project.skin_me.repository;
+
+import com.project.skin_me.model.Category;
+import com.project.skin_me.model.Order;
+import com.project.skin_me.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Paged repository methods must limit rows in SQL: the statement that selects the page carries
+ * LIMIT (or FETCH FIRST), and only that page's graph is loaded afterwards.
+ */
+@SpringBootTest
+@ActiveProfiles({ "loadtest", "test" })
+class TwoPhasePageTest {
+
+    private static final Pattern ROW_LIMIT = Pattern.compile("\\blimit\\b|\\bfetch\\s+(first|next)\\b");
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void findAllWithOrderItemsLimitsInSql() {
+        Page<Order> page = assertPagedInSql("orders",
+                () -> orderRepository.findAllWithOrderItems(page(Sort.by("orderId").descending())));
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getContent()).extracting(Order::getOrderId).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+    }
+
+    @Test
+    void findAllWithOrderItemsAndUserLimitsInSql() {
+        Page<Order> page = assertPagedInSql("orders",
+                () -> orderRepository.findAllWithOrderItemsAndUser(page(Sort.by("orderId").descending())));
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+    }
+
+    @Test
+    void findByUserIdWithOrderItemsLimitsInSql() {
+        Long userId = jdbcTemplate.queryForObject(
+                "SELECT user_id FROM orders GROUP BY user_id ORDER BY COUNT(*) DESC LIMIT 1", Long.class);
+        Page<Order> page = assertPagedInSql("orders",
+                () -> orderRepository.findByUserIdWithOrderItems(userId, PageRequest.of(0, 1, Sort.by("orderId"))));
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getTotalElements()).isGreaterThan(1);
+    }
+
+    @Test
+    void findAllWithCategoryLimitsInSql() {
+        Page<Product> page = assertPagedInSql("product",
+                () -> productRepository.findAllWithCategory(page(Sort.by("id"))));
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+    }
+
+    @Test
+    void findAllWithBrandsLimitsInSql() {
+        Page<Category> page = assertPagedInSql("category",
+                () -> categoryRepository.findAllWithBrands(PageRequest.of(0, 2, Sort.by("id"))));
+        assertThat(page.getContent()).hasSize(2);
+    }
+
+    private static Pageable page(Sort sort) {
+        return PageRequest.of(1, PAGE_SIZE, sort);
+    }
+
+    /** Runs the paged call in a transaction and asserts a select from {@code table} was row-limited. */
+    private <T> Page<T> assertPagedInSql(String table, Supplier<Page<T>> pagedCall) {
+        AtomicReference<Page<T>> result = new AtomicReference<>();
+        List<String> sql = SqlCapture.capture(() -> result.set(transactionTemplate.execute(status -> pagedCall.get())));
+        Pattern fromTable = Pattern.compile("\\bfrom\\s+" + table + "\\b");
+
+        assertThat(sql)
+                .as("SQL issued for a page of %s", table)
+                .anyMatch(s -> s.startsWith("select") && fromTable.matcher(s).find() && ROW_LIMIT.matcher(s).find());
+        return result.get();
+    }
+}
@@ -0,0 +1,186 @@
+package com.project.skin_me.service.cart;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.skin_me.exception.CartVersionConflictException;
+import com.project.skin_me.model.Cart;
+import com.project.skin_me.repository.CartRepository;
+import com.project.skin_me.service.store.RedisKeyValueStore;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the cart store against a real Redis server, with two {@link CartStateStore}s standing in
+ * for two application nodes that share it.
+ */
+class CartStateStoreRedisTest {
+
+    private static final Long USER_ID = 42L;
+    private static final Long PRODUCT_ID = 7L;
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private CartRepository cartRepository;
+    private CartStateStore nodeA;
+    private CartStateStore nodeB;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+        cartRepository = mock(CartRepository.class);
+        nodeA = newNode();
+        nodeB = newNode();
+    }
+
+    @Test
+    void compareAndSetOnlyWritesOverTheExpectedValue() {
+        RedisKeyValueStore store = new RedisKeyValueStore(redisTemplate);
+
+        assertThat(store.compareAndSet("k", null, "v1", Duration.ofMinutes(1))).isTrue();
+        assertThat(store.compareAndSet("k", null, "v2", Duration.ofMinutes(1))).isFalse();
+        assertThat(store.compareAndSet("k", "stale", "v2", Duration.ofMinutes(1))).isFalse();
+        assertThat(store.compareAndSet("k", "v1", "v2", Duration.ofMinutes(1))).isTrue();
+        assertThat(store.get("k")).contains("v2");
+    }
+
+    @Test
+    void editsOnOneNodeAreSeenOnTheOther() {
+        nodeA.update(USER_ID, null, CartStateStoreRedisTest::addOne);
+
+        CartState seen = nodeB.load(USER_ID);
+        assertThat(seen.getVersion()).isEqualTo(1);
+        assertThat(seen.getLines().get(PRODUCT_ID).getQuantity()).isEqualTo(1);
+        assertThat(nodeB.drainDirty(10)).containsExactly(USER_ID);
+    }
+
+    @Test
+    void staleVersionFromAnotherNodeIsRejected() {
+        long seen = nodeA.load(USER_ID).getVersion();
+        nodeB.update(USER_ID, seen, CartStateStoreRedisTest::addOne);
+
+        assertThatThrownBy(() -> nodeA.update(USER_ID, seen, CartStateStoreRedisTest::addOne))
+                .isInstanceOf(CartVersionConflictException.class);
+    }
+
+    @Test
+    void concurrentEditsFromBothNodesAreNotLost() throws Exception {
+        int editsPerNode = 20;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (CartStateStore node : List.of(nodeA, nodeB)) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int applied = 0;
+                    for (int i = 0; i < editsPerNode; i++) {
+                        try {
+                            node.update(USER_ID, null, CartStateStoreRedisTest::addOne);
+                            applied++;
+                        } catch (CartVersionConflictException e) {
+                            // Out of retries against the other node; the edit was not applied
+                        }
+                    }
+                    return applied;
+                }));
+            }
+            start.countDown();
+            int applied = 0;
+            for (Future<Integer> result : results) {
+                applied += result.get();
+            }
+
+            CartState state = nodeA.load(USER_ID);
+            assertThat(applied).isPositive();
+            assertThat(state.getLines().get(PRODUCT_ID).getQuantity()).isEqualTo(applied);
+            assertThat(state.getVersion()).isEqualTo(applied);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void reseedingAfterEvictionKeepsTheVersionClientsSaw() {
+        Cart cart = new Cart();
+        cart.setId(5L);
+        cart.setVersion(1L);
+        cart.setStateVersion(9L);
+        when(cartRepository.findByUserIdWithRelations(USER_ID)).thenReturn(cart);
+
+        nodeA.evict(USER_ID);
+        CartState reseeded = nodeB.load(USER_ID);
+
+        assertThat(reseeded.getVersion()).isEqualTo(9);
+        assertThat(reseeded.isFlushed()).isTrue();
+        assertThatThrownBy(() -> nodeA.update(USER_ID, 1L, CartStateStoreRedisTest::addOne))
+                .isInstanceOf(CartVersionConflictException.class);
+    }
+
+    private CartStateStore newNode() {
+        CartStateStore node = new CartStateStore(new RedisKeyValueStore(redisTemplate), cartRepository,
+                new ObjectMapper());
+        ReflectionTestUtils.setField(node, "ttlHours", 1L);
+        return node;
+    }
+
+    private static void addOne(CartState state) {
+        CartState.Line line = state.getLines().computeIfAbsent(PRODUCT_ID, id -> {
+            CartState.Line created = new CartState.Line();
+            created.setListPriceCents(1000);
+            created.setUnitPriceCents(1000);
+            return created;
+        });
+        line.setQuantity(line.getQuantity() + 1);
+        state.setTotalCents(state.getTotalCents() + line.getUnitPriceCents());
+    }
+}
@@ -0,0 +1,242 @@
+package com.project.skin_me.service.chatbot;
+
+import com.project.skin_me.dto.chatbot.ChatbotSessionSummary;
+import com.project.skin_me.dto.chatbot.ChatbotSessionsResponse;
+import com.project.skin_me.event.ChatThreadEvent;
+import com.project.skin_me.model.ChatThread;
+import com.project.skin_me.model.User;
+import com.project.skin_me.repository.ChatThreadRepository;
+import com.project.skin_me.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link ChatThreadIndex} against the real {@code chat_threads} table, with the chatbot's session
+ * list stubbed. Events are applied synchronously and each test is rolled back.
+ */
+@SpringBootTest
+@ActiveProfiles({ "loadtest", "test" })
+@Transactional
+class ChatThreadIndexTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2026, 3, 1, 10, 0);
+
+    @Autowired
+    private ChatThreadRepository threadRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private ChatbotService chatbotService;
+    private ChatThreadIndex index;
+    private User customer;
+
+    @BeforeEach
+    void setUp() {
+        chatbotService = mock(ChatbotService.class);
+        index = new ChatThreadIndex(threadRepository, userRepository, chatbotService, transactionTemplate);
+        customer = userRepository.findByEmail("load251@skinme.test").orElseThrow();
+        customer.setChatSessionId(null);
+        userRepository.save(customer);
+        threadRepository.deleteByUserId(customer.getId());
+        entityManager.flush();
+    }
+
+    @Test
+    void olderMessagesNeverReplaceNewerOnes() {
+        ChatThreadEvent first = message("ooo-session", customer.getId(), "user", "first question", true, T);
+        ChatThreadEvent reply = message("ooo-session", customer.getId(), "admin", "admin reply", false,
+                T.plusMinutes(5));
+
+        index.onChatThreadEvent(reply);
+        index.onChatThreadEvent(first);
+
+        ChatThread thread = thread("ooo-session");
+        assertThat(thread.getUser().getId()).isEqualTo(customer.getId());
+        assertThat(thread.getLastMessage()).isEqualTo("admin reply");
+        assertThat(thread.getLastRole()).isEqualTo(ChatThread.ROLE_ADMIN);
+        assertThat(thread.getLastMessageAt()).isEqualTo(T.plusMinutes(5));
+        assertThat(thread.isUnread()).as("the late user message is older than the reply").isFalse();
+
+        remote(session("ooo-session", "user", "stale remote copy", T.plusMinutes(1).toString()));
+        index.refreshFromRemote(50);
+
+        assertThat(thread("ooo-session").getLastMessage()).isEqualTo("admin reply");
+
+        remote(session("ooo-session", "user", "newer remote message", T.plusMinutes(9).toString()));
+        index.refreshFromRemote(50);
+
+        thread = thread("ooo-session");
+        assertThat(thread.getLastMessage()).isEqualTo("newer remote message");
+        assertThat(thread.getLastRole()).isEqualTo(ChatThread.ROLE_USER);
+        assertThat(thread.isUnread()).isTrue();
+    }
+
+    @Test
+    void unownedSessionFoldsIntoTheUsersThread() {
+        index.onChatThreadEvent(message("fold-user-session", customer.getId(), "assistant", "older answer", false, T));
+        index.onChatThreadEvent(message("fold-guest-session", null, "user", "asked before logging in", true,
+                T.plusMinutes(2)));
+        ChatThread guest = thread("fold-guest-session");
+        assertThat(guest.getUser()).isNull();
+        Long guestId = guest.getId();
+        Long userThreadId = threadRepository.findByUser_Id(customer.getId()).orElseThrow().getId();
+        entityManager.clear();
+
+        index.onChatThreadEvent(ChatThreadEvent.bound(this, "fold-guest-session", customer.getId()));
+
+        ChatThread thread = thread("fold-guest-session");
+        assertThat(thread.getId()).isEqualTo(userThreadId);
+        assertThat(thread.getUser().getId()).isEqualTo(customer.getId());
+        assertThat(thread.getUserEmail()).isEqualTo(customer.getEmail());
+        assertThat(thread.getLastMessage()).isEqualTo("asked before logging in");
+        assertThat(thread.getLastMessageAt()).isEqualTo(T.plusMinutes(2));
+        assertThat(thread.isUnread()).isTrue();
+        assertThat(threadRepository.findById(guestId)).isEmpty();
+        assertThat(threadRepository.findBySessionId("fold-user-session")).isEmpty();
+    }
+
+    @Test
+    void remoteRefreshDoesNotStealTheUsersBoundThread() {
+        customer.setChatSessionId("bound-session");
+        userRepository.save(customer);
+        index.onChatThreadEvent(message("bound-session", customer.getId(), "user", "current chat", true, T));
+        entityManager.clear();
+
+        ChatbotSessionSummary older = session("previous-session", "user", "from an old session",
+                T.plusMinutes(30).toString());
+        older.setUserId(String.valueOf(customer.getId()));
+        older.setUserEmail(customer.getEmail());
+        ChatbotSessionSummary bound = session("bound-session", "assistant", "bot answered", T.plusMinutes(1).toString());
+        remote(older, bound);
+
+        assertThat(index.refreshFromRemote(50)).isEqualTo(1);
+
+        ChatThread thread = threadRepository.findByUser_Id(customer.getId()).orElseThrow();
+        assertThat(thread.getSessionId()).isEqualTo("bound-session");
+        assertThat(thread.getLastMessage()).isEqualTo("bot answered");
+        assertThat(thread.getRemoteSyncedAt()).isNotNull();
+        assertThat(threadRepository.findBySessionId("previous-session")).isEmpty();
+    }
+
+    @Test
+    void searchFiltersAndPages() {
+        String[] roles = { "user", "admin", "user", "assistant", "user", "admin" };
+        List<ChatbotSessionSummary> sessions = new ArrayList<>();
+        for (int i = 0; i < roles.length; i++) {
+            ChatbotSessionSummary s = session("search-" + i, roles[i], "message " + i, T.plusMinutes(i).toString());
+            s.setUserEmail("chat-index-" + i + "@example.test");
+            sessions.add(s);
+        }
+        ChatbotSessionSummary outsider = session("search-outsider", "user", "not matched", T.plusHours(1).toString());
+        outsider.setUserEmail("outsider@example.test");
+        sessions.add(outsider);
+        remote(sessions.toArray(ChatbotSessionSummary[]::new));
+        index.refreshFromRemote(50);
+        entityManager.flush();
+        index.markRead("search-2");
+        entityManager.clear();
+
+        Page<ChatbotSessionSummary> first = index.page(ChatbotSessionFilter.ALL, "Chat-Index", PageRequest.of(0, 4));
+        assertThat(sessionIds(first)).containsExactly("search-5", "search-4", "search-3", "search-2");
+        assertThat(first.getTotalElements()).isEqualTo(6);
+        assertThat(first.getTotalPages()).isEqualTo(2);
+        Page<ChatbotSessionSummary> second = index.page(ChatbotSessionFilter.ALL, "chat-index", PageRequest.of(1, 4));
+        assertThat(sessionIds(second)).containsExactly("search-1", "search-0");
+
+        assertThat(sessionIds(index.page(ChatbotSessionFilter.ADMIN_REPLIED, "chat-index", PageRequest.of(0, 10))))
+                .containsExactly("search-5", "search-1");
+        assertThat(sessionIds(index.page(ChatbotSessionFilter.AWAITING_ADMIN, "chat-index", PageRequest.of(0, 10))))
+                .containsExactly("search-4", "search-2", "search-0");
+        Page<ChatbotSessionSummary> unread = index.page(ChatbotSessionFilter.UNREAD, "chat-index", PageRequest.of(0, 1));
+        assertThat(sessionIds(unread)).containsExactly("search-4");
+        assertThat(unread.getTotalElements()).as("search-2 was opened").isEqualTo(2);
+
+        assertThat(sessionIds(index.page(ChatbotSessionFilter.ALL, "outsider", PageRequest.of(0, 10))))
+                .containsExactly("search-outsider");
+    }
+
+    @Test
+    void parsesTheChatbotTimestampFormats() {
+        assertThat(ChatThreadIndex.parseTimestamp("2026-03-01T10:15:30"))
+                .isEqualTo(LocalDateTime.of(2026, 3, 1, 10, 15, 30));
+        assertThat(ChatThreadIndex.parseTimestamp(" 2026-03-01T10:15:30.250 "))
+                .isEqualTo(LocalDateTime.of(2026, 3, 1, 10, 15, 30, 250_000_000));
+
+        OffsetDateTime utc = OffsetDateTime.of(2026, 3, 1, 10, 15, 30, 0, ZoneOffset.UTC);
+        LocalDateTime local = utc.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        assertThat(ChatThreadIndex.parseTimestamp("2026-03-01T10:15:30Z")).isEqualTo(local);
+        assertThat(ChatThreadIndex.parseTimestamp("2026-03-01T12:15:30+02:00")).isEqualTo(local);
+
+        Instant instant = utc.toInstant();
+        assertThat(ChatThreadIndex.parseTimestamp(String.valueOf(instant.getEpochSecond()))).isEqualTo(local);
+        assertThat(ChatThreadIndex.parseTimestamp(instant.getEpochSecond() + ".5"))
+                .isEqualTo(local.plusNanos(500_000_000));
+
+        assertThat(ChatThreadIndex.parseTimestamp(null)).isNull();
+        assertThat(ChatThreadIndex.parseTimestamp("  ")).isNull();
+        assertThat(ChatThreadIndex.parseTimestamp("yesterday")).isNull();
+    }
+
+    private ChatThread thread(String sessionId) {
+        entityManager.flush();
+        entityManager.clear();
+        return threadRepository.findBySessionId(sessionId).orElseThrow();
+    }
+
+    private void remote(ChatbotSessionSummary... sessions) {
+        ChatbotSessionsResponse response = new ChatbotSessionsResponse();
+        response.setSessions(List.of(sessions));
+        response.setCount(sessions.length);
+        when(chatbotService.listSessions(anyInt())).thenReturn(response);
+    }
+
+    private ChatThreadEvent message(String sessionId, Long userId, String role, String text, boolean fromUser,
+            LocalDateTime at) {
+        ChatThreadEvent event = ChatThreadEvent.message(this, sessionId, userId, role, text, fromUser);
+        ReflectionTestUtils.setField(event, "occurredAt", at);
+        return event;
+    }
+
+    private static ChatbotSessionSummary session(String sessionId, String role, String lastMessage, String at) {
+        ChatbotSessionSummary session = new ChatbotSessionSummary();
+        session.setSessionId(sessionId);
+        session.setLastMessage(lastMessage);
+        session.setLastMessageAt(at);
+        session.setLastMessageRole(role);
+        session.setLastMessageSender(role);
+        return session;
+    }
+
+    private static List<String> sessionIds(Page<ChatbotSessionSummary> page) {
+        return page.getContent().stream().map(ChatbotSessionSummary::getSessionId).toList();
+    }
+}
@@ -0,0 +1,173 @@
+package com.project.skin_me.service.http;
+
+import com.project.skin_me.exception.IntegrationUnavailableException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link OutboundHttp} against a local stub server: retries, read timeouts and the circuit
+ * breaker as a real exchange sees them.
+ */
+class OutboundHttpTest {
+
+    private static final long SLOW_RESPONSE_MS = 3000;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private String baseUrl;
+    private final AtomicInteger hits = new AtomicInteger();
+    /** Requests to {@code /flaky} answered 503 before it starts answering 200. */
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+
+    private SimpleMeterRegistry registry;
+    private OutboundHttp outboundHttp;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/flaky", exchange -> {
+            hits.incrementAndGet();
+            respond(exchange, failuresLeft.getAndDecrement() > 0 ? 503 : 200);
+        });
+        server.createContext("/slow", exchange -> {
+            hits.incrementAndGet();
+            try {
+                Thread.sleep(SLOW_RESPONSE_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200);
+        });
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.http.default.http2", "false")
+                .withProperty("app.http.default.connect-timeout-ms", "1000")
+                .withProperty("app.http.default.read-timeout-ms", "300")
+                .withProperty("app.http.default.max-retries", "2")
+                .withProperty("app.http.default.backoff-ms", "1")
+                .withProperty("app.http.default.max-backoff-ms", "5")
+                .withProperty("app.http.default.breaker.failure-threshold", "3")
+                .withProperty("app.http.default.breaker.open-ms", "60000")
+                .withProperty("app.http.recovering.breaker.open-ms", "200");
+        registry = new SimpleMeterRegistry();
+        outboundHttp = new OutboundHttp(environment, registry);
+    }
+
+    @AfterEach
+    void stopStub() {
+        outboundHttp.close();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void getIsRetriedOnServerErrors() {
+        failuresLeft.set(2);
+
+        ResponseEntity<String> response = outboundHttp.restTemplate("stub").getForEntity(baseUrl + "/flaky", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(hits).hasValue(3);
+        assertThat(registry.get("skinme.outbound.retries").tag("integration", "stub").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void postIsNotRetriedOnServerErrors() {
+        failuresLeft.set(1);
+
+        assertThatThrownBy(() -> outboundHttp.restTemplate("stub").postForEntity(baseUrl + "/flaky", "{}", String.class))
+                .isInstanceOf(HttpServerErrorException.class);
+        assertThat(hits).hasValue(1);
+    }
+
+    @Test
+    void readTimeoutCutsOffSlowResponses() {
+        RestTemplate template = outboundHttp.restTemplate("stub");
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> template.getForEntity(baseUrl + "/slow", String.class))
+                .isInstanceOf(ResourceAccessException.class);
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        // three attempts of 300 ms each, never one full slow response
+        assertThat(hits).hasValue(3);
+        assertThat(elapsedMs).isLessThan(SLOW_RESPONSE_MS);
+    }
+
+    @Test
+    void breakerOpensAfterRepeatedFailuresAndFailsFast() {
+        failuresLeft.set(Integer.MAX_VALUE);
+        RestTemplate template = outboundHttp.restTemplate("stub");
+
+        // first attempt plus two retries: three failures in a row open the breaker
+        assertThatThrownBy(() -> template.getForEntity(baseUrl + "/flaky", String.class))
+                .isInstanceOf(HttpServerErrorException.class);
+        assertThat(hits).hasValue(3);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> template.getForEntity(baseUrl + "/flaky", String.class))
+                .isInstanceOf(IntegrationUnavailableException.class);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(hits).as("no request reaches the stub while open").hasValue(3);
+        assertThat(elapsedMs).isLessThan(100);
+        assertThat(registry.get("skinme.outbound.rejected").tag("integration", "stub").tag("reason", "circuit_open")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("skinme.outbound.breaker.state").tag("integration", "stub").gauge().value())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void breakerClosesWhenTheTrialCallSucceeds() throws InterruptedException {
+        failuresLeft.set(Integer.MAX_VALUE);
+        RestTemplate template = outboundHttp.restTemplate("recovering");
+        assertThatThrownBy(() -> template.getForEntity(baseUrl + "/flaky", String.class))
+                .isInstanceOf(HttpServerErrorException.class);
+
+        failuresLeft.set(0);
+        Thread.sleep(300);
+
+        assertThat(template.getForEntity(baseUrl + "/flaky", String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(registry.get("skinme.outbound.breaker.state").tag("integration", "recovering").gauge().value())
+                .isZero();
+    }
+
+    private static void respond(HttpExchange exchange, int status) throws IOException {
+        byte[] body = ("{\"status\":" + status + "}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.sendResponseHeaders(status, body.length);
+            out.write(body);
+        } catch (IOException e) {
+            // the client gave up (read timeout)
+        } finally {
+            exchange.close();
+        }
+    }
+}
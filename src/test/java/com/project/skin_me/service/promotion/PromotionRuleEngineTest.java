@@ -0,0 +1,201 @@
+package com.project.skin_me.service.promotion;
+
+import com.project.skin_me.enums.ProductStatus;
+import com.project.skin_me.enums.PromotionType;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.model.Promotion;
+import com.project.skin_me.repository.ProductRepository;
+import com.project.skin_me.repository.PromotionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The compiled snapshot must price products and free delivery the way the per-request queries
+ * did before it. The reference below replays those queries ({@code startDate <= at <= deadline},
+ * switched on) against the same rows.
+ */
+@SpringBootTest
+@ActiveProfiles({ "loadtest", "test" })
+class PromotionRuleEngineTest {
+
+    @Autowired
+    private PromotionRuleEngine engine;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    /** Evaluation starts a day ahead so every rule below is still in the compiled snapshot. */
+    private final LocalDateTime t = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    private final List<Promotion> created = new ArrayList<>();
+    private List<Product> products;
+    private Product inactiveProduct;
+
+    @BeforeEach
+    void setUp() {
+        products = productRepository.findAll(PageRequest.of(0, 8, Sort.by("id"))).getContent();
+        assertThat(products).hasSize(8);
+
+        // single discount with a rounding share
+        productDiscount(products.get(0), "12.50", t.minusDays(1), t.plusDays(1), true);
+        // overlapping discounts: the higher one wins
+        productDiscount(products.get(1), "15.00", t.minusDays(2), t.plusDays(2), true);
+        productDiscount(products.get(1), "33.33", t.minusHours(1), t.plusHours(1), true);
+        // starts later
+        productDiscount(products.get(2), "20.00", t.plusHours(1), t.plusDays(2), true);
+        // ends exactly at t
+        productDiscount(products.get(3), "25.00", t.minusDays(1), t, true);
+        // switched off
+        productDiscount(products.get(4), "50.00", t.minusDays(1), t.plusDays(1), false);
+        // expired before now, never switched off
+        productDiscount(products.get(5), "40.00", LocalDateTime.now().minusDays(3),
+                LocalDateTime.now().minusDays(1), true);
+        // product taken off sale: neither path looks at the product status
+        inactiveProduct = products.get(6);
+        inactiveProduct.setStatus(ProductStatus.INACTIVE);
+        productRepository.save(inactiveProduct);
+        productDiscount(inactiveProduct, "7.77", t.minusDays(1), t.plusDays(1), true);
+        // products.get(7) has no promotion
+
+        freeDelivery(new BigDecimal("100.00"), t.minusDays(1), t.plusDays(1), true);
+        freeDelivery(null, t.plusHours(1), t.plusDays(2), true);
+        freeDelivery(BigDecimal.ZERO, t.minusDays(1), t.plusDays(1), false);
+
+        engine.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        promotionRepository.deleteAll(created);
+        inactiveProduct.setStatus(ProductStatus.ACTIVE);
+        productRepository.save(inactiveProduct);
+        engine.refresh();
+    }
+
+    @Test
+    void productPricesMatchThePerRequestQueries() {
+        for (LocalDateTime at : instants()) {
+            for (Product product : products) {
+                assertThat(engine.discountedPrice(product.getId(), product.getPrice(), at))
+                        .as("product %d at %s", product.getId(), at)
+                        .isEqualByComparingTo(queriedPrice(product, at));
+            }
+        }
+    }
+
+    @Test
+    void freeDeliveryMatchesThePerRequestQueries() {
+        List<BigDecimal> subtotals = List.of(BigDecimal.ZERO, new BigDecimal("99.99"), new BigDecimal("100.00"),
+                new BigDecimal("250.00"));
+        for (LocalDateTime at : instants()) {
+            for (BigDecimal subtotal : subtotals) {
+                assertThat(engine.qualifiesForFreeDelivery(subtotal, at))
+                        .as("subtotal %s at %s", subtotal, at)
+                        .isEqualTo(queriedFreeDelivery(subtotal, at));
+            }
+        }
+    }
+
+    @Test
+    void overlappingDiscountsTakeTheHighest() {
+        Product product = products.get(1);
+
+        assertThat(engine.discountedPrice(product.getId(), product.getPrice(), t))
+                .isEqualByComparingTo(percentOff(product.getPrice(), "33.33"));
+        assertThat(engine.discountedPrice(product.getId(), product.getPrice(), t.plusHours(2)))
+                .isEqualByComparingTo(percentOff(product.getPrice(), "15.00"));
+    }
+
+    @Test
+    void boundariesAreInclusive() {
+        Product starting = products.get(2);
+        Product ending = products.get(3);
+
+        assertThat(engine.discountedPrice(starting.getId(), starting.getPrice(), t.plusHours(1).minusSeconds(1)))
+                .isEqualByComparingTo(starting.getPrice());
+        assertThat(engine.discountedPrice(starting.getId(), starting.getPrice(), t.plusHours(1)))
+                .isEqualByComparingTo(percentOff(starting.getPrice(), "20.00"));
+        assertThat(engine.discountedPrice(ending.getId(), ending.getPrice(), t))
+                .isEqualByComparingTo(percentOff(ending.getPrice(), "25.00"));
+        assertThat(engine.discountedPrice(ending.getId(), ending.getPrice(), t.plusSeconds(1)))
+                .isEqualByComparingTo(ending.getPrice());
+    }
+
+    private List<LocalDateTime> instants() {
+        return List.of(t.minusHours(2), t.minusSeconds(1), t, t.plusSeconds(1), t.plusHours(1).minusSeconds(1),
+                t.plusHours(1), t.plusHours(2), t.plusDays(1), t.plusDays(1).plusSeconds(1), t.plusDays(3));
+    }
+
+    /**
+     * The old product path: the live PRODUCT_DISCOUNT row for the product, priced by
+     * {@link Promotion#calculateDiscountedPrice()}. With overlapping rows the single-result query
+     * failed and fell back to the list price; the snapshot takes the best one, and so does this.
+     */
+    private BigDecimal queriedPrice(Product product, LocalDateTime at) {
+        return promotionRepository.findActivePromotionsByType(PromotionType.PRODUCT_DISCOUNT, at).stream()
+                .filter(p -> p.getProduct() != null && p.getProduct().getId().equals(product.getId()))
+                .map(Promotion::calculateDiscountedPrice)
+                .min(Comparator.naturalOrder())
+                .orElse(product.getPrice());
+    }
+
+    /** The old DeliveryFeeService loop over the live FREE_DELIVERY rows. */
+    private boolean queriedFreeDelivery(BigDecimal subtotal, LocalDateTime at) {
+        for (Promotion p : promotionRepository.findActivePromotionsByType(PromotionType.FREE_DELIVERY, at)) {
+            BigDecimal min = p.getMinimumOrderAmount();
+            if (min == null || min.compareTo(BigDecimal.ZERO) <= 0 || subtotal.compareTo(min) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static BigDecimal percentOff(BigDecimal price, String percentage) {
+        return price.subtract(price.multiply(new BigDecimal(percentage)).divide(BigDecimal.valueOf(100), 2,
+                RoundingMode.HALF_UP));
+    }
+
+    private void productDiscount(Product product, String percentage, LocalDateTime start, LocalDateTime deadline,
+            boolean active) {
+        Promotion promotion = promotion(PromotionType.PRODUCT_DISCOUNT, start, deadline, active);
+        promotion.setProduct(product);
+        promotion.setDiscountPercentage(new BigDecimal(percentage));
+        created.add(promotionRepository.save(promotion));
+    }
+
+    private void freeDelivery(BigDecimal minimum, LocalDateTime start, LocalDateTime deadline, boolean active) {
+        Promotion promotion = promotion(PromotionType.FREE_DELIVERY, start, deadline, active);
+        promotion.setFreeDelivery(true);
+        promotion.setMinimumOrderAmount(minimum);
+        created.add(promotionRepository.save(promotion));
+    }
+
+    private static Promotion promotion(PromotionType type, LocalDateTime start, LocalDateTime deadline,
+            boolean active) {
+        Promotion promotion = new Promotion();
+        promotion.setPromotionType(type);
+        promotion.setTitle("rule-engine test " + type);
+        promotion.setStartDate(start);
+        promotion.setDeadline(deadline);
+        promotion.setActive(active);
+        return promotion;
+    }
+}
@@ -0,0 +1,272 @@
+package com.project.skin_me.service.telegram;
+
+import com.project.skin_me.enums.TelegramAlertKind;
+import com.project.skin_me.enums.TelegramAlertStatus;
+import com.project.skin_me.model.TelegramAlert;
+import com.project.skin_me.repository.TelegramAlertRepository;
+import com.project.skin_me.service.telegram.TelegramBotClient.Outcome;
+import com.project.skin_me.service.telegram.TelegramBotClient.SendResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link TelegramAlertDispatcher} against the real queue table and a scripted Bot API client.
+ * Each test runs in a transaction that is rolled back, which also keeps its alerts out of sight of
+ * the application's own dispatcher.
+ */
+@SpringBootTest
+@ActiveProfiles({ "loadtest", "test" })
+@Transactional
+class TelegramAlertDispatcherTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BASE_SECONDS = 10;
+
+    @Autowired
+    private TelegramAlertRepository alertRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /** Per chat: outcomes to return, in order; SENT once the script runs out. */
+    private final Map<String, Deque<SendResult>> script = new HashMap<>();
+    /** Per chat: texts passed to the Bot API. */
+    private final Map<String, List<String>> sent = new HashMap<>();
+    private SimpleMeterRegistry registry;
+    private TelegramAlertDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        TelegramBotClient botClient = mock(TelegramBotClient.class);
+        when(botClient.hasToken()).thenReturn(true);
+        when(botClient.send(anyString(), anyString())).thenAnswer(invocation -> {
+            String chatId = invocation.getArgument(0);
+            sent.computeIfAbsent(chatId, id -> new ArrayList<>()).add(invocation.getArgument(1));
+            SendResult next = script.getOrDefault(chatId, new ArrayDeque<>()).poll();
+            return next != null ? next : new SendResult(Outcome.SENT, 0, null);
+        });
+        registry = new SimpleMeterRegistry();
+        dispatcher = new TelegramAlertDispatcher(alertRepository, botClient, registry);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 1000);
+        ReflectionTestUtils.setField(dispatcher, "burst", 3);
+        ReflectionTestUtils.setField(dispatcher, "perMinute", 1);
+        ReflectionTestUtils.setField(dispatcher, "digestMin", 3);
+        ReflectionTestUtils.setField(dispatcher, "digestMaxLines", 2);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(dispatcher, "retryBaseSeconds", RETRY_BASE_SECONDS);
+    }
+
+    @Test
+    void tokenBucketCapsEachChatAtItsBurst() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(alert("bucket-a", TelegramAlertKind.MESSAGE, "message " + i));
+        }
+        Long otherChat = alert("bucket-b", TelegramAlertKind.MESSAGE, "other chat");
+
+        drain();
+
+        assertThat(sent.get("bucket-a")).containsExactly("message 0", "message 1", "message 2");
+        assertThat(statuses(ids)).containsExactly(TelegramAlertStatus.SENT, TelegramAlertStatus.SENT,
+                TelegramAlertStatus.SENT, TelegramAlertStatus.PENDING, TelegramAlertStatus.PENDING);
+        assertThat(attempts(ids.get(3))).as("held back, not failed").isZero();
+        assertThat(status(otherChat)).as("other chats have their own bucket").isEqualTo(TelegramAlertStatus.SENT);
+
+        drain();
+
+        assertThat(sent.get("bucket-a")).as("no token left for the second run").hasSize(3);
+        assertThat(status(ids.get(3))).isEqualTo(TelegramAlertStatus.PENDING);
+    }
+
+    @Test
+    void alertsOfOneKindBecomeADigestAtDigestMin() {
+        LocalDateTime firstAt = LocalDateTime.now().minusSeconds(90);
+        List<Long> orders = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            orders.add(alert("digest", TelegramAlertKind.NEW_ORDER, "order " + i, "Order #" + i, firstAt));
+        }
+        Long message = alert("digest", TelegramAlertKind.MESSAGE, "free text");
+        alert("digest", TelegramAlertKind.PAYMENT_COMPLETED, "payment 1", "Payment #1", firstAt);
+        alert("digest", TelegramAlertKind.PAYMENT_COMPLETED, "payment 2", "Payment #2", firstAt);
+
+        drain();
+
+        List<String> texts = sent.get("digest");
+        assertThat(texts).hasSize(3);
+        assertThat(texts.get(0)).isEqualTo("🔔 <b>4 new orders (pending payment) in the last 2 minutes</b>\n"
+                + "• Order #1\n• Order #2\n…and 2 more");
+        assertThat(texts.get(1)).isEqualTo("free text");
+        assertThat(texts.get(2)).as("below digest-min: one message each").isEqualTo("payment 1");
+        assertThat(statuses(orders)).containsOnly(TelegramAlertStatus.SENT);
+        assertThat(status(message)).isEqualTo(TelegramAlertStatus.SENT);
+        assertThat(registry.get("skinme.telegram.alerts.digests").counter().count()).isEqualTo(1);
+        assertThat(registry.get("skinme.telegram.alerts.sent").counter().count()).isEqualTo(6);
+    }
+
+    @Test
+    void retryAfterPausesTheChatAndReleasesTheRest() {
+        script("paused", new SendResult(Outcome.SENT, 0, null), new SendResult(Outcome.RETRY_AFTER, 30, "HTTP 429"));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(alert("paused", TelegramAlertKind.MESSAGE, "message " + i));
+        }
+
+        LocalDateTime before = LocalDateTime.now();
+        drain();
+
+        assertThat(sent.get("paused")).containsExactly("message 0", "message 1");
+        assertThat(statuses(ids)).containsExactly(TelegramAlertStatus.SENT, TelegramAlertStatus.PENDING,
+                TelegramAlertStatus.PENDING);
+        for (Long id : ids.subList(1, 3)) {
+            assertThat(attempts(id)).as("a 429 is not a failed attempt").isZero();
+            assertThat(nextAttemptAt(id)).isCloseTo(before.plusSeconds(30), within(5, ChronoUnit.SECONDS));
+        }
+        assertThat(registry.get("skinme.telegram.alerts.rate_limited").counter().count()).isEqualTo(1);
+
+        Long later = alert("paused", TelegramAlertKind.MESSAGE, "queued during the pause");
+        drain();
+
+        assertThat(sent.get("paused")).as("the chat stays paused").hasSize(2);
+        assertThat(status(later)).isEqualTo(TelegramAlertStatus.PENDING);
+    }
+
+    @Test
+    void failureBacksOffThatMessageAndHoldsTheRest() {
+        script("flaky", new SendResult(Outcome.FAILED, 0, "HTTP 502"));
+        Long first = alert("flaky", TelegramAlertKind.MESSAGE, "first");
+        Long second = alert("flaky", TelegramAlertKind.MESSAGE, "second");
+
+        LocalDateTime before = LocalDateTime.now();
+        drain();
+
+        assertThat(sent.get("flaky")).containsExactly("first");
+        assertThat(status(first)).isEqualTo(TelegramAlertStatus.PENDING);
+        assertThat(attempts(first)).isEqualTo(1);
+        assertThat(lastError(first)).isEqualTo("HTTP 502");
+        LocalDateTime retryAt = before.plusSeconds(RETRY_BASE_SECONDS);
+        assertThat(nextAttemptAt(first)).isCloseTo(retryAt, within(5, ChronoUnit.SECONDS));
+        assertThat(status(second)).isEqualTo(TelegramAlertStatus.PENDING);
+        assertThat(attempts(second)).isZero();
+        assertThat(nextAttemptAt(second)).isCloseTo(retryAt, within(5, ChronoUnit.SECONDS));
+    }
+
+    @Test
+    void secondFailureDoublesTheBackoff() {
+        script("flaky-again", new SendResult(Outcome.FAILED, 0, "timeout"));
+        Long id = alert("flaky-again", TelegramAlertKind.MESSAGE, "again");
+        jdbcTemplate.update("UPDATE telegram_alerts SET attempts = 1 WHERE id = ?", id);
+
+        LocalDateTime before = LocalDateTime.now();
+        drain();
+
+        assertThat(attempts(id)).isEqualTo(2);
+        assertThat(nextAttemptAt(id)).isCloseTo(before.plusSeconds(2 * RETRY_BASE_SECONDS),
+                within(5, ChronoUnit.SECONDS));
+    }
+
+    @Test
+    void rejectedAlertsAreDeadAtOnce() {
+        script("blocked", new SendResult(Outcome.REJECTED, 0, "HTTP 403: bot was blocked by the user"),
+                new SendResult(Outcome.REJECTED, 0, "HTTP 403: bot was blocked by the user"));
+        Long first = alert("blocked", TelegramAlertKind.MESSAGE, "first");
+        Long second = alert("blocked", TelegramAlertKind.MESSAGE, "second");
+        // only the rejections count as dead here, not rows the sweep finds
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", Integer.MAX_VALUE);
+
+        drain();
+
+        assertThat(statuses(List.of(first, second))).containsOnly(TelegramAlertStatus.DEAD);
+        assertThat(lastError(first)).contains("bot was blocked");
+        assertThat(attempts(first)).isEqualTo(1);
+        assertThat(registry.get("skinme.telegram.alerts.dead").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void exhaustedAlertsAreDeadLettered() {
+        script("exhausted", new SendResult(Outcome.FAILED, 0, "HTTP 500"));
+        Long lastTry = alert("exhausted", TelegramAlertKind.MESSAGE, "last try");
+        jdbcTemplate.update("UPDATE telegram_alerts SET attempts = ? WHERE id = ?", MAX_ATTEMPTS - 1, lastTry);
+
+        drain();
+
+        assertThat(attempts(lastTry)).isEqualTo(MAX_ATTEMPTS);
+        assertThat(status(lastTry)).isEqualTo(TelegramAlertStatus.DEAD);
+        assertThat(lastError(lastTry)).isEqualTo("HTTP 500");
+        assertThat(registry.get("skinme.telegram.alerts.dead").counter().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    /** The dispatcher runs outside a transaction in production; start each run from fresh rows. */
+    private void drain() {
+        entityManager.flush();
+        entityManager.clear();
+        dispatcher.drain();
+        entityManager.clear();
+    }
+
+    private void script(String chatId, SendResult... results) {
+        script.computeIfAbsent(chatId, id -> new ArrayDeque<>()).addAll(List.of(results));
+    }
+
+    private Long alert(String chatId, TelegramAlertKind kind, String text) {
+        return alert(chatId, kind, text, null, null);
+    }
+
+    private Long alert(String chatId, TelegramAlertKind kind, String text, String summary, LocalDateTime createdAt) {
+        TelegramAlert alert = new TelegramAlert();
+        alert.setChatId(chatId);
+        alert.setKind(kind);
+        alert.setText(text);
+        alert.setSummary(summary);
+        alert.setCreatedAt(createdAt);
+        return alertRepository.saveAndFlush(alert).getId();
+    }
+
+    private TelegramAlertStatus status(Long id) {
+        return TelegramAlertStatus.valueOf(
+                jdbcTemplate.queryForObject("SELECT status FROM telegram_alerts WHERE id = ?", String.class, id));
+    }
+
+    private List<TelegramAlertStatus> statuses(List<Long> ids) {
+        return ids.stream().map(this::status).toList();
+    }
+
+    private int attempts(Long id) {
+        return jdbcTemplate.queryForObject("SELECT attempts FROM telegram_alerts WHERE id = ?", Integer.class, id);
+    }
+
+    private String lastError(Long id) {
+        return jdbcTemplate.queryForObject("SELECT last_error FROM telegram_alerts WHERE id = ?", String.class, id);
+    }
+
+    private LocalDateTime nextAttemptAt(Long id) {
+        return jdbcTemplate.queryForObject("SELECT next_attempt_at FROM telegram_alerts WHERE id = ?",
+                Timestamp.class, id).toLocalDateTime();
+    }
+}
@@ -0,0 +1,233 @@
+package com.project.skin_me.service.websocket;
+
+import com.project.skin_me.SkinMeApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two application nodes in cluster broker mode sharing one Redis server (the message bus). Clients
+ * are simulated at the channel level: SUBSCRIBE frames go into each node's inbound channel and
+ * deliveries are read off its outbound channel, which is what the STOMP handler would write to the
+ * socket.
+ */
+class ClusterBrokerTest {
+
+    private static RedisServer redisServer;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    private static final Queue<Message<?>> deliveredOnA = new ConcurrentLinkedQueue<>();
+    private static final Queue<Message<?>> deliveredOnB = new ConcurrentLinkedQueue<>();
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        int redisPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            redisPort = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(redisPort);
+        redisServer.start();
+        nodeA = startNode("a", redisPort);
+        nodeB = startNode("b", redisPort);
+        captureDeliveries(nodeA, deliveredOnA);
+        captureDeliveries(nodeB, deliveredOnB);
+    }
+
+    @AfterAll
+    static void stopNodes() throws IOException {
+        for (ConfigurableApplicationContext node : new ConfigurableApplicationContext[] { nodeA, nodeB }) {
+            if (node != null) {
+                node.close();
+            }
+        }
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @BeforeEach
+    void clearDeliveries() {
+        deliveredOnA.clear();
+        deliveredOnB.clear();
+    }
+
+    @Test
+    void topicMessageReachesSubscribersOnEveryNodeOnce() throws Exception {
+        String sessionA = subscribe(nodeA, "/topic/products", null);
+        String sessionB = subscribe(nodeB, "/topic/products", null);
+        awaitBusReady(sessionB);
+
+        String marker = UUID.randomUUID().toString();
+        template(nodeA).convertAndSend("/topic/products", marker);
+
+        assertThat(awaitDelivery(deliveredOnA, sessionA, marker)).as("delivered on the sending node").isTrue();
+        assertThat(awaitDelivery(deliveredOnB, sessionB, marker)).as("delivered on the other node").isTrue();
+        Thread.sleep(500);
+        assertThat(deliveries(deliveredOnA, sessionA, marker)).as("deliveries on the sending node").isEqualTo(1);
+        assertThat(deliveries(deliveredOnB, sessionB, marker)).as("deliveries on the other node").isEqualTo(1);
+    }
+
+    @Test
+    void userMessageReachesTheUserOnTheOtherNode() throws Exception {
+        String sessionB = subscribe(nodeB, "/topic/products", null);
+        awaitBusReady(sessionB);
+
+        Principal alice = user("alice@skinme.test");
+        String aliceSession = subscribe(nodeB, "/user" + StompDestinations.USER_ORDERS, alice);
+        Principal bob = user("bob@skinme.test");
+        String bobSession = subscribe(nodeB, "/user" + StompDestinations.USER_ORDERS, bob);
+        awaitReady(probe -> template(nodeB).convertAndSendToUser(alice.getName(), StompDestinations.USER_ORDERS, probe),
+                deliveredOnB, aliceSession);
+
+        String marker = UUID.randomUUID().toString();
+        template(nodeA).convertAndSendToUser(alice.getName(), StompDestinations.USER_ORDERS, marker);
+
+        assertThat(awaitDelivery(deliveredOnB, aliceSession, marker)).as("delivered to the user").isTrue();
+        Thread.sleep(500);
+        assertThat(deliveries(deliveredOnB, aliceSession, marker)).as("deliveries to the user").isEqualTo(1);
+        assertThat(deliveries(deliveredOnB, bobSession, marker)).as("deliveries to another user").isZero();
+    }
+
+    private static ConfigurableApplicationContext startNode(String name, int redisPort) {
+        return new SpringApplicationBuilder(SkinMeApplication.class)
+                .profiles("loadtest", "test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:skinme-cluster-" + name
+                                + ";DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER",
+                        // The JCache manager is JVM-wide; keep these nodes off the one other tests use
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "app.loadtest.seed.products=20",
+                        "app.loadtest.seed.users=5",
+                        "app.loadtest.seed.orders=10",
+                        "app.store.type=redis",
+                        "spring.data.redis.host=localhost",
+                        "spring.data.redis.port=" + redisPort,
+                        "app.websocket.broker.mode=cluster")
+                .run();
+    }
+
+    private static void captureDeliveries(ConfigurableApplicationContext node, Queue<Message<?>> sink) {
+        node.getBean("clientOutboundChannel", AbstractSubscribableChannel.class).addInterceptor(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                sink.add(message);
+                return message;
+            }
+        });
+    }
+
+    /** Sends CONNECT and SUBSCRIBE for a new session, as the STOMP handler would; returns the session id. */
+    private static String subscribe(ConfigurableApplicationContext node, String destination, Principal user) {
+        String sessionId = UUID.randomUUID().toString();
+        MessageChannel inbound = node.getBean("clientInboundChannel", MessageChannel.class);
+
+        StompHeaderAccessor connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+        connect.setSessionId(sessionId);
+        connect.setUser(user);
+        connect.setHeartbeat(0, 0);
+        Message<byte[]> connectMessage = MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders());
+        inbound.send(connectMessage);
+        if (user != null) {
+            // The user registry learns about sessions from this event
+            node.publishEvent(new SessionConnectedEvent(ClusterBrokerTest.class, connectMessage, user));
+        }
+
+        StompHeaderAccessor subscribe = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        subscribe.setSessionId(sessionId);
+        subscribe.setSubscriptionId("sub-0");
+        subscribe.setDestination(destination);
+        subscribe.setUser(user);
+        inbound.send(MessageBuilder.createMessage(new byte[0], subscribe.getMessageHeaders()));
+        return sessionId;
+    }
+
+    /** The bus subscribes asynchronously; publish until node B hears node A at least once. */
+    private static void awaitBusReady(String sessionOnB) throws InterruptedException {
+        awaitReady(probe -> template(nodeA).convertAndSend("/topic/products", probe), deliveredOnB, sessionOnB);
+    }
+
+    /**
+     * Subscriptions are registered on the inbound channel's pool; probe until {@code sessionId}
+     * receives, then forget the probes.
+     */
+    private static void awaitReady(Consumer<String> sendProbe, Queue<Message<?>> delivered, String sessionId)
+            throws InterruptedException {
+        String probe = "probe-" + UUID.randomUUID();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        while (System.nanoTime() < deadline) {
+            sendProbe.accept(probe);
+            if (awaitDelivery(delivered, sessionId, probe, 250)) {
+                deliveredOnA.clear();
+                deliveredOnB.clear();
+                return;
+            }
+        }
+        throw new AssertionError("Session " + sessionId + " never received a probe");
+    }
+
+    private static boolean awaitDelivery(Queue<Message<?>> delivered, String sessionId, String marker)
+            throws InterruptedException {
+        return awaitDelivery(delivered, sessionId, marker, 2000);
+    }
+
+    private static boolean awaitDelivery(Queue<Message<?>> delivered, String sessionId, String marker, long waitMs)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMs);
+        while (deliveries(delivered, sessionId, marker) == 0) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            Thread.sleep(20);
+        }
+        return true;
+    }
+
+    /** Deliveries to {@code sessionId} whose payload carries {@code marker}. */
+    private static long deliveries(Queue<Message<?>> delivered, String sessionId, String marker) {
+        return delivered.stream()
+                .filter(m -> sessionId.equals(SimpMessageHeaderAccessor.getSessionId(m.getHeaders())))
+                .filter(m -> m.getPayload() instanceof byte[] payload
+                        && new String(payload, StandardCharsets.UTF_8).contains(marker))
+                .count();
+    }
+
+    private static SimpMessagingTemplate template(ConfigurableApplicationContext node) {
+        return node.getBean(SimpMessagingTemplate.class);
+    }
+
+    private static Principal user(String email) {
+        return new UsernamePasswordAuthenticationToken(email, null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
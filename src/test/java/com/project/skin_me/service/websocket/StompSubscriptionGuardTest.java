@@ -0,0 +1,76 @@
+package com.project.skin_me.service.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StompSubscriptionGuardTest {
+
+    private final StompSubscriptionGuard guard = new StompSubscriptionGuard(new SimpleMeterRegistry());
+    private final Principal customer = new UsernamePasswordAuthenticationToken("alice@skinme.test", null,
+            List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/user/queue/orders",
+            "/user/queue/chat",
+            "/user/topic/notifications",
+            "/user/topic/payment/42",
+            "/topic/products" })
+    void customerMaySubscribeToOwnDestinations(String destination) {
+        Message<byte[]> frame = frame(StompCommand.SUBSCRIBE, destination, customer);
+
+        assertThat(guard.preSend(frame, null)).isSameAs(frame);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/user/bob@skinme.test/queue/orders",
+            "/user/bob/topic/notifications",
+            "/queue/orders-user1234",
+            "/topic/admin/orders",
+            StompDestinations.USER_DESTINATION_BROADCAST,
+            StompDestinations.USER_REGISTRY_BROADCAST })
+    void customerMayNotSubscribeToOtherTraffic(String destination) {
+        assertThatThrownBy(() -> guard.preSend(frame(StompCommand.SUBSCRIBE, destination, customer), null))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/user/bob@skinme.test/queue/chat",
+            "/user/queue/chat",
+            StompDestinations.USER_REGISTRY_BROADCAST })
+    void customerMayNotSendToUsersOrBrokerInternals(String destination) {
+        assertThatThrownBy(() -> guard.preSend(frame(StompCommand.SEND, destination, customer), null))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "/user/queue/orders", "/user/topic/notifications" })
+    void anonymousMayNotSubscribeToUserDestinations(String destination) {
+        assertThatThrownBy(() -> guard.preSend(frame(StompCommand.SUBSCRIBE, destination, null), null))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String destination, Principal user) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setDestination(destination);
+        accessor.setUser(user);
+        accessor.setSessionId("session-1");
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}